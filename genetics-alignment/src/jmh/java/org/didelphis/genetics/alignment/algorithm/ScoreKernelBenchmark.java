@@ -0,0 +1,140 @@
+package org.didelphis.genetics.alignment.algorithm;
+
+import org.didelphis.genetics.alignment.AlignmentFixtures;
+import org.didelphis.genetics.alignment.common.SegmentInventory;
+import org.didelphis.genetics.alignment.operators.comparators.CostMatrixComparator;
+import org.didelphis.genetics.alignment.operators.comparators.FeatureDifferenceTensor;
+import org.didelphis.genetics.alignment.operators.gap.ConstantGapPenalty;
+import org.didelphis.genetics.alignment.operators.gap.GapPenalty;
+import org.didelphis.language.phonetic.SequenceFactory;
+import org.didelphis.language.phonetic.features.IntegerFeature;
+import org.didelphis.language.phonetic.sequences.BasicSequence;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class {@code ScoreKernelBenchmark}
+ *
+ * Compares the time {@link NeedlemanWunschAlgorithm} takes to align a pair
+ * when its costs come through the
+ * {@link org.didelphis.genetics.alignment.operators.Comparator} interface,
+ * through the generic primitive kernel, and through a kernel specialized by
+ * {@link ScoreKernelFactory}. All three use the same cost matrix, so they
+ * produce the same alignments; {@code ScoreKernelFactoryTest} checks this.
+ *
+ * This is not part of the test run; it is compiled only under the
+ * {@code benchmark} profile, and run with
+ * {@code mvn -pl genetics-alignment -P benchmark test-compile exec:java}.
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ScoreKernelBenchmark {
+
+	private static final int PAIRS = 2000;
+	private static final double GAP_PENALTY = 2.0;
+
+	/**
+	 * How the algorithm obtains the cost of each cell
+	 */
+	public enum Path {
+		/** Every cost is a call through the comparator interface */
+		INTERFACE,
+		/** Costs are read from the matrix by the generic kernel */
+		GENERIC,
+		/** Costs are read by a kernel specialized for the matrix */
+		COMPILED
+	}
+
+	@Param
+	public Path path;
+
+	private NeedlemanWunschAlgorithm<Integer> algorithm;
+	private List<List<Sequence<Integer>>> pairs;
+
+	@Setup
+	public void setUp() {
+		SequenceFactory<Integer> factory = AlignmentFixtures.factory();
+		Sequence<Integer> gap = factory.toSequence(AlignmentFixtures.GAP);
+		GapPenalty<Integer> penalty = new ConstantGapPenalty<>(gap,
+				GAP_PENALTY);
+
+		SegmentInventory<Integer> inventory = SegmentInventory.of(factory);
+		FeatureDifferenceTensor<Integer> tensor = new FeatureDifferenceTensor<>(
+				IntegerFeature.INSTANCE, inventory);
+
+		Random random = new Random(31);
+		List<Double> weights = new ArrayList<>();
+		for (int k = 0; k < tensor.features(); k++) {
+			weights.add(random.nextDouble() * 5.0);
+		}
+		CostMatrixComparator<Integer> matrix = tensor.toComparator(weights);
+		Optimization<Double> min = BaseOptimization.MIN;
+		int gapId = inventory.indexOf(gap.get(0));
+
+		ScoreKernel kernel;
+		switch (path) {
+			case GENERIC:
+				kernel = ScoreKernelFactory.generic(matrix.getCosts(), gapId,
+						min);
+				break;
+			case COMPILED:
+				kernel = ScoreKernelFactory.compile(matrix.getCosts(), gapId,
+						min);
+				break;
+			default:
+				kernel = null;
+		}
+		algorithm = new NeedlemanWunschAlgorithm<>(kernel, inventory, matrix,
+				min, penalty, factory);
+
+		pairs = new ArrayList<>(PAIRS);
+		for (int p = 0; p < PAIRS; p++) {
+			pairs.add(Arrays.asList(word(factory, inventory, random),
+					word(factory, inventory, random)));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(PAIRS)
+	public void align(Blackhole blackhole) {
+		for (List<Sequence<Integer>> pair : pairs) {
+			blackhole.consume(algorithm.apply(pair).getScore());
+		}
+	}
+
+	private static Sequence<Integer> word(SequenceFactory<Integer> factory,
+			SegmentInventory<Integer> inventory, Random random) {
+		Sequence<Integer> sequence = new BasicSequence<>(
+				factory.getFeatureMapping().getFeatureModel());
+		sequence.add(factory.toSegment("#"));
+		int length = 4 + random.nextInt(8);
+		for (int i = 0; i < length; i++) {
+			sequence.add(inventory.get(random.nextInt(inventory.size())));
+		}
+		return sequence;
+	}
+}
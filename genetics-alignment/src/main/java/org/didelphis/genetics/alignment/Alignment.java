@@ -115,7 +115,7 @@ public class Alignment<T> extends RectangularTable<Segment<T>>
 		return featureModel.getSpecification();
 	}
 
-	private static int getPrintableLength(String string) {
+	static int getPrintableLength(String string) {
 		int visible = 0;
 		for (char c : string.toCharArray()) {
 			if (Character.getType(c) != Character.NON_SPACING_MARK) {
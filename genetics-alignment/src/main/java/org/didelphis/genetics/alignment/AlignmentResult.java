@@ -1,7 +1,9 @@
 package org.didelphis.genetics.alignment;
 
+import org.didelphis.genetics.alignment.algorithm.TableRetention;
 import org.didelphis.language.phonetic.sequences.Sequence;
 import org.didelphis.structures.tables.Table;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Collections;
 import java.util.List;
@@ -10,6 +12,10 @@ import java.util.Objects;
 /**
  * Class {@code AlignmentResult}
  *
+ * The alignments of two sequences, with their score and as much of the
+ * dynamic-programming table as the algorithm retains; see {@link
+ * TableRetention}.
+ *
  * @author Samantha Fiona McCabe
  * @since 0.1.0 Date: 2017-07-03
  */
@@ -18,6 +24,8 @@ public class AlignmentResult<T> {
 	private final Sequence<T> left;
 	private final Sequence<T> right;
 	private final Table<Double> table;
+	private final ScoreTable scores;
+	private final double score;
 	private final List<Alignment<T>> alignments;
 
 	public AlignmentResult(Sequence<T> left, Sequence<T> right, Table<Double> table,
@@ -26,6 +34,8 @@ public class AlignmentResult<T> {
 		this.right = right;
 		this.table = table;
 		this.alignments = Collections.singletonList(alignment);
+		scores = null;
+		score = Double.NaN;
 	}
 
 	public AlignmentResult(Sequence<T> left, Sequence<T> right, Table<Double> table,
@@ -34,11 +44,28 @@ public class AlignmentResult<T> {
 		this.right = right;
 		this.table = table;
 		this.alignments = alignments;
+		scores = null;
+		score = Double.NaN;
+	}
+
+	/**
+	 * @param score the score of the alignments
+	 * @param scores the retained part of the table, or null if none is
+	 * 		retained
+	 */
+	public AlignmentResult(Sequence<T> left, Sequence<T> right, double score,
+			@Nullable ScoreTable scores, List<Alignment<T>> alignments) {
+		this.left = left;
+		this.right = right;
+		this.score = score;
+		this.scores = scores;
+		this.alignments = alignments;
+		table = null;
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(left, right, table, alignments);
+		return Objects.hash(left, right, table, scores, score, alignments);
 	}
 
 	@Override
@@ -49,6 +76,8 @@ public class AlignmentResult<T> {
 		return Objects.equals(this.left, other.left) &&
 				Objects.equals(this.right, other.right) &&
 				Objects.equals(this.table, other.table) &&
+				Objects.equals(this.scores, other.scores) &&
+				Double.compare(this.score, other.score) == 0 &&
 				Objects.equals(this.alignments, other.alignments);
 	}
 
@@ -56,10 +85,29 @@ public class AlignmentResult<T> {
 		return alignments;
 	}
 
+	/**
+	 * @return the table, or as much of it as was retained, with null in cells
+	 * 		which were not; a retained table is boxed anew on each call, so
+	 * 		callers reading it repeatedly should keep the result or read
+	 * 		{@link #getScores()} instead. Null if no table was retained.
+	 */
+	@Nullable
 	public Table<Double> getTable() {
+		if (table == null && scores != null) {
+			return scores.toTable();
+		}
 		return table;
 	}
 
+	/**
+	 * @return the retained part of the table, or null if none was retained
+	 * 		or the result holds a boxed table
+	 */
+	@Nullable
+	public ScoreTable getScores() {
+		return scores;
+	}
+
 	public Sequence<T> getRight() {
 		return right;
 	}
@@ -69,6 +117,9 @@ public class AlignmentResult<T> {
 	}
 
 	public double getScore() {
+		if (table == null) {
+			return score;
+		}
 		return table.get(table.rows()-1, table.columns() -1);
 	}
 }
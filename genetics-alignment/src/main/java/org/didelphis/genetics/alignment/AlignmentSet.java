@@ -1,91 +1,260 @@
 package org.didelphis.genetics.alignment;
 
-import org.didelphis.io.DiskFileHandler;
+import org.didelphis.genetics.alignment.common.PhoneticTokenizer;
+import org.didelphis.genetics.alignment.io.TsvReader;
 import org.didelphis.language.phonetic.SequenceFactory;
+import org.didelphis.language.phonetic.model.FeatureModel;
+import org.didelphis.language.phonetic.segments.Segment;
+import org.didelphis.language.phonetic.sequences.BasicSequence;
 import org.didelphis.language.phonetic.sequences.Sequence;
+import org.didelphis.structures.tables.ColumnTable;
+import org.didelphis.structures.tables.DataTable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Iterator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 /**
+ * A set of gold-standard alignments, read from a {@code .std} file: a table
+ * with a header of language keys, where each cell holds one word with its
+ * alignment columns separated by whitespace. A row with an empty cell has no
+ * gold alignment and is kept as an empty alignment, so that rows stay in step
+ * with the lexicon.
+ *
+ * When the matching {@code .lex} file, holding the unaligned words of the same
+ * rows, is loaded as well, the words are tokenized into {@link #getLexicon()}
+ * and the gold alignments are indexed by their words, so that the answer for
+ * any set of words is found by {@link #getStandard(List)} without a search.
+ * When the same words appear in more than one row, the first gold alignment
+ * given for them is their answer.
+ *
+ * Every gold alignment and every word of the lexicon begins with the word
+ * boundary {@code #}, which is added where a file does not have it; an
+ * algorithm given the words of the lexicon therefore aligns the boundaries
+ * with each other, as the gold alignments do.
+ *
  * @author Samantha Fiona McCabe
  * Created: 11/6/2015
  */
 public final class AlignmentSet<T> extends ArrayList<Alignment<T>> {
 
-	private static final Pattern PATTERN = Pattern.compile("\n|\r\n?");
-	private static final Pattern TAB = Pattern.compile("\\t");
 	private static final Pattern SPACE = Pattern.compile("\\s+");
+	private static final String BOUNDARY = "#";
 
-	private final Iterable<String> keys;
+	private final List<String> keys;
+	private final Map<List<String>, Alignment<T>> index;
+	private final List<List<String>> words;
+	private final ColumnTable<Sequence<T>> lexicon;
 
-	private AlignmentSet(Collection<String> keys) {
+	private AlignmentSet(List<String> keys, Collection<Alignment<T>> standard,
+			Map<List<String>, Alignment<T>> index, List<List<String>> words,
+			ColumnTable<Sequence<T>> lexicon) {
+		super(standard);
 		this.keys = keys;
+		this.index = index;
+		this.words = words;
+		this.lexicon = lexicon;
 	}
 
+	/**
+	 * Loads the gold alignments of a {@code .std} file, without a lexicon
+	 */
 	public static <T> AlignmentSet<T> loadFromFile(String file,
 			SequenceFactory<T> factory) {
+		try {
+			return load(Paths.get(file), null, factory);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Unable to read alignments " + file, e);
+		}
+	}
 
-		CharSequence input = new DiskFileHandler("UTF-8").read(file);
-		List<String> list = Arrays.stream(PATTERN.split(input))
-				.collect(Collectors.toList());
-
-		List<String> headers = new ArrayList<>();
-		Collections.addAll(headers, TAB.split(list.remove(0)));
-
-		AlignmentSet<T> alignments = new AlignmentSet<>(headers);
-		for (String line : list) {
-
-			List<List<Sequence<T>>> data = new ArrayList<>();
-			for (String cell : TAB.split("\\t", -1)) {
-				List<Sequence<T>> sequences;
-				if (cell.trim().isEmpty()) {
-					sequences = null;
-				} else {
-					sequences = new ArrayList<>();
-					sequences.add(factory.toSequence("#"));
-					for (String element : SPACE.split(cell)) {
-						sequences.add(factory.toSequence(element));
-					}
-				}
-				data.add(sequences);
-			}
+	/**
+	 * Reads a {@code .std} file and, if provided, its {@code .lex} file in a
+	 * single pass over both, one row at a time
+	 *
+	 * @param standard the gold alignments
+	 * @param lexicon the unaligned words of the same rows, in the same order
+	 * 		and with the same keys, or null
+	 * @throws IOException if either file cannot be read, if their keys or
+	 * 		numbers of rows differ, or if the rows of a gold alignment have
+	 * 		different lengths
+	 */
+	@NotNull
+	public static <T> AlignmentSet<T> load(
+			@NotNull Path standard,
+			@Nullable Path lexicon,
+			@NotNull SequenceFactory<T> factory
+	) throws IOException {
+		FeatureModel<T> model = factory.getFeatureMapping().getFeatureModel();
+		PhoneticTokenizer<T> tokenizer =
+				new PhoneticTokenizer<>(factory, Function.identity());
+		Segment<T> boundary = tokenizer.toSegment(BOUNDARY);
 
-			// Fill in the empty cells
-			Iterator<List<Sequence<T>>> it = data.iterator();
-			int length = -1;
-			while (it.hasNext() && length == -1) {
-				Collection<Sequence<T>> item = it.next();
-				if (item != null) {
-					length = item.size();
-				}
+		try (TsvReader std = open(standard);
+		     TsvReader lex = lexicon == null ? null : open(lexicon)) {
+			List<String> keys = readKeys(std, standard);
+			if (lex != null && !keys.equals(readKeys(lex, lexicon))) {
+				throw new IOException("The keys of " + lexicon
+						+ " do not match those of " + standard);
 			}
 
-			for (int i = 0; i < data.size(); i++) {
-				List<Sequence<T>> object = data.get(i);
-				if (object == null) {
-					List<Sequence<T>> sequences = Collections.nCopies(length, factory.toSequence(""));
-					data.set(i, sequences);
+			List<Alignment<T>> alignments = new ArrayList<>();
+			Map<List<String>, Alignment<T>> index = new HashMap<>();
+			List<List<String>> words = new ArrayList<>();
+			List<List<Sequence<T>>> rows = new ArrayList<>();
+			while (std.next()) {
+				Alignment<T> alignment = toAlignment(std.row(), keys.size(),
+						tokenizer, boundary, model, standard);
+				alignments.add(alignment);
+				if (lex == null) {
+					continue;
 				}
+				if (!lex.next()) {
+					throw new IOException(lexicon + " has fewer rows than "
+							+ standard);
+				}
+				TsvReader.Row row = lex.row();
+				List<String> cells = new ArrayList<>(keys.size());
+				List<Sequence<T>> sequences = new ArrayList<>(keys.size());
+				for (int c = 0; c < keys.size(); c++) {
+					String cell = isBlank(row, c) ? "" : row.getString(c).trim();
+					cells.add(cell);
+					sequences.add(cell.isEmpty()
+							? new BasicSequence<>(model)
+							: bounded(tokenizer.toSequence(cell), boundary));
+				}
+				cells = Collections.unmodifiableList(cells);
+				words.add(cells);
+				rows.add(sequences);
+				if (alignment.columns() > 0 && !cells.contains("")) {
+					// the first gold answer for a set of words is kept
+					index.putIfAbsent(cells, alignment);
+				}
+			}
+			if (lex != null && lex.next()) {
+				throw new IOException(lexicon + " has more rows than "
+						+ standard);
 			}
-// TODO:
-//			alignments.add(new Alignment<>(data, factory));
+			return new AlignmentSet<>(keys, alignments, index,
+					Collections.unmodifiableList(words),
+					lex == null ? null : new DataTable<>(keys, rows));
 		}
-		return alignments;
 	}
 
-	public Iterable<String> getKeys() {
+	/**
+	 * @return the gold alignment of a set of words, in the order of the keys,
+	 * 		or null if there is none or no lexicon was loaded
+	 */
+	@Nullable
+	public Alignment<T> getStandard(@NotNull List<String> words) {
+		return index.get(words);
+	}
+
+	@Nullable
+	public Alignment<T> getStandard(@NotNull String... words) {
+		return getStandard(Arrays.asList(words));
+	}
+
+	/**
+	 * @return the words of each row of the lexicon as they appear in the
+	 * 		file, trimmed, with an empty string for a blank cell; the key of
+	 * 		{@link #getStandard(List)}, and empty if no lexicon was loaded
+	 */
+	@NotNull
+	public List<List<String>> getWords() {
+		return words;
+	}
+
+	/**
+	 * @return the tokenized words of the lexicon, one row for each gold
+	 * 		alignment, or null if no lexicon was loaded
+	 */
+	@Nullable
+	public ColumnTable<Sequence<T>> getLexicon() {
+		return lexicon;
+	}
+
+	public List<String> getKeys() {
 		return keys;
 	}
 
 	@Override
 	public String toString() {
-		return "AlignmentSet{" + "keys=" + keys + '}';
+		return "AlignmentSet{" + "keys=" + keys + ", size=" + size()
+				+ ", indexed=" + index.size() + '}';
+	}
+
+	private static TsvReader open(Path path) throws IOException {
+		return new TsvReader(Files.newBufferedReader(path,
+				StandardCharsets.UTF_8));
+	}
+
+	private static List<String> readKeys(TsvReader reader, Path path)
+			throws IOException {
+		if (!reader.next()) {
+			throw new IOException(path + " is empty");
+		}
+		List<String> keys = new ArrayList<>();
+		for (String key : reader.row().toArray()) {
+			keys.add(key.trim());
+		}
+		return Collections.unmodifiableList(keys);
+	}
+
+	/**
+	 * Builds the gold alignment of a row, or an empty alignment if any cell
+	 * is blank
+	 */
+	private static <T> Alignment<T> toAlignment(TsvReader.Row row, int width,
+			PhoneticTokenizer<T> tokenizer, Segment<T> boundary,
+			FeatureModel<T> model, Path path) throws IOException {
+		List<Sequence<T>> sequences = new ArrayList<>(width);
+		for (int c = 0; c < width; c++) {
+			if (isBlank(row, c)) {
+				return new Alignment<>(model);
+			}
+			Sequence<T> sequence = new BasicSequence<>(model);
+			for (String element : SPACE.split(row.getString(c).trim())) {
+				sequence.add(tokenizer.toSegment(element));
+			}
+			sequence = bounded(sequence, boundary);
+			if (!sequences.isEmpty()
+					&& sequence.size() != sequences.get(0).size()) {
+				throw new IOException("Row " + (row.getIndex() + 1) + " of "
+						+ path + " has words of different lengths: " + row);
+			}
+			sequences.add(sequence);
+		}
+		return new Alignment<>(sequences, model);
+	}
+
+	/**
+	 * @return the sequence, with the boundary added at its start if it does
+	 * 		not already begin with one
+	 */
+	private static <T> Sequence<T> bounded(Sequence<T> sequence,
+			Segment<T> boundary) {
+		if (sequence.isEmpty() || !sequence.get(0).equals(boundary)) {
+			sequence.add(0, boundary);
+		}
+		return sequence;
+	}
+
+	private static boolean isBlank(TsvReader.Row row, int cell) {
+		return cell >= row.size() || row.isBlank(cell);
 	}
 }
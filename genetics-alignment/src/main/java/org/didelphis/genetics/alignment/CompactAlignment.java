@@ -0,0 +1,289 @@
+package org.didelphis.genetics.alignment;
+
+import org.didelphis.genetics.alignment.common.SegmentInventory;
+import org.didelphis.language.phonetic.model.FeatureModel;
+import org.didelphis.language.phonetic.segments.Segment;
+import org.didelphis.language.phonetic.sequences.BasicSequence;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Class {@code CompactAlignment}
+ *
+ * An immutable alignment stored as the {@link SegmentInventory} ids of its
+ * cells, in row-major order, in a single {@code int[]}. The id of the gap is
+ * kept so that gaps can be recognized without comparing segments. Alignments
+ * over the same inventory are compared and hashed through their ids alone;
+ * the hash is computed once.
+ *
+ * Nothing else is held: segments are looked up in the inventory when a cell
+ * is requested, {@link #toAlignment()} builds a new {@link Alignment}, and the
+ * pretty-printed rows are only built, once, when first requested.
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+public final class CompactAlignment<T> {
+
+	/** The gap id of an alignment without a gap */
+	public static final int NO_GAP = -1;
+
+	private final SegmentInventory<T> inventory;
+	private final FeatureModel<T> featureModel;
+	private final int gap;
+	private final int rows;
+	private final int columns;
+	private final int[] ids;
+
+	private int hash;
+	private volatile List<String> pretty;
+
+	private CompactAlignment(SegmentInventory<T> inventory,
+			FeatureModel<T> featureModel, int gap, int rows, int columns,
+			int[] ids) {
+		if (rows < 0 || columns < 0 || ids.length != rows * columns) {
+			throw new IllegalArgumentException("Cannot hold " + ids.length
+					+ " ids in " + rows + " rows of " + columns + " columns");
+		}
+		this.inventory = inventory;
+		this.featureModel = featureModel;
+		this.gap = gap;
+		this.rows = rows;
+		this.columns = columns;
+		this.ids = ids;
+	}
+
+	/**
+	 * @param ids the ids of the cells in row-major order, which are copied
+	 * @param gap the id of the gap, or {@link #NO_GAP}
+	 */
+	@NotNull
+	public static <T> CompactAlignment<T> of(
+			@NotNull SegmentInventory<T> inventory,
+			@NotNull FeatureModel<T> featureModel,
+			int gap,
+			int rows,
+			int columns,
+			@NotNull int[] ids
+	) {
+		return new CompactAlignment<>(inventory, featureModel, gap, rows,
+				columns, ids.clone());
+	}
+
+	/**
+	 * Encodes an alignment, interning any segments not already in the
+	 * inventory
+	 *
+	 * @param gap the segment which represents a gap, or null
+	 */
+	@NotNull
+	public static <T> CompactAlignment<T> encode(
+			@NotNull Alignment<T> alignment,
+			@NotNull SegmentInventory<T> inventory,
+			@Nullable Segment<T> gap
+	) {
+		int rows = alignment.rows();
+		int columns = alignment.columns();
+		int[] ids = new int[rows * columns];
+		for (int i = 0; i < rows; i++) {
+			for (int j = 0; j < columns; j++) {
+				Segment<T> segment = alignment.get(i, j);
+				if (segment == null) {
+					throw new IllegalArgumentException("Alignments may not "
+							+ "contain empty cells: " + alignment);
+				}
+				ids[i * columns + j] = inventory.intern(segment);
+			}
+		}
+		int gapId = gap == null ? NO_GAP : inventory.intern(gap);
+		return new CompactAlignment<>(inventory, alignment.getFeatureModel(),
+				gapId, rows, columns, ids);
+	}
+
+	public int rows() {
+		return rows;
+	}
+
+	public int columns() {
+		return columns;
+	}
+
+	/**
+	 * @return the id of the gap, or {@link #NO_GAP}
+	 */
+	public int getGap() {
+		return gap;
+	}
+
+	public int getId(int row, int column) {
+		return ids[index(row, column)];
+	}
+
+	public boolean isGap(int row, int column) {
+		return gap != NO_GAP && ids[index(row, column)] == gap;
+	}
+
+	/**
+	 * @return a copy of the ids of the cells in row-major order
+	 */
+	@NotNull
+	public int[] getIds() {
+		return ids.clone();
+	}
+
+	@NotNull
+	public Segment<T> get(int row, int column) {
+		return inventory.get(ids[index(row, column)]);
+	}
+
+	@NotNull
+	public SegmentInventory<T> getInventory() {
+		return inventory;
+	}
+
+	@NotNull
+	public FeatureModel<T> getFeatureModel() {
+		return featureModel;
+	}
+
+	/**
+	 * Compares this alignment with one which has not been encoded, without
+	 * adding its segments to the inventory. Segments are compared as {@link
+	 * #encode} would intern them, and the comparison stops at the first cell
+	 * which differs.
+	 *
+	 * @return true iff the alignment has the same shape as this one and each
+	 * 		of its cells holds the segment of this one's id
+	 */
+	public boolean matches(@NotNull Alignment<T> alignment) {
+		if (alignment.rows() != rows || alignment.columns() != columns) {
+			return false;
+		}
+		for (int i = 0; i < rows; i++) {
+			for (int j = 0; j < columns; j++) {
+				Segment<T> segment = alignment.get(i, j);
+				if (segment == null
+						|| inventory.indexOf(segment) != ids[i * columns + j]) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return a new alignment holding the segments of this one
+	 */
+	@NotNull
+	public Alignment<T> toAlignment() {
+		List<Sequence<T>> sequences = new ArrayList<>(rows);
+		for (int i = 0; i < rows; i++) {
+			Sequence<T> sequence = new BasicSequence<>(featureModel);
+			for (int j = 0; j < columns; j++) {
+				sequence.add(inventory.get(ids[i * columns + j]));
+			}
+			sequences.add(sequence);
+		}
+		return sequences.isEmpty()
+				? new Alignment<>(featureModel)
+				: new Alignment<>(sequences, featureModel);
+	}
+
+	/**
+	 * @return the rows as {@link Alignment#buildPrettyAlignments()} formats
+	 * 		them; built when first requested
+	 */
+	@NotNull
+	public List<String> buildPrettyAlignments() {
+		List<String> list = pretty;
+		if (list == null) {
+			list = format();
+			pretty = list;
+		}
+		return list;
+	}
+
+	@NotNull
+	public String getPrettyTable() {
+		StringBuilder sb = new StringBuilder();
+		for (String row : buildPrettyAlignments()) {
+			sb.append(row).append('\n');
+		}
+		return sb.toString();
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof CompactAlignment)) {
+			return false;
+		}
+		CompactAlignment<?> that = (CompactAlignment<?>) o;
+		return inventory == that.inventory
+				&& rows == that.rows
+				&& columns == that.columns
+				&& gap == that.gap
+				&& Arrays.equals(ids, that.ids);
+	}
+
+	@Override
+	public int hashCode() {
+		int h = hash;
+		if (h == 0) {
+			h = 31 * (31 * rows + columns) + Arrays.hashCode(ids);
+			hash = h;
+		}
+		return h;
+	}
+
+	@NotNull
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		for (String row : buildPrettyAlignments()) {
+			sb.append(row).append('\t');
+		}
+		return sb.toString();
+	}
+
+	private int index(int row, int column) {
+		if (row < 0 || row >= rows || column < 0 || column >= columns) {
+			throw new IndexOutOfBoundsException("Cell " + row + ", " + column
+					+ " of " + rows + " by " + columns);
+		}
+		return row * columns + column;
+	}
+
+	private List<String> format() {
+		// the printable length of each cell is measured once
+		String[] symbols = new String[ids.length];
+		int[] lengths = new int[ids.length];
+		int[] maxima = new int[columns];
+		for (int k = 0; k < ids.length; k++) {
+			symbols[k] = inventory.get(ids[k]).getSymbol();
+			lengths[k] = Alignment.getPrintableLength(symbols[k]);
+			int j = k % columns;
+			maxima[j] = Math.max(maxima[j], lengths[k]);
+		}
+		List<String> list = new ArrayList<>(rows);
+		for (int i = 0; i < rows; i++) {
+			StringBuilder builder = new StringBuilder();
+			for (int j = 0; j < columns; j++) {
+				int k = i * columns + j;
+				builder.append(symbols[k]).append(' ');
+				for (int v = lengths[k]; v < maxima[j]; v++) {
+					builder.append(' ');
+				}
+			}
+			list.add(builder.toString());
+		}
+		return Collections.unmodifiableList(list);
+	}
+}
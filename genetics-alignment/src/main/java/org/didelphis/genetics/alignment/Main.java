@@ -1,20 +1,29 @@
 package org.didelphis.genetics.alignment;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.didelphis.genetics.alignment.algorithm.AlignmentAlgorithm;
 import org.didelphis.genetics.alignment.algorithm.BaseOptimization;
+import org.didelphis.genetics.alignment.algorithm.ColumnPairScheduler;
 import org.didelphis.genetics.alignment.algorithm.NeedlemanWunschAlgorithm;
+import org.didelphis.genetics.alignment.algorithm.TableRetention;
 import org.didelphis.genetics.alignment.common.StringTransformer;
 import org.didelphis.genetics.alignment.common.Utilities;
 import org.didelphis.genetics.alignment.correspondences.Context;
 import org.didelphis.genetics.alignment.correspondences.ContextPair;
 import org.didelphis.genetics.alignment.correspondences.PairCorrespondenceSet;
+import org.didelphis.genetics.alignment.io.CorpusFormat;
+import org.didelphis.genetics.alignment.io.FeatureModelSnapshot;
+import org.didelphis.genetics.alignment.io.MappedCorpus;
 import org.didelphis.genetics.alignment.operators.Comparator;
 import org.didelphis.genetics.alignment.operators.comparators.LinearWeightComparator;
 import org.didelphis.genetics.alignment.operators.gap.ConvexGapPenalty;
 import org.didelphis.genetics.alignment.operators.gap.GapPenalty;
+import org.didelphis.genetics.alignment.pipeline.CheckpointedAlignmentRun;
+import org.didelphis.genetics.alignment.pipeline.DatasetScheduler;
+import org.didelphis.genetics.alignment.pipeline.ShardedAlignmentRun;
+import org.didelphis.genetics.alignment.pipeline.ShardedAlignmentRun.Mode;
+import org.didelphis.genetics.alignment.pipeline.ShardedAlignmentRun.Shard;
+import org.didelphis.genetics.alignment.pipeline.StandardAlignments;
+import org.didelphis.genetics.alignment.pipeline.StreamingAlignmentPipeline;
 import org.didelphis.io.DiskFileHandler;
 import org.didelphis.io.FileHandler;
 import org.didelphis.language.parsing.FormatterMode;
@@ -22,11 +31,8 @@ import org.didelphis.language.phonetic.SequenceFactory;
 import org.didelphis.language.phonetic.features.FeatureType;
 import org.didelphis.language.phonetic.features.IntegerFeature;
 import org.didelphis.language.phonetic.model.FeatureMapping;
-import org.didelphis.language.phonetic.model.FeatureModelLoader;
 import org.didelphis.language.phonetic.segments.Segment;
 import org.didelphis.language.phonetic.sequences.Sequence;
-import org.didelphis.structures.Suppliers;
-import org.didelphis.structures.maps.GeneralMultiMap;
 import org.didelphis.structures.maps.interfaces.MultiMap;
 import org.didelphis.structures.tables.ColumnTable;
 import org.didelphis.structures.tuples.Tuple;
@@ -38,36 +44,77 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.Writer;
+import java.math.BigInteger;
 import java.nio.file.Files;
-import java.nio.file.Path;
-import java.text.Normalizer;
-import java.text.Normalizer.Form;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.function.Function;
-import java.util.regex.Matcher;
+import java.util.concurrent.Callable;
 import java.util.regex.Pattern;
 
 import static java.util.Arrays.asList;
-import static java.util.regex.Pattern.LITERAL;
 import static java.util.regex.Pattern.compile;
 
 
 public final class Main {
 	private static final transient Logger LOGGER = Logger.create(Main.class);
 	private static final Pattern EXTENSION_PATTERN = compile("\\.[^.]*?$");
-	private static final Pattern HYPHEN = compile("-");
 	private static final Pattern WHITESPACE = compile("(\n|\r\n?|\\s)+");
-	private static final Pattern HASH = compile("#", LITERAL);
 	private static final Pattern ZERO = compile("0");
 
+	/**
+	 * The number of datasets which may be aligned at once; alignment of each
+	 * dataset is itself parallel
+	 */
+	private static final int ALIGNMENT_PERMITS = 2;
+
+	/**
+	 * Files larger than this many bytes are aligned with a
+	 * {@link StreamingAlignmentPipeline} rather than being loaded into memory
+	 */
+	private static final long STREAMING_THRESHOLD = 64L << 20;
+
+	/**
+	 * The number of rows aligned and written between checkpoints of an
+	 * in-memory run
+	 */
+	private static final int CHUNK_ROWS = 4096;
+
+	/**
+	 * The number of worker processes used to align each in-memory dataset,
+	 * set with {@code -Dalignment.shards}; with one shard the dataset is
+	 * aligned in this process
+	 */
+	private static final int SHARDS = Integer.getInteger("alignment.shards", 1);
+
+	/**
+	 * Whether streamed datasets write gzip-compressed alignments, set with
+	 * {@code -Dalignment.gzip=true}
+	 */
+	private static final boolean COMPRESS = Boolean.getBoolean("alignment.gzip");
+
+	/**
+	 * Appended to the name of a table to name its pre-tokenized corpus, which
+	 * is rebuilt whenever the table or the feature model changes
+	 */
+	private static final String CORPUS_EXTENSION = ".corpus";
+
+	/**
+	 * How much of each DP table is kept with its result and written with the
+	 * alignments, set with {@code -Dalignment.tables=NONE}, {@code
+	 * LAST_ROW_COLUMN}, {@code FULL} or {@code FULL_FLOAT}; the default, {@code
+	 * FULL}, keeps every cell exactly, and {@code FULL_FLOAT} halves its memory
+	 * at {@code float} precision
+	 */
+	private static final TableRetention RETENTION = TableRetention.valueOf(
+			System.getProperty("alignment.tables", "FULL"));
+
 	private Main() {
 	}
 
@@ -95,10 +142,9 @@ public final class Main {
 
 //		String path = "AT_hybrid_reduced.model";
 		String path = "../data/ASJPcode.model";
-		FeatureModelLoader<Integer> loader = new FeatureModelLoader<>(
+		FeatureMapping<Integer> mapping = FeatureModelSnapshot.load(
 				type, handler, path);
 //		FeatureModelLoader<Integer> loader = IntegerFeature.emptyLoader();
-		FeatureMapping<Integer> mapping = loader.getFeatureMapping();
 
 		SequenceFactory<Integer> factory = new SequenceFactory<>(
 				mapping, FormatterMode.INTELLIGENT);
@@ -118,44 +164,116 @@ public final class Main {
 //		Comparator<Integer> comparator = loadMatrixComparator(handler, factory,
 //				transformer, matrixPath);
 
-		AlignmentAlgorithm<Integer> algorithm = new NeedlemanWunschAlgorithm<>(
-				comparator, BaseOptimization.MIN, gapPenalty, factory);
+		NeedlemanWunschAlgorithm<Integer> algorithm = new NeedlemanWunschAlgorithm<>(
+				comparator, BaseOptimization.MIN, gapPenalty, factory)
+				.withRetention(RETENTION);
+
+		StringTransformer bFunc = new StringTransformer("^[^#] >> #$0");
+
+		// identifies the settings under which checkpointed chunks and shards
+		// were aligned; the model is identified by its content, not its path
+		String configuration = "model=" + path + '@'
+				+ new BigInteger(1, CorpusFormat.fingerprint(mapping)).toString(16)
+				+ "\tcomparator=" + comparator
+				+ "\tgap=" + gapPenalty + "\ttransformer=" + transformer
+				+ "\tboundary=" + bFunc + "\ttables=" + RETENTION;
+
+		if (Shard.isWorker(args)) {
+			Shard shard = Shard.parse(args);
+			ShardedAlignmentRun.runShard(shard, configuration, bFunc,
+					slice -> Utilities.toPhoneticTable(slice, factory,
+							transformer, shard.getKeys()),
+					new ColumnPairScheduler<>(algorithm));
+			return;
+		}
 
 		Map<File, List<String>> files = new LinkedHashMap<>();
 
 		files.put(new File("out.sample_1k.txt"), asList("A", "B"));
 
-		Function<String,String> bFunc = new StringTransformer("^[^#] >> #$0");
-		for (Entry<File, List<String>> languageEntry : files.entrySet()) {
-			File tableFile = languageEntry.getKey();
-			List<String> keyList = languageEntry.getValue();
-			ColumnTable<String> table = Utilities.loadTable(tableFile.getPath(),
-					bFunc);
-
-			ColumnTable<Sequence<Integer>> data = Utilities.toPhoneticTable(
-					table, factory, transformer, keyList);
-			MultiMap<String, AlignmentResult<Integer>> alignmentMap =
-					align(algorithm, keyList, data);
-
-			List<Alignment<Integer>> standards = Utilities.toAlignments(
-					Utilities.toPhoneticTable(table, factory,
-							s -> ZERO.matcher(s).replaceAll(gapSymbol)
-					), factory);
-
-			String rootPath = EXTENSION_PATTERN
-					.matcher(tableFile.getCanonicalPath())
-					.replaceAll("/a/");
-			writeAlignments(rootPath, alignmentMap);
-
-			StringBuilder sb = new StringBuilder(standards.size() * 10);
-			for (Alignment<Integer> alignment : standards) {
-				alignment.removeColumn(0);
-				sb.append(alignment.toString()).append('\n');
+		List<Callable<Void>> tasks = new ArrayList<>();
+		try (DatasetScheduler scheduler = new DatasetScheduler(ALIGNMENT_PERMITS)) {
+			for (Entry<File, List<String>> languageEntry : files.entrySet()) {
+				tasks.add(() -> {
+					processDataset(languageEntry.getKey(), languageEntry.getValue(),
+							bFunc, transformer, factory, algorithm, gapSymbol,
+							configuration, scheduler);
+					return null;
+				});
 			}
-			handler.writeString(rootPath + "correct", sb);
+			scheduler.invokeAll(tasks);
 		}
 	}
 
+	/**
+	 * Loads, aligns and writes a single dataset. Alignment runs while holding
+	 * one of the scheduler's permits; the other stages are I/O-bound and may
+	 * overlap freely with other datasets. Large files are streamed, in which
+	 * case the whole dataset is processed under the permit; smaller files are
+	 * aligned in checkpointed chunks so that an interrupted run can resume, or
+	 * divided between worker processes when {@link #SHARDS} is more than one.
+	 * Neither reads the whole table into memory: checkpointed runs read the
+	 * pre-tokenized corpus, which is converted only when it is stale, and the
+	 * gold-standard alignments are likewise rewritten only when stale.
+	 */
+	private static void processDataset(
+			File tableFile,
+			List<String> keyList,
+			StringTransformer bFunc,
+			StringTransformer transformer,
+			SequenceFactory<Integer> factory,
+			AlignmentAlgorithm<Integer> algorithm,
+			String gapSymbol,
+			String configuration,
+			DatasetScheduler scheduler
+	) throws IOException {
+		String rootPath = EXTENSION_PATTERN
+				.matcher(tableFile.getCanonicalPath())
+				.replaceAll("/a/");
+
+		if (tableFile.length() > STREAMING_THRESHOLD) {
+			StreamingAlignmentPipeline<Integer> pipeline =
+					new StreamingAlignmentPipeline<>(algorithm, bFunc,
+							transformer,
+							s -> ZERO.matcher(s).replaceAll(gapSymbol),
+							Runtime.getRuntime().availableProcessors(),
+							1024, RETENTION != TableRetention.NONE, COMPRESS);
+			scheduler.compute(() -> pipeline.run(tableFile.toPath(), keyList,
+					rootPath));
+			return;
+		}
+
+		if (SHARDS > 1) {
+			ShardedAlignmentRun run = new ShardedAlignmentRun(
+					Main.class.getName(), SHARDS, Mode.ROWS,
+					RETENTION != TableRetention.NONE,
+					Collections.singletonList("-Dalignment.tables=" + RETENTION),
+					configuration);
+			scheduler.compute(() -> run.run(tableFile, keyList, rootPath));
+		} else {
+			ColumnTable<Sequence<Integer>> data;
+			try (MappedCorpus<Integer> corpus = MappedCorpus.openOrConvert(
+					tableFile.toPath(),
+					Paths.get(tableFile.getPath() + CORPUS_EXTENSION), keyList,
+					bFunc, transformer, factory)) {
+				data = corpus.toTable(keyList);
+			}
+			CheckpointedAlignmentRun<Integer> run =
+					new CheckpointedAlignmentRun<>(
+							new ColumnPairScheduler<>(algorithm), CHUNK_ROWS,
+							RETENTION != TableRetention.NONE, configuration);
+			scheduler.compute(() -> run.run(keyList, data, tableFile.toPath(),
+					rootPath));
+		}
+
+		String rules = "model=" + new BigInteger(1,
+				CorpusFormat.fingerprint(factory.getFeatureMapping())).toString(16)
+				+ "\tboundary=" + bFunc + "\tgap=" + gapSymbol;
+		StandardAlignments.writeIfStale(tableFile.toPath(),
+				Paths.get(rootPath + "correct"), bFunc,
+				s -> ZERO.matcher(s).replaceAll(gapSymbol), rules, factory);
+	}
+
 	@NotNull
 	private static Comparator<Integer> readWeightsComparator(
 			FeatureType<Integer> type, FileHandler handler, String path) {
@@ -212,73 +330,6 @@ public final class Main {
 		}
 	}
 
-	private static <T> void writeAlignments(String rootPath,
-			Iterable<Tuple<String, Collection<AlignmentResult<T>>>> alignments) {
-		ObjectMapper objectMapper = new ObjectMapper();
-		for (Tuple<String, Collection<AlignmentResult<T>>> entry : alignments) {
-			String key = entry.getLeft();
-			StringBuilder sb1 = new StringBuilder();
-			StringBuilder sb2 = new StringBuilder();
-			sb1.append(HYPHEN.matcher(key).replaceAll("\t"));
-			sb1.append('\n');
-			for (AlignmentResult<T> result : entry.getRight()) {
-				Iterator<Alignment<T>> list = result.getAlignments().iterator();
-				Iterable<CharSequence> charSequences = list.hasNext()
-						? list.next().buildPrettyAlignments()
-						: Collections.emptyList();
-				for (CharSequence sequence : charSequences) {
-					String normal = Normalizer.normalize(sequence, Form.NFC);
-					String str = HASH.matcher(normal)
-							.replaceAll(Matcher.quoteReplacement("")).trim();
-					sb1.append(str);
-					sb1.append('\t');
-				}
-				sb1.append('\n');
-
-				ObjectNode node = new ObjectNode(objectMapper.getNodeFactory());
-				node.put("left",result.getLeft().toString());
-				node.put("right",result.getRight().toString());
-				List<Object> objects = new ArrayList<>();
-				for (Alignment<T> alignment : result.getAlignments()) {
-					objects.add(alignment.getPrettyTable().split("\n"));
-				}
-				List<Object> table = new ArrayList<>();
-				Iterator<Collection<Double>> it = result.getTable().rowIterator();
-				while (it.hasNext()) {
-					table.add(it.next());
-				}
-				node.putPOJO("alignments",objects);
-				node.putPOJO("table", table);
-				try {
-					sb2.append(objectMapper.writeValueAsString(node));
-				} catch (JsonProcessingException e) {
-					e.printStackTrace();
-				}
-			}
-
-			File file1 = new File(rootPath + "alignments_" + key + ".csv");
-			File file2 = new File(rootPath + "alignments_" + key + ".json");
-			Path path = file1.toPath();
-			try {
-				Files.createDirectories(path.getParent());
-			} catch (IOException e) {
-				e.printStackTrace();
-			}
-
-			try (BufferedWriter writer = new BufferedWriter(new FileWriter(file1))) {
-				writer.write(sb1.toString());
-			} catch (IOException e) {
-				e.printStackTrace();
-			}
-
-			try (BufferedWriter writer = new BufferedWriter(new FileWriter(file2))) {
-				writer.write(sb2.toString());
-			} catch (IOException e) {
-				e.printStackTrace();
-			}
-		}
-	}
-
 	private static Map<String, PairCorrespondenceSet<Segment<Integer>>> buildContexts(
 			SequenceFactory<Integer> factory, Sequence<Integer> gap, MultiMap<String, Alignment<Integer>> alignmentMap) {
 		Map<String, PairCorrespondenceSet<Segment<Integer>>> contexts =
@@ -327,40 +378,6 @@ public final class Main {
 		return contexts;
 	}
 
-	private static <T> MultiMap<String, AlignmentResult<T>> align(
-			AlignmentAlgorithm<T> algorithm,
-			List<String> keyList,
-			ColumnTable<Sequence<T>> data
-	) {
-		MultiMap<String, AlignmentResult<T>> alignmentMap =
-				new GeneralMultiMap<>(new LinkedHashMap<>(), Suppliers.ofList());
-		for (int i = 0; i < keyList.size(); i++) {
-			String k1 = keyList.get(i);
-			List<Sequence<T>> d1 = data.getColumn(k1);
-			for (int j = 1; j < keyList.size() && j != i; j++) {
-				String k2 = keyList.get(j);
-				List<Sequence<T>> d2 = data.getColumn(k2);
-
-				if (d1 == null || d2 == null || d1.size() != d2.size()) {
-					return null;
-				}
-
-				Collection<AlignmentResult<T>> alignments = new ArrayList<>();
-				Iterator<Sequence<T>> it1 = d1.iterator();
-				Iterator<Sequence<T>> it2 = d2.iterator();
-				while (it1.hasNext() && it2.hasNext()) {
-					Sequence<T> e1 = it1.next();
-					Sequence<T> e2 = it2.next();
-					List<Sequence<T>> list = asList(e1, e2);
-					AlignmentResult<T> result = algorithm.apply(list);
-					alignments.add(result);
-				}
-				alignmentMap.addAll(k1 + '-' + k2, alignments);
-			}
-		}
-		return alignmentMap;
-	}
-
 	private static Segment<Integer> lookBack(List<Segment<Integer>> left, int i,
 	                                        Sequence<Integer> gap) {
 		Segment<Integer> a = left.get(i - 1);
@@ -0,0 +1,187 @@
+package org.didelphis.genetics.alignment;
+
+import org.didelphis.genetics.alignment.algorithm.TableRetention;
+import org.didelphis.structures.tables.RectangularTable;
+import org.didelphis.structures.tables.Table;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Class {@code ScoreTable}
+ *
+ * The part of a dynamic-programming table retained under a {@link
+ * TableRetention} policy: every cell for {@link TableRetention#FULL}, every
+ * cell as a {@code float} for {@link TableRetention#FULL_FLOAT}, or the last
+ * row followed by the last column for {@link
+ * TableRetention#LAST_ROW_COLUMN}. Cells which are not retained read as
+ * {@code NaN}.
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+public final class ScoreTable {
+
+	private final TableRetention retention;
+	private final int rows;
+	private final int columns;
+	private final double[] cells;
+	private final float[] floats;
+
+	private ScoreTable(TableRetention retention, int rows, int columns,
+			double[] cells, float[] floats) {
+		this.retention = retention;
+		this.rows = rows;
+		this.columns = columns;
+		this.cells = cells;
+		this.floats = floats;
+	}
+
+	/**
+	 * Retains part of a table
+	 *
+	 * @param table the table in row-major order
+	 * @param scale multiplies every value, to convert the orientation of the
+	 * 		table's scores
+	 * @return the retained cells, or null if the policy retains none
+	 */
+	@Nullable
+	public static ScoreTable retain(
+			@NotNull TableRetention retention,
+			@NotNull double[] table,
+			int rows,
+			int columns,
+			double scale
+	) {
+		if (table.length != rows * columns) {
+			throw new IllegalArgumentException("A table of " + rows + " by "
+					+ columns + " cannot have " + table.length + " cells");
+		}
+		switch (retention) {
+			case FULL: {
+				double[] cells = new double[table.length];
+				for (int k = 0; k < cells.length; k++) {
+					cells[k] = scale * table[k];
+				}
+				return new ScoreTable(retention, rows, columns, cells, null);
+			}
+			case FULL_FLOAT: {
+				float[] floats = new float[table.length];
+				for (int k = 0; k < floats.length; k++) {
+					floats[k] = (float) (scale * table[k]);
+				}
+				return new ScoreTable(retention, rows, columns, null, floats);
+			}
+			case LAST_ROW_COLUMN: {
+				if (rows == 0 || columns == 0) {
+					return new ScoreTable(retention, rows, columns,
+							new double[0], null);
+				}
+				double[] cells = new double[columns + rows];
+				int last = (rows - 1) * columns;
+				for (int j = 0; j < columns; j++) {
+					cells[j] = scale * table[last + j];
+				}
+				for (int i = 0; i < rows; i++) {
+					cells[columns + i] = scale * table[i * columns + columns - 1];
+				}
+				return new ScoreTable(retention, rows, columns, cells, null);
+			}
+			default:
+				return null;
+		}
+	}
+
+	@NotNull
+	public TableRetention getRetention() {
+		return retention;
+	}
+
+	public int rows() {
+		return rows;
+	}
+
+	public int columns() {
+		return columns;
+	}
+
+	public boolean isRetained(int row, int column) {
+		check(row, column);
+		return retention != TableRetention.LAST_ROW_COLUMN
+				|| row == rows - 1
+				|| column == columns - 1;
+	}
+
+	/**
+	 * @return the value of a cell, or {@code NaN} if it is not retained
+	 */
+	public double get(int row, int column) {
+		check(row, column);
+		if (retention == TableRetention.FULL) {
+			return cells[row * columns + column];
+		}
+		if (retention == TableRetention.FULL_FLOAT) {
+			return floats[row * columns + column];
+		}
+		if (row == rows - 1) {
+			return cells[column];
+		}
+		if (column == columns - 1) {
+			return cells[columns + row];
+		}
+		return Double.NaN;
+	}
+
+	/**
+	 * @return a new boxed table, with null in each cell not retained
+	 */
+	@NotNull
+	public Table<Double> toTable() {
+		Table<Double> table = new RectangularTable<>((Double) null, rows,
+				columns);
+		for (int i = 0; i < rows; i++) {
+			for (int j = 0; j < columns; j++) {
+				if (isRetained(i, j)) {
+					table.set(i, j, get(i, j));
+				}
+			}
+		}
+		return table;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof ScoreTable)) {
+			return false;
+		}
+		ScoreTable that = (ScoreTable) o;
+		return retention == that.retention
+				&& rows == that.rows
+				&& columns == that.columns
+				&& Arrays.equals(cells, that.cells)
+				&& Arrays.equals(floats, that.floats);
+	}
+
+	@Override
+	public int hashCode() {
+		int result = 31 * (31 * retention.hashCode() + rows) + columns;
+		return 31 * (31 * result + Arrays.hashCode(cells))
+				+ Arrays.hashCode(floats);
+	}
+
+	@Override
+	public String toString() {
+		return "ScoreTable{retention=" + retention + ", rows=" + rows
+				+ ", columns=" + columns + '}';
+	}
+
+	private void check(int row, int column) {
+		if (row < 0 || row >= rows || column < 0 || column >= columns) {
+			throw new IndexOutOfBoundsException("Cell " + row + ", " + column
+					+ " of " + rows + " by " + columns);
+		}
+	}
+}
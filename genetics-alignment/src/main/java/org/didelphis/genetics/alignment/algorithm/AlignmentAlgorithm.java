@@ -8,6 +8,7 @@ import org.didelphis.language.phonetic.sequences.Sequence;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 
 /**
@@ -28,4 +29,52 @@ public interface AlignmentAlgorithm<T>
 
 	@NotNull
 	Optimization getOptimization();
+
+	/**
+	 * Whether the algorithm may be applied from several threads at once. A
+	 * thread-safe algorithm must not modify its inputs, so that the same
+	 * sequence can be passed to concurrent calls, and must keep no state
+	 * between calls except what it synchronizes itself. Its comparator and gap
+	 * penalty must be thread-safe too.
+	 *
+	 * Callers which align in parallel, such as {@link BatchAligner} and
+	 * {@link ColumnPairScheduler}, apply an algorithm which is not thread-safe
+	 * from one thread at a time.
+	 *
+	 * @return false unless an implementation overrides it
+	 */
+	default boolean isThreadSafe() {
+		return false;
+	}
+
+	/**
+	 * Aligns many inputs, in parallel on the common pool if the algorithm is
+	 * {@linkplain #isThreadSafe() thread-safe} and in order on the calling
+	 * thread otherwise
+	 *
+	 * @return the result for each input, in input order
+	 * @see BatchAligner
+	 */
+	@NotNull
+	default List<AlignmentResult<T>> applyAll(
+			@NotNull List<? extends List<? extends Sequence<T>>> inputs
+	) {
+		return new BatchAligner<>(this).applyAll(inputs);
+	}
+
+	/**
+	 * Aligns many inputs, in parallel on the provided pool if the algorithm
+	 * is {@linkplain #isThreadSafe() thread-safe} and in order on the calling
+	 * thread otherwise
+	 *
+	 * @return the result for each input, in input order
+	 * @see BatchAligner
+	 */
+	@NotNull
+	default List<AlignmentResult<T>> applyAll(
+			@NotNull List<? extends List<? extends Sequence<T>>> inputs,
+			@NotNull ForkJoinPool pool
+	) {
+		return new BatchAligner<>(this, pool).applyAll(inputs);
+	}
 }
@@ -0,0 +1,220 @@
+package org.didelphis.genetics.alignment.algorithm;
+
+import org.didelphis.genetics.alignment.AlignmentResult;
+import org.didelphis.genetics.alignment.algorithm.PairDeduplicator.Deduplication;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.didelphis.utilities.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Class {@code BatchAligner}
+ *
+ * Applies an {@link AlignmentAlgorithm} to many inputs in parallel on a
+ * {@link ForkJoinPool}, returning results in input order.
+ *
+ * The cost of aligning an input is estimated as the product of its sequence
+ * lengths, i.e. the size of its DP table. Work is split recursively at the
+ * cost midpoint rather than the index midpoint, so a batch mixing long and
+ * short words still divides evenly, and splitting stops once a chunk's cost
+ * falls below a threshold derived from the pool's parallelism so that short
+ * words are not scheduled one task at a time.
+ *
+ * If a {@link PairDeduplicator} is provided, repeated inputs are found before
+ * alignment and each distinct input is aligned once. Deduplication is off by
+ * default: encoding a batch is serial, and pays off only for batches with many
+ * repeats. A deduplicator may be reused across batches, so that its inventory
+ * is built only once. The result of a distinct input is not copied: the same
+ * {@link AlignmentResult} instance is returned at every row where the input
+ * occurs, so results, and their alignments, must not be modified.
+ *
+ * The algorithm, with its comparator and gap penalty, is called from several
+ * threads at once only if it is {@linkplain AlignmentAlgorithm#isThreadSafe()
+ * thread-safe}; any other algorithm is applied to each input in order on the
+ * calling thread. {@link NeedlemanWunschAlgorithm} keeps no state between
+ * calls, and is safe with {@link
+ * org.didelphis.genetics.alignment.operators.comparators.CostMatrixComparator},
+ * {@link org.didelphis.genetics.alignment.operators.comparators.LinearWeightComparator},
+ * {@link org.didelphis.genetics.alignment.operators.comparators.ContextComparator}
+ * and the gap penalties of this project once they are configured; a
+ * comparator which builds state lazily must synchronize it itself.
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+public final class BatchAligner<T> {
+
+	private static final long MIN_CHUNK_COST = 1 << 14;
+	private static final int CHUNKS_PER_THREAD = 4;
+
+	private static final Logger LOGGER = Logger.create(BatchAligner.class);
+
+	private final AlignmentAlgorithm<T> algorithm;
+	private final ForkJoinPool pool;
+	private final PairDeduplicator<T> deduplicator;
+
+	public BatchAligner(@NotNull AlignmentAlgorithm<T> algorithm) {
+		this(algorithm, ForkJoinPool.commonPool());
+	}
+
+	public BatchAligner(
+			@NotNull AlignmentAlgorithm<T> algorithm,
+			@NotNull ForkJoinPool pool
+	) {
+		this(algorithm, pool, null);
+	}
+
+	/**
+	 * @param algorithm the algorithm to apply
+	 * @param pool the pool on which to run
+	 * @param deduplicator used to skip repeated inputs; if null, every input
+	 * 		is aligned. Rows with the same input share one result
+	 */
+	public BatchAligner(
+			@NotNull AlignmentAlgorithm<T> algorithm,
+			@NotNull ForkJoinPool pool,
+			@Nullable PairDeduplicator<T> deduplicator
+	) {
+		this.algorithm = algorithm;
+		this.pool = pool;
+		this.deduplicator = deduplicator;
+	}
+
+	/**
+	 * Aligns every input
+	 *
+	 * @param inputs the inputs to align, each as would be passed to
+	 *        {@link AlignmentAlgorithm#apply}
+	 * @return the result for each input, in the same order
+	 */
+	@NotNull
+	public List<AlignmentResult<T>> applyAll(
+			@NotNull List<? extends List<? extends Sequence<T>>> inputs
+	) {
+		if (deduplicator == null || inputs.size() < 2) {
+			return align(inputs);
+		}
+		Deduplication deduplication = deduplicator.deduplicate(inputs);
+		LOGGER.debug("Aligning {} distinct inputs of {} ({} duplicates)",
+				deduplication.getUnique(), deduplication.getTotal(),
+				deduplication.getRatio());
+		if (deduplication.getUnique() == inputs.size()) {
+			return align(inputs);
+		}
+		return deduplication.expand(align(deduplication.select(inputs)));
+	}
+
+	@NotNull
+	private List<AlignmentResult<T>> align(
+			@NotNull List<? extends List<? extends Sequence<T>>> inputs
+	) {
+		int size = inputs.size();
+		if (size == 0) {
+			return Collections.emptyList();
+		}
+		long[] costs = new long[size + 1];
+		for (int i = 0; i < size; i++) {
+			costs[i + 1] = costs[i] + cost(inputs.get(i));
+		}
+		// an algorithm which is not thread-safe gets a single chunk, aligned
+		// on this thread
+		long threshold = algorithm.isThreadSafe()
+				? Math.max(MIN_CHUNK_COST, costs[size]
+						/ ((long) pool.getParallelism() * CHUNKS_PER_THREAD))
+				: Long.MAX_VALUE;
+
+		@SuppressWarnings("unchecked")
+		AlignmentResult<T>[] results = new AlignmentResult[size];
+		Chunk chunk = new Chunk(inputs, results, costs, threshold, 0, size);
+		if (size == 1 || costs[size] <= threshold) {
+			chunk.compute();
+		} else {
+			pool.invoke(chunk);
+		}
+		return Arrays.asList(results);
+	}
+
+	@NotNull
+	public AlignmentAlgorithm<T> getAlgorithm() {
+		return algorithm;
+	}
+
+	@NotNull
+	public ForkJoinPool getPool() {
+		return pool;
+	}
+
+	@Override
+	public String toString() {
+		return "BatchAligner{algorithm=" + algorithm + ", parallelism=" +
+				pool.getParallelism() + ", deduplicating=" +
+				(deduplicator != null) + '}';
+	}
+
+	private static long cost(List<? extends Sequence<?>> input) {
+		long cost = 1;
+		for (Sequence<?> sequence : input) {
+			cost *= Math.max(1, sequence.size());
+		}
+		return cost;
+	}
+
+	private final class Chunk extends RecursiveAction {
+
+		private final List<? extends List<? extends Sequence<T>>> inputs;
+		private final AlignmentResult<T>[] results;
+		private final long[] costs;
+		private final long threshold;
+		private final int start;
+		private final int end;
+
+		private Chunk(
+				List<? extends List<? extends Sequence<T>>> inputs,
+				AlignmentResult<T>[] results,
+				long[] costs,
+				long threshold,
+				int start,
+				int end
+		) {
+			this.inputs = inputs;
+			this.results = results;
+			this.costs = costs;
+			this.threshold = threshold;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected void compute() {
+			if (end - start <= 1 || costs[end] - costs[start] <= threshold) {
+				for (int i = start; i < end; i++) {
+					results[i] = algorithm.apply(inputs.get(i));
+				}
+				return;
+			}
+			int split = split();
+			invokeAll(
+					new Chunk(inputs, results, costs, threshold, start, split),
+					new Chunk(inputs, results, costs, threshold, split, end)
+			);
+		}
+
+		/**
+		 * @return the first index whose cumulative cost reaches the midpoint
+		 * 		of the chunk's cost, kept strictly inside the chunk
+		 */
+		private int split() {
+			long target = (costs[start] + costs[end]) >>> 1;
+			int index = Arrays.binarySearch(costs, start + 1, end, target);
+			if (index < 0) {
+				index = -index - 1;
+			}
+			return Math.max(start + 1, Math.min(end - 1, index));
+		}
+	}
+}
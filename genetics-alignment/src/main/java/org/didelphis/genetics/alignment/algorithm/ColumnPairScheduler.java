@@ -0,0 +1,374 @@
+package org.didelphis.genetics.alignment.algorithm;
+
+import org.didelphis.genetics.alignment.AlignmentResult;
+import org.didelphis.genetics.alignment.algorithm.PairDeduplicator.Deduplication;
+import org.didelphis.genetics.alignment.common.SegmentInventory;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.didelphis.structures.tables.ColumnTable;
+import org.didelphis.utilities.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Class {@code ColumnPairScheduler}
+ *
+ * Aligns every unordered pair of columns of a table, row by row. Each cell is
+ * encoded once against a {@link SegmentInventory} and, when the algorithm is a
+ * {@link NeedlemanWunschAlgorithm}, prepared once by {@link
+ * NeedlemanWunschAlgorithm#prepare}; the result is shared by all of the
+ * column's pairs rather than being recomputed for each of them. Any other
+ * {@link AlignmentAlgorithm} is applied to the cells as they are.
+ *
+ * Work is divided into blocks of consecutive rows, and each task aligns every
+ * pair for its block before moving on, so the prepared data of a block is
+ * reused {@code k(k - 1) / 2} times while it is still in cache. The block size
+ * is chosen from the average word length so that a block of all columns fits
+ * comfortably in a core's private cache. An algorithm which is not
+ * {@linkplain AlignmentAlgorithm#isThreadSafe() thread-safe} is given a
+ * single block, so that it is applied from one thread at a time; a cell is
+ * passed to each of its column's pairs, which only a thread-safe algorithm
+ * may see at once.
+ *
+ * Rows of a pair whose encoded words repeat an earlier row of the same pair
+ * are not aligned again; they share the earlier row's result. The fraction of
+ * alignments saved this way is available from {@link #getDeduplicationRatio()}
+ * after each run.
+ *
+ * Each pair is named by {@link #pairKey}, which joins the column keys with
+ * {@value #SEPARATOR}; output file names and headers are derived from these
+ * names, so column keys may not contain the separator.
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+public final class ColumnPairScheduler<T> {
+
+	public static final char SEPARATOR = '-';
+
+	private static final Logger LOGGER =
+			Logger.create(ColumnPairScheduler.class);
+
+	/** Approximate number of segments per block, across all columns */
+	private static final int BLOCK_SEGMENTS = 1 << 12;
+	private static final int MIN_BLOCK_ROWS = 8;
+
+	private final AlignmentAlgorithm<T> algorithm;
+	private final NeedlemanWunschAlgorithm<T> preparing;
+	private final SegmentInventory<T> inventory;
+	private final ForkJoinPool pool;
+
+	private volatile double deduplicationRatio;
+
+	public ColumnPairScheduler(@NotNull AlignmentAlgorithm<T> algorithm) {
+		this(algorithm, new SegmentInventory<>(), ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * @param algorithm the algorithm used for every pair
+	 * @param inventory used to encode cells; may be shared with other
+	 * 		schedulers so that their encodings are comparable
+	 * @param pool the pool on which to run
+	 */
+	public ColumnPairScheduler(
+			@NotNull AlignmentAlgorithm<T> algorithm,
+			@NotNull SegmentInventory<T> inventory,
+			@NotNull ForkJoinPool pool
+	) {
+		this.algorithm = algorithm;
+		preparing = algorithm instanceof NeedlemanWunschAlgorithm
+				? (NeedlemanWunschAlgorithm<T>) algorithm
+				: null;
+		this.inventory = inventory;
+		this.pool = pool;
+	}
+
+	/**
+	 * Aligns every row of each pair of the given columns
+	 *
+	 * @param keys the columns to align; every pair {@code (i, j)} with
+	 *        {@code i < j} is aligned with column {@code i} on the left
+	 * @param data the table containing the columns
+	 * @return the results of each pair, keyed by {@link #pairKey} in the
+	 * 		order of {@code keys}, each in row order
+	 * @throws IllegalArgumentException if a key contains {@link #SEPARATOR}
+	 */
+	@NotNull
+	public Map<String, List<AlignmentResult<T>>> alignAll(
+			@NotNull List<String> keys,
+			@NotNull ColumnTable<Sequence<T>> data
+	) {
+		int k = keys.size();
+		int[][] pairs = new int[k * (k - 1) / 2][];
+		String[] pairKeys = new String[pairs.length];
+		int p = 0;
+		for (int i = 0; i < k; i++) {
+			for (int j = i + 1; j < k; j++) {
+				pairKeys[p] = pairKey(keys.get(i), keys.get(j));
+				pairs[p++] = new int[]{i, j};
+			}
+		}
+
+		List<PreparedColumn<T>> columns = prepare(keys, data);
+		int rows = data.rows();
+
+		Deduplication[] deduplications = new Deduplication[pairs.length];
+		long unique = 0;
+		for (int q = 0; q < pairs.length; q++) {
+			deduplications[q] = PairDeduplicator.deduplicate(
+					columns.get(pairs[q][0]).ids, columns.get(pairs[q][1]).ids);
+			unique += deduplications[q].getUnique();
+		}
+		long total = (long) pairs.length * rows;
+		deduplicationRatio = total == 0 ? 0.0 : 1.0 - unique / (double) total;
+		LOGGER.info("Aligning {} distinct pairs of {} ({} duplicates)", unique,
+				total, deduplicationRatio);
+
+		@SuppressWarnings("unchecked")
+		AlignmentResult<T>[][] results = new AlignmentResult[pairs.length][rows];
+		if (pairs.length > 0 && rows > 0) {
+			int blockRows = algorithm.isThreadSafe()
+					? blockRows(columns, rows)
+					: rows;
+			pool.invoke(new Block(columns, pairs, deduplications, results,
+					blockRows, 0, rows));
+		}
+		for (int q = 0; q < pairs.length; q++) {
+			Deduplication deduplication = deduplications[q];
+			for (int row = 0; row < rows; row++) {
+				int first = deduplication.first(deduplication.representative(row));
+				results[q][row] = results[q][first];
+			}
+		}
+
+		Map<String, List<AlignmentResult<T>>> map = new LinkedHashMap<>();
+		for (int q = 0; q < pairs.length; q++) {
+			map.put(pairKeys[q], Arrays.asList(results[q]));
+		}
+		return map;
+	}
+
+	/**
+	 * Names the pair of two columns
+	 *
+	 * @return the keys joined by {@link #SEPARATOR}
+	 * @throws IllegalArgumentException if either key contains the separator,
+	 * 		as the name would then be ambiguous
+	 */
+	@NotNull
+	public static String pairKey(@NotNull String left, @NotNull String right) {
+		checkKey(left);
+		checkKey(right);
+		return left + SEPARATOR + right;
+	}
+
+	/**
+	 * Prepares and encodes each of the given columns, in parallel over rows
+	 *
+	 * @return one prepared column for each key, in the same order
+	 */
+	@NotNull
+	public List<PreparedColumn<T>> prepare(
+			@NotNull List<String> keys,
+			@NotNull ColumnTable<Sequence<T>> data
+	) {
+		List<PreparedColumn<T>> columns = new ArrayList<>(keys.size());
+		for (String key : keys) {
+			List<Sequence<T>> column = data.getColumn(key);
+			if (column == null) {
+				throw new IllegalArgumentException("No column named " + key
+						+ " in " + data.getKeys());
+			}
+			columns.add(new PreparedColumn<>(key, column));
+		}
+		int rows = data.rows();
+		pool.invoke(new Preparation(columns, 0, rows));
+		return columns;
+	}
+
+	/**
+	 * @return the fraction of alignments skipped as duplicates during the most
+	 * 		recent call to {@link #alignAll}
+	 */
+	public double getDeduplicationRatio() {
+		return deduplicationRatio;
+	}
+
+	@NotNull
+	public SegmentInventory<T> getInventory() {
+		return inventory;
+	}
+
+	@Override
+	public String toString() {
+		return "ColumnPairScheduler{algorithm=" + algorithm + ", parallelism=" +
+				pool.getParallelism() + '}';
+	}
+
+	private static void checkKey(String key) {
+		if (key.indexOf(SEPARATOR) >= 0) {
+			throw new IllegalArgumentException("Column key " + key
+					+ " may not contain " + SEPARATOR);
+		}
+	}
+
+	private static <T> int blockRows(List<PreparedColumn<T>> columns, int rows) {
+		long segments = 0;
+		for (PreparedColumn<T> column : columns) {
+			for (int[] ids : column.ids) {
+				segments += ids.length;
+			}
+		}
+		long perRow = Math.max(1, segments / Math.max(1, rows));
+		return (int) Math.max(MIN_BLOCK_ROWS, BLOCK_SEGMENTS / perRow);
+	}
+
+	/**
+	 * The prepared cells of one column
+	 */
+	public static final class PreparedColumn<T> {
+
+		private final String key;
+		private final List<Sequence<T>> cells;
+		private final List<PreparedSequence<T>> sequences;
+		private final int[][] ids;
+
+		private PreparedColumn(String key, List<Sequence<T>> cells) {
+			this.key = key;
+			this.cells = cells;
+			@SuppressWarnings("unchecked")
+			PreparedSequence<T>[] array = new PreparedSequence[cells.size()];
+			sequences = Arrays.asList(array);
+			ids = new int[cells.size()][];
+		}
+
+		@NotNull
+		public String getKey() {
+			return key;
+		}
+
+		@NotNull
+		public Sequence<T> getSequence(int row) {
+			return cells.get(row);
+		}
+
+		/**
+		 * @return the prepared cell at the given row, or null if the
+		 * 		scheduler's algorithm is not a {@link NeedlemanWunschAlgorithm}
+		 */
+		@Nullable
+		public PreparedSequence<T> get(int row) {
+			return sequences.get(row);
+		}
+
+		/**
+		 * @return the cell at the given row, encoded with the scheduler's
+		 *        {@link SegmentInventory}
+		 */
+		@NotNull
+		public int[] getIds(int row) {
+			return ids[row];
+		}
+
+		public int size() {
+			return ids.length;
+		}
+
+		@Override
+		public String toString() {
+			return "PreparedColumn{key=" + key + ", rows=" + ids.length + '}';
+		}
+	}
+
+	private final class Preparation extends RecursiveAction {
+
+		private final List<PreparedColumn<T>> columns;
+		private final int start;
+		private final int end;
+
+		private Preparation(List<PreparedColumn<T>> columns, int start,
+				int end) {
+			this.columns = columns;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected void compute() {
+			if (end - start > MIN_BLOCK_ROWS * 4) {
+				int mid = (start + end) >>> 1;
+				invokeAll(new Preparation(columns, start, mid),
+						new Preparation(columns, mid, end));
+				return;
+			}
+			for (PreparedColumn<T> column : columns) {
+				for (int row = start; row < end; row++) {
+					Sequence<T> sequence = column.cells.get(row);
+					if (preparing != null) {
+						column.sequences.set(row, preparing.prepare(sequence));
+					}
+					column.ids[row] = inventory.encode(sequence);
+				}
+			}
+		}
+	}
+
+	private final class Block extends RecursiveAction {
+
+		private final List<PreparedColumn<T>> columns;
+		private final int[][] pairs;
+		private final Deduplication[] deduplications;
+		private final AlignmentResult<T>[][] results;
+		private final int blockRows;
+		private final int start;
+		private final int end;
+
+		private Block(List<PreparedColumn<T>> columns, int[][] pairs,
+				Deduplication[] deduplications, AlignmentResult<T>[][] results,
+				int blockRows, int start, int end) {
+			this.columns = columns;
+			this.pairs = pairs;
+			this.deduplications = deduplications;
+			this.results = results;
+			this.blockRows = blockRows;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected void compute() {
+			if (end - start > blockRows) {
+				int blocks = (end - start + blockRows - 1) / blockRows;
+				int mid = start + (blocks / 2) * blockRows;
+				invokeAll(
+						new Block(columns, pairs, deduplications, results,
+								blockRows, start, mid),
+						new Block(columns, pairs, deduplications, results,
+								blockRows, mid, end));
+				return;
+			}
+			for (int q = 0; q < pairs.length; q++) {
+				PreparedColumn<T> left = columns.get(pairs[q][0]);
+				PreparedColumn<T> right = columns.get(pairs[q][1]);
+				Deduplication deduplication = deduplications[q];
+				AlignmentResult<T>[] out = results[q];
+				for (int row = start; row < end; row++) {
+					if (!deduplication.isFirst(row)) {
+						continue;
+					}
+					out[row] = preparing != null
+							? preparing.apply(left.get(row), right.get(row))
+							: algorithm.apply(Arrays.asList(
+									left.getSequence(row),
+									right.getSequence(row)));
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,385 @@
+package org.didelphis.genetics.alignment.algorithm;
+
+import org.didelphis.genetics.alignment.Alignment;
+import org.didelphis.genetics.alignment.AlignmentResult;
+import org.didelphis.genetics.alignment.ScoreTable;
+import org.didelphis.genetics.alignment.operators.Comparator;
+import org.didelphis.genetics.alignment.operators.gap.GapPenalty;
+import org.didelphis.language.phonetic.model.FeatureModel;
+import org.didelphis.language.phonetic.sequences.BasicSequence;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.didelphis.structures.tables.RectangularTable;
+import org.didelphis.structures.tables.Table;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Class {@code ConcaveGapEngine}
+ *
+ * Global alignment under a gap penalty charged per gap as
+ * {@link GapPenalty#weight(int)} of its length, where the weight is concave.
+ * A direct implementation must consider every earlier row (or column) as the
+ * start of the gap ending at each cell, taking {@code O(mn(m + n))} time.
+ *
+ * This engine uses the candidate-list technique of Miller &amp; Myers and of
+ * Galil, Giancarlo &amp; Eppstein instead. For a concave weight, once an older
+ * gap start is at least as good as a newer one it remains so for every later
+ * cell, so the useful starts in each column (and in the current row) form a
+ * stack where each candidate owns a contiguous range of future cells. Adding a
+ * candidate pops the ranges it dominates and finds its crossover with the
+ * next by binary search, which gives {@code O(mn log(max(m, n)))} time
+ * overall. All state is held in primitive arrays allocated once per pair.
+ *
+ * Scores are handled in cost orientation internally, so the engine supports
+ * maximization as long as the penalty's magnitude is concave.
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+final class ConcaveGapEngine<N> {
+
+	private static final byte DIAGONAL = 0;
+	private static final byte VERTICAL = 1;
+	private static final byte HORIZONTAL = 2;
+
+	private final Comparator<N> comparator;
+	private final GapPenalty<N> penalty;
+	private final ScoreKernel kernel;
+	private final FeatureModel<N> model;
+	private final double sign;
+	private final TableRetention retention;
+
+	ConcaveGapEngine(
+			@NotNull AlignmentAlgorithm<N> algorithm,
+			@Nullable ScoreKernel kernel,
+			@NotNull TableRetention retention
+	) {
+		comparator = algorithm.getComparator();
+		penalty = algorithm.getGapPenalty();
+		model = algorithm.getFactory().getFeatureMapping().getFeatureModel();
+		this.kernel = kernel;
+		this.retention = retention;
+		@SuppressWarnings("unchecked")
+		Optimization<Double> optimization = algorithm.getOptimization();
+		sign = optimization.test(0.0, 1.0) ? 1.0 : -1.0;
+	}
+
+	/**
+	 * @param left the left sequence, prepared without per-position penalties
+	 * @param right the right sequence, prepared without per-position penalties
+	 */
+	@NotNull
+	AlignmentResult<N> align(
+			@NotNull PreparedSequence<N> left,
+			@NotNull PreparedSequence<N> right
+	) {
+		Run run = new Run(left, right);
+		return new AlignmentResult<>(left.getSequence(), right.getSequence(),
+				run.getScore(), run.retain(), run.trace());
+	}
+
+	/**
+	 * @return the whole table of two sequences, whatever the retention
+	 */
+	@NotNull
+	Table<Double> table(
+			@NotNull PreparedSequence<N> left,
+			@NotNull PreparedSequence<N> right
+	) {
+		return new Run(left, right).getTable();
+	}
+
+	private final class Run {
+
+		private final PreparedSequence<N> left;
+		private final PreparedSequence<N> right;
+		private final int m;
+		private final int n;
+
+		/** Best score of each cell, in cost orientation */
+		private final double[] table;
+		/** The move which produced each cell's score */
+		private final byte[] moves;
+		/** For gap moves, the row or column where the gap starts */
+		private final int[] origins;
+
+		/** Gap weight by length, in cost orientation */
+		private final double[] weights;
+		/** Prefix sums of the cost of aligning each position to the gap */
+		private final double[] leftGaps;
+		private final double[] rightGaps;
+
+		/** Candidate stacks of each column, {@code m} slots per column */
+		private final int[] columnCandidates;
+		private final int[] columnEnds;
+		private final int[] columnSizes;
+
+		/** Candidate stack of the current row */
+		private final int[] rowCandidates;
+		private final int[] rowEnds;
+		private int rowSize;
+
+		private Run(PreparedSequence<N> left, PreparedSequence<N> right) {
+			this.left = left;
+			this.right = right;
+			m = left.size();
+			n = right.size();
+			table = new double[m * n];
+			moves = new byte[m * n];
+			origins = new int[m * n];
+
+			weights = new double[Math.max(m, n)];
+			for (int length = 1; length < weights.length; length++) {
+				weights[length] = sign * penalty.weight(length);
+			}
+			leftGaps = prefixSums(left.getDeletions());
+			rightGaps = prefixSums(right.getInsertions());
+
+			columnCandidates = new int[m * n];
+			columnEnds = new int[m * n];
+			columnSizes = new int[n];
+			rowCandidates = new int[n];
+			rowEnds = new int[n];
+
+			fill();
+		}
+
+		private void fill() {
+			int[] l = left.getIds();
+			int[] r = right.getIds();
+			boolean encoded = kernel != null && l != null && r != null;
+			Sequence<N> lSeq = left.getSequence();
+			Sequence<N> rSeq = right.getSequence();
+			for (int i = 0; i < m; i++) {
+				rowSize = 0;
+				for (int j = 0; j < n; j++) {
+					int cell = i * n + j;
+					if (i > 0 || j > 0) {
+						double best = Double.POSITIVE_INFINITY;
+						if (i > 0 && j > 0) {
+							double sub = encoded
+									? kernel.substitute(l[i], r[j])
+									: comparator.apply(lSeq, rSeq, i, j);
+							best = table[cell - n - 1] + sign * sub;
+							moves[cell] = DIAGONAL;
+						}
+						if (i > 0) {
+							int k = columnBest(j, i);
+							double score = table[k * n + j] + weights[i - k]
+									+ leftGaps[i] - leftGaps[k];
+							if (score < best) {
+								best = score;
+								moves[cell] = VERTICAL;
+								origins[cell] = k;
+							}
+						}
+						if (j > 0) {
+							int k = rowBest(j);
+							double score = table[i * n + k] + weights[j - k]
+									+ rightGaps[j] - rightGaps[k];
+							if (score < best) {
+								best = score;
+								moves[cell] = HORIZONTAL;
+								origins[cell] = k;
+							}
+						}
+						table[cell] = best;
+					}
+					pushColumn(j, i);
+					pushRow(i, j);
+				}
+			}
+		}
+
+		private int columnBest(int j, int i) {
+			int base = j * m;
+			int top = columnSizes[j] - 1;
+			while (columnEnds[base + top] <= i) {
+				top--;
+			}
+			columnSizes[j] = top + 1;
+			return columnCandidates[base + top];
+		}
+
+		private int rowBest(int j) {
+			int top = rowSize - 1;
+			while (rowEnds[top] <= j) {
+				top--;
+			}
+			rowSize = top + 1;
+			return rowCandidates[top];
+		}
+
+		/**
+		 * Adds row {@code k} as a candidate start for vertical gaps in
+		 * column {@code j}
+		 */
+		private void pushColumn(int j, int k) {
+			if (k + 1 >= m) {
+				return;
+			}
+			int base = j * m;
+			int size = columnSizes[j];
+			while (size > 0 && columnEnds[base + size - 1] <= k + 1) {
+				size--;
+			}
+			int start = size == 0 ? m : k + 1;
+			while (size > 0) {
+				int old = columnCandidates[base + size - 1];
+				int end = columnEnds[base + size - 1];
+				if (!(columnKey(j, k, start) < columnKey(j, old, start))) {
+					break;
+				}
+				if (columnKey(j, k, end - 1) < columnKey(j, old, end - 1)) {
+					start = end;
+					size--;
+					continue;
+				}
+				int lo = start + 1;
+				int hi = end - 1;
+				while (lo < hi) {
+					int mid = (lo + hi) >>> 1;
+					if (columnKey(j, k, mid) < columnKey(j, old, mid)) {
+						lo = mid + 1;
+					} else {
+						hi = mid;
+					}
+				}
+				start = lo;
+				break;
+			}
+			if (start > k + 1) {
+				columnCandidates[base + size] = k;
+				columnEnds[base + size] = start;
+				size++;
+			}
+			columnSizes[j] = size;
+		}
+
+		/**
+		 * Adds column {@code k} as a candidate start for horizontal gaps in
+		 * row {@code i}
+		 */
+		private void pushRow(int i, int k) {
+			if (k + 1 >= n) {
+				return;
+			}
+			while (rowSize > 0 && rowEnds[rowSize - 1] <= k + 1) {
+				rowSize--;
+			}
+			int start = rowSize == 0 ? n : k + 1;
+			while (rowSize > 0) {
+				int old = rowCandidates[rowSize - 1];
+				int end = rowEnds[rowSize - 1];
+				if (!(rowKey(i, k, start) < rowKey(i, old, start))) {
+					break;
+				}
+				if (rowKey(i, k, end - 1) < rowKey(i, old, end - 1)) {
+					start = end;
+					rowSize--;
+					continue;
+				}
+				int lo = start + 1;
+				int hi = end - 1;
+				while (lo < hi) {
+					int mid = (lo + hi) >>> 1;
+					if (rowKey(i, k, mid) < rowKey(i, old, mid)) {
+						lo = mid + 1;
+					} else {
+						hi = mid;
+					}
+				}
+				start = lo;
+				break;
+			}
+			if (start > k + 1) {
+				rowCandidates[rowSize] = k;
+				rowEnds[rowSize] = start;
+				rowSize++;
+			}
+		}
+
+		/**
+		 * @return the score of a vertical gap from row {@code k} to row
+		 * 		{@code i} in column {@code j}, less the terms shared by all
+		 * 		candidates
+		 */
+		private double columnKey(int j, int k, int i) {
+			return table[k * n + j] - leftGaps[k] + weights[i - k];
+		}
+
+		private double rowKey(int i, int k, int j) {
+			return table[i * n + k] - rightGaps[k] + weights[j - k];
+		}
+
+		private double[] prefixSums(double[] costs) {
+			double[] sums = new double[costs.length];
+			for (int i = 1; i < costs.length; i++) {
+				sums[i] = sums[i - 1] + sign * costs[i];
+			}
+			return sums;
+		}
+
+		private List<Alignment<N>> trace() {
+			if (m == 0 || n == 0) {
+				return Collections.emptyList();
+			}
+			Sequence<N> gap = penalty.getGap();
+			Sequence<N> lSeq = left.getSequence();
+			Sequence<N> rSeq = right.getSequence();
+			Sequence<N> w = new BasicSequence<>(Collections.emptyList(), model);
+			Sequence<N> z = new BasicSequence<>(Collections.emptyList(), model);
+			int i = m - 1;
+			int j = n - 1;
+			while (i > 0 || j > 0) {
+				int cell = i * n + j;
+				byte move = moves[cell];
+				if (move == DIAGONAL) {
+					w.add(lSeq.get(i--));
+					z.add(rSeq.get(j--));
+				} else if (move == VERTICAL) {
+					for (int k = origins[cell]; i > k; i--) {
+						w.add(lSeq.get(i));
+						z.add(gap);
+					}
+				} else {
+					for (int k = origins[cell]; j > k; j--) {
+						w.add(gap);
+						z.add(rSeq.get(j));
+					}
+				}
+			}
+			w.add(lSeq.get(0));
+			z.add(rSeq.get(0));
+			Collections.reverse(w);
+			Collections.reverse(z);
+			List<Alignment<N>> alignments = new ArrayList<>();
+			alignments.add(new Alignment<>(Arrays.asList(w, z), model));
+			return alignments;
+		}
+
+		private double getScore() {
+			return table.length == 0
+					? Double.NaN
+					: sign * table[table.length - 1];
+		}
+
+		private ScoreTable retain() {
+			return ScoreTable.retain(retention, table, m, n, sign);
+		}
+
+		private Table<Double> getTable() {
+			Table<Double> boxed = new RectangularTable<>(0.0, m, n);
+			for (int i = 0; i < m; i++) {
+				for (int j = 0; j < n; j++) {
+					boxed.set(i, j, sign * table[i * n + j]);
+				}
+			}
+			return boxed;
+		}
+	}
+}
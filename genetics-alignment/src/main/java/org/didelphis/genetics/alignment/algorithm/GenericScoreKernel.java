@@ -0,0 +1,93 @@
+package org.didelphis.genetics.alignment.algorithm;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Class {@code GenericScoreKernel}
+ *
+ * The same DP loop as {@link ScoreKernelTemplate}, reading its configuration
+ * from instance fields. Used where hidden classes cannot be defined and as a
+ * baseline when benchmarking the specialized kernels.
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+final class GenericScoreKernel implements ScoreKernel {
+
+	private final double[] costs;
+	private final int size;
+	private final int gap;
+	private final boolean minimize;
+
+	GenericScoreKernel(double[] costs, int size, int gap, boolean minimize) {
+		this.costs = costs;
+		this.size = size;
+		this.gap = gap;
+		this.minimize = minimize;
+	}
+
+	@Override
+	public boolean covers(int id) {
+		return id >= 0 && id < size;
+	}
+
+	@Override
+	public double substitute(int a, int b) {
+		return costs[a * size + b];
+	}
+
+	@Override
+	public void deletions(@NotNull int[] sequence, @NotNull double[] array) {
+		for (int i = 0; i < sequence.length; i++) {
+			array[i] += costs[sequence[i] * size + gap];
+		}
+	}
+
+	@Override
+	public void insertions(@NotNull int[] sequence, @NotNull double[] array) {
+		for (int j = 0; j < sequence.length; j++) {
+			array[j] += costs[gap * size + sequence[j]];
+		}
+	}
+
+	@Override
+	public void fill(@NotNull int[] left, @NotNull int[] right,
+			@NotNull double[] deletions, @NotNull double[] insertions,
+			@NotNull double[] table) {
+		int m = left.length;
+		int n = right.length;
+		if (m == 0 || n == 0) {
+			return;
+		}
+		table[0] = 0.0;
+		for (int j = 1; j < n; j++) {
+			table[j] = table[j - 1] + insertions[j];
+		}
+		for (int i = 1; i < m; i++) {
+			int row = i * n;
+			int above = row - n;
+			int offset = left[i] * size;
+			double del = deletions[i];
+			table[row] = table[above] + del;
+			for (int j = 1; j < n; j++) {
+				double sub = table[above + j - 1] + costs[offset + right[j]];
+				double dlt = table[above + j] + del;
+				double ins = table[row + j - 1] + insertions[j];
+				double best;
+				if (minimize) {
+					best = sub < dlt ? sub : dlt;
+					best = best < ins ? best : ins;
+				} else {
+					best = sub > dlt ? sub : dlt;
+					best = best > ins ? best : ins;
+				}
+				table[row + j] = best;
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "GenericScoreKernel{size=" + size + ", gap=" + gap +
+				", minimize=" + minimize + '}';
+	}
+}
@@ -2,7 +2,10 @@ package org.didelphis.genetics.alignment.algorithm;
 
 import org.didelphis.genetics.alignment.Alignment;
 import org.didelphis.genetics.alignment.AlignmentResult;
+import org.didelphis.genetics.alignment.ScoreTable;
+import org.didelphis.genetics.alignment.common.SegmentInventory;
 import org.didelphis.genetics.alignment.operators.Comparator;
+import org.didelphis.genetics.alignment.operators.comparators.CostMatrixComparator;
 import org.didelphis.genetics.alignment.operators.gap.GapPenalty;
 import org.didelphis.language.phonetic.SequenceFactory;
 import org.didelphis.language.phonetic.model.FeatureModel;
@@ -11,10 +14,10 @@ import org.didelphis.language.phonetic.sequences.Sequence;
 import org.didelphis.structures.tables.RectangularTable;
 import org.didelphis.structures.tables.Table;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -26,18 +29,113 @@ import java.util.Objects;
  */
 public class NeedlemanWunschAlgorithm<N> extends AbstractAlignmentAlgorithm<N> {
 
+	private final ScoreKernel kernel;
+	private final SegmentInventory<N> inventory;
+	private final ConcaveGapEngine<N> concaveEngine;
+	private final TableRetention retention;
+
+	/**
+	 * Creates a new algorithm, which retains the full table of each result;
+	 * see {@link #withRetention}. If the comparator is a
+	 * {@link CostMatrixComparator} which covers the gap segment, a specialized
+	 * {@link ScoreKernel} is compiled for it and used for every pair whose
+	 * segments are all covered by its matrix.
+	 *
+	 * If the gap penalty is concave, alignments are computed by an engine
+	 * which charges the penalty per gap; see {@link GapPenalty#isConcave()}.
+	 */
 	public NeedlemanWunschAlgorithm(Comparator<N> comparator,
 			Optimization<Double> optimization,
 			GapPenalty<N> gapPenalty,
 			SequenceFactory<N> factory) {
 		super(comparator, optimization, gapPenalty, factory);
+		if (comparator instanceof CostMatrixComparator) {
+			CostMatrixComparator<N> matrix = (CostMatrixComparator<N>) comparator;
+			kernel = ScoreKernelFactory.compile(matrix, gapPenalty, optimization);
+			inventory = matrix.getInventory();
+		} else {
+			kernel = null;
+			inventory = null;
+		}
+		retention = TableRetention.FULL;
+		concaveEngine = concaveEngine(gapPenalty);
+	}
+
+	/**
+	 * Creates a new algorithm using an explicit kernel
+	 *
+	 * @param kernel the kernel used to fill the DP table; if null, or if a
+	 * 		pair contains segments the kernel does not cover, the comparator is
+	 * 		used instead
+	 * @param inventory the inventory used to encode sequences for the kernel
+	 */
+	public NeedlemanWunschAlgorithm(@Nullable ScoreKernel kernel,
+			@NotNull SegmentInventory<N> inventory,
+			Comparator<N> comparator,
+			Optimization<Double> optimization,
+			GapPenalty<N> gapPenalty,
+			SequenceFactory<N> factory) {
+		super(comparator, optimization, gapPenalty, factory);
+		this.kernel = kernel;
+		this.inventory = inventory;
+		retention = TableRetention.FULL;
+		concaveEngine = concaveEngine(gapPenalty);
+	}
+
+	private NeedlemanWunschAlgorithm(NeedlemanWunschAlgorithm<N> algorithm,
+			TableRetention retention) {
+		super(algorithm.getComparator(), algorithm.getOptimization(),
+				algorithm.getGapPenalty(), algorithm.getFactory());
+		kernel = algorithm.kernel;
+		inventory = algorithm.inventory;
+		this.retention = retention;
+		concaveEngine = concaveEngine(algorithm.getGapPenalty());
+	}
+
+	/**
+	 * @return an algorithm identical to this one, sharing its kernel, which
+	 * 		retains as much of each table as the policy allows
+	 */
+	@NotNull
+	public NeedlemanWunschAlgorithm<N> withRetention(
+			@NotNull TableRetention retention) {
+		return retention == this.retention
+				? this
+				: new NeedlemanWunschAlgorithm<>(this, retention);
+	}
+
+	@NotNull
+	public TableRetention getRetention() {
+		return retention;
+	}
+
+	/**
+	 * @return true; the algorithm does not modify its inputs and keeps no
+	 * 		state between calls, so it is thread-safe whenever its comparator
+	 * 		and gap penalty are
+	 */
+	@Override
+	public boolean isThreadSafe() {
+		return true;
 	}
 
 	@NotNull
 	@Override
 	public AlignmentResult<N> apply(@NotNull List<? extends Sequence<N>> sequences) {
-		Sequence<N> left = sequences.get(0);
-		Sequence<N> right = sequences.get(1);
+		return apply(prepare(sequences.get(0)), prepare(sequences.get(1)));
+	}
+
+	/**
+	 * Aligns two sequences previously prepared by this algorithm
+	 */
+	@NotNull
+	public AlignmentResult<N> apply(
+			@NotNull PreparedSequence<N> left,
+			@NotNull PreparedSequence<N> right
+	) {
+		if (concaveEngine != null) {
+			return concaveEngine.align(left, right);
+		}
 		AlgorithmRunner runner = new AlgorithmRunner(left, right);
 		FeatureModel<N> model = getFactory().getFeatureMapping().getFeatureModel();
 		int startI = left.size() - 1;
@@ -46,14 +144,73 @@ public class NeedlemanWunschAlgorithm<N> extends AbstractAlignmentAlgorithm<N> {
 				new BasicSequence<>(Collections.emptyList(), model),
 				new BasicSequence<>(Collections.emptyList(), model)
 				, startI, startJ);
-		return new AlignmentResult<>(left, right, runner.table, alignments);
+		return new AlignmentResult<>(left.getSequence(), right.getSequence(),
+				runner.getScore(), runner.retain(), alignments);
 	}
 
 	public Table<Double> align(Sequence<N> left, Sequence<N> right) {
-		AlgorithmRunner runner = new AlgorithmRunner(left, right);
+		if (concaveEngine != null) {
+			return concaveEngine.table(prepare(left), prepare(right));
+		}
+		AlgorithmRunner runner = new AlgorithmRunner(prepare(left),
+				prepare(right));
 		return runner.getTable();
 	}
 
+	/**
+	 * Computes the per-sequence data used to align a sequence: its kernel
+	 * encoding and the gap costs of each position, including the penalties
+	 * given by {@link GapPenalty#prepare}, unless the penalty is concave. The
+	 * result may be reused for any number of alignments by this algorithm, on
+	 * either side.
+	 */
+	@NotNull
+	public PreparedSequence<N> prepare(@NotNull Sequence<N> sequence) {
+		int size = sequence.size();
+		GapPenalty<N> penalty = getGapPenalty();
+		double[] deletions = new double[size];
+		if (concaveEngine == null) {
+			penalty.prepare(sequence, deletions);
+		}
+		double[] insertions = Arrays.copyOf(deletions, size);
+		int[] ids = encode(sequence);
+		if (ids != null) {
+			kernel.deletions(ids, deletions);
+			kernel.insertions(ids, insertions);
+		} else {
+			Comparator<N> comparator = getComparator();
+			Sequence<N> gap = penalty.getGap();
+			for (int i = 0; i < size; i++) {
+				deletions[i] += comparator.apply(sequence, gap, i, 0);
+				insertions[i] += comparator.apply(gap, sequence, 0, i);
+			}
+		}
+		return new PreparedSequence<>(sequence, ids, deletions, insertions);
+	}
+
+	@Nullable
+	private ConcaveGapEngine<N> concaveEngine(GapPenalty<N> gapPenalty) {
+		return gapPenalty.isConcave()
+				? new ConcaveGapEngine<>(this, kernel, retention)
+				: null;
+	}
+
+	@Nullable
+	private int[] encode(Sequence<N> sequence) {
+		if (kernel == null) {
+			return null;
+		}
+		int[] encoded = new int[sequence.size()];
+		for (int i = 0; i < encoded.length; i++) {
+			int id = inventory.indexOf(sequence.get(i));
+			if (!kernel.covers(id)) {
+				return null;
+			}
+			encoded[i] = id;
+		}
+		return encoded;
+	}
+
 	private static boolean neq(double sub, double del) {
 		return !Objects.equals(sub, del);
 	}
@@ -61,51 +218,56 @@ public class NeedlemanWunschAlgorithm<N> extends AbstractAlignmentAlgorithm<N> {
 	private final class AlgorithmRunner {
 		private final Sequence<N> left;
 		private final Sequence<N> right;
-		private final Table<Double> table;
+		private final int rows;
+		private final int columns;
+		private final double[] table;
 		private final FeatureModel<N> model = getFactory().getFeatureMapping().getFeatureModel();
 		private final Comparator<N> comparator = getComparator();
-		private final GapPenalty<N> penalty = getGapPenalty();
 		private final Optimization<Double> optimization=getOptimization();
 
-		private final Sequence<N> gap = penalty.getGap();
+		private final Sequence<N> gap = getGapPenalty().getGap();
 
 
-		private AlgorithmRunner(Sequence<N> left, Sequence<N> right) {
-			this.left = left;
-			this.right = right;
-			table = new RectangularTable<>(0.0, left.size(), right.size());
-			align();
+		private AlgorithmRunner(PreparedSequence<N> left,
+				PreparedSequence<N> right) {
+			this.left = left.getSequence();
+			this.right = right.getSequence();
+			rows = left.size();
+			columns = right.size();
+			table = new double[rows * columns];
+			if (rows == 0 || columns == 0) {
+				return;
+			}
+			int[] l = left.getIds();
+			int[] r = right.getIds();
+			if (l != null && r != null) {
+				kernel.fill(l, r, left.getDeletions(), right.getInsertions(),
+						table);
+			} else {
+				align(left.getDeletions(), right.getInsertions());
+			}
 		}
 
-		private void align() {
-			int m = left.size();
-			int n = right.size();
+		private void align(double[] deletions, double[] insertions) {
+			int m = rows;
+			int n = columns;
 			for (int j = 1; j < n; j++) {
-				double v = get(table,0, j - 1) + ins(right, j);
-				table.set(0, j, v);
+				table[j] = get(0, j - 1) + insertions[j];
 			}
 			for (int i = 1; i < m; i++) {
-				double v = get(table, i - 1, 0) + del(left, i);
-				table.set(i, 0, v);
+				double del = deletions[i];
+				table[i * n] = get(i - 1, 0) + del;
 				for (int j = 1; j < n; j++) {
-					Collection<Double> candidates = buildCandidates(i, j);
-					Double score = candidates.parallelStream()
-							.reduce(optimization)
-							.orElse(optimization.defaultValue());
-					table.set(i, j, score);
+					double score = optimization.apply(
+							get(i - 1, j - 1) + sub(left, right, i, j),
+							get(i - 1, j) + del);
+					score = optimization.apply(score,
+							get(i, j - 1) + insertions[j]);
+					table[i * n + j] = score;
 				}
 			}
 		}
 
-		@NotNull
-		private Collection<Double> buildCandidates(int i, int j) {
-			return Arrays.asList(
-					get(table,i - 1, j - 1) + sub(left, right, i, j),
-					get(table,i - 1, j) + del(left, i),
-					get(table,i, j - 1) + ins(right, j)
-			);
-		}
-
 		private List<Alignment<N>> trace(Sequence<N> w, Sequence<N> z,
 				int startI, int startJ) {
 
@@ -119,9 +281,9 @@ public class NeedlemanWunschAlgorithm<N> extends AbstractAlignmentAlgorithm<N> {
 			int i = startI;
 			int j = startJ;
 			while (i > 0 || j > 0) {
-				double sub = get(table, i - 1, j - 1);
-				double del = get(table, i - 1, j);
-				double ins = get(table, i, j - 1);
+				double sub = get(i - 1, j - 1);
+				double del = get(i - 1, j);
+				double ins = get(i, j - 1);
 
 				if (i > 0 && j > 0 && op(sub, del, ins)) {
 					W.add(this.left.get(i));
@@ -159,26 +321,32 @@ public class NeedlemanWunschAlgorithm<N> extends AbstractAlignmentAlgorithm<N> {
 			return optimization.test(v1, v2) || optimization.test(v1, v3);
 		}
 
-		private double get(Table<Double> table, int i, int j) {
-			return (i < 0 || j < 0 || i >= table.rows() || j >= table.columns())
+		private double get(int i, int j) {
+			return (i < 0 || j < 0 || i >= rows || j >= columns)
 					? optimization.defaultValue()
-					: table.get(i, j);
+					: table[i * columns + j];
 		}
 
-		private double ins(Sequence<N> right, int j) {
-			return comparator.apply(gap, right, 0, j) + penalty.applyAsDouble(0);
+		private double sub(Sequence<N> left, Sequence<N> right, int i, int j) {
+			return comparator.apply(left, right, i, j);
 		}
 
-		private double del(Sequence<N> left, int i) {
-			return comparator.apply(left, gap, i, 0) + penalty.applyAsDouble(0);
+		private double getScore() {
+			return table.length == 0 ? Double.NaN : table[table.length - 1];
 		}
 
-		private double sub(Sequence<N> left, Sequence<N> right, int i, int j) {
-			return comparator.apply(left, right, i, j);
+		private ScoreTable retain() {
+			return ScoreTable.retain(retention, table, rows, columns, 1.0);
 		}
 
 		private Table<Double> getTable() {
-			return table;
+			Table<Double> boxed = new RectangularTable<>(0.0, rows, columns);
+			for (int i = 0; i < rows; i++) {
+				for (int j = 0; j < columns; j++) {
+					boxed.set(i, j, table[i * columns + j]);
+				}
+			}
+			return boxed;
 		}
 	}
 }
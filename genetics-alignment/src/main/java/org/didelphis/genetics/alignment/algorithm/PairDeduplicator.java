@@ -0,0 +1,216 @@
+package org.didelphis.genetics.alignment.algorithm;
+
+import org.didelphis.genetics.alignment.common.SegmentInventory;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class {@code PairDeduplicator}
+ *
+ * Finds repeated inputs in a batch so that each distinct input is aligned
+ * only once. Inputs are compared by their encodings in a
+ * {@link SegmentInventory}, so two inputs are duplicates exactly when their
+ * sequences contain equal segments in the same order.
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+public final class PairDeduplicator<T> {
+
+	private final SegmentInventory<T> inventory;
+
+	public PairDeduplicator(@NotNull SegmentInventory<T> inventory) {
+		this.inventory = inventory;
+	}
+
+	/**
+	 * Encodes and deduplicates a batch of inputs
+	 */
+	@NotNull
+	public Deduplication deduplicate(
+			@NotNull List<? extends List<? extends Sequence<T>>> inputs
+	) {
+		Map<Key, Integer> map = new HashMap<>();
+		int[] representatives = new int[inputs.size()];
+		List<Integer> firsts = new ArrayList<>();
+		for (int row = 0; row < inputs.size(); row++) {
+			List<? extends Sequence<T>> input = inputs.get(row);
+			int[][] encoded = new int[input.size()][];
+			for (int s = 0; s < encoded.length; s++) {
+				encoded[s] = inventory.encode(input.get(s));
+			}
+			representatives[row] = index(map, new Key(encoded), row, firsts);
+		}
+		return new Deduplication(representatives, toArray(firsts));
+	}
+
+	/**
+	 * Deduplicates pairs of sequences which have already been encoded
+	 *
+	 * @param left the encoded left sequence of each row
+	 * @param right the encoded right sequence of each row
+	 */
+	@NotNull
+	public static Deduplication deduplicate(
+			@NotNull int[][] left,
+			@NotNull int[][] right
+	) {
+		Map<Key, Integer> map = new HashMap<>();
+		int[] representatives = new int[left.length];
+		List<Integer> firsts = new ArrayList<>();
+		for (int row = 0; row < left.length; row++) {
+			Key key = new Key(new int[][]{left[row], right[row]});
+			representatives[row] = index(map, key, row, firsts);
+		}
+		return new Deduplication(representatives, toArray(firsts));
+	}
+
+	@NotNull
+	public SegmentInventory<T> getInventory() {
+		return inventory;
+	}
+
+	@Override
+	public String toString() {
+		return "PairDeduplicator{inventory=" + inventory + '}';
+	}
+
+	private static int index(Map<Key, Integer> map, Key key, int row,
+			List<Integer> firsts) {
+		Integer index = map.get(key);
+		if (index == null) {
+			index = firsts.size();
+			map.put(key, index);
+			firsts.add(row);
+		}
+		return index;
+	}
+
+	private static int[] toArray(List<Integer> list) {
+		int[] array = new int[list.size()];
+		for (int i = 0; i < array.length; i++) {
+			array[i] = list.get(i);
+		}
+		return array;
+	}
+
+	/**
+	 * The distinct inputs of a batch and the mapping from each input to its
+	 * distinct representative
+	 */
+	public static final class Deduplication {
+
+		private final int[] representatives;
+		private final int[] firsts;
+
+		private Deduplication(int[] representatives, int[] firsts) {
+			this.representatives = representatives;
+			this.firsts = firsts;
+		}
+
+		/**
+		 * @return the index, among the distinct inputs, of the input at
+		 * 		{@code row}
+		 */
+		public int representative(int row) {
+			return representatives[row];
+		}
+
+		/**
+		 * @return the row at which the distinct input {@code index} first
+		 * 		occurs
+		 */
+		public int first(int index) {
+			return firsts[index];
+		}
+
+		/**
+		 * @return true iff {@code row} is the first occurrence of its input
+		 */
+		public boolean isFirst(int row) {
+			return firsts[representatives[row]] == row;
+		}
+
+		/**
+		 * Selects the first occurrence of each distinct input
+		 */
+		@NotNull
+		public <E> List<E> select(@NotNull List<E> inputs) {
+			List<E> list = new ArrayList<>(firsts.length);
+			for (int row : firsts) {
+				list.add(inputs.get(row));
+			}
+			return list;
+		}
+
+		/**
+		 * Fans the results for the distinct inputs back out to every row
+		 *
+		 * @param results one result per distinct input, in the order of
+		 *        {@link #select}
+		 * @return one result per row
+		 */
+		@NotNull
+		public <R> List<R> expand(@NotNull List<R> results) {
+			List<R> list = new ArrayList<>(representatives.length);
+			for (int index : representatives) {
+				list.add(results.get(index));
+			}
+			return list;
+		}
+
+		public int getTotal() {
+			return representatives.length;
+		}
+
+		public int getUnique() {
+			return firsts.length;
+		}
+
+		/**
+		 * @return the fraction of inputs which were duplicates and will not
+		 * 		be aligned, between 0 and 1
+		 */
+		public double getRatio() {
+			return representatives.length == 0
+					? 0.0
+					: 1.0 - firsts.length / (double) representatives.length;
+		}
+
+		@Override
+		public String toString() {
+			return "Deduplication{total=" + getTotal() + ", unique=" +
+					getUnique() + ", ratio=" + getRatio() + '}';
+		}
+	}
+
+	private static final class Key {
+
+		private final int[][] sequences;
+		private final int hash;
+
+		private Key(int[][] sequences) {
+			this.sequences = sequences;
+			hash = Arrays.deepHashCode(sequences);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) { return true; }
+			if (!(obj instanceof Key)) { return false; }
+			Key other = (Key) obj;
+			return hash == other.hash
+					&& Arrays.deepEquals(sequences, other.sequences);
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package org.didelphis.genetics.alignment.algorithm;
+
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Class {@code PreparedSequence}
+ *
+ * A sequence together with everything an algorithm can compute about it
+ * independently of the sequence it is aligned against: its encoding for a
+ * {@link ScoreKernel}, if any, and the full cost of deleting or inserting each
+ * position, including position- and class-specific gap penalties. Preparing a
+ * sequence once and aligning it against many others avoids repeating this
+ * work for every pair.
+ *
+ * Instances are produced by {@link NeedlemanWunschAlgorithm#prepare} and are
+ * only valid for the algorithm which produced them.
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+public final class PreparedSequence<T> {
+
+	private final Sequence<T> sequence;
+	private final int[] ids;
+	private final double[] deletions;
+	private final double[] insertions;
+
+	PreparedSequence(
+			@NotNull Sequence<T> sequence,
+			@Nullable int[] ids,
+			@NotNull double[] deletions,
+			@NotNull double[] insertions
+	) {
+		this.sequence = sequence;
+		this.ids = ids;
+		this.deletions = deletions;
+		this.insertions = insertions;
+	}
+
+	@NotNull
+	public Sequence<T> getSequence() {
+		return sequence;
+	}
+
+	/**
+	 * @return the sequence encoded for the algorithm's kernel, or null if the
+	 * 		algorithm has no kernel or the kernel does not cover the sequence
+	 */
+	@Nullable
+	public int[] getIds() {
+		return ids;
+	}
+
+	/**
+	 * @return the cost of aligning each position against the gap
+	 */
+	@NotNull
+	public double[] getDeletions() {
+		return deletions;
+	}
+
+	/**
+	 * @return the cost of aligning the gap against each position
+	 */
+	@NotNull
+	public double[] getInsertions() {
+		return insertions;
+	}
+
+	public int size() {
+		return sequence.size();
+	}
+
+	@Override
+	public String toString() {
+		return "PreparedSequence{" + sequence + '}';
+	}
+}
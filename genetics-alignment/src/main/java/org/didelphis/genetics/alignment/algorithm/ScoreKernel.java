@@ -0,0 +1,60 @@
+package org.didelphis.genetics.alignment.algorithm;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Interface {@code ScoreKernel}
+ *
+ * A fully primitive Needleman-Wunsch scoring kernel operating on sequences
+ * encoded as segment ids. Implementations are produced by
+ * {@link ScoreKernelFactory} for a fixed configuration (cost matrix, gap
+ * segment and optimization direction). Gap penalties are not part of the
+ * kernel; callers obtain them per sequence from
+ * {@link org.didelphis.genetics.alignment.operators.gap.GapPenalty#prepare}
+ * and the kernel adds the cost of substituting each segment with the gap.
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+public interface ScoreKernel {
+
+	/**
+	 * @param id a segment id
+	 * @return true iff the kernel's cost matrix has a row for the id
+	 */
+	boolean covers(int id);
+
+	double substitute(int a, int b);
+
+	/**
+	 * Adds the cost of aligning each position of a sequence against the gap,
+	 * i.e. the cost of deleting it when it is the left sequence.
+	 *
+	 * @param sequence an encoded sequence
+	 * @param costs an array at least as long as the sequence, holding the gap
+	 * 		penalty of each position
+	 */
+	void deletions(@NotNull int[] sequence, @NotNull double[] costs);
+
+	/**
+	 * Adds the cost of aligning the gap against each position of a sequence,
+	 * i.e. the cost of inserting it when it is the right sequence.
+	 *
+	 * @param sequence an encoded sequence
+	 * @param costs an array at least as long as the sequence, holding the gap
+	 * 		penalty of each position
+	 */
+	void insertions(@NotNull int[] sequence, @NotNull double[] costs);
+
+	/**
+	 * Fills a row-major {@code left.length × right.length} DP table
+	 *
+	 * @param left the encoded left sequence
+	 * @param right the encoded right sequence
+	 * @param deletions per-position deletion costs of {@code left}
+	 * @param insertions per-position insertion costs of {@code right}
+	 * @param table the table to fill
+	 */
+	void fill(@NotNull int[] left, @NotNull int[] right,
+			@NotNull double[] deletions, @NotNull double[] insertions,
+			@NotNull double[] table);
+}
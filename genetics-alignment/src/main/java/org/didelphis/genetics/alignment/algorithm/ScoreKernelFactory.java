@@ -0,0 +1,189 @@
+package org.didelphis.genetics.alignment.algorithm;
+
+import lombok.experimental.UtilityClass;
+import org.didelphis.genetics.alignment.common.SegmentInventory;
+import org.didelphis.genetics.alignment.operators.comparators.CostMatrixComparator;
+import org.didelphis.genetics.alignment.operators.comparators.FeatureDifferenceTensor;
+import org.didelphis.genetics.alignment.operators.gap.GapPenalty;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.didelphis.utilities.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+
+/**
+ * Class {@code ScoreKernelFactory}
+ *
+ * Produces {@link ScoreKernel}s specialized for a single comparator
+ * configuration. Each call to {@code compile} defines a new hidden class from
+ * the bytes of {@link ScoreKernelTemplate}, so the cost matrix, gap id and
+ * optimization direction are constants to the JIT and the DP loop
+ * contains no interface calls. Hidden classes are not strongly reachable from
+ * their loader, so kernels for discarded candidates are unloaded normally.
+ *
+ * Hidden classes with class data were added in Java 16, and the project still
+ * builds for older releases, so the API is looked up reflectively. If it is
+ * unavailable, or the template cannot be loaded or defined, a {@link
+ * GenericScoreKernel} with the same behavior is returned instead.
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+@UtilityClass
+public final class ScoreKernelFactory {
+
+	private final Logger LOGGER = Logger.create(ScoreKernelFactory.class);
+
+	private final byte[] TEMPLATE = readTemplate();
+	private final Method DEFINE = findDefine();
+
+	/**
+	 * Compiles a kernel from a square cost matrix
+	 *
+	 * @param costs a row-major {@code size × size} cost matrix
+	 * @param gap the id of the gap segment
+	 * @param optimization {@link BaseOptimization#MIN} or
+	 *        {@link BaseOptimization#MAX}
+	 * @return a new kernel; never null
+	 */
+	@NotNull
+	public ScoreKernel compile(
+			@NotNull double[] costs,
+			int gap,
+			@NotNull Optimization<Double> optimization
+	) {
+		int size = (int) Math.sqrt(costs.length);
+		if (size * size != costs.length || gap < 0 || gap >= size) {
+			throw new IllegalArgumentException("Invalid kernel configuration:"
+					+ " " + costs.length + " costs with gap id " + gap);
+		}
+		boolean minimize = optimization.test(0.0, 1.0);
+		if (TEMPLATE != null && DEFINE != null) {
+			Object[] data = {costs, size, gap, minimize};
+			try {
+				Object options = Array.newInstance(
+						DEFINE.getParameterTypes()[3].getComponentType(), 0);
+				Lookup lookup = (Lookup) DEFINE.invoke(MethodHandles.lookup(),
+						TEMPLATE, data, true, options);
+				return (ScoreKernel) lookup.findConstructor(
+						lookup.lookupClass(), MethodType.methodType(void.class))
+						.invoke();
+			} catch (Throwable e) {
+				LOGGER.warn("Unable to define specialized kernel, using the "
+						+ "generic kernel instead", e);
+			}
+		}
+		return generic(costs, gap, optimization);
+	}
+
+	/**
+	 * Compiles a kernel equivalent to using the comparator with a
+	 * {@link NeedlemanWunschAlgorithm}; the penalty is only used to locate
+	 * the gap segment
+	 *
+	 * @return a new kernel, or null if the gap segment is not covered by the
+	 * 		comparator's cost matrix
+	 */
+	@Nullable
+	public <T> ScoreKernel compile(
+			@NotNull CostMatrixComparator<T> comparator,
+			@NotNull GapPenalty<T> penalty,
+			@NotNull Optimization<Double> optimization
+	) {
+		int gap = gapId(comparator.getInventory(), penalty);
+		if (!comparator.covers(gap)) {
+			return null;
+		}
+		return compile(comparator.getCosts(), gap, optimization);
+	}
+
+	/**
+	 * Compiles a kernel for one weighting of a feature difference tensor,
+	 * equivalent to a {@link
+	 * org.didelphis.genetics.alignment.operators.comparators.LinearWeightComparator}
+	 * with the same weights
+	 *
+	 * @return a new kernel, or null if the gap segment is not covered by the
+	 * 		tensor
+	 */
+	@Nullable
+	public <T> ScoreKernel compile(
+			@NotNull FeatureDifferenceTensor<T> tensor,
+			@NotNull double[] weights,
+			@NotNull GapPenalty<T> penalty,
+			@NotNull Optimization<Double> optimization
+	) {
+		int gap = gapId(tensor.getInventory(), penalty);
+		if (gap < 0 || gap >= tensor.size()) {
+			return null;
+		}
+		return compile(tensor.weigh(weights), gap, optimization);
+	}
+
+	/**
+	 * @return an unspecialized kernel with the same behavior as
+	 *        {@link #compile(double[], int, Optimization)}
+	 */
+	@NotNull
+	public ScoreKernel generic(
+			@NotNull double[] costs,
+			int gap,
+			@NotNull Optimization<Double> optimization
+	) {
+		int size = (int) Math.sqrt(costs.length);
+		return new GenericScoreKernel(costs, size, gap,
+				optimization.test(0.0, 1.0));
+	}
+
+	private <T> int gapId(SegmentInventory<T> inventory, GapPenalty<T> penalty) {
+		Sequence<T> gap = penalty.getGap();
+		return gap.size() == 1 ? inventory.indexOf(gap.get(0)) : -1;
+	}
+
+	/**
+	 * @return {@code Lookup.defineHiddenClassWithClassData}, or null before
+	 * 		Java 16
+	 */
+	@Nullable
+	private Method findDefine() {
+		try {
+			Class<?> options = Class.forName(
+					"java.lang.invoke.MethodHandles$Lookup$ClassOption");
+			return Lookup.class.getMethod("defineHiddenClassWithClassData",
+					byte[].class, Object.class, boolean.class,
+					Array.newInstance(options, 0).getClass());
+		} catch (ReflectiveOperationException e) {
+			LOGGER.info("Hidden classes are unavailable; using generic "
+					+ "kernels");
+			return null;
+		}
+	}
+
+	@Nullable
+	private byte[] readTemplate() {
+		String name = ScoreKernelTemplate.class.getSimpleName() + ".class";
+		try (InputStream stream = ScoreKernelTemplate.class
+				.getResourceAsStream(name)) {
+			if (stream == null) {
+				return null;
+			}
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			byte[] buffer = new byte[0x1000];
+			int read;
+			while ((read = stream.read(buffer)) >= 0) {
+				out.write(buffer, 0, read);
+			}
+			return out.toByteArray();
+		} catch (IOException e) {
+			LOGGER.warn("Unable to read kernel template", e);
+			return null;
+		}
+	}
+}
@@ -0,0 +1,106 @@
+package org.didelphis.genetics.alignment.algorithm;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+
+/**
+ * Class {@code ScoreKernelTemplate}
+ *
+ * Bytecode template for {@link ScoreKernelFactory#compile}. This class is
+ * never initialized directly; each configuration is defined as a separate
+ * hidden class from these bytes, with its parameters passed as class data.
+ * Because the parameters land in {@code static final} fields of a class of
+ * their own, the JIT treats them as constants and every copy of the DP loop
+ * has its own, monomorphic profile. {@code MethodHandles.classData} is called
+ * reflectively, as {@link ScoreKernelFactory} defines the class.
+ *
+ * @see GenericScoreKernel for the same loop over instance fields
+ * @since 0.2.0 Date: 2026-10-19
+ */
+final class ScoreKernelTemplate implements ScoreKernel {
+
+	private static final double[] COSTS;
+	private static final int SIZE;
+	private static final int GAP;
+	private static final boolean MINIMIZE;
+
+	static {
+		Object[] data;
+		try {
+			data = (Object[]) MethodHandles.class.getMethod("classData",
+					Lookup.class, String.class, Class.class)
+					.invoke(null, MethodHandles.lookup(), "_", Object[].class);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+		COSTS = (double[]) data[0];
+		SIZE = (Integer) data[1];
+		GAP = (Integer) data[2];
+		MINIMIZE = (Boolean) data[3];
+	}
+
+	ScoreKernelTemplate() {
+	}
+
+	@Override
+	public boolean covers(int id) {
+		return id >= 0 && id < SIZE;
+	}
+
+	@Override
+	public double substitute(int a, int b) {
+		return COSTS[a * SIZE + b];
+	}
+
+	@Override
+	public void deletions(@NotNull int[] sequence, @NotNull double[] costs) {
+		for (int i = 0; i < sequence.length; i++) {
+			costs[i] += COSTS[sequence[i] * SIZE + GAP];
+		}
+	}
+
+	@Override
+	public void insertions(@NotNull int[] sequence, @NotNull double[] costs) {
+		for (int j = 0; j < sequence.length; j++) {
+			costs[j] += COSTS[GAP * SIZE + sequence[j]];
+		}
+	}
+
+	@Override
+	public void fill(@NotNull int[] left, @NotNull int[] right,
+			@NotNull double[] deletions, @NotNull double[] insertions,
+			@NotNull double[] table) {
+		int m = left.length;
+		int n = right.length;
+		if (m == 0 || n == 0) {
+			return;
+		}
+		table[0] = 0.0;
+		for (int j = 1; j < n; j++) {
+			table[j] = table[j - 1] + insertions[j];
+		}
+		for (int i = 1; i < m; i++) {
+			int row = i * n;
+			int above = row - n;
+			int offset = left[i] * SIZE;
+			double del = deletions[i];
+			table[row] = table[above] + del;
+			for (int j = 1; j < n; j++) {
+				double sub = table[above + j - 1] + COSTS[offset + right[j]];
+				double dlt = table[above + j] + del;
+				double ins = table[row + j - 1] + insertions[j];
+				double best;
+				if (MINIMIZE) {
+					best = sub < dlt ? sub : dlt;
+					best = best < ins ? best : ins;
+				} else {
+					best = sub > dlt ? sub : dlt;
+					best = best > ins ? best : ins;
+				}
+				table[row + j] = best;
+			}
+		}
+	}
+}
@@ -43,8 +43,9 @@ public class SingleAlignmentAlgorithm<T> extends AbstractAlignmentAlgorithm<T> {
 	@Override
 	public AlignmentResult<T> apply(@NotNull List<? extends Sequence<T>> sequences) {
 
-		Sequence<T> left = sequences.get(0);
-		Sequence<T> right = sequences.get(1);
+		// copied, so that the caller's sequences are not modified
+		Sequence<T> left = new BasicSequence<>(sequences.get(0));
+		Sequence<T> right = new BasicSequence<>(sequences.get(1));
 
 		left.add(0, boundary);
 		right.add(0,boundary);
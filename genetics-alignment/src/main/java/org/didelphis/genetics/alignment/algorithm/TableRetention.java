@@ -0,0 +1,33 @@
+package org.didelphis.genetics.alignment.algorithm;
+
+/**
+ * Enum {@code TableRetention}
+ *
+ * How much of the dynamic-programming table an algorithm keeps in each
+ * {@link org.didelphis.genetics.alignment.AlignmentResult}. The table is
+ * always filled in full while aligning; the policy decides only what outlives
+ * the alignment, which matters when many results are held at once. The score
+ * is kept exactly under every policy.
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+public enum TableRetention {
+
+	/** Only the score and the alignments are kept */
+	NONE,
+
+	/**
+	 * The last row and the last column are kept, which hold the scores of
+	 * aligning either whole sequence against every prefix of the other
+	 */
+	LAST_ROW_COLUMN,
+
+	/** Every cell is kept, exactly as computed */
+	FULL,
+
+	/**
+	 * Every cell is kept at {@code float} precision, in half the memory of
+	 * {@link #FULL}; values are rounded to about seven significant digits
+	 */
+	FULL_FLOAT
+}
@@ -1,18 +1,14 @@
 package org.didelphis.genetics.alignment.calibration;
 
-import org.didelphis.language.phonetic.SequenceFactory;
-import org.didelphis.language.phonetic.sequences.Sequence;
-import org.didelphis.structures.tables.ColumnTable;
 import org.didelphis.genetics.alignment.AlignmentSet;
 import org.didelphis.genetics.alignment.constraints.Constraint;
+import org.didelphis.genetics.alignment.constraints.LexiconConstraint;
+import org.didelphis.language.phonetic.SequenceFactory;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.HashSet;
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
 import java.util.regex.Pattern;
 
 /**
@@ -31,27 +27,16 @@ public abstract class BaseModelTester<T> {
 		constraints = new HashSet<>();
 	}
 
-	protected void loadLexicon(File file, ColumnTable<Sequence<T>> data)
+	/**
+	 * Adds a constraint which checks a model against the gold alignments of a
+	 * {@code .std} file, looked up by the words of its {@code .lex} file
+	 */
+	protected void loadLexicon(File standard, File lexicon)
 			throws IOException {
-		AlignmentSet<T> alignments =
-				AlignmentSet.loadFromFile(file.getAbsolutePath(),
-						sequenceFactory);
-
-		Map<String, List<Sequence<T>>> subMap = new LinkedHashMap<>();
-
-		for (String key : alignments.getKeys()) {
-			subMap.put(key, data.getColumn(key));
-		}
-// TODO:
-//		ColumnTable<Sequence<Integer>> dataSubset = new DataTable<>(subMap);
-//		String name = EXTENSION.matcher(file.getName()).replaceAll("");
-//		Constraint constraint =
-//				new LexiconConstraint(name, sequenceFactory, dataSubset,
-//						alignments);
-//		constraints.add(constraint);
+		AlignmentSet<T> alignments = AlignmentSet.load(standard.toPath(),
+				lexicon.toPath(), sequenceFactory);
+		String name = EXTENSION.matcher(standard.getName()).replaceAll("");
+		constraints.add(
+				new LexiconConstraint<>(name, sequenceFactory, alignments));
 	}
-
-
-
-
 }
@@ -4,9 +4,11 @@ import org.didelphis.genetics.alignment.algorithm.AlignmentAlgorithm;
 import org.didelphis.genetics.alignment.algorithm.BaseOptimization;
 import org.didelphis.genetics.alignment.algorithm.NeedlemanWunschAlgorithm;
 import org.didelphis.genetics.alignment.algorithm.Optimization;
+import org.didelphis.genetics.alignment.common.SegmentInventory;
 import org.didelphis.genetics.alignment.common.Utilities;
+import org.didelphis.genetics.alignment.io.FeatureModelSnapshot;
 import org.didelphis.genetics.alignment.operators.Comparator;
-import org.didelphis.genetics.alignment.operators.comparators.LinearWeightComparator;
+import org.didelphis.genetics.alignment.operators.comparators.FeatureDifferenceTensor;
 import org.didelphis.genetics.alignment.operators.comparators.SequenceComparator;
 import org.didelphis.genetics.alignment.operators.gap.ConstantGapPenalty;
 import org.didelphis.genetics.alignment.operators.gap.GapPenalty;
@@ -16,7 +18,6 @@ import org.didelphis.language.phonetic.SequenceFactory;
 import org.didelphis.language.phonetic.features.FeatureType;
 import org.didelphis.language.phonetic.features.IntegerFeature;
 import org.didelphis.language.phonetic.model.FeatureMapping;
-import org.didelphis.language.phonetic.model.FeatureModelLoader;
 import org.didelphis.language.phonetic.sequences.Sequence;
 
 import java.io.BufferedWriter;
@@ -51,11 +52,9 @@ public final class LinearScaleModelTester<T> extends BaseModelTester<T> {
 
 		FeatureType<Integer> featureType = IntegerFeature.INSTANCE;
 
-		FeatureModelLoader<Integer> loader = new FeatureModelLoader<>(
+		FeatureMapping<Integer> mapping = FeatureModelSnapshot.load(
 				featureType, ClassPathFileHandler.INSTANCE, path);
 
-		FeatureMapping<Integer> mapping = loader.getFeatureMapping();
-
 		SequenceFactory<Integer> factory = new SequenceFactory<>(
 				mapping, FormatterMode.INTELLIGENT);
 
@@ -67,9 +66,12 @@ public final class LinearScaleModelTester<T> extends BaseModelTester<T> {
 
 		// LOAD CONSTRAINTS 
 		// ==========================================================================
-//		runner.loadLexicon(new File("../data/training/CHE_BCB.std"), nakhData);
-//		runner.loadLexicon(new File("../data/training/CHE_ING.std"), nakhData);
-//		runner.loadLexicon(new File("../data/training/ING_BCB.std"), nakhData);
+//		runner.loadLexicon(new File("../data/training/CHE_BCB.std"),
+//				new File("../data/training/CHE_BCB.lex"));
+//		runner.loadLexicon(new File("../data/training/CHE_ING.std"),
+//				new File("../data/training/CHE_ING.lex"));
+//		runner.loadLexicon(new File("../data/training/ING_BCB.std"),
+//				new File("../data/training/ING_BCB.lex"));
 //				constraints.add(LexiconConstraint.loadFromPaths("ASP_SKT.std",
 //		 "ASP_SKT.lex", factory));
 
@@ -79,6 +81,13 @@ public final class LinearScaleModelTester<T> extends BaseModelTester<T> {
 
 		Sequence<Integer> gap = factory.toSequence("_");
 
+		// Feature differences are fixed for the inventory; only the weights
+		// change between runs
+		SegmentInventory<Integer> inventory = SegmentInventory.of(factory);
+		inventory.intern(gap.get(0));
+		FeatureDifferenceTensor<Integer> tensor =
+				new FeatureDifferenceTensor<>(featureType, inventory);
+
 		// RUN ALGORITHM 
 		// =============================================================================
 		Writer writer = new BufferedWriter(
@@ -121,8 +130,7 @@ public final class LinearScaleModelTester<T> extends BaseModelTester<T> {
 				weights.add(v * i);
 			}
 
-			Comparator<Integer> segmentComparator =
-					new LinearWeightComparator<>(featureType,weights);
+			Comparator<Integer> segmentComparator = tensor.toComparator(weights);
 			Comparator<Integer> sequenceComparator =
 					new SequenceComparator<>(segmentComparator);
 
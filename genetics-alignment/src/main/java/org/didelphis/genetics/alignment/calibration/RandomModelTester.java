@@ -6,15 +6,16 @@ import org.didelphis.language.phonetic.SequenceFactory;
 import org.didelphis.language.phonetic.features.FeatureType;
 import org.didelphis.language.phonetic.features.IntegerFeature;
 import org.didelphis.language.phonetic.model.FeatureMapping;
-import org.didelphis.language.phonetic.model.FeatureModelLoader;
 import org.didelphis.language.phonetic.model.FeatureSpecification;
 import org.didelphis.genetics.alignment.algorithm.AlignmentAlgorithm;
 import org.didelphis.genetics.alignment.algorithm.SingleAlignmentAlgorithm;
+import org.didelphis.genetics.alignment.common.SegmentInventory;
 import org.didelphis.genetics.alignment.common.Utilities;
 import org.didelphis.genetics.alignment.constraints.Constraint;
 import org.didelphis.genetics.alignment.constraints.LexiconConstraint;
+import org.didelphis.genetics.alignment.io.FeatureModelSnapshot;
 import org.didelphis.genetics.alignment.operators.Comparator;
-import org.didelphis.genetics.alignment.operators.comparators.LinearWeightComparator;
+import org.didelphis.genetics.alignment.operators.comparators.FeatureDifferenceTensor;
 import org.didelphis.genetics.alignment.operators.comparators.SequenceComparator;
 import org.didelphis.genetics.alignment.operators.gap.ConstantGapPenalty;
 import org.didelphis.genetics.alignment.operators.gap.GapPenalty;
@@ -51,11 +52,9 @@ public final class RandomModelTester<T> extends BaseModelTester<T> {
 
 		FeatureType<Integer> featureType = IntegerFeature.INSTANCE;
 
-		FeatureModelLoader<Integer> loader = new FeatureModelLoader<>(
+		FeatureMapping<Integer> mapping = FeatureModelSnapshot.load(
 				featureType, ClassPathFileHandler.INSTANCE, path);
 
-		FeatureMapping<Integer> mapping = loader.getFeatureMapping();
-
 		SequenceFactory<Integer> factory = new SequenceFactory<>(
 				mapping, FormatterMode.INTELLIGENT);
 
@@ -81,6 +80,11 @@ public final class RandomModelTester<T> extends BaseModelTester<T> {
 		FeatureSpecification spec = factory.getFeatureMapping().getFeatureModel().getSpecification();
 		int features = spec.size();
 
+		SegmentInventory<Integer> inventory = SegmentInventory.of(factory);
+		inventory.intern(factory.toSegment("_"));
+		FeatureDifferenceTensor<Integer> tensor =
+				new FeatureDifferenceTensor<>(featureType, inventory);
+
 		String suffix = "max(" + max + ")_n(" + n + ").csv";
 		String pathname = trainingPath + path + suffix;
 		Writer writer = new BufferedWriter(new FileWriter(new File(pathname)));
@@ -110,8 +114,7 @@ public final class RandomModelTester<T> extends BaseModelTester<T> {
 			double a = (Math.random() * aMax);
 			//			double b = (Math.random() * 20) - 10;
 
-			Comparator<Integer> segmentComparator =
-					new LinearWeightComparator<>(featureType,weights);
+			Comparator<Integer> segmentComparator = tensor.toComparator(weights);
 			Comparator<Integer> sequenceComparator =
 					new SequenceComparator<>(segmentComparator);
 
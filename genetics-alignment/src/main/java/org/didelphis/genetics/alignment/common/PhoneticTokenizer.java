@@ -0,0 +1,219 @@
+package org.didelphis.genetics.alignment.common;
+
+import org.didelphis.language.phonetic.SequenceFactory;
+import org.didelphis.language.phonetic.model.FeatureModel;
+import org.didelphis.language.phonetic.segments.Segment;
+import org.didelphis.language.phonetic.sequences.BasicSequence;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Class {@code PhoneticTokenizer}
+ *
+ * Converts cells into sequences as {@link Utilities#toPhoneticSequence} does,
+ * but remembers its work: each token string is converted into a {@link
+ * Segment} once, and the segments of each cell are kept. Words and segments
+ * repeat heavily in cognate data, so most cells are rebuilt from their
+ * segments without running the transformer or the factory at all.
+ *
+ * Both caches are bounded, and nothing else is retained, so memory use does
+ * not grow with the number of distinct cells or tokens; the caches are safe
+ * to use from several threads. A cache
+ * holds two generations of entries; when the newer generation fills, the older
+ * is discarded, so entries which are still being used survive and the cache
+ * holds no more than about its capacity. Hits and misses are counted so that
+ * the effectiveness of the caches can be reported.
+ *
+ * Sequences are mutable, so a new one is built for every call; only its
+ * segments are shared.
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+public final class PhoneticTokenizer<T> {
+
+	/** The default maximum number of entries in each cache */
+	public static final int CAPACITY = 1 << 16;
+
+	private static final Pattern SPACE = Pattern.compile("\\s+");
+
+	private final SequenceFactory<T> factory;
+	private final Function<String, String> transformer;
+	private final FeatureModel<T> model;
+	private final Cache<String, Segment<T>> segments;
+	private final Cache<String, Segment<T>[]> cells;
+
+	public PhoneticTokenizer(
+			@NotNull SequenceFactory<T> factory,
+			@NotNull Function<String, String> transformer
+	) {
+		this(factory, transformer, CAPACITY);
+	}
+
+	/**
+	 * @param factory creates a segment from each token
+	 * @param transformer applied to each cell before it is split into tokens
+	 * @param capacity the maximum number of entries in each cache
+	 */
+	public PhoneticTokenizer(
+			@NotNull SequenceFactory<T> factory,
+			@NotNull Function<String, String> transformer,
+			int capacity
+	) {
+		if (capacity < 2) {
+			throw new IllegalArgumentException(
+					"Capacity must be at least two: " + capacity);
+		}
+		this.factory = factory;
+		this.transformer = transformer;
+		model = factory.getFeatureMapping().getFeatureModel();
+		segments = new Cache<>(capacity);
+		cells = new Cache<>(capacity);
+	}
+
+	/**
+	 * @return a new sequence holding the segments of a cell
+	 */
+	@NotNull
+	public Sequence<T> toSequence(@NotNull String cell) {
+		Segment<T>[] array = cells.get(cell);
+		if (array == null) {
+			array = tokenize(cell);
+			cells.put(cell, array);
+		}
+		Sequence<T> sequence = new BasicSequence<>(model);
+		for (Segment<T> segment : array) {
+			sequence.add(segment);
+		}
+		return sequence;
+	}
+
+	/**
+	 * @return the segment of a single token
+	 */
+	@NotNull
+	public Segment<T> toSegment(@NotNull String token) {
+		Segment<T> segment = segments.get(token);
+		if (segment == null) {
+			segment = factory.toSegment(token);
+			segments.put(token, segment);
+		}
+		return segment;
+	}
+
+	/**
+	 * @return the fraction of cells found in the cache, or {@code NaN} if
+	 * 		none have been converted
+	 */
+	public double getCellHitRatio() {
+		return cells.getHitRatio();
+	}
+
+	/**
+	 * @return the fraction of tokens found in the cache, or {@code NaN} if
+	 * 		none have been converted; only cells which missed their own cache
+	 * 		are tokenized
+	 */
+	public double getSegmentHitRatio() {
+		return segments.getHitRatio();
+	}
+
+	/**
+	 * Formats a hit ratio to three places for logging; this may be called
+	 * from any thread
+	 *
+	 * @return the ratio, or {@code "n/a"} if it is {@code NaN}
+	 */
+	@NotNull
+	public static String formatRatio(double ratio) {
+		return Double.isNaN(ratio)
+				? "n/a"
+				: String.format(Locale.ROOT, "%.3f", ratio);
+	}
+
+	@Override
+	public String toString() {
+		return "PhoneticTokenizer{cells=" + cells + ", segments=" + segments +
+				'}';
+	}
+
+	private Segment<T>[] tokenize(String cell) {
+		String[] tokens = SPACE.split(transformer.apply(cell));
+		@SuppressWarnings("unchecked")
+		Segment<T>[] array = (Segment<T>[]) new Segment<?>[tokens.length];
+		for (int i = 0; i < tokens.length; i++) {
+			array[i] = toSegment(tokens[i]);
+		}
+		return array;
+	}
+
+	/**
+	 * A bounded concurrent map of two generations, with hit and miss counts
+	 */
+	private static final class Cache<K, V> {
+
+		private final int generation;
+		private final LongAdder hits;
+		private final LongAdder misses;
+
+		private volatile Map<K, V> young;
+		private volatile Map<K, V> old;
+
+		private Cache(int capacity) {
+			generation = capacity / 2;
+			hits = new LongAdder();
+			misses = new LongAdder();
+			young = new ConcurrentHashMap<>();
+			old = new ConcurrentHashMap<>();
+		}
+
+		private V get(K key) {
+			V value = young.get(key);
+			if (value == null) {
+				value = old.get(key);
+				if (value != null) {
+					// keep entries which are still in use
+					put(key, value);
+				}
+			}
+			if (value == null) {
+				misses.increment();
+			} else {
+				hits.increment();
+			}
+			return value;
+		}
+
+		private void put(K key, V value) {
+			Map<K, V> map = young;
+			if (map.size() >= generation) {
+				synchronized (this) {
+					if (young.size() >= generation) {
+						old = young;
+						young = new ConcurrentHashMap<>();
+					}
+					map = young;
+				}
+			}
+			map.put(key, value);
+		}
+
+		private double getHitRatio() {
+			long hit = hits.sum();
+			long total = hit + misses.sum();
+			return total == 0 ? Double.NaN : (double) hit / total;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("Cache{hits=%d, misses=%d}", hits.sum(),
+					misses.sum());
+		}
+	}
+}
@@ -0,0 +1,131 @@
+package org.didelphis.genetics.alignment.common;
+
+import org.didelphis.language.phonetic.segments.Segment;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.Predicate;
+
+/**
+ * Class {@code SegmentClassifier}
+ *
+ * Sorts segments into named classes (e.g. vowel, consonant) using predicates
+ * evaluated in order, the first match winning; segments matching none fall
+ * into {@link #OTHER}. The class of each segment is computed once and
+ * memoized by its {@link SegmentInventory} id, so classifying an interned
+ * segment is an array lookup.
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+public final class SegmentClassifier<T> {
+
+	public static final String OTHER = "*other*";
+
+	private final SegmentInventory<T> inventory;
+	private final List<String> classNames;
+	private final List<Predicate<Segment<T>>> predicates;
+
+	private volatile int[] classes;
+
+	/**
+	 * @param inventory used to memoize the class of each segment
+	 * @param classes predicates defining each segment class, in priority order
+	 */
+	public SegmentClassifier(
+			@NotNull SegmentInventory<T> inventory,
+			@NotNull Map<String, Predicate<Segment<T>>> classes
+	) {
+		this.inventory = inventory;
+		List<String> names = new ArrayList<>();
+		predicates = new ArrayList<>();
+		for (Entry<String, Predicate<Segment<T>>> entry : classes.entrySet()) {
+			names.add(entry.getKey());
+			predicates.add(entry.getValue());
+		}
+		names.add(OTHER);
+		classNames = Collections.unmodifiableList(names);
+		this.classes = new int[0];
+		grow(inventory.size());
+	}
+
+	/**
+	 * @return the index of the segment's class in {@link #getClassNames()}
+	 */
+	public int classOf(@NotNull Segment<T> segment) {
+		int id = inventory.intern(segment);
+		int[] array = classes;
+		if (id >= array.length) {
+			array = grow(id + 1);
+		}
+		return array[id];
+	}
+
+	/**
+	 * @return the class index of every position in the sequence
+	 */
+	@NotNull
+	public int[] classify(@NotNull Sequence<T> sequence) {
+		int[] array = new int[sequence.size()];
+		for (int i = 0; i < array.length; i++) {
+			array[i] = classOf(sequence.get(i));
+		}
+		return array;
+	}
+
+	/**
+	 * @return the index of the named class, or {@code -1} if there is none
+	 */
+	public int indexOf(@NotNull String className) {
+		return classNames.indexOf(className);
+	}
+
+	/**
+	 * @return the number of classes, including {@link #OTHER}
+	 */
+	public int size() {
+		return classNames.size();
+	}
+
+	@NotNull
+	public List<String> getClassNames() {
+		return classNames;
+	}
+
+	@NotNull
+	public SegmentInventory<T> getInventory() {
+		return inventory;
+	}
+
+	@Override
+	public String toString() {
+		return "SegmentClassifier{classes=" + classNames + '}';
+	}
+
+	private synchronized int[] grow(int size) {
+		int[] array = classes;
+		if (array.length >= size) {
+			return array;
+		}
+		int[] grown = Arrays.copyOf(array, Math.max(size, inventory.size()));
+		for (int id = array.length; id < grown.length; id++) {
+			grown[id] = match(inventory.get(id));
+		}
+		classes = grown;
+		return grown;
+	}
+
+	private int match(Segment<T> segment) {
+		for (int k = 0; k < predicates.size(); k++) {
+			if (predicates.get(k).test(segment)) {
+				return k;
+			}
+		}
+		return predicates.size();
+	}
+}
@@ -0,0 +1,114 @@
+package org.didelphis.genetics.alignment.common;
+
+import org.didelphis.language.phonetic.SequenceFactory;
+import org.didelphis.language.phonetic.segments.Segment;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Class {@code SegmentInventory}
+ *
+ * Assigns dense, stable integer ids to {@link Segment}s so that sequences can
+ * be encoded as {@code int[]} and segment pairs can index into primitive
+ * tables. Ids are never reassigned; interning is safe to call from several
+ * threads.
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+public final class SegmentInventory<T> implements Iterable<Segment<T>> {
+
+	private final Map<Segment<T>, Integer> ids;
+	private final List<Segment<T>> segments;
+
+	public SegmentInventory() {
+		ids = new ConcurrentHashMap<>();
+		segments = new CopyOnWriteArrayList<>();
+	}
+
+	/**
+	 * Creates an inventory containing every symbol in the factory's feature
+	 * mapping, in the mapping's iteration order
+	 *
+	 * @param factory the {@link SequenceFactory} whose symbols are interned
+	 * @return a new inventory; never null
+	 */
+	@NotNull
+	public static <T> SegmentInventory<T> of(@NotNull SequenceFactory<T> factory) {
+		SegmentInventory<T> inventory = new SegmentInventory<>();
+		for (String symbol : factory.getFeatureMapping()
+				.getFeatureMap()
+				.keySet()) {
+			inventory.intern(factory.toSegment(symbol));
+		}
+		return inventory;
+	}
+
+	/**
+	 * @param segment the segment to intern
+	 * @return the id of the segment, assigning a new one if it has not been
+	 * 		seen before
+	 */
+	public int intern(@NotNull Segment<T> segment) {
+		Integer id = ids.get(segment);
+		if (id != null) {
+			return id;
+		}
+		synchronized (segments) {
+			id = ids.get(segment);
+			if (id == null) {
+				id = segments.size();
+				segments.add(segment);
+				ids.put(segment, id);
+			}
+			return id;
+		}
+	}
+
+	/**
+	 * @param segment the segment to look up
+	 * @return the id of the segment, or {@code -1} if it was never interned
+	 */
+	public int indexOf(@NotNull Segment<T> segment) {
+		Integer id = ids.get(segment);
+		return id == null ? -1 : id;
+	}
+
+	@NotNull
+	public Segment<T> get(int id) {
+		return segments.get(id);
+	}
+
+	public int size() {
+		return segments.size();
+	}
+
+	/**
+	 * Encodes a sequence as an array of segment ids, interning any segments
+	 * not already present
+	 */
+	@NotNull
+	public int[] encode(@NotNull Sequence<T> sequence) {
+		int[] encoded = new int[sequence.size()];
+		for (int i = 0; i < encoded.length; i++) {
+			encoded[i] = intern(sequence.get(i));
+		}
+		return encoded;
+	}
+
+	@NotNull
+	@Override
+	public Iterator<Segment<T>> iterator() {
+		return segments.iterator();
+	}
+
+	@Override
+	public String toString() {
+		return "SegmentInventory{size=" + segments.size() + '}';
+	}
+}
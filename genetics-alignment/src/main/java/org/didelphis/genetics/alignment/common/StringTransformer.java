@@ -1,14 +1,32 @@
 package org.didelphis.genetics.alignment.common;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.TreeMap;
 import java.util.function.UnaryOperator;
 import java.util.regex.Pattern;
 
 /**
  * Class {@code StringTransformer}
  *
+ * Applies a list of rules of the form {@code pattern >> replacement}, in
+ * order, each replacing every match of its pattern as {@link
+ * String#replaceAll} does.
+ *
+ * Rules are compiled when the transformer is created. Consecutive rules whose
+ * patterns and replacements are plain text, and which cannot affect one
+ * another, are merged and applied together in one pass of an Aho-Corasick
+ * automaton. Rules cannot affect one another if no two of their patterns can
+ * overlap and if no earlier replacement is empty or shares a character with a
+ * later pattern; otherwise they are applied in separate passes. Each regular
+ * expression is applied on its own, and is skipped when the input lacks a
+ * literal which every match must contain. The output is always that of
+ * applying each rule in turn.
+ *
  * @author Samantha Fiona McCabe
  * @since 0.1.0 Date: 2017-06-27
  */
@@ -16,41 +34,441 @@ public class StringTransformer implements UnaryOperator<String> {
 
 	private static final Pattern OPERATOR = Pattern.compile("\\s>>\\s");
 	private static final Pattern NEWLINE = Pattern.compile("\r\n?|\n");
-	private final Collection<Expression> expressions;
+
+	private static final String META = "\\^$.|?*+()[]{}";
+
+	private final List<String> rules;
+	private final Collection<UnaryOperator<String>> expressions;
 
 	public StringTransformer() {
+		rules = Collections.emptyList();
 		expressions = Collections.emptyList();
 	}
 
 	public StringTransformer(CharSequence payload) {
+		List<String> list = new ArrayList<>();
 		expressions = new ArrayList<>();
+		List<String> patterns = new ArrayList<>();
+		List<String> replacements = new ArrayList<>();
 		for (String string : NEWLINE.split(payload)) {
 			String[] split = OPERATOR.split(string, -1);
-			expressions.add(new Expression(split[0], split[1]));
+			String pattern = split[0].trim();
+			String replacement = split[1].trim();
+			list.add(pattern + " >> " + replacement);
+			if (isLiteral(pattern, replacement)) {
+				if (!independent(patterns, replacements, pattern)) {
+					expressions.add(new Literals(patterns, replacements));
+					patterns = new ArrayList<>();
+					replacements = new ArrayList<>();
+				}
+				patterns.add(pattern);
+				replacements.add(replacement);
+			} else {
+				if (!patterns.isEmpty()) {
+					expressions.add(new Literals(patterns, replacements));
+					patterns = new ArrayList<>();
+					replacements = new ArrayList<>();
+				}
+				expressions.add(new Expression(pattern, replacement));
+			}
 		}
+		if (!patterns.isEmpty()) {
+			expressions.add(new Literals(patterns, replacements));
+		}
+		rules = Collections.unmodifiableList(list);
+	}
+
+	/**
+	 * @return the rules, in order, each as {@code pattern >> replacement}
+	 */
+	public List<String> getRules() {
+		return rules;
 	}
 
 	@Override
 	public String apply(String string) {
 		String transformed = string;
-		for (Expression expression : expressions) {
+		for (UnaryOperator<String> expression : expressions) {
 			transformed = expression.apply(transformed);
 		}
 		return transformed;
 	}
 
-	private static final class Expression {
+	@Override
+	public String toString() {
+		return "StringTransformer{expressions=" + expressions + '}';
+	}
+
+	/**
+	 * @return true iff the pattern matches only itself and the replacement is
+	 * 		inserted as it is
+	 */
+	private static boolean isLiteral(String pattern, String replacement) {
+		if (pattern.isEmpty() || replacement.indexOf('$') >= 0
+				|| replacement.indexOf('\\') >= 0) {
+			return false;
+		}
+		for (int i = 0; i < pattern.length(); i++) {
+			char c = pattern.charAt(i);
+			if (META.indexOf(c) >= 0) {
+				return false;
+			}
+			// unpaired surrogates do not match inside a pair
+			if (Character.isHighSurrogate(c)) {
+				if (i + 1 == pattern.length()
+						|| !Character.isLowSurrogate(pattern.charAt(i + 1))) {
+					return false;
+				}
+				i++;
+			} else if (Character.isLowSurrogate(c)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return true iff a literal rule may be applied in the same pass as the
+	 * 		preceding literal rules
+	 */
+	private static boolean independent(List<String> patterns,
+			List<String> replacements, String pattern) {
+		for (int i = 0; i < patterns.size(); i++) {
+			String replacement = replacements.get(i);
+			if (replacement.isEmpty() || overlap(patterns.get(i), pattern)) {
+				return false;
+			}
+			for (int j = 0; j < replacement.length(); j++) {
+				if (pattern.indexOf(replacement.charAt(j)) >= 0) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return true iff occurrences of the two strings can overlap
+	 */
+	private static boolean overlap(String a, String b) {
+		if (a.contains(b) || b.contains(a)) {
+			return true;
+		}
+		int length = Math.min(a.length(), b.length());
+		for (int k = 1; k < length; k++) {
+			if (a.endsWith(b.substring(0, k)) || b.endsWith(a.substring(0, k))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Finds the longest run of literal characters which every match of a
+	 * regular expression must contain, or null if none can be found
+	 */
+	private static String requiredLiteral(String regex) {
+		String longest = null;
+		StringBuilder run = new StringBuilder();
+		int i = 0;
+		while (i < regex.length()) {
+			char c = regex.charAt(i);
+			int literal = -1;
+			int next;
+			if (c == '\\') {
+				if (i + 1 == regex.length()) {
+					return null;
+				}
+				char e = regex.charAt(i + 1);
+				// quotes, back-references and escapes with operands
+				if (Character.isDigit(e) || "QxucNkpP".indexOf(e) >= 0) {
+					return null;
+				}
+				if (!Character.isLetterOrDigit(e)) {
+					literal = e;
+				}
+				next = i + 2;
+			} else if (c == '|') {
+				return null;
+			} else if (c == '(') {
+				if (regex.startsWith("(?", i) && i + 2 < regex.length()) {
+					char f = regex.charAt(i + 2);
+					if (Character.isLetter(f) || f == '-') {
+						// inline flags may change what the literals match
+						return null;
+					}
+				}
+				next = skipGroup(regex, i);
+				if (next < 0) {
+					return null;
+				}
+			} else if (c == '[') {
+				next = skipClass(regex, i);
+				if (next < 0) {
+					return null;
+				}
+			} else if (c == '{') {
+				return null;
+			} else if (META.indexOf(c) >= 0) {
+				next = i + 1;
+			} else {
+				literal = regex.codePointAt(i);
+				next = i + Character.charCount(literal);
+			}
+
+			char q = next < regex.length() ? regex.charAt(next) : 0;
+			boolean optional = q == '?' || q == '*' || q == '{';
+			if (literal >= 0 && !optional) {
+				run.appendCodePoint(literal);
+			}
+			if (literal < 0 || optional || q == '+') {
+				// a repeated atom ends the run, and an optional one is no part
+				// of it; neither is its quantifier
+				longest = longer(longest, run);
+				run.setLength(0);
+				if (optional || q == '+') {
+					next = skipQuantifier(regex, next);
+					if (next < 0) {
+						return null;
+					}
+				}
+			}
+			i = next;
+		}
+		return longer(longest, run);
+	}
+
+	private static String longer(String longest, CharSequence run) {
+		if (run.length() == 0) {
+			return longest;
+		}
+		return longest == null || run.length() > longest.length()
+				? run.toString()
+				: longest;
+	}
+
+	private static int skipQuantifier(String regex, int i) {
+		if (regex.charAt(i) == '{') {
+			int end = regex.indexOf('}', i);
+			if (end < 0) {
+				return -1;
+			}
+			i = end + 1;
+		} else {
+			i++;
+		}
+		// lazy and possessive forms
+		if (i < regex.length()
+				&& (regex.charAt(i) == '?' || regex.charAt(i) == '+')) {
+			i++;
+		}
+		return i;
+	}
+
+	/**
+	 * @return the index after the group starting at {@code i}, or -1
+	 */
+	private static int skipGroup(String regex, int i) {
+		int depth = 0;
+		while (i < regex.length()) {
+			char c = regex.charAt(i);
+			if (c == '\\') {
+				i += 2;
+				continue;
+			}
+			if (c == '[') {
+				i = skipClass(regex, i);
+				if (i < 0) {
+					return -1;
+				}
+				continue;
+			}
+			if (c == '(') {
+				depth++;
+			} else if (c == ')' && --depth == 0) {
+				return i + 1;
+			}
+			i++;
+		}
+		return -1;
+	}
+
+	/**
+	 * @return the index after the character class starting at {@code i}, or
+	 * 		-1
+	 */
+	private static int skipClass(String regex, int i) {
+		int depth = 0;
+		while (i < regex.length()) {
+			char c = regex.charAt(i);
+			if (c == '\\') {
+				i += 2;
+				continue;
+			}
+			if (c == '[') {
+				depth++;
+			} else if (c == ']' && --depth == 0) {
+				return i + 1;
+			}
+			i++;
+		}
+		return -1;
+	}
+
+	/**
+	 * A single regular expression, with a literal prefilter where one exists
+	 */
+	private static final class Expression implements UnaryOperator<String> {
 
 		private final Pattern pattern;
 		private final String replacement;
+		private final String literal;
 
 		private Expression(String pattern, String replacement) {
-			this.pattern = Pattern.compile(pattern.trim());
-			this.replacement = replacement.trim();
+			this.pattern = Pattern.compile(pattern);
+			this.replacement = replacement;
+			literal = requiredLiteral(pattern);
 		}
 
-		private String apply(CharSequence input) {
+		@Override
+		public String apply(String input) {
+			if (literal != null && !input.contains(literal)) {
+				return input;
+			}
 			return pattern.matcher(input).replaceAll(replacement);
 		}
+
+		@Override
+		public String toString() {
+			return pattern + " >> " + replacement;
+		}
+	}
+
+	/**
+	 * Independent literal rules, applied in one pass by an Aho-Corasick
+	 * automaton. Since no two patterns can overlap, each position ends at
+	 * most one match, and that match is the string of the state reached there.
+	 */
+	private static final class Literals implements UnaryOperator<String> {
+
+		private final String[] patterns;
+		private final String[] replacements;
+
+		// the automaton; each state's transitions are sorted by character
+		private final char[][] labels;
+		private final int[][] targets;
+		private final int[] failure;
+		private final int[] output;
+
+		private Literals(List<String> patterns, List<String> replacements) {
+			this.patterns = patterns.toArray(new String[0]);
+			this.replacements = replacements.toArray(new String[0]);
+
+			List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+			List<Integer> outputs = new ArrayList<>();
+			trie.add(new TreeMap<>());
+			outputs.add(-1);
+			for (int p = 0; p < this.patterns.length; p++) {
+				int state = 0;
+				for (char c : this.patterns[p].toCharArray()) {
+					Integer target = trie.get(state).get(c);
+					if (target == null) {
+						target = trie.size();
+						trie.get(state).put(c, target);
+						trie.add(new TreeMap<>());
+						outputs.add(-1);
+					}
+					state = target;
+				}
+				outputs.set(state, p);
+			}
+
+			int size = trie.size();
+			labels = new char[size][];
+			targets = new int[size][];
+			output = new int[size];
+			for (int s = 0; s < size; s++) {
+				TreeMap<Character, Integer> edges = trie.get(s);
+				labels[s] = new char[edges.size()];
+				targets[s] = new int[edges.size()];
+				int k = 0;
+				for (Entry<Character, Integer> e : edges.entrySet()) {
+					labels[s][k] = e.getKey();
+					targets[s][k] = e.getValue();
+					k++;
+				}
+				output[s] = outputs.get(s);
+			}
+
+			// breadth-first, so that each state's failure is known before
+			// those of its children
+			failure = new int[size];
+			int[] queue = new int[size];
+			int head = 0;
+			int tail = 0;
+			for (int t : targets[0]) {
+				queue[tail++] = t;
+			}
+			while (head < tail) {
+				int s = queue[head++];
+				for (int k = 0; k < labels[s].length; k++) {
+					int t = targets[s][k];
+					failure[t] = s == 0 ? 0 : next(failure[s], labels[s][k]);
+					queue[tail++] = t;
+				}
+			}
+		}
+
+		@Override
+		public String apply(String input) {
+			StringBuilder sb = null;
+			int copied = 0;
+			int state = 0;
+			for (int i = 0; i < input.length(); i++) {
+				state = next(state, input.charAt(i));
+				int p = output[state];
+				if (p < 0) {
+					continue;
+				}
+				int start = i + 1 - patterns[p].length();
+				// a match overlapping the last replaced one is of the same
+				// pattern and is not replaced, as with String.replaceAll
+				if (start < copied) {
+					continue;
+				}
+				if (sb == null) {
+					sb = new StringBuilder(input.length() + 16);
+				}
+				sb.append(input, copied, start).append(replacements[p]);
+				copied = i + 1;
+			}
+			if (sb == null) {
+				return input;
+			}
+			return sb.append(input, copied, input.length()).toString();
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder sb = new StringBuilder();
+			for (int p = 0; p < patterns.length; p++) {
+				sb.append(p == 0 ? "" : "; ").append(patterns[p]).append(" >> ")
+						.append(replacements[p]);
+			}
+			return sb.toString();
+		}
+
+		private int next(int state, char c) {
+			while (true) {
+				int k = Arrays.binarySearch(labels[state], c);
+				if (k >= 0) {
+					return targets[state][k];
+				}
+				if (state == 0) {
+					return 0;
+				}
+				state = failure[state];
+			}
+		}
 	}
 }
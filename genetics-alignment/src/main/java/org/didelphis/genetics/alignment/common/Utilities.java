@@ -3,9 +3,11 @@ package org.didelphis.genetics.alignment.common;
 import lombok.experimental.UtilityClass;
 import org.didelphis.genetics.alignment.Alignment;
 import org.didelphis.genetics.alignment.correspondences.EnvironmentMap;
+import org.didelphis.genetics.alignment.io.MappedTsvFile;
+import org.didelphis.genetics.alignment.io.MappedTsvFile.Range;
+import org.didelphis.genetics.alignment.io.TsvReader;
 import org.didelphis.genetics.alignment.operators.Comparator;
 import org.didelphis.genetics.alignment.operators.comparators.BrownEtAlComparator;
-import org.didelphis.io.DiskFileHandler;
 import org.didelphis.io.FileHandler;
 import org.didelphis.language.parsing.ParseException;
 import org.didelphis.language.phonetic.SequenceFactory;
@@ -18,24 +20,28 @@ import org.didelphis.structures.tables.ColumnTable;
 import org.didelphis.structures.tables.DataTable;
 import org.didelphis.structures.tables.Table;
 import org.didelphis.structures.tuples.Tuple;
-import org.didelphis.utilities.Splitter;
+import org.didelphis.utilities.Logger;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
-
-import static java.util.Arrays.asList;
-import static java.util.Arrays.stream;
+import java.util.stream.IntStream;
 
 /**
  * @author Samantha Fiona McCabe Created: 6/6/2015
@@ -43,12 +49,23 @@ import static java.util.Arrays.stream;
 @UtilityClass
 public final class Utilities {
 
+	private final Logger LOGGER = Logger.create(Utilities.class);
+
 	private final Pattern SPACE = Pattern.compile("\\s+");
 	//
 	public final NumberFormat FORMAT_SHORT = new DecimalFormat("0.000");
 	public final NumberFormat FORMAT_LONG = new DecimalFormat("0.00000");
 
-	private final Pattern PATTERN = Pattern.compile("\n|\r?\n");
+	/**
+	 * Tables smaller than this many bytes are read through a stream rather
+	 * than being memory-mapped
+	 */
+	public final long MAPPING_THRESHOLD = 16L << 20;
+
+	/**
+	 * The smallest number of bytes worth parsing on a thread of its own
+	 */
+	private final long MIN_PARALLEL_RANGE = 4L << 20;
 
 	@NotNull
 	public ColumnTable<String> loadTable(String path) {
@@ -59,40 +76,158 @@ public final class Utilities {
 	public ColumnTable<String> toTable(
 			CharSequence payload, Function<String, String> transformer
 	) {
-		List<String> lines
-				= stream(PATTERN.split(payload)).collect(Collectors.toList());
-		if (!lines.isEmpty()) {
-			List<String> keys = asList(lines.remove(0).split("\t", -1));
-			int numCol = keys.size();
-			List<List<String>> table = new ArrayList<>();
-			for (String line : lines) {
-				String[] cells = line.split("\t", -1);
-				List<String> list = asList(cells).subList(0, numCol);
-				List<String> collected = list.stream()
-						.map(transformer)
-						.collect(Collectors.toList());
-				table.add(collected);
-			}
-			return new DataTable<>(keys, table);
+		try (TsvReader reader = new TsvReader(payload)) {
+			return toTable(reader, transformer, "Unable to read table, payload "
+					+ "was empty", payload.toString());
+		} catch (IOException e) {
+			// a StringReader cannot fail
+			throw new UncheckedIOException(e);
 		}
-		throw new ParseException("Unable to read table, payload was empty",
-				payload.toString()
-		);
 	}
 
+	/**
+	 * Loads a table, applying the transformer to every cell. Files smaller
+	 * than {@link #MAPPING_THRESHOLD} are read through a stream; larger files
+	 * are read as by {@link #loadTable(String, Function, int, int)}.
+	 */
 	@NotNull
 	public ColumnTable<String> loadTable(
 			String path, Function<String, String> transformer
 	) {
-		FileHandler handler = new DiskFileHandler("UTF-8");
-		CharSequence chars = handler.read(path);
-		if (chars.length() == 0) {
-			throw new ParseException("Unable to read table, file was empty",
-					path
-			);
-		} else {
-			return toTable(chars, transformer);
+		try {
+			if (Files.size(Paths.get(path)) < MAPPING_THRESHOLD) {
+				return streamTable(Paths.get(path), transformer);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Unable to read table " + path, e);
+		}
+		return loadTable(path, transformer, 0, 1);
+	}
+
+	/**
+	 * Loads one of several contiguous shares of a table's rows, as selected
+	 * by {@link MappedTsvFile#share}, reading only that share of the file and
+	 * its header. The share is decoded one row at a time from memory-mapped
+	 * ranges, which are parsed in parallel if the share is large enough, so
+	 * that the file is never held on the heap as a whole.
+	 *
+	 * @param share the share to load
+	 * @param shares the number of shares into which the rows are divided
+	 */
+	@NotNull
+	public ColumnTable<String> loadTable(
+			String path, Function<String, String> transformer, int share,
+			int shares
+	) {
+		return mapTable(Paths.get(path), transformer, share, shares);
+	}
+
+	/**
+	 * Reads a table sequentially through a stream
+	 */
+	@NotNull
+	ColumnTable<String> streamTable(
+			Path path, Function<String, String> transformer
+	) throws IOException {
+		try (TsvReader reader = new TsvReader(new InputStreamReader(
+				Files.newInputStream(path), StandardCharsets.UTF_8))) {
+			return toTable(reader, transformer, "Unable to read table, file was "
+					+ "empty", path.toString());
+		}
+	}
+
+	/**
+	 * Reads a share of a table through a {@link MappedTsvFile}
+	 */
+	@NotNull
+	ColumnTable<String> mapTable(
+			Path path, Function<String, String> transformer, int share,
+			int shares
+	) {
+		try (MappedTsvFile file = new MappedTsvFile(path)) {
+			List<String> keys = file.getKeys();
+			if (keys.isEmpty()) {
+				throw new ParseException("Unable to read table, file was empty",
+						path.toString());
+			}
+			int numCol = keys.size();
+			Range range = file.share(share, shares);
+			int parallelism = (int) Math.min(
+					Runtime.getRuntime().availableProcessors(),
+					1 + (range.getEnd() - range.getStart()) / MIN_PARALLEL_RANGE);
+			List<List<String>> table;
+			try {
+				table = file.parse(range,
+						row -> toRow(row, numCol, transformer), parallelism);
+			} catch (MappedTsvFile.RowException e) {
+				if (e.getCause() instanceof ShortRowException) {
+					// the header is row one, and the share's rows follow it
+					// only if it is the first share
+					String position = share == 0
+							? String.valueOf(e.getIndex() + 2)
+							: (e.getIndex() + 1) + " of share " + share;
+					throw shortRow(position, numCol,
+							(ShortRowException) e.getCause());
+				}
+				throw e.getCause();
+			}
+			return new DataTable<>(new ArrayList<>(keys), table);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Unable to read table " + path, e);
+		}
+	}
+
+	/**
+	 * Reads a table whose first row names the columns, applying the
+	 * transformer to every cell; cells beyond the header's width are ignored
+	 */
+	@NotNull
+	private ColumnTable<String> toTable(
+			TsvReader reader,
+			Function<String, String> transformer,
+			String emptyMessage,
+			String source
+	) throws IOException {
+		if (!reader.next()) {
+			throw new ParseException(emptyMessage, source);
+		}
+		List<String> keys = reader.row().toList();
+		int numCol = keys.size();
+		List<List<String>> table = new ArrayList<>();
+		while (reader.next()) {
+			try {
+				table.add(toRow(reader.row(), numCol, transformer));
+			} catch (ShortRowException e) {
+				throw shortRow(String.valueOf(reader.row().getIndex() + 1),
+						numCol, e);
+			}
+		}
+		return new DataTable<>(keys, table);
+	}
+
+	private List<String> toRow(
+			TsvReader.Row row,
+			int numCol,
+			Function<String, String> transformer
+	) {
+		if (row.size() < numCol) {
+			throw new ShortRowException(row.size(), row.toString());
+		}
+		List<String> cells = new ArrayList<>(numCol);
+		for (int i = 0; i < numCol; i++) {
+			cells.add(transformer.apply(row.getString(i)));
 		}
+		return cells;
+	}
+
+	/**
+	 * @param position the number of the row among the non-empty lines,
+	 * 		counting the header as row one
+	 */
+	private ParseException shortRow(String position, int numCol,
+			ShortRowException e) {
+		return new ParseException("Row " + position + " has " + e.size
+				+ " cells but the header has " + numCol, e.row);
 	}
 
 	public <T> ColumnTable<Sequence<T>> toPhoneticTable(
@@ -124,7 +259,7 @@ public final class Utilities {
 			List<String> keys
 	) {
 		List<String> keyList = (keys.isEmpty()) ? table.getKeys() : keys;
-		Collection<Integer> indices = new HashSet<>();
+		List<Integer> indices = new ArrayList<>();
 		int k = 0;
 		for (String key : table.getKeys()) {
 			if (keyList.contains(key)) {
@@ -133,26 +268,44 @@ public final class Utilities {
 			k++;
 		}
 
-		FeatureModel<T> model = factory.getFeatureMapping().getFeatureModel();
-		List<List<Sequence<T>>> lists = new ArrayList<>();
-		for (int i = 0; i < table.rows(); i++) {
-			List<Sequence<T>> list = new ArrayList<>();
-			for (int j = 0; j < table.columns(); j++) {
-				if (indices.contains(j)) {
-					String word = table.get(i, j);
-					String s = transformer.apply(word);
-					Sequence<T> segments = new BasicSequence<>(model);
-					for (String s1 : SPACE.split(s)) {
-						segments.add(factory.toSegment(s1));
+		PhoneticTokenizer<T> tokenizer =
+				new PhoneticTokenizer<>(factory, transformer);
+		List<List<Sequence<T>>> lists = IntStream.range(0, table.rows())
+				.parallel()
+				.mapToObj(i -> {
+					List<Sequence<T>> list = new ArrayList<>(indices.size());
+					for (int j : indices) {
+						list.add(tokenizer.toSequence(table.get(i, j)));
 					}
-					list.add(segments);
-				}
-			}
-			lists.add(list);
-		}
+					return list;
+				})
+				.collect(Collectors.toList());
+		LOGGER.info("Tokenized {} rows; cell cache hit ratio {}, segment "
+						+ "cache hit ratio {}", lists.size(),
+				PhoneticTokenizer.formatRatio(tokenizer.getCellHitRatio()),
+				PhoneticTokenizer.formatRatio(tokenizer.getSegmentHitRatio()));
 		return new DataTable<>(keyList, lists);
 	}
 
+	/**
+	 * Converts a single cell into a {@link Sequence}, applying the transformer
+	 * and then treating whitespace-delimited substrings as segments
+	 */
+	@NotNull
+	public <T> Sequence<T> toPhoneticSequence(
+			String word,
+			SequenceFactory<T> factory,
+			Function<String, String> transformer
+	) {
+		FeatureModel<T> model = factory.getFeatureMapping().getFeatureModel();
+		String s = transformer.apply(word);
+		Sequence<T> segments = new BasicSequence<>(model);
+		for (String s1 : SPACE.split(s)) {
+			segments.add(factory.toSegment(s1));
+		}
+		return segments;
+	}
+
 	public <T> Comparator<T> loadMatrixComparator(
 			FileHandler handler,
 			SequenceFactory<T> factory,
@@ -161,15 +314,18 @@ public final class Utilities {
 	) {
 		SymmetricalTwoKeyMap<Segment<T>, Double> map
 				= new SymmetricalTwoKeyMap<>();
-		for (String line : Splitter.lines(handler.read(matrixPath))) {
-			String[] matcher = line.split("\t");
-			String s1 = matcher[0];
-			String s2 = matcher[1];
-			map.put(
-					factory.toSegment(s1 == null ? "" : transformer.apply(s1)),
-					factory.toSegment(s2 == null ? "" : transformer.apply(s2)),
-					Double.parseDouble(matcher[2])
-			);
+		try (TsvReader reader = new TsvReader(handler.read(matrixPath))) {
+			while (reader.next()) {
+				TsvReader.Row row = reader.row();
+				map.put(
+						factory.toSegment(transformer.apply(row.getString(0))),
+						factory.toSegment(transformer.apply(row.getString(1))),
+						Double.parseDouble(row.getString(2))
+				);
+			}
+		} catch (IOException e) {
+			// a StringReader cannot fail
+			throw new UncheckedIOException(e);
 		}
 		return new BrownEtAlComparator<>(map);
 	}
@@ -281,4 +437,20 @@ public final class Utilities {
 
 		return map;
 	}
+
+	/**
+	 * A row with fewer cells than the header, which is reported with the
+	 * row's number once it is known
+	 */
+	private static final class ShortRowException extends RuntimeException {
+
+		private final int size;
+		private final String row;
+
+		private ShortRowException(int size, String row) {
+			super(null, null, false, false);
+			this.size = size;
+			this.row = row;
+		}
+	}
 }
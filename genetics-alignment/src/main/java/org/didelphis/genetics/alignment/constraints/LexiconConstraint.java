@@ -1,17 +1,21 @@
 package org.didelphis.genetics.alignment.constraints;
 
+import org.didelphis.genetics.alignment.Alignment;
+import org.didelphis.genetics.alignment.AlignmentResult;
+import org.didelphis.genetics.alignment.AlignmentSet;
+import org.didelphis.genetics.alignment.CompactAlignment;
+import org.didelphis.genetics.alignment.algorithm.AlignmentAlgorithm;
+import org.didelphis.genetics.alignment.common.SegmentInventory;
 import org.didelphis.language.phonetic.SequenceFactory;
-import org.didelphis.language.phonetic.features.FeatureArray;
-import org.didelphis.language.phonetic.model.FeatureMapping;
-import org.didelphis.language.phonetic.segments.Segment;
-import org.didelphis.language.phonetic.segments.StandardSegment;
+import org.didelphis.language.phonetic.sequences.BasicSequence;
 import org.didelphis.language.phonetic.sequences.Sequence;
 import org.didelphis.structures.tables.ColumnTable;
-import org.didelphis.genetics.alignment.Alignment;
-import org.didelphis.genetics.alignment.algorithm.AlignmentAlgorithm;
-import org.didelphis.genetics.alignment.AlignmentSet;
 
 import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.regex.Pattern;
 
@@ -24,56 +28,98 @@ public class LexiconConstraint<T> implements Constraint<T> {
 	private static final Pattern EXTENSION = Pattern.compile("\\.[^.]*");
 
 	private final SequenceFactory<T> factory;
-	private final ColumnTable<Sequence<T>> data;
-	private final List<Alignment<T>> standard;
+	private final AlignmentSet<T> standard;
+	private final List<List<Sequence<T>>> inputs;
+	private final List<CompactAlignment<T>> expected;
 	private final String name;
 	private final double strength;
 
+	/**
+	 * @param standardParam gold alignments loaded with their lexicon; each
+	 * 		distinct set of words in the lexicon which has a gold alignment is
+	 * 		checked once, against the answer {@link AlignmentSet#getStandard}
+	 * 		gives for it
+	 */
 	public LexiconConstraint(String nameParam,
 			SequenceFactory<T> factoryParam,
-			ColumnTable<Sequence<T>> dataParam,
-			List<Alignment<T>> standardParam) {
+			AlignmentSet<T> standardParam) {
+		ColumnTable<Sequence<T>> lexicon = standardParam.getLexicon();
+		if (lexicon == null) {
+			throw new IllegalArgumentException(
+					"The gold alignments for " + nameParam
+							+ " were loaded without a lexicon");
+		}
 		name = nameParam;
 		factory = factoryParam;
 		standard = standardParam;
-		data = dataParam;
-		strength = computeStrength();
+
+		// gold answers are compared by segment id; predictions are looked up
+		// in their inventory, which they do not add to
+		SegmentInventory<T> inventory = new SegmentInventory<>();
+		inputs = new ArrayList<>();
+		expected = new ArrayList<>();
+		Collection<List<String>> seen = new HashSet<>();
+		List<List<String>> words = standard.getWords();
+		for (int i = 0; i < words.size(); i++) {
+			if (!seen.add(words.get(i))) {
+				continue;
+			}
+			Alignment<T> alignment = standard.getStandard(words.get(i));
+			if (alignment == null) {
+				continue;
+			}
+			inputs.add(lexicon.getRow(i));
+			expected.add(CompactAlignment.encode(alignment, inventory, null));
+		}
+		strength = expected.size();
 	}
 
+	/**
+	 * Loads a constraint from a {@code .std} file of gold alignments and the
+	 * {@code .lex} file holding the unaligned words of the same rows
+	 */
 	public static <T> Constraint<T> loadFromPaths(String humanPath,
-			String lexiconPath, SequenceFactory<T> factory, String... keys) throws IOException {
-		AlignmentSet<T> alignments = AlignmentSet.loadFromFile(humanPath, factory);
-//
-//		ColumnTable<Sequence<T>> dataTable =
-//				Utilities.toPhoneticTable(lexiconPath, factory, new StringTransformer(),
-//						keys);
+			String lexiconPath, SequenceFactory<T> factory) throws IOException {
+		AlignmentSet<T> alignments = AlignmentSet.load(Paths.get(humanPath),
+				Paths.get(lexiconPath), factory);
 
 		String path = EXTENSION.matcher(lexiconPath).replaceAll("");
-		return new LexiconConstraint<T>(path, factory, null, alignments);
+		return new LexiconConstraint<T>(path, factory, alignments);
 	}
 
+	/**
+	 * @return the number of sets of words with a gold alignment which the
+	 * 		algorithm reproduces exactly; words for which the algorithm gives
+	 * 		no alignment do not count
+	 */
 	@Override
 	public double evaluate(AlignmentAlgorithm<T> algorithm) {
+		// algorithms may modify their inputs
+		List<List<Sequence<T>>> copies = new ArrayList<>(inputs.size());
+		for (List<Sequence<T>> row : inputs) {
+			List<Sequence<T>> copy = new ArrayList<>(row.size());
+			for (Sequence<T> sequence : row) {
+				copy.add(new BasicSequence<>(sequence));
+			}
+			copies.add(copy);
+		}
 
-		Alignment<T> blank = new Alignment<>(factory.getFeatureMapping().getFeatureModel());
-//		List<Alignment<T>> alignments = algorithm.getAlignments(data);
-//		Alignment<T> alignments = algorithm.apply();
-
+		List<AlignmentResult<T>> results = algorithm.applyAll(copies);
 		double sum = 0.0;
-
-//		int size = alignments.size();
-//		for (int i = 0; i < size; i++) {
-//			Alignment<T> a = alignments.get(i);
-//			Alignment<T> s = standard.get(i);
-//
-//			if (s.columns() != 0) {
-//				boolean equals = a.equals(s) && !a.equals(blank);
-//				sum += equals ? 1 : 0;
-//			}
-//		}
-
+		for (int i = 0; i < results.size(); i++) {
+			List<Alignment<T>> alignments = results.get(i).getAlignments();
+			if (alignments == null || alignments.isEmpty()) {
+				continue;
+			}
+			Alignment<T> prediction = alignments.get(0);
+			if (prediction != null && prediction.columns() > 0
+					&& expected.get(i).matches(prediction)) {
+				sum++;
+			}
+		}
 		return sum;
 	}
+
 	@Override
 	public String getName() {
 		return name;
@@ -86,28 +132,8 @@ public class LexiconConstraint<T> implements Constraint<T> {
 
 	@Override
 	public String toString() {
-		return "LexiconConstraint{" + "factory=" + factory + ", data=" + data +
+		return "LexiconConstraint{" + "factory=" + factory +
 				", standard=" + standard + ", name='" + name + '\'' +
 				", strength=" + strength + '}';
 	}
-
-	private int computeStrength() {
-		//noinspection NumericCastThatLosesPrecision
-		return (int) standard.stream()
-				.filter(lists -> lists.columns() > 0)
-				.count();
-	}
-
-	private Sequence<T> normalizeSymbols(
-			Iterable<Segment<T>> sequence) {
-		FeatureMapping<T> featureMapping = factory.getFeatureMapping();
-
-		Sequence<T> normalized = factory.toSequence("");
-		for (Segment<T> segment : sequence) {
-			FeatureArray<T> features = segment.getFeatures();
-			String symbol = featureMapping.findBestSymbol(features);
-			normalized.add(new StandardSegment<>(symbol, features));
-		}
-		return normalized;
-	}
 }
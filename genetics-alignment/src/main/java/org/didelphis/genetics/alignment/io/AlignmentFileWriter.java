@@ -0,0 +1,251 @@
+package org.didelphis.genetics.alignment.io;
+
+import org.didelphis.genetics.alignment.Alignment;
+import org.didelphis.genetics.alignment.AlignmentResult;
+import org.didelphis.language.phonetic.segments.Segment;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Class {@code AlignmentFileWriter}
+ *
+ * Writes alignments to a compact binary file which {@link
+ * MappedAlignmentFile} can read without parsing. Each segment is stored as
+ * the id of its symbol, and gaps as {@link #GAP}, so that alignments can be
+ * compared and counted by id alone.
+ *
+ * All values are little-endian. A file consists of
+ * <ul>
+ *     <li>a fixed header: magic number, version, the number of records, and
+ *     the offsets of the index and of the symbol table;</li>
+ *     <li>the records, each holding the score, the number of rows and columns,
+ *     and the ids of the alignment's segments in row-major order;</li>
+ *     <li>the index, giving the offset of every record;</li>
+ *     <li>the symbol table: the symbol of the gap, or an empty string if
+ *     there is none, then the symbol of each id, as length-prefixed
+ *     UTF-8.</li>
+ * </ul>
+ *
+ * Records are appended as they are written; the index and symbol table are
+ * written when the writer is closed. The file is written under a temporary
+ * name and only appears under its own name once it is complete.
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+public final class AlignmentFileWriter<T> implements Closeable {
+
+	/** "DGA1" */
+	public static final int MAGIC = 0x44474131;
+	public static final int VERSION = 1;
+
+	/** The id which marks a gap */
+	public static final int GAP = -1;
+
+	static final int HEADER = 4 + 4 + 8 + 8 + 8;
+	static final int RECORD_HEADER = 8 + 4 + 4;
+	static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+	private static final int BUFFER = 1 << 16;
+
+	private final Path path;
+	private final Path partial;
+	private final FileChannel channel;
+	private final Segment<T> gap;
+	private final Map<String, Integer> symbols;
+
+	private ByteBuffer buffer;
+	private long position;
+	private long[] index;
+	private int count;
+	private boolean closed;
+
+	/**
+	 * @param path the file to write
+	 * @param gap the segment which represents a gap, or null if gaps are not
+	 * 		to be distinguished from other segments
+	 */
+	public AlignmentFileWriter(@NotNull Path path, @Nullable Segment<T> gap)
+			throws IOException {
+		this.path = path;
+		this.gap = gap;
+		partial = path.resolveSibling(path.getFileName() + ".tmp");
+		channel = FileChannel.open(partial, StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		symbols = new LinkedHashMap<>();
+		buffer = ByteBuffer.allocate(BUFFER).order(ORDER);
+		index = new long[1024];
+		// the header is written on close
+		buffer.position(HEADER);
+		position = HEADER;
+	}
+
+	/**
+	 * Writes the first alignment of a result with the result's score; a
+	 * result without alignments is written as an empty alignment
+	 */
+	public void write(@NotNull AlignmentResult<T> result) throws IOException {
+		Iterator<Alignment<T>> iterator = result.getAlignments().iterator();
+		if (iterator.hasNext()) {
+			write(iterator.next(), result.getScore());
+		} else {
+			writeRecord(null, result.getScore());
+		}
+	}
+
+	public void write(@NotNull Alignment<T> alignment, double score)
+			throws IOException {
+		writeRecord(alignment, score);
+	}
+
+	/**
+	 * @return the number of records written
+	 */
+	public int size() {
+		return count;
+	}
+
+	/**
+	 * Writes the index, the symbol table and the header, and moves the file
+	 * into place; if any of this fails, the temporary file is deleted
+	 */
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		try {
+			finish();
+		} catch (IOException | RuntimeException | Error e) {
+			try {
+				Files.deleteIfExists(partial);
+			} catch (IOException suppressed) {
+				e.addSuppressed(suppressed);
+			}
+			throw e;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "AlignmentFileWriter{path=" + path + ", count=" + count + '}';
+	}
+
+	private void finish() throws IOException {
+		try {
+			long indexOffset = position;
+			for (int i = 0; i < count; i++) {
+				ensure(Long.BYTES);
+				buffer.putLong(index[i]);
+			}
+			long symbolOffset = indexOffset + (long) count * Long.BYTES;
+			putString(gap == null ? "" : gap.getSymbol());
+			ensure(Integer.BYTES);
+			buffer.putInt(symbols.size());
+			for (String symbol : symbols.keySet()) {
+				putString(symbol);
+			}
+			drain();
+
+			ByteBuffer header = ByteBuffer.allocate(HEADER).order(ORDER);
+			header.putInt(MAGIC).putInt(VERSION).putLong(count)
+					.putLong(indexOffset).putLong(symbolOffset);
+			header.flip();
+			long at = 0;
+			while (header.hasRemaining()) {
+				at += channel.write(header, at);
+			}
+			channel.force(true);
+		} finally {
+			channel.close();
+		}
+		try {
+			Files.move(partial, path, StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(partial, path, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	private void writeRecord(Alignment<T> alignment, double score)
+			throws IOException {
+		if (closed) {
+			throw new IOException("Writer for " + path + " is closed");
+		}
+		int rows = alignment == null ? 0 : alignment.rows();
+		int columns = alignment == null ? 0 : alignment.columns();
+		if (count == index.length) {
+			index = Arrays.copyOf(index, count * 2);
+		}
+		index[count++] = position;
+
+		ensure(RECORD_HEADER);
+		buffer.putDouble(score).putInt(rows).putInt(columns);
+		for (int i = 0; i < rows; i++) {
+			for (int j = 0; j < columns; j++) {
+				ensure(Integer.BYTES);
+				buffer.putInt(id(alignment.get(i, j)));
+			}
+		}
+		position += RECORD_HEADER + (long) rows * columns * Integer.BYTES;
+	}
+
+	private int id(Segment<T> segment) {
+		if (segment == null) {
+			throw new IllegalArgumentException("Alignments may not contain "
+					+ "empty cells");
+		}
+		if (segment.equals(gap)) {
+			return GAP;
+		}
+		String symbol = segment.getSymbol();
+		Integer id = symbols.get(symbol);
+		if (id == null) {
+			id = symbols.size();
+			symbols.put(symbol, id);
+		}
+		return id;
+	}
+
+	private void putString(String string) throws IOException {
+		byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+		ensure(Integer.BYTES + bytes.length);
+		buffer.putInt(bytes.length).put(bytes);
+	}
+
+	/**
+	 * Writes out the buffer if it cannot hold another {@code size} bytes
+	 */
+	private void ensure(int size) throws IOException {
+		if (buffer.remaining() < size) {
+			drain();
+			if (buffer.capacity() < size) {
+				buffer = ByteBuffer.allocate(size).order(ORDER);
+			}
+		}
+	}
+
+	private void drain() throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+}
@@ -0,0 +1,70 @@
+package org.didelphis.genetics.alignment.io;
+
+import lombok.experimental.UtilityClass;
+import org.didelphis.genetics.alignment.Alignment;
+import org.didelphis.genetics.alignment.AlignmentResult;
+import org.jetbrains.annotations.NotNull;
+
+import java.text.Normalizer;
+import java.text.Normalizer.Form;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Class {@code AlignmentFormat}
+ *
+ * Formats individual alignment results as the records of the CSV output, so
+ * that writers which hold a whole dataset and writers which stream one row at
+ * a time produce identical files. JSON records are written by {@link
+ * AlignmentWriter}.
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+@UtilityClass
+public final class AlignmentFormat {
+
+	private final Pattern HYPHEN = Pattern.compile("-");
+	private final Pattern HASH = Pattern.compile("#", Pattern.LITERAL);
+
+	/**
+	 * @param key a column pair key of the form {@code left-right}
+	 * @return the header line of the CSV output for the pair
+	 */
+	@NotNull
+	public String csvHeader(@NotNull String key) {
+		return HYPHEN.matcher(key).replaceAll("\t") + '\n';
+	}
+
+	/**
+	 * @return the CSV line of the result's first alignment, with word
+	 * 		boundaries removed, including the trailing newline
+	 */
+	@NotNull
+	public <T> String csvLine(@NotNull AlignmentResult<T> result) {
+		Iterator<Alignment<T>> list = result.getAlignments().iterator();
+		return csvLine(list.hasNext()
+				? list.next().buildPrettyAlignments()
+				: Collections.emptyList());
+	}
+
+	/**
+	 * @param rows the pretty-printed rows of an alignment
+	 * @return the CSV line of the alignment, with word boundaries removed,
+	 * 		including the trailing newline
+	 */
+	@NotNull
+	public String csvLine(@NotNull Iterable<? extends CharSequence> rows) {
+		StringBuilder sb = new StringBuilder();
+		for (CharSequence sequence : rows) {
+			String normal = Normalizer.normalize(sequence, Form.NFC);
+			String str = HASH.matcher(normal)
+					.replaceAll(Matcher.quoteReplacement("")).trim();
+			sb.append(str);
+			sb.append('\t');
+		}
+		sb.append('\n');
+		return sb.toString();
+	}
+}
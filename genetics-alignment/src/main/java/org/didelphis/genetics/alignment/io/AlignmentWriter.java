@@ -0,0 +1,219 @@
+package org.didelphis.genetics.alignment.io;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.didelphis.genetics.alignment.Alignment;
+import org.didelphis.genetics.alignment.AlignmentResult;
+import org.didelphis.genetics.alignment.ScoreTable;
+import org.didelphis.genetics.alignment.algorithm.TableRetention;
+import org.didelphis.structures.tables.Table;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Class {@code AlignmentWriter}
+ *
+ * Writes alignment results to the CSV and JSON outputs in a single pass. Each
+ * result's alignments are formatted once and the same rows are used for both
+ * outputs; JSON is streamed through a {@link JsonGenerator} directly to the
+ * target, one record per line, without building a tree or an intermediate
+ * string. The DP table is optional, and is written as an array of rows of
+ * numbers, in which empty or unretained cells are {@code null}.
+ *
+ * Either output may be absent. The targets belong to the caller: closing the
+ * writer flushes them but does not close them. Failures to write are thrown
+ * to the caller.
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+public final class AlignmentWriter implements Flushable, Closeable {
+
+	private static final JsonFactory FACTORY = new JsonFactory()
+			.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+	private final Writer csv;
+	private final JsonGenerator json;
+	private final boolean includeTable;
+
+	private long count;
+
+	/**
+	 * @param csv receives one line per result, or null for no CSV output
+	 * @param json receives one UTF-8 JSON record per line, or null for no JSON
+	 * 		output
+	 * @param includeTable whether JSON records include the DP table
+	 */
+	public AlignmentWriter(
+			@Nullable Writer csv,
+			@Nullable OutputStream json,
+			boolean includeTable
+	) throws IOException {
+		this.csv = csv;
+		this.json = json == null
+				? null
+				: FACTORY.createGenerator(json, JsonEncoding.UTF8)
+						.setRootValueSeparator(null);
+		this.includeTable = includeTable;
+	}
+
+	/**
+	 * Writes a result to each output
+	 */
+	public <T> void write(@NotNull AlignmentResult<T> result)
+			throws IOException {
+		List<Collection<CharSequence>> pretty = new ArrayList<>();
+		for (Alignment<T> alignment : result.getAlignments()) {
+			pretty.add(alignment.buildPrettyAlignments());
+		}
+		if (csv != null) {
+			csv.write(AlignmentFormat.csvLine(pretty.isEmpty()
+					? Collections.emptyList()
+					: pretty.get(0)));
+		}
+		if (json != null) {
+			json.writeStartObject();
+			json.writeStringField("left", result.getLeft().toString());
+			json.writeStringField("right", result.getRight().toString());
+			json.writeArrayFieldStart("alignments");
+			for (Collection<CharSequence> rows : pretty) {
+				writeRows(rows);
+			}
+			json.writeEndArray();
+			if (includeTable) {
+				json.writeFieldName("table");
+				ScoreTable scores = result.getScores();
+				Table<Double> table = scores == null ? result.getTable() : null;
+				if (scores != null) {
+					writeTable(scores);
+				} else if (table != null) {
+					writeTable(table);
+				} else {
+					// the algorithm retained no table
+					json.writeNull();
+				}
+			}
+			json.writeEndObject();
+			json.writeRaw('\n');
+		}
+		count++;
+	}
+
+	/**
+	 * @return the number of results written
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	@Override
+	public void flush() throws IOException {
+		if (json != null) {
+			json.flush();
+		}
+		if (csv != null) {
+			csv.flush();
+		}
+	}
+
+	/**
+	 * Flushes both outputs without closing them
+	 */
+	@Override
+	public void close() throws IOException {
+		if (json != null) {
+			json.close();
+		}
+		if (csv != null) {
+			csv.flush();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "AlignmentWriter{csv=" + (csv != null) + ", json=" +
+				(json != null) + ", includeTable=" + includeTable + ", count=" +
+				count + '}';
+	}
+
+	/**
+	 * Writes the rows of a pretty-printed alignment as an array of strings,
+	 * the same array produced by splitting its pretty table at newlines
+	 */
+	private void writeRows(Collection<CharSequence> rows) throws IOException {
+		List<String> strings = new ArrayList<>(rows.size());
+		for (CharSequence sequence : rows) {
+			strings.add(sequence.toString());
+		}
+		if (strings.isEmpty()) {
+			strings.add("");
+		} else {
+			// String.split drops trailing empty strings
+			int end = strings.size();
+			while (end > 0 && strings.get(end - 1).isEmpty()) {
+				end--;
+			}
+			strings = strings.subList(0, end);
+		}
+		json.writeStartArray();
+		for (String string : strings) {
+			json.writeString(string);
+		}
+		json.writeEndArray();
+	}
+
+	/**
+	 * Writes a table as an array of rows of doubles; empty cells are written
+	 * as {@code null}, since JSON has no {@code NaN}
+	 */
+	private void writeTable(Table<Double> table) throws IOException {
+		json.writeStartArray();
+		for (int i = 0; i < table.rows(); i++) {
+			json.writeStartArray();
+			for (int j = 0; j < table.columns(); j++) {
+				Double value = table.get(i, j);
+				if (value == null || value.isNaN()) {
+					json.writeNull();
+				} else {
+					json.writeNumber(value);
+				}
+			}
+			json.writeEndArray();
+		}
+		json.writeEndArray();
+	}
+
+	/**
+	 * Writes a retained table as {@link #writeTable(Table)} does, at the
+	 * precision at which it was retained; cells which were not retained are
+	 * written as {@code null}
+	 */
+	private void writeTable(ScoreTable table) throws IOException {
+		json.writeStartArray();
+		for (int i = 0; i < table.rows(); i++) {
+			json.writeStartArray();
+			for (int j = 0; j < table.columns(); j++) {
+				double value = table.get(i, j);
+				if (Double.isNaN(value)) {
+					json.writeNull();
+				} else if (table.getRetention() == TableRetention.FULL_FLOAT) {
+					json.writeNumber((float) value);
+				} else {
+					json.writeNumber(value);
+				}
+			}
+			json.writeEndArray();
+		}
+		json.writeEndArray();
+	}
+}
@@ -0,0 +1,461 @@
+package org.didelphis.genetics.alignment.io;
+
+import lombok.experimental.UtilityClass;
+import org.didelphis.genetics.alignment.common.StringTransformer;
+import org.didelphis.language.phonetic.features.FeatureArray;
+import org.didelphis.language.phonetic.model.FeatureMapping;
+import org.didelphis.structures.tables.ColumnTable;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Class {@code CorpusFormat}
+ *
+ * A binary, column-oriented format for tokenized corpora, and the converter
+ * which produces it from a TSV file. A corpus stores each cell as the ids of
+ * its tokens, so that loading it with {@link MappedCorpus} repeats neither the
+ * string transformations nor the tokenization of the original table.
+ *
+ * All values are little-endian. A file consists of
+ * <ul>
+ *     <li>a fixed header: magic number, version, the SHA-256 fingerprints of
+ *     the feature mapping and of the transformer rules, the number of rows and
+ *     columns, and the offset of the symbol table;</li>
+ *     <li>a directory giving, for each column, the positions of its offsets
+ *     and ids, and the number of ids;</li>
+ *     <li>for each column, {@code rows + 1} offsets into its ids, so that the
+ *     cell in row {@code r} is {@code ids[offsets[r]] .. ids[offsets[r+1]]},
+ *     followed by the flat array of ids;</li>
+ *     <li>the symbol table: the column names, then the token of each id, as
+ *     length-prefixed UTF-8.</li>
+ * </ul>
+ *
+ * Tokens are stored as the strings which were passed to
+ * {@code SequenceFactory.toSegment}, so the segments of a loaded corpus are
+ * exactly those which {@code Utilities.toPhoneticTable} would have produced,
+ * provided the feature mapping and the rules are the same; the fingerprints
+ * guard this.
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+@UtilityClass
+public final class CorpusFormat {
+
+	/** "DGC1" */
+	public final int MAGIC = 0x44474331;
+	public final int VERSION = 2;
+
+	final int FINGERPRINT = 32;
+	final int HEADER = 4 + 4 + FINGERPRINT + FINGERPRINT + 4 + 4 + 8;
+	final int DIRECTORY_ENTRY = 8 + 8 + 8;
+	final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+	/** Ids of a column must fit in a single mapped buffer */
+	final long MAX_IDS = Integer.MAX_VALUE / Integer.BYTES;
+
+	private final Pattern SPACE = Pattern.compile("\\s+");
+	private final int BUFFER = 1 << 16;
+
+	/**
+	 * Computes a fingerprint of a feature mapping from its feature names and
+	 * the features of every symbol and modifier
+	 *
+	 * @return a SHA-256 digest
+	 */
+	@NotNull
+	public byte[] fingerprint(@NotNull FeatureMapping<?> mapping) {
+		MessageDigest digest = digest();
+		update(digest, String.valueOf(
+				mapping.getSpecification().getFeatureNames()));
+		update(digest, mapping.getFeatureMap());
+		update(digest, mapping.getModifiers());
+		return digest.digest();
+	}
+
+	/**
+	 * Computes a fingerprint of the rules of the transformers applied to each
+	 * cell and to each cell before it is tokenized
+	 *
+	 * @return a SHA-256 digest
+	 */
+	@NotNull
+	public byte[] fingerprint(
+			@NotNull StringTransformer cellTransformer,
+			@NotNull StringTransformer tokenTransformer
+	) {
+		MessageDigest digest = digest();
+		for (StringTransformer transformer
+				: new StringTransformer[]{cellTransformer, tokenTransformer}) {
+			for (String rule : transformer.getRules()) {
+				update(digest, rule);
+			}
+			digest.update((byte) 1);
+		}
+		return digest.digest();
+	}
+
+	/**
+	 * Tokenizes the selected columns of a TSV file and writes them as a
+	 * corpus. Each cell is processed as by {@code Utilities.loadTable} with
+	 * {@code cellTransformer} followed by {@code Utilities.toPhoneticTable}
+	 * with {@code tokenTransformer}. The file is written under a temporary
+	 * name and renamed into place when complete.
+	 *
+	 * @param tsv the table, whose first line names its columns
+	 * @param corpus the file to write
+	 * @param keys the columns to convert, in the order they are stored
+	 * @param cellTransformer applied to every selected cell
+	 * @param tokenTransformer applied to each cell before it is split into
+	 * 		tokens at whitespace
+	 * @param mapping the feature mapping with which the corpus will be used
+	 * @return the number of rows written
+	 */
+	public int convert(
+			@NotNull Path tsv,
+			@NotNull Path corpus,
+			@NotNull List<String> keys,
+			@NotNull StringTransformer cellTransformer,
+			@NotNull StringTransformer tokenTransformer,
+			@NotNull FeatureMapping<?> mapping
+	) throws IOException {
+		try (MappedTsvFile table = new MappedTsvFile(tsv)) {
+			int[] selected = select(table.getKeys(), keys, tsv);
+			String[] cells = new String[keys.size()];
+			List<MappedTsvFile.Range> ranges = table.split(1);
+			Cells source = new Cells() {
+				private int range;
+				private TsvReader reader;
+
+				@Override
+				public String[] next() throws IOException {
+					while (reader == null || !reader.next()) {
+						if (range == ranges.size()) {
+							return null;
+						}
+						reader = table.open(ranges.get(range++));
+					}
+					TsvReader.Row row = reader.row();
+					for (int c = 0; c < cells.length; c++) {
+						cells[c] = cellTransformer.apply(selected[c] < row.size()
+								? row.getString(selected[c])
+								: "");
+					}
+					return cells;
+				}
+			};
+			return write(source, corpus, keys, tokenTransformer,
+					fingerprint(cellTransformer, tokenTransformer), mapping);
+		}
+	}
+
+	/**
+	 * Tokenizes the selected columns of a table which has already been read,
+	 * as by {@code Utilities.loadTable} with {@code cellTransformer}, and
+	 * writes them as a corpus, which is identical to that which {@link
+	 * #convert(Path, Path, List, StringTransformer, StringTransformer,
+	 * FeatureMapping)} would write from the original file
+	 *
+	 * @param table the table, whose cells have had {@code cellTransformer}
+	 * 		applied
+	 * @param cellTransformer the transformer with which the table was read;
+	 * 		only its rules are recorded in the corpus
+	 * @return the number of rows written
+	 */
+	public int convert(
+			@NotNull ColumnTable<String> table,
+			@NotNull Path corpus,
+			@NotNull List<String> keys,
+			@NotNull StringTransformer cellTransformer,
+			@NotNull StringTransformer tokenTransformer,
+			@NotNull FeatureMapping<?> mapping
+	) throws IOException {
+		int[] selected = select(table.getKeys(), keys, corpus);
+		String[] cells = new String[keys.size()];
+		Cells source = new Cells() {
+			private int row;
+
+			@Override
+			public String[] next() {
+				if (row == table.rows()) {
+					return null;
+				}
+				List<String> values = table.getRow(row++);
+				for (int c = 0; c < cells.length; c++) {
+					cells[c] = values.get(selected[c]);
+				}
+				return cells;
+			}
+		};
+		return write(source, corpus, keys, tokenTransformer,
+				fingerprint(cellTransformer, tokenTransformer), mapping);
+	}
+
+	private int write(Cells source, Path corpus, List<String> keys,
+			StringTransformer tokenTransformer, byte[] rules,
+			FeatureMapping<?> mapping) throws IOException {
+		int k = keys.size();
+		List<Path> temporary = new ArrayList<>();
+		IntWriter[] offsets = new IntWriter[k];
+		IntWriter[] ids = new IntWriter[k];
+		Map<String, Integer> symbols = new LinkedHashMap<>();
+		int rows = 0;
+		try {
+			for (int c = 0; c < k; c++) {
+				offsets[c] = new IntWriter(temporary(corpus, temporary));
+				ids[c] = new IntWriter(temporary(corpus, temporary));
+				offsets[c].write(0);
+			}
+			for (String[] cells = source.next(); cells != null;
+					cells = source.next()) {
+				for (int c = 0; c < k; c++) {
+					String word = tokenTransformer.apply(cells[c]);
+					for (String token : SPACE.split(word)) {
+						Integer id = symbols.get(token);
+						if (id == null) {
+							id = symbols.size();
+							symbols.put(token, id);
+						}
+						ids[c].write(id);
+					}
+					if (ids[c].count > MAX_IDS) {
+						throw new IOException("Column " + keys.get(c)
+								+ " has too many tokens for a corpus");
+					}
+					offsets[c].write((int) ids[c].count);
+				}
+				if (++rows > MAX_IDS) {
+					throw new IOException("Too many rows for a corpus");
+				}
+			}
+			for (int c = 0; c < k; c++) {
+				offsets[c].flush();
+				ids[c].flush();
+			}
+			write(corpus, fingerprint(mapping), rules, rows, keys, offsets,
+					ids, symbols);
+			return rows;
+		} finally {
+			for (int c = 0; c < k; c++) {
+				close(offsets[c]);
+				close(ids[c]);
+			}
+			for (Path path : temporary) {
+				Files.deleteIfExists(path);
+			}
+		}
+	}
+
+	private void write(Path corpus, byte[] fingerprint, byte[] rules,
+			int rows, List<String> keys, IntWriter[] offsets, IntWriter[] ids,
+			Map<String, Integer> symbols) throws IOException {
+		int k = keys.size();
+		long position = HEADER + (long) DIRECTORY_ENTRY * k;
+		ByteBuffer header = ByteBuffer.allocate((int) position).order(ORDER);
+		header.position(HEADER);
+		for (int c = 0; c < k; c++) {
+			header.putLong(position);
+			position += offsets[c].count * Integer.BYTES;
+			header.putLong(position);
+			header.putLong(ids[c].count);
+			position += ids[c].count * Integer.BYTES;
+		}
+		header.position(0);
+		header.putInt(MAGIC).putInt(VERSION).put(fingerprint).put(rules)
+				.putInt(rows).putInt(k).putLong(position);
+		header.position(0);
+
+		Path partial = corpus.resolveSibling(corpus.getFileName() + ".tmp");
+		try (FileChannel out = FileChannel.open(partial,
+				StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			writeFully(out, header);
+			for (int c = 0; c < k; c++) {
+				offsets[c].transferTo(out);
+				ids[c].transferTo(out);
+			}
+			ByteBuffer buffer = ByteBuffer.allocate(BUFFER).order(ORDER);
+			buffer = putStrings(out, buffer, keys);
+			buffer = putStrings(out, buffer, symbols.keySet());
+			buffer.flip();
+			writeFully(out, buffer);
+			out.force(true);
+		}
+		try {
+			Files.move(partial, corpus, StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(partial, corpus, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * Writes a count followed by length-prefixed UTF-8 strings
+	 */
+	private ByteBuffer putStrings(FileChannel out, ByteBuffer buffer,
+			Collection<String> strings) throws IOException {
+		buffer = ensure(out, buffer, Integer.BYTES);
+		buffer.putInt(strings.size());
+		for (String string : strings) {
+			byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+			buffer = ensure(out, buffer, Integer.BYTES + bytes.length);
+			buffer.putInt(bytes.length).put(bytes);
+		}
+		return buffer;
+	}
+
+	private void close(IntWriter writer) throws IOException {
+		if (writer != null) {
+			writer.close();
+		}
+	}
+
+	private int[] select(List<String> columns, List<String> keys, Path path) {
+		int[] selected = new int[keys.size()];
+		for (int c = 0; c < selected.length; c++) {
+			selected[c] = columns.indexOf(keys.get(c));
+			if (selected[c] < 0) {
+				throw new IllegalArgumentException("No column named "
+						+ keys.get(c) + " for " + path + "; found " + columns);
+			}
+		}
+		return selected;
+	}
+
+	/**
+	 * Flushes the buffer if it cannot hold another {@code size} bytes, and
+	 * replaces it with a larger one if it never could
+	 */
+	private ByteBuffer ensure(FileChannel out, ByteBuffer buffer, int size)
+			throws IOException {
+		if (buffer.remaining() >= size) {
+			return buffer;
+		}
+		buffer.flip();
+		writeFully(out, buffer);
+		buffer.clear();
+		return buffer.capacity() >= size
+				? buffer
+				: ByteBuffer.allocate(size).order(ORDER);
+	}
+
+	private void writeFully(FileChannel out, ByteBuffer buffer)
+			throws IOException {
+		while (buffer.hasRemaining()) {
+			out.write(buffer);
+		}
+	}
+
+	private Path temporary(Path corpus, List<Path> temporary)
+			throws IOException {
+		Path parent = corpus.toAbsolutePath().getParent();
+		Path path = Files.createTempFile(parent, "corpus", ".part");
+		temporary.add(path);
+		return path;
+	}
+
+	private MessageDigest digest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			// every Java platform is required to support SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private void update(MessageDigest digest, String string) {
+		digest.update(string.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+	}
+
+	private <T> void update(MessageDigest digest,
+			Map<String, FeatureArray<T>> features) {
+		for (Entry<String, FeatureArray<T>> entry
+				: new TreeMap<>(features).entrySet()) {
+			update(digest, entry.getKey());
+			for (T value : entry.getValue()) {
+				update(digest, String.valueOf(value));
+			}
+		}
+		digest.update((byte) 1);
+	}
+
+	/**
+	 * Supplies the selected cells of each row in turn
+	 */
+	private interface Cells {
+		/**
+		 * @return the cells of the next row, or null after the last; the
+		 * 		array may be reused
+		 */
+		String[] next() throws IOException;
+	}
+
+	/**
+	 * Writes ints to a temporary file through a buffer, counting them
+	 */
+	private static final class IntWriter {
+
+		private final Path path;
+		private final FileChannel channel;
+		private final ByteBuffer buffer;
+		private long count;
+
+		private IntWriter(Path path) throws IOException {
+			this.path = path;
+			channel = FileChannel.open(path, StandardOpenOption.WRITE,
+					StandardOpenOption.READ);
+			buffer = ByteBuffer.allocate(BUFFER).order(ORDER);
+		}
+
+		private void write(int value) throws IOException {
+			if (!buffer.hasRemaining()) {
+				flush();
+			}
+			buffer.putInt(value);
+			count++;
+		}
+
+		private void flush() throws IOException {
+			buffer.flip();
+			writeFully(channel, buffer);
+			buffer.clear();
+		}
+
+		private void transferTo(FileChannel out) throws IOException {
+			long size = count * Integer.BYTES;
+			long done = 0;
+			while (done < size) {
+				done += channel.transferTo(done, size - done, out);
+			}
+		}
+
+		private void close() throws IOException {
+			channel.close();
+		}
+
+		@Override
+		public String toString() {
+			return "IntWriter{path=" + path + ", count=" + count + '}';
+		}
+	}
+}
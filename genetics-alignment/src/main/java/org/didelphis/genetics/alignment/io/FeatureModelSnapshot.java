@@ -0,0 +1,358 @@
+package org.didelphis.genetics.alignment.io;
+
+import lombok.experimental.UtilityClass;
+import org.didelphis.io.FileHandler;
+import org.didelphis.language.phonetic.features.FeatureArray;
+import org.didelphis.language.phonetic.features.FeatureType;
+import org.didelphis.language.phonetic.features.StandardFeatureArray;
+import org.didelphis.language.phonetic.model.FeatureMapping;
+import org.didelphis.language.phonetic.model.FeatureModel;
+import org.didelphis.language.phonetic.model.FeatureModelLoader;
+import org.didelphis.language.phonetic.model.GeneralFeatureMapping;
+import org.didelphis.utilities.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Class {@code FeatureModelSnapshot}
+ *
+ * Loads feature mappings through a cache of binary snapshots, so that short
+ * runs do not pay for parsing every symbol of a {@code .model} file each time.
+ * A snapshot holds the feature arrays of every symbol and modifier, and is
+ * named by the SHA-256 hash of the snapshot format, the version of the library
+ * which parses models, the feature type, and the text of the model together
+ * with every model it imports. A change to any of them therefore never matches
+ * an old snapshot: the model is parsed with {@link FeatureModelLoader} and a
+ * new snapshot is written. A snapshot which cannot be read is likewise
+ * rebuilt.
+ *
+ * The feature model itself, with its features, aliases and constraints, is
+ * always parsed by {@link FeatureModelLoader} from the parts of the model
+ * outside its {@code SYMBOLS} and {@code MODIFIERS} sections, so it is the
+ * same as the loader's. No snapshot is written if that model differs from the
+ * loader's, or if a feature value does not survive being stored as a string
+ * and restored with {@link FeatureType#parseValue}.
+ *
+ * Snapshots are disabled unless the system property {@value
+ * #DIRECTORY_PROPERTY} names the directory to keep them in; otherwise every
+ * call parses the model with {@link FeatureModelLoader}.
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+@UtilityClass
+public final class FeatureModelSnapshot {
+
+	public final String DIRECTORY_PROPERTY = "didelphis.model.cache";
+
+	private final Logger LOGGER = Logger.create(FeatureModelSnapshot.class);
+
+	/** "DGF1" */
+	private final int MAGIC = 0x44474631;
+	private final int VERSION = 2;
+	private final String EXTENSION = ".snapshot";
+
+	private final Pattern IMPORT = Pattern.compile(
+			"IMPORT\\s+['\"]([^'\"]+)['\"]", Pattern.CASE_INSENSITIVE);
+	private final Pattern NEWLINE = Pattern.compile("\r\n?|\n");
+	private final Set<String> SECTIONS = new HashSet<>(Arrays.asList(
+			"FEATURES", "ALIASES", "CONSTRAINTS", "SYMBOLS", "MODIFIERS"));
+	private final Set<String> ARRAY_SECTIONS = new HashSet<>(Arrays.asList(
+			"SYMBOLS", "MODIFIERS"));
+
+	/**
+	 * Loads a feature mapping, from a snapshot if snapshots are enabled and a
+	 * current one exists
+	 *
+	 * @param type the feature type of the model
+	 * @param handler reads the model and the models it imports
+	 * @param path the path of the model
+	 * @return a mapping equal to that of a {@link FeatureModelLoader}
+	 */
+	@NotNull
+	public <T> FeatureMapping<T> load(
+			@NotNull FeatureType<T> type,
+			@NotNull FileHandler handler,
+			@NotNull String path
+	) {
+		Path directory = directory();
+		if (directory == null) {
+			return new FeatureModelLoader<>(type, handler, path)
+					.getFeatureMapping();
+		}
+		List<String> lines = new ArrayList<>();
+		resolve(handler, path, new HashSet<>(), lines);
+		byte[] hash = hash(type, lines);
+		Path snapshot = directory.resolve(hex(hash) + EXTENSION);
+		FeatureModel<T> model = new FeatureModelLoader<>(type, handler,
+				withoutArrays(lines)).getFeatureMapping().getFeatureModel();
+		try {
+			return read(snapshot, type, model, hash);
+		} catch (NoSuchFileException e) {
+			LOGGER.info("No snapshot of {}; parsing it", path);
+		} catch (IOException | RuntimeException e) {
+			LOGGER.warn("Rebuilding snapshot {} of {}: {}", snapshot, path,
+					e.toString());
+		}
+
+		FeatureMapping<T> mapping = new FeatureModelLoader<>(type, handler,
+				path).getFeatureMapping();
+		if (!model.equals(mapping.getFeatureModel())) {
+			LOGGER.warn("The model of {} cannot be parsed without its symbols; "
+					+ "not writing a snapshot", path);
+			return mapping;
+		}
+		try {
+			if (write(snapshot, type, hash, mapping)) {
+				LOGGER.info("Wrote snapshot {} of {}", snapshot, path);
+			} else {
+				LOGGER.warn("Feature values of {} cannot be stored; not "
+						+ "writing a snapshot", path);
+			}
+		} catch (IOException e) {
+			LOGGER.warn("Unable to write snapshot {}: {}", snapshot,
+					e.toString());
+		}
+		return mapping;
+	}
+
+	@Nullable
+	private Path directory() {
+		String property = System.getProperty(DIRECTORY_PROPERTY);
+		return property == null || property.isEmpty() ? null
+				: Paths.get(property);
+	}
+
+	/**
+	 * Appends the lines of a model to {@code lines}, with those of each model
+	 * it imports in place of the import. Imports are read through the handler
+	 * as they are named, and a model already imported is not read again.
+	 */
+	private void resolve(FileHandler handler, String path, Set<String> seen,
+			List<String> lines) {
+		if (!seen.add(path)) {
+			return;
+		}
+		for (String line : NEWLINE.split(handler.read(path), -1)) {
+			Matcher matcher = IMPORT.matcher(line.trim());
+			if (matcher.matches()) {
+				resolve(handler, matcher.group(1), seen, lines);
+			} else {
+				lines.add(line);
+			}
+		}
+	}
+
+	/**
+	 * @return the lines of a resolved model outside its symbol and modifier
+	 * 		sections
+	 */
+	private List<String> withoutArrays(List<String> lines) {
+		List<String> kept = new ArrayList<>();
+		boolean arrays = false;
+		for (String line : lines) {
+			int comment = line.indexOf('%');
+			String content = (comment < 0 ? line : line.substring(0, comment))
+					.trim().toUpperCase(Locale.ROOT);
+			if (SECTIONS.contains(content)) {
+				arrays = ARRAY_SECTIONS.contains(content);
+			}
+			if (!arrays) {
+				kept.add(line);
+			}
+		}
+		return kept;
+	}
+
+	private <T> FeatureMapping<T> read(Path snapshot, FeatureType<T> type,
+			FeatureModel<T> model, byte[] hash) throws IOException {
+		try (DataInputStream in = new DataInputStream(
+				new BufferedInputStream(Files.newInputStream(snapshot)))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+				throw new IOException("Not a snapshot of this version");
+			}
+			byte[] stored = new byte[hash.length];
+			in.readFully(stored);
+			if (!Arrays.equals(stored, hash)) {
+				throw new IOException("Snapshot does not match its model");
+			}
+
+			int size = in.readInt();
+			List<String> names = new ArrayList<>(size);
+			for (int i = 0; i < size; i++) {
+				names.add(in.readUTF());
+			}
+			if (!names.equals(model.getSpecification().getFeatureNames())) {
+				throw new IOException("Snapshot features do not match the "
+						+ "model");
+			}
+			Map<String, FeatureArray<T>> symbols = readArrays(in, type, model,
+					size);
+			Map<String, FeatureArray<T>> modifiers = readArrays(in, type,
+					model, size);
+			return new GeneralFeatureMapping<>(model, symbols, modifiers);
+		}
+	}
+
+	private <T> Map<String, FeatureArray<T>> readArrays(DataInputStream in,
+			FeatureType<T> type, FeatureModel<T> model, int size)
+			throws IOException {
+		int count = in.readInt();
+		Map<String, FeatureArray<T>> arrays = new LinkedHashMap<>(count);
+		for (int i = 0; i < count; i++) {
+			String symbol = in.readUTF();
+			List<T> values = new ArrayList<>(size);
+			for (int j = 0; j < size; j++) {
+				values.add(in.readBoolean() ? type.parseValue(in.readUTF())
+						: null);
+			}
+			arrays.put(symbol, new StandardFeatureArray<>(values, model));
+		}
+		return arrays;
+	}
+
+	/**
+	 * @return false if the mapping holds values which would not be restored
+	 * 		exactly, in which case nothing is written
+	 */
+	private <T> boolean write(Path snapshot, FeatureType<T> type, byte[] hash,
+			FeatureMapping<T> mapping) throws IOException {
+		List<String> names = mapping.getSpecification().getFeatureNames();
+		if (!restorable(type, mapping.getFeatureMap())
+				|| !restorable(type, mapping.getModifiers())) {
+			return false;
+		}
+		Files.createDirectories(snapshot.toAbsolutePath().getParent());
+		Path temporary = Files.createTempFile(
+				snapshot.toAbsolutePath().getParent(), "model", ".tmp");
+		try {
+			try (DataOutputStream out = new DataOutputStream(
+					new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.write(hash);
+				out.writeInt(names.size());
+				for (String name : names) {
+					out.writeUTF(name);
+				}
+				writeArrays(out, mapping.getFeatureMap(), names.size());
+				writeArrays(out, mapping.getModifiers(), names.size());
+			}
+			try {
+				Files.move(temporary, snapshot,
+						StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temporary, snapshot,
+						StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(temporary);
+		}
+		return true;
+	}
+
+	private <T> void writeArrays(DataOutputStream out,
+			Map<String, FeatureArray<T>> arrays, int size) throws IOException {
+		out.writeInt(arrays.size());
+		for (Entry<String, FeatureArray<T>> entry : arrays.entrySet()) {
+			out.writeUTF(entry.getKey());
+			FeatureArray<T> array = entry.getValue();
+			for (int j = 0; j < size; j++) {
+				T value = array.get(j);
+				out.writeBoolean(value != null);
+				if (value != null) {
+					out.writeUTF(String.valueOf(value));
+				}
+			}
+		}
+	}
+
+	private <T> boolean restorable(FeatureType<T> type,
+			Map<String, FeatureArray<T>> arrays) {
+		for (FeatureArray<T> array : arrays.values()) {
+			for (T value : array) {
+				if (value != null && !Objects.equals(value,
+						type.parseValue(String.valueOf(value)))) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private byte[] hash(FeatureType<?> type, List<String> lines) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			// every Java platform is required to support SHA-256
+			throw new IllegalStateException(e);
+		}
+		update(digest, Integer.toString(VERSION));
+		update(digest, libraryVersion());
+		update(digest, type.getClass().getName());
+		for (String line : lines) {
+			update(digest, line);
+		}
+		return digest.digest();
+	}
+
+	private void update(MessageDigest digest, String value) {
+		digest.update(value.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+	}
+
+	/**
+	 * @return the version of the library which parses models, or where it was
+	 * 		loaded from if its jar does not name a version
+	 */
+	private String libraryVersion() {
+		Class<?> loader = FeatureModelLoader.class;
+		Package pack = loader.getPackage();
+		String version = pack == null ? null : pack.getImplementationVersion();
+		if (version != null) {
+			return version;
+		}
+		CodeSource source = loader.getProtectionDomain().getCodeSource();
+		return source == null || source.getLocation() == null
+				? "unknown"
+				: source.getLocation().toString();
+	}
+
+	private String hex(byte[] bytes) {
+		StringBuilder sb = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes) {
+			sb.append(Character.forDigit((b >> 4) & 0xF, 16));
+			sb.append(Character.forDigit(b & 0xF, 16));
+		}
+		return sb.toString();
+	}
+}
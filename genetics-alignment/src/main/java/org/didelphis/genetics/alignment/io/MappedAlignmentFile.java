@@ -0,0 +1,378 @@
+package org.didelphis.genetics.alignment.io;
+
+import org.didelphis.genetics.alignment.Alignment;
+import org.didelphis.language.phonetic.SequenceFactory;
+import org.didelphis.language.phonetic.model.FeatureModel;
+import org.didelphis.language.phonetic.segments.Segment;
+import org.didelphis.language.phonetic.sequences.BasicSequence;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Class {@code MappedAlignmentFile}
+ *
+ * Reads a file written by {@link AlignmentFileWriter} through memory maps.
+ * Any record can be reached in constant time through the index, and its
+ * score and segment ids can be read directly from the mapped file; an {@link
+ * Alignment} is only built for a record when one is requested, and the
+ * segment for each symbol is created once and shared. Iterating over the file
+ * yields a {@link Record} for each record, a view which reads the mapped file
+ * and copies nothing.
+ *
+ * Records are mapped in regions of at most {@value #MAX_REGION} bytes, each
+ * holding whole records, so files of any size can be read.
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+public final class MappedAlignmentFile<T>
+		implements Closeable, Iterable<MappedAlignmentFile<T>.Record> {
+
+	/** The largest region of records mapped at once */
+	public static final long MAX_REGION = 1L << 30;
+
+	private final Path path;
+	private final FileChannel channel;
+	private final SequenceFactory<T> factory;
+	private final FeatureModel<T> model;
+	private final int count;
+	private final LongBuffer index;
+	private final List<ByteBuffer> regions;
+	private final long[] regionStarts;
+	private final int[] regionFirsts;
+	private final String gap;
+	private final String[] symbols;
+	private final AtomicReferenceArray<Segment<T>> segments;
+
+	private MappedAlignmentFile(Path path, FileChannel channel,
+			SequenceFactory<T> factory) throws IOException {
+		this.path = path;
+		this.channel = channel;
+		this.factory = factory;
+		model = factory.getFeatureMapping().getFeatureModel();
+
+		ByteBuffer header = map(0, AlignmentFileWriter.HEADER);
+		if (header.getInt() != AlignmentFileWriter.MAGIC) {
+			throw new IOException(path + " is not an alignment file");
+		}
+		int version = header.getInt();
+		if (version != AlignmentFileWriter.VERSION) {
+			throw new IOException("Unsupported alignment file version "
+					+ version + " in " + path);
+		}
+		long records = header.getLong();
+		long indexOffset = header.getLong();
+		long symbolOffset = header.getLong();
+		if (records > Integer.MAX_VALUE / Long.BYTES) {
+			throw new IOException("Too many records in " + path);
+		}
+		count = (int) records;
+		index = map(indexOffset, symbolOffset).asLongBuffer();
+
+		ByteBuffer strings = map(symbolOffset, channel.size());
+		String gapSymbol = readString(strings);
+		gap = gapSymbol.isEmpty() ? null : gapSymbol;
+		symbols = new String[strings.getInt()];
+		for (int i = 0; i < symbols.length; i++) {
+			symbols[i] = readString(strings);
+		}
+		segments = new AtomicReferenceArray<>(symbols.length + 1);
+
+		// divide the records into regions which each fit in one mapping
+		regions = new ArrayList<>();
+		List<Long> starts = new ArrayList<>();
+		List<Integer> firsts = new ArrayList<>();
+		int first = 0;
+		while (first < count) {
+			long start = index.get(first);
+			int last = first;
+			while (last + 1 < count
+					&& end(last + 1, indexOffset) - start <= MAX_REGION) {
+				last++;
+			}
+			regions.add(map(start, end(last, indexOffset)));
+			starts.add(start);
+			firsts.add(first);
+			first = last + 1;
+		}
+		regionStarts = new long[starts.size()];
+		regionFirsts = new int[firsts.size()];
+		for (int r = 0; r < regionStarts.length; r++) {
+			regionStarts[r] = starts.get(r);
+			regionFirsts[r] = firsts.get(r);
+		}
+	}
+
+	@NotNull
+	public static <T> MappedAlignmentFile<T> open(@NotNull Path path,
+			@NotNull SequenceFactory<T> factory) throws IOException {
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+		try {
+			return new MappedAlignmentFile<>(path, channel, factory);
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * @return the number of records
+	 */
+	public int size() {
+		return count;
+	}
+
+	public double getScore(int record) {
+		int r = regionOf(record);
+		return regions.get(r).getDouble(offset(record, r));
+	}
+
+	public int rows(int record) {
+		int r = regionOf(record);
+		return regions.get(r).getInt(offset(record, r) + Double.BYTES);
+	}
+
+	public int columns(int record) {
+		int r = regionOf(record);
+		return regions.get(r)
+				.getInt(offset(record, r) + Double.BYTES + Integer.BYTES);
+	}
+
+	/**
+	 * @return the id of a segment, or {@link AlignmentFileWriter#GAP}
+	 */
+	public int getId(int record, int row, int column) {
+		int columns = columns(record);
+		if (row < 0 || row >= rows(record) || column < 0 || column >= columns) {
+			throw new IndexOutOfBoundsException("Cell " + row + ", " + column
+					+ " of record " + record);
+		}
+		int r = regionOf(record);
+		return regions.get(r).getInt(offset(record, r)
+				+ AlignmentFileWriter.RECORD_HEADER
+				+ (row * columns + column) * Integer.BYTES);
+	}
+
+	/**
+	 * @return the ids of a record's segments in row-major order
+	 */
+	@NotNull
+	public int[] getIds(int record) {
+		int r = regionOf(record);
+		ByteBuffer region = regions.get(r);
+		int offset = offset(record, r) + AlignmentFileWriter.RECORD_HEADER;
+		int[] ids = new int[rows(record) * columns(record)];
+		for (int i = 0; i < ids.length; i++) {
+			ids[i] = region.getInt(offset + i * Integer.BYTES);
+		}
+		return ids;
+	}
+
+	/**
+	 * @return the number of distinct symbols, not counting the gap
+	 */
+	public int symbols() {
+		return symbols.length;
+	}
+
+	/**
+	 * @return the symbol of an id
+	 */
+	@NotNull
+	public String getSymbol(int id) {
+		if (id == AlignmentFileWriter.GAP) {
+			if (gap == null) {
+				throw new IllegalStateException("No gap symbol in " + path);
+			}
+			return gap;
+		}
+		return symbols[id];
+	}
+
+	/**
+	 * @return the segment for an id, which is created on first use
+	 */
+	@NotNull
+	public Segment<T> getSegment(int id) {
+		int slot = id + 1;
+		Segment<T> segment = segments.get(slot);
+		if (segment == null) {
+			segment = factory.toSegment(getSymbol(id));
+			if (!segments.compareAndSet(slot, null, segment)) {
+				segment = segments.get(slot);
+			}
+		}
+		return segment;
+	}
+
+	/**
+	 * Builds the alignment of a record
+	 */
+	@NotNull
+	public Alignment<T> get(int record) {
+		int rows = rows(record);
+		int columns = columns(record);
+		int[] ids = getIds(record);
+		List<Sequence<T>> sequences = new ArrayList<>(rows);
+		for (int i = 0; i < rows; i++) {
+			Sequence<T> sequence = new BasicSequence<>(model);
+			for (int j = 0; j < columns; j++) {
+				sequence.add(getSegment(ids[i * columns + j]));
+			}
+			sequences.add(sequence);
+		}
+		return new Alignment<>(sequences, model);
+	}
+
+	/**
+	 * @return a view of a record, which reads it from the mapped file
+	 */
+	@NotNull
+	public Record getRecord(int record) {
+		regionOf(record);
+		return new Record(record);
+	}
+
+	/**
+	 * @return an iterator over views of the records; use {@link
+	 * 		Record#toAlignment()} to build an alignment
+	 */
+	@NotNull
+	@Override
+	public Iterator<Record> iterator() {
+		return new Iterator<Record>() {
+			private int next;
+
+			@Override
+			public boolean hasNext() {
+				return next < count;
+			}
+
+			@Override
+			public Record next() {
+				if (next >= count) {
+					throw new NoSuchElementException();
+				}
+				return new Record(next++);
+			}
+		};
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	@Override
+	public String toString() {
+		return "MappedAlignmentFile{path=" + path + ", size=" + count + '}';
+	}
+
+	/**
+	 * @return the end of a record, which is the start of the next
+	 */
+	private long end(int record, long indexOffset) {
+		return record + 1 < count ? index.get(record + 1) : indexOffset;
+	}
+
+	private int regionOf(int record) {
+		if (record < 0 || record >= count) {
+			throw new IndexOutOfBoundsException("Record " + record + " of "
+					+ count);
+		}
+		int r = Arrays.binarySearch(regionFirsts, record);
+		return r >= 0 ? r : -r - 2;
+	}
+
+	private int offset(int record, int region) {
+		return (int) (index.get(record) - regionStarts[region]);
+	}
+
+	private ByteBuffer map(long start, long end) throws IOException {
+		if (start < 0 || end < start || end > channel.size()
+				|| end - start > Integer.MAX_VALUE) {
+			throw new IOException("Corrupt alignment file " + path
+					+ ": region " + start + ".." + end);
+		}
+		return channel.map(MapMode.READ_ONLY, start, end - start)
+				.order(AlignmentFileWriter.ORDER);
+	}
+
+	private static String readString(ByteBuffer buffer) {
+		byte[] bytes = new byte[buffer.getInt()];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * A record of the file, read from the mapping on each call; it is only
+	 * valid while the file is open
+	 */
+	public final class Record {
+
+		private final int record;
+
+		private Record(int record) {
+			this.record = record;
+		}
+
+		/**
+		 * @return the position of the record in the file
+		 */
+		public int getIndex() {
+			return record;
+		}
+
+		public double getScore() {
+			return MappedAlignmentFile.this.getScore(record);
+		}
+
+		public int rows() {
+			return MappedAlignmentFile.this.rows(record);
+		}
+
+		public int columns() {
+			return MappedAlignmentFile.this.columns(record);
+		}
+
+		/**
+		 * @return the id of a segment, or {@link AlignmentFileWriter#GAP}
+		 */
+		public int getId(int row, int column) {
+			return MappedAlignmentFile.this.getId(record, row, column);
+		}
+
+		@NotNull
+		public Segment<T> getSegment(int row, int column) {
+			return MappedAlignmentFile.this.getSegment(getId(row, column));
+		}
+
+		/**
+		 * @return a new alignment of the record's segments
+		 */
+		@NotNull
+		public Alignment<T> toAlignment() {
+			return get(record);
+		}
+
+		@Override
+		public String toString() {
+			return "Record{index=" + record + ", path=" + path + '}';
+		}
+	}
+}
@@ -0,0 +1,357 @@
+package org.didelphis.genetics.alignment.io;
+
+import org.didelphis.genetics.alignment.common.StringTransformer;
+import org.didelphis.language.phonetic.SequenceFactory;
+import org.didelphis.language.phonetic.model.FeatureModel;
+import org.didelphis.language.phonetic.segments.Segment;
+import org.didelphis.language.phonetic.sequences.BasicSequence;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.didelphis.structures.tables.ColumnTable;
+import org.didelphis.structures.tables.DataTable;
+import org.didelphis.utilities.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Class {@code MappedCorpus}
+ *
+ * Reads a corpus written by {@link CorpusFormat} through a memory map. Opening
+ * a corpus reads only its header and symbol table; the token ids of each cell
+ * remain in the mapped file until a cell is requested, and the segment for
+ * each symbol is created once, on first use, and shared by every sequence in
+ * which it occurs.
+ *
+ * A corpus is only valid for the feature mapping from which it was built, so
+ * opening one with a factory whose mapping has a different fingerprint fails.
+ * It also records the rules with which its cells were transformed, and {@link
+ * #openOrConvert} rebuilds a corpus whose rules differ.
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+public final class MappedCorpus<T> implements Closeable {
+
+	private static final Logger LOG = Logger.create(MappedCorpus.class);
+
+	private final Path path;
+	private final FileChannel channel;
+	private final SequenceFactory<T> factory;
+	private final FeatureModel<T> model;
+	private final byte[] rules;
+	private final int rows;
+	private final List<String> keys;
+	private final String[] symbols;
+	private final AtomicReferenceArray<Segment<T>> segments;
+	private final List<Column> columns;
+
+	private MappedCorpus(Path path, FileChannel channel,
+			SequenceFactory<T> factory) throws IOException {
+		this.path = path;
+		this.channel = channel;
+		this.factory = factory;
+		model = factory.getFeatureMapping().getFeatureModel();
+
+		ByteBuffer header = map(0, CorpusFormat.HEADER);
+		if (header.getInt() != CorpusFormat.MAGIC) {
+			throw new IOException(path + " is not a corpus");
+		}
+		int version = header.getInt();
+		if (version != CorpusFormat.VERSION) {
+			throw new IOException("Unsupported corpus version " + version
+					+ " in " + path);
+		}
+		byte[] fingerprint = new byte[CorpusFormat.FINGERPRINT];
+		header.get(fingerprint);
+		byte[] expected = CorpusFormat.fingerprint(factory.getFeatureMapping());
+		if (!Arrays.equals(fingerprint, expected)) {
+			throw new IOException(path + " was built with a different "
+					+ "feature model");
+		}
+		rules = new byte[CorpusFormat.FINGERPRINT];
+		header.get(rules);
+		rows = header.getInt();
+		int k = header.getInt();
+		long symbolTable = header.getLong();
+
+		ByteBuffer strings = map(symbolTable, channel.size());
+		keys = Collections.unmodifiableList(
+				Arrays.asList(readStrings(strings)));
+		symbols = readStrings(strings);
+		segments = new AtomicReferenceArray<>(symbols.length);
+		if (keys.size() != k) {
+			throw new IOException("Corrupt symbol table in " + path);
+		}
+
+		ByteBuffer directory = map(CorpusFormat.HEADER,
+				CorpusFormat.HEADER + (long) CorpusFormat.DIRECTORY_ENTRY * k);
+		columns = new ArrayList<>(k);
+		for (int c = 0; c < k; c++) {
+			long offsetsAt = directory.getLong();
+			long idsAt = directory.getLong();
+			long count = directory.getLong();
+			columns.add(new Column(keys.get(c),
+					map(offsetsAt, idsAt).asIntBuffer(),
+					map(idsAt, idsAt + count * Integer.BYTES).asIntBuffer()));
+		}
+	}
+
+	/**
+	 * Opens an existing corpus
+	 *
+	 * @throws IOException if the file cannot be read, is not a corpus, or was
+	 * 		built with a different feature model from {@code factory}'s
+	 */
+	@NotNull
+	public static <T> MappedCorpus<T> open(@NotNull Path path,
+			@NotNull SequenceFactory<T> factory) throws IOException {
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+		try {
+			return new MappedCorpus<>(path, channel, factory);
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Opens the corpus for a TSV file, first converting the file if the
+	 * corpus is missing, older than the file, built with a different feature
+	 * model or different transformer rules, or contains different columns
+	 *
+	 * @see CorpusFormat#convert(Path, Path, List, StringTransformer,
+	 * 		StringTransformer, org.didelphis.language.phonetic.model.FeatureMapping)
+	 */
+	@NotNull
+	public static <T> MappedCorpus<T> openOrConvert(
+			@NotNull Path tsv,
+			@NotNull Path corpus,
+			@NotNull List<String> keys,
+			@NotNull StringTransformer cellTransformer,
+			@NotNull StringTransformer tokenTransformer,
+			@NotNull SequenceFactory<T> factory
+	) throws IOException {
+		return load(tsv, corpus, null, keys, cellTransformer,
+				tokenTransformer, factory);
+	}
+
+	/**
+	 * Opens the corpus for a TSV file as {@link #openOrConvert(Path, Path,
+	 * List, StringTransformer, StringTransformer, SequenceFactory)} does, but
+	 * converts {@code table}, which must have been read from {@code tsv} with
+	 * {@code cellTransformer}, rather than reading the file again
+	 */
+	@NotNull
+	public static <T> MappedCorpus<T> openOrConvert(
+			@NotNull Path tsv,
+			@NotNull Path corpus,
+			@NotNull ColumnTable<String> table,
+			@NotNull List<String> keys,
+			@NotNull StringTransformer cellTransformer,
+			@NotNull StringTransformer tokenTransformer,
+			@NotNull SequenceFactory<T> factory
+	) throws IOException {
+		return load(tsv, corpus, table, keys, cellTransformer,
+				tokenTransformer, factory);
+	}
+
+	private static <T> MappedCorpus<T> load(
+			Path tsv,
+			Path corpus,
+			@Nullable ColumnTable<String> table,
+			List<String> keys,
+			StringTransformer cellTransformer,
+			StringTransformer tokenTransformer,
+			SequenceFactory<T> factory
+	) throws IOException {
+		if (Files.exists(corpus) && !Files.getLastModifiedTime(corpus)
+				.toInstant()
+				.isBefore(Files.getLastModifiedTime(tsv).toInstant())) {
+			try {
+				MappedCorpus<T> existing = open(corpus, factory);
+				byte[] rules = CorpusFormat.fingerprint(cellTransformer,
+						tokenTransformer);
+				if (!Arrays.equals(existing.rules, rules)) {
+					existing.close();
+					LOG.info("Corpus {} was built with other rules; "
+							+ "rebuilding", corpus);
+				} else if (existing.keys.equals(keys)) {
+					return existing;
+				} else {
+					existing.close();
+					LOG.info("Corpus {} has columns {}; rebuilding for {}",
+							corpus, existing.keys, keys);
+				}
+			} catch (IOException e) {
+				LOG.warn("Rebuilding corpus {}: {}", corpus, e.getMessage());
+			}
+		}
+		int count = table == null
+				? CorpusFormat.convert(tsv, corpus, keys, cellTransformer,
+						tokenTransformer, factory.getFeatureMapping())
+				: CorpusFormat.convert(table, corpus, keys, cellTransformer,
+						tokenTransformer, factory.getFeatureMapping());
+		LOG.info("Converted {} rows of {} into {}", count, tsv, corpus);
+		return open(corpus, factory);
+	}
+
+	@NotNull
+	public List<String> getKeys() {
+		return keys;
+	}
+
+	public int rows() {
+		return rows;
+	}
+
+	/**
+	 * @return the number of distinct tokens in the corpus
+	 */
+	public int symbols() {
+		return symbols.length;
+	}
+
+	@NotNull
+	public Column getColumn(@NotNull String key) {
+		int index = keys.indexOf(key);
+		if (index < 0) {
+			throw new IllegalArgumentException("No column named " + key
+					+ " in " + path + "; found " + keys);
+		}
+		return columns.get(index);
+	}
+
+	/**
+	 * @return the segment for a token id, which is created on first use
+	 */
+	@NotNull
+	public Segment<T> getSegment(int id) {
+		Segment<T> segment = segments.get(id);
+		if (segment == null) {
+			segment = factory.toSegment(symbols[id]);
+			if (!segments.compareAndSet(id, null, segment)) {
+				segment = segments.get(id);
+			}
+		}
+		return segment;
+	}
+
+	/**
+	 * Materializes some columns as a table of sequences, equivalent to that
+	 * produced by {@code Utilities.toPhoneticTable} from the original file
+	 */
+	@NotNull
+	public ColumnTable<Sequence<T>> toTable(@NotNull List<String> keys) {
+		List<Column> selected = new ArrayList<>();
+		for (String key : keys) {
+			selected.add(getColumn(key));
+		}
+		List<List<Sequence<T>>> lists = new ArrayList<>(rows);
+		for (int row = 0; row < rows; row++) {
+			List<Sequence<T>> list = new ArrayList<>(selected.size());
+			for (Column column : selected) {
+				list.add(column.getSequence(row));
+			}
+			lists.add(list);
+		}
+		return new DataTable<>(new ArrayList<>(keys), lists);
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	@Override
+	public String toString() {
+		return "MappedCorpus{path=" + path + ", rows=" + rows + ", keys="
+				+ keys + '}';
+	}
+
+	private ByteBuffer map(long start, long end) throws IOException {
+		if (start < 0 || end < start || end > channel.size()
+				|| end - start > Integer.MAX_VALUE) {
+			throw new IOException("Corrupt corpus " + path + ": region "
+					+ start + ".." + end);
+		}
+		return channel.map(MapMode.READ_ONLY, start, end - start)
+				.order(CorpusFormat.ORDER);
+	}
+
+	private static String[] readStrings(ByteBuffer buffer) {
+		String[] strings = new String[buffer.getInt()];
+		for (int i = 0; i < strings.length; i++) {
+			byte[] bytes = new byte[buffer.getInt()];
+			buffer.get(bytes);
+			strings[i] = new String(bytes, StandardCharsets.UTF_8);
+		}
+		return strings;
+	}
+
+	/**
+	 * The token ids of one column, read from the mapped file on demand
+	 */
+	public final class Column {
+
+		private final String key;
+		private final IntBuffer offsets;
+		private final IntBuffer ids;
+
+		private Column(String key, IntBuffer offsets, IntBuffer ids) {
+			this.key = key;
+			this.offsets = offsets;
+			this.ids = ids;
+		}
+
+		@NotNull
+		public String getKey() {
+			return key;
+		}
+
+		/**
+		 * @return the number of tokens in a row of this column
+		 */
+		public int length(int row) {
+			return offsets.get(row + 1) - offsets.get(row);
+		}
+
+		@NotNull
+		public int[] getIds(int row) {
+			int start = offsets.get(row);
+			int[] values = new int[offsets.get(row + 1) - start];
+			for (int i = 0; i < values.length; i++) {
+				values[i] = ids.get(start + i);
+			}
+			return values;
+		}
+
+		@NotNull
+		public Sequence<T> getSequence(int row) {
+			Sequence<T> sequence = new BasicSequence<>(model);
+			int end = offsets.get(row + 1);
+			for (int i = offsets.get(row); i < end; i++) {
+				sequence.add(getSegment(ids.get(i)));
+			}
+			return sequence;
+		}
+
+		@Override
+		public String toString() {
+			return "Column{key=" + key + '}';
+		}
+	}
+}
@@ -0,0 +1,356 @@
+package org.didelphis.genetics.alignment.io;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Class {@code MappedTsvFile}
+ *
+ * Reads a TSV file through memory-mapped regions instead of decoding it onto
+ * the heap. The file's data rows are divided into byte ranges which begin
+ * and end on line boundaries; each range is mapped separately and read by a
+ * {@link TsvReader}, which decodes one row at a time. Ranges are independent,
+ * so they can be parsed in parallel, and no range is larger than
+ * {@value #MAX_RANGE} bytes, so files of any size can be mapped.
+ *
+ * The first line of the file names the columns and is not part of any range.
+ *
+ * Java cannot unmap a region explicitly: each mapping is released when its
+ * buffer is garbage-collected. Buffers are held only while their range is
+ * read, but small files are better read through a stream, which maps nothing.
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+public final class MappedTsvFile implements Closeable {
+
+	/** The largest range mapped at once */
+	public static final long MAX_RANGE = 1L << 30;
+
+	private static final int SCAN_BUFFER = 1 << 13;
+
+	private final Path path;
+	private final FileChannel channel;
+	private final long size;
+	private final long dataStart;
+	private final List<String> keys;
+
+	public MappedTsvFile(@NotNull Path path) throws IOException {
+		this.path = path;
+		channel = FileChannel.open(path, StandardOpenOption.READ);
+		try {
+			size = channel.size();
+			dataStart = afterLine(0);
+			if (dataStart == 0) {
+				keys = Collections.emptyList();
+			} else {
+				TsvReader reader = new TsvReader(map(0, dataStart));
+				keys = reader.next()
+						? reader.row().toList()
+						: Collections.emptyList();
+			}
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * @return the cells of the first line, or an empty list if the file is
+	 * 		empty
+	 */
+	@NotNull
+	public List<String> getKeys() {
+		return keys;
+	}
+
+	/**
+	 * Divides the data rows into contiguous ranges of roughly equal size
+	 *
+	 * @param parts the desired number of ranges; more are used if needed to
+	 * 		respect {@link #MAX_RANGE}, and fewer if the file is small
+	 * @return the ranges, in file order
+	 * @throws IOException if the file cannot be read, or if a single line is
+	 * 		too long to be mapped
+	 */
+	@NotNull
+	public List<Range> split(int parts) throws IOException {
+		return split(new Range(dataStart, size), parts);
+	}
+
+	/**
+	 * Divides a range into contiguous ranges of roughly equal size, as {@link
+	 * #split(int)} divides the whole file
+	 */
+	@NotNull
+	public List<Range> split(@NotNull Range range, int parts)
+			throws IOException {
+		long length = range.end - range.start;
+		long count = Math.max(Math.max(1, parts),
+				(length + MAX_RANGE - 1) / MAX_RANGE);
+		List<Range> ranges = new ArrayList<>();
+		long start = range.start;
+		for (long p = 1; p <= count && start < range.end; p++) {
+			long target = range.start + length * p / count;
+			long end = p == count
+					? range.end
+					: Math.min(range.end, Math.max(start, afterLine(target - 1)));
+			if (end - start > Integer.MAX_VALUE) {
+				throw new IOException("A line near byte " + start + " of "
+						+ path + " is too long to be mapped");
+			}
+			if (end > start) {
+				ranges.add(new Range(start, end));
+			}
+			start = end;
+		}
+		return ranges;
+	}
+
+	/**
+	 * Selects one of several contiguous shares of the data rows, each of
+	 * roughly equal size in bytes, without reading any other part of the file
+	 * than the lines at its edges. The shares for every index from zero to
+	 * {@code count - 1} together hold each row exactly once, in file order;
+	 * a share may be empty if the file is small.
+	 *
+	 * @param index the share to select
+	 * @param count the number of shares
+	 */
+	@NotNull
+	public Range share(int index, int count) throws IOException {
+		if (count < 1 || index < 0 || index >= count) {
+			throw new IllegalArgumentException("Cannot select share " + index
+					+ " of " + count);
+		}
+		return new Range(boundary(index, count), boundary(index + 1, count));
+	}
+
+	/**
+	 * Maps a range and returns a reader over its rows
+	 */
+	@NotNull
+	public TsvReader open(@NotNull Range range) throws IOException {
+		return new TsvReader(map(range.start, range.end));
+	}
+
+	/**
+	 * Parses every data row, dividing the file into ranges which are parsed
+	 * in parallel
+	 *
+	 * @param parser converts a row into a value; it must not retain the row,
+	 * 		which is reused
+	 * @param parallelism the number of ranges to parse at once; ranges are
+	 * 		parsed on the common pool unless this is one
+	 * @return one value per row, in file order
+	 * @throws IOException if the file cannot be read
+	 * @throws RowException if the parser fails, for the first row on which
+	 * 		it fails
+	 */
+	@NotNull
+	public <R> List<R> parse(@NotNull RowParser<R> parser, int parallelism)
+			throws IOException {
+		return parse(new Range(dataStart, size), parser, parallelism);
+	}
+
+	/**
+	 * Parses the rows of a range as {@link #parse(RowParser, int)} parses the
+	 * whole file
+	 */
+	@NotNull
+	public <R> List<R> parse(
+			@NotNull Range range,
+			@NotNull RowParser<R> parser,
+			int parallelism
+	) throws IOException {
+		List<Range> ranges = split(range, parallelism);
+		List<Part<R>> parts;
+		if (ranges.size() == 1) {
+			parts = Collections.singletonList(parse(ranges.get(0), parser));
+		} else {
+			try {
+				parts = ranges.parallelStream()
+						.map(part -> {
+							try {
+								return parse(part, parser);
+							} catch (IOException e) {
+								throw new UncheckedIOException(e);
+							}
+						})
+						.collect(Collectors.toList());
+			} catch (UncheckedIOException e) {
+				throw e.getCause();
+			}
+		}
+		List<R> values = new ArrayList<>();
+		for (Part<R> part : parts) {
+			if (part.failure != null) {
+				// every earlier range was parsed in full
+				throw new RowException(values.size() + part.values.size(),
+						part.failure);
+			}
+			values.addAll(part.values);
+		}
+		return values;
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	@Override
+	public String toString() {
+		return "MappedTsvFile{path=" + path + ", size=" + size + '}';
+	}
+
+	/**
+	 * Parses the rows of a range until the parser fails
+	 */
+	private <R> Part<R> parse(Range range, RowParser<R> parser)
+			throws IOException {
+		List<R> values = new ArrayList<>();
+		TsvReader reader = open(range);
+		while (reader.next()) {
+			try {
+				values.add(parser.parse(reader.row()));
+			} catch (RuntimeException e) {
+				return new Part<>(values, e);
+			}
+		}
+		return new Part<>(values, null);
+	}
+
+	private MappedByteBuffer map(long start, long end) throws IOException {
+		return channel.map(MapMode.READ_ONLY, start, end - start);
+	}
+
+	/**
+	 * @return the offset at which share {@code index} of {@code count}
+	 * 		begins; shares are cut just past the line which spans their target
+	 * 		offset, as {@link #split(Range, int)} cuts ranges
+	 */
+	private long boundary(int index, int count) throws IOException {
+		if (index == 0) {
+			return dataStart;
+		}
+		if (index == count) {
+			return size;
+		}
+		long target = dataStart + (size - dataStart) * index / count;
+		return Math.max(dataStart, afterLine(target - 1));
+	}
+
+	/**
+	 * @return the offset just past the first line terminator at or after
+	 * 		{@code position}, or the size of the file if there is none
+	 */
+	private long afterLine(long position) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER);
+		long offset = Math.max(0, position);
+		while (offset < size) {
+			buffer.clear();
+			int read = channel.read(buffer, offset);
+			if (read <= 0) {
+				break;
+			}
+			for (int i = 0; i < read; i++) {
+				byte b = buffer.get(i);
+				if (b == '\n' || b == '\r') {
+					return offset + i + 1;
+				}
+			}
+			offset += read;
+		}
+		return size;
+	}
+
+	/**
+	 * Converts a row into a value
+	 */
+	@FunctionalInterface
+	public interface RowParser<R> {
+		R parse(@NotNull TsvReader.Row row);
+	}
+
+	/**
+	 * Thrown when a {@link RowParser} fails, with the position of the row on
+	 * which it failed
+	 */
+	public static final class RowException extends RuntimeException {
+
+		private final long index;
+
+		private RowException(long index, RuntimeException cause) {
+			super("Unable to parse data row " + index, cause);
+			this.index = index;
+		}
+
+		/**
+		 * @return the index of the row among the non-empty data rows of the
+		 * 		parsed range, counting from zero
+		 */
+		public long getIndex() {
+			return index;
+		}
+
+		@NotNull
+		@Override
+		public synchronized RuntimeException getCause() {
+			return (RuntimeException) super.getCause();
+		}
+	}
+
+	/**
+	 * The values parsed from a range, and the failure which ended parsing
+	 */
+	private static final class Part<R> {
+
+		private final List<R> values;
+		private final RuntimeException failure;
+
+		private Part(List<R> values, RuntimeException failure) {
+			this.values = values;
+			this.failure = failure;
+		}
+	}
+
+	/**
+	 * A range of bytes which begins and ends on line boundaries
+	 */
+	public static final class Range {
+
+		private final long start;
+		private final long end;
+
+		private Range(long start, long end) {
+			this.start = start;
+			this.end = end;
+		}
+
+		public long getStart() {
+			return start;
+		}
+
+		public long getEnd() {
+			return end;
+		}
+
+		@Override
+		public String toString() {
+			return "Range{" + start + ", " + end + '}';
+		}
+	}
+}
@@ -0,0 +1,436 @@
+package org.didelphis.genetics.alignment.io;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Class {@code ParallelGzipOutputStream}
+ *
+ * Writes gzip-compressed output, compressing on the threads of a {@link Pool}.
+ * Written bytes are collected into blocks, each block is compressed
+ * independently as a complete gzip member, and members are written to the
+ * target in order. A sequence of gzip members is itself a valid gzip file, so
+ * the output can be read by {@code gzip}, {@code zcat} and {@link
+ * java.util.zip.GZIPInputStream}.
+ *
+ * Compression proceeds while the writer continues to fill blocks. The pool
+ * bounds the number of blocks being compressed by all of its streams together,
+ * and each stream holds at most {@code pending} compressed blocks which have
+ * not yet been written; a writer which reaches either limit waits. A stream
+ * takes a block from the pool when it is first written to, and blocks, their
+ * compressed output and deflaters are returned to the pool and reused. Since
+ * blocks are compressed without a shared dictionary the output is slightly
+ * larger than that of a single {@link java.util.zip.GZIPOutputStream}.
+ *
+ * {@link #flush()} compresses and writes everything written so far. The
+ * stream is not thread-safe.
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+public final class ParallelGzipOutputStream extends OutputStream {
+
+	/** The default size of uncompressed blocks */
+	public static final int BLOCK_SIZE = 1 << 20;
+
+	private static final byte[] HEADER = {
+			0x1f, (byte) 0x8b, // magic
+			Deflater.DEFLATED, // method
+			0,                 // flags
+			0, 0, 0, 0,        // modification time
+			0,                 // extra flags
+			(byte) 0xff        // operating system: unknown
+	};
+	private static final int TRAILER = 8;
+
+	private final OutputStream out;
+	private final Pool pool;
+	private final int level;
+	private final int pending;
+	private final Deque<Future<Member>> queue;
+
+	private byte[] block;
+	private int size;
+	private boolean written;
+	private boolean closed;
+
+	/**
+	 * Creates a stream with the default compression level which compresses on
+	 * the {@linkplain Pool#shared() shared pool}
+	 */
+	public ParallelGzipOutputStream(@NotNull OutputStream out) {
+		this(out, Deflater.DEFAULT_COMPRESSION, Pool.shared());
+	}
+
+	/**
+	 * @param out the target, which is closed when this stream is closed
+	 * @param level the {@link Deflater} compression level
+	 * @param pool compresses the blocks; at most as many compressed blocks
+	 * 		as the pool compresses at once wait to be written
+	 */
+	public ParallelGzipOutputStream(
+			@NotNull OutputStream out,
+			int level,
+			@NotNull Pool pool
+	) {
+		this(out, level, pool.blocks, pool);
+	}
+
+	/**
+	 * @param out the target, which is closed when this stream is closed
+	 * @param level the {@link Deflater} compression level
+	 * @param pending the maximum number of compressed blocks waiting to be
+	 * 		written
+	 * @param pool compresses the blocks
+	 */
+	public ParallelGzipOutputStream(
+			@NotNull OutputStream out,
+			int level,
+			int pending,
+			@NotNull Pool pool
+	) {
+		if (pending < 1) {
+			throw new IllegalArgumentException("Pending blocks must be "
+					+ "positive: " + pending);
+		}
+		this.out = out;
+		this.pool = pool;
+		this.level = level;
+		this.pending = pending;
+		queue = new ArrayDeque<>(pending);
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		ensureOpen();
+		if (block == null) {
+			block = pool.block();
+		}
+		block[size++] = (byte) b;
+		if (size == block.length) {
+			submit();
+		}
+	}
+
+	@Override
+	public void write(@NotNull byte[] bytes, int offset, int length)
+			throws IOException {
+		ensureOpen();
+		if (offset < 0 || length < 0 || offset + length > bytes.length) {
+			throw new IndexOutOfBoundsException("Range " + offset + ", "
+					+ length + " of " + bytes.length + " bytes");
+		}
+		while (length > 0) {
+			if (block == null) {
+				block = pool.block();
+			}
+			int n = Math.min(length, block.length - size);
+			System.arraycopy(bytes, offset, block, size, n);
+			size += n;
+			offset += n;
+			length -= n;
+			if (size == block.length) {
+				submit();
+			}
+		}
+	}
+
+	/**
+	 * Compresses any partial block and writes every compressed block to the
+	 * target, then flushes it
+	 */
+	@Override
+	public void flush() throws IOException {
+		ensureOpen();
+		if (size > 0) {
+			submit();
+		}
+		while (!queue.isEmpty()) {
+			writeNext();
+		}
+		out.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		try {
+			// an empty stream is still a valid gzip file
+			if (size > 0 || !written && queue.isEmpty()) {
+				if (block == null) {
+					block = pool.block();
+				}
+				submit();
+			}
+			while (!queue.isEmpty()) {
+				writeNext();
+			}
+			out.flush();
+		} finally {
+			closed = true;
+			// blocks still compressing return to the pool when they finish
+			for (Future<Member> future : queue) {
+				future.cancel(false);
+			}
+			queue.clear();
+			if (block != null) {
+				pool.recycle(block);
+				block = null;
+			}
+			out.close();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "ParallelGzipOutputStream{level=" + level + ", pending="
+				+ pending + ", pool=" + pool + '}';
+	}
+
+	private void submit() throws IOException {
+		if (queue.size() >= pending) {
+			writeNext();
+		}
+		byte[] input = block;
+		int length = size;
+		queue.add(pool.submit(input, length, level));
+		block = null;
+		size = 0;
+		written = true;
+	}
+
+	private void writeNext() throws IOException {
+		Future<Member> future = queue.removeFirst();
+		Member member;
+		try {
+			member = future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while compressing");
+		} catch (ExecutionException e) {
+			throw new IOException("Failed to compress a block", e.getCause());
+		}
+		try {
+			out.write(member.bytes, 0, member.length);
+		} finally {
+			pool.recycle(member);
+		}
+	}
+
+	private void ensureOpen() throws IOException {
+		if (closed) {
+			throw new IOException("Stream closed");
+		}
+	}
+
+	private static void writeInt(byte[] bytes, int offset, int value) {
+		bytes[offset] = (byte) value;
+		bytes[offset + 1] = (byte) (value >>> 8);
+		bytes[offset + 2] = (byte) (value >>> 16);
+		bytes[offset + 3] = (byte) (value >>> 24);
+	}
+
+	/**
+	 * A compressed block, in a buffer which may be longer
+	 */
+	private static final class Member {
+
+		private final byte[] bytes;
+		private final int length;
+
+		private Member(byte[] bytes, int length) {
+			this.bytes = bytes;
+			this.length = length;
+		}
+	}
+
+	/**
+	 * Compresses the blocks of any number of streams on its own daemon
+	 * threads. At most {@code blocks} blocks are compressed or waiting to be
+	 * compressed at once, whichever stream they belong to, and up to that many
+	 * free blocks, output buffers and deflaters are kept for reuse.
+	 */
+	public static final class Pool implements Closeable {
+
+		private static final AtomicInteger POOLS = new AtomicInteger();
+
+		private final int blockSize;
+		private final int blocks;
+		private final int outputSize;
+		private final ExecutorService executor;
+		private final Semaphore permits;
+		private final Queue<byte[]> freeBlocks;
+		private final Queue<byte[]> freeOutputs;
+		private final Queue<Deflater> deflaters;
+
+		/**
+		 * @param threads the number of compressing threads
+		 * @param blocks the maximum number of blocks compressing at once
+		 * @param blockSize the number of uncompressed bytes in each block
+		 */
+		public Pool(int threads, int blocks, int blockSize) {
+			if (threads < 1 || blocks < 1 || blockSize < 1) {
+				throw new IllegalArgumentException("Threads, blocks and block "
+						+ "size must be positive: " + threads + ", " + blocks
+						+ ", " + blockSize);
+			}
+			this.blockSize = blockSize;
+			this.blocks = blocks;
+			// room for incompressible input and the gzip framing
+			outputSize = HEADER.length + blockSize + (blockSize >> 3) + 64
+					+ TRAILER;
+			String prefix = "gzip-" + POOLS.incrementAndGet() + '-';
+			AtomicInteger count = new AtomicInteger();
+			executor = Executors.newFixedThreadPool(threads, runnable -> {
+				Thread thread = new Thread(runnable,
+						prefix + count.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+			permits = new Semaphore(blocks);
+			freeBlocks = new ArrayBlockingQueue<>(blocks);
+			freeOutputs = new ArrayBlockingQueue<>(blocks);
+			deflaters = new ArrayBlockingQueue<>(blocks);
+		}
+
+		/**
+		 * @return a pool shared by every stream created without one, with a
+		 * 		thread for each processor and twice as many blocks
+		 */
+		@NotNull
+		public static Pool shared() {
+			return Shared.POOL;
+		}
+
+		/**
+		 * Stops the threads; streams must not use the pool afterwards
+		 */
+		@Override
+		public void close() {
+			executor.shutdown();
+			Deflater deflater;
+			while ((deflater = deflaters.poll()) != null) {
+				deflater.end();
+			}
+		}
+
+		@Override
+		public String toString() {
+			return "Pool{blockSize=" + blockSize + ", blocks=" + blocks + '}';
+		}
+
+		private byte[] block() {
+			byte[] block = freeBlocks.poll();
+			return block == null ? new byte[blockSize] : block;
+		}
+
+		private void recycle(byte[] block) {
+			freeBlocks.offer(block);
+		}
+
+		private void recycle(Member member) {
+			if (member.bytes.length == outputSize) {
+				freeOutputs.offer(member.bytes);
+			}
+		}
+
+		/**
+		 * Waits until fewer than {@code blocks} blocks are compressing, then
+		 * compresses one; the block returns to the pool once compressed
+		 */
+		private Future<Member> submit(byte[] input, int length, int level)
+				throws IOException {
+			try {
+				permits.acquire();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				recycle(input);
+				throw new InterruptedIOException("Interrupted waiting to "
+						+ "compress");
+			}
+			try {
+				return CompletableFuture.supplyAsync(() -> {
+					try {
+						return compress(input, length, level);
+					} finally {
+						recycle(input);
+						permits.release();
+					}
+				}, executor);
+			} catch (RejectedExecutionException e) {
+				recycle(input);
+				permits.release();
+				throw new IOException("Compression pool is closed", e);
+			}
+		}
+
+		/**
+		 * Compresses a block into a complete gzip member
+		 */
+		private Member compress(byte[] input, int length, int level) {
+			CRC32 crc = new CRC32();
+			crc.update(input, 0, length);
+
+			Deflater deflater = deflaters.poll();
+			if (deflater == null) {
+				deflater = new Deflater(level, true);
+			} else {
+				deflater.setLevel(level);
+			}
+			try {
+				deflater.setInput(input, 0, length);
+				deflater.finish();
+				byte[] output = freeOutputs.poll();
+				if (output == null) {
+					output = new byte[outputSize];
+				}
+				System.arraycopy(HEADER, 0, output, 0, HEADER.length);
+				int position = HEADER.length;
+				while (!deflater.finished()) {
+					if (output.length - position < TRAILER + 1) {
+						output = Arrays.copyOf(output, output.length * 2);
+					}
+					position += deflater.deflate(output, position,
+							output.length - position - TRAILER);
+				}
+				writeInt(output, position, (int) crc.getValue());
+				writeInt(output, position + 4, length);
+				return new Member(output, position + TRAILER);
+			} finally {
+				deflater.reset();
+				if (!deflaters.offer(deflater)) {
+					deflater.end();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Creates the shared pool on first use
+	 */
+	private static final class Shared {
+		private static final Pool POOL = new Pool(
+				Runtime.getRuntime().availableProcessors(),
+				2 * Runtime.getRuntime().availableProcessors(), BLOCK_SIZE);
+	}
+}
@@ -0,0 +1,359 @@
+package org.didelphis.genetics.alignment.io;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Class {@code TsvReader}
+ *
+ * Reads tab-separated rows from a {@link Reader} in a single pass. Characters
+ * are read in large blocks into one reusable buffer, and each call to
+ * {@link #next()} only records where the row's cells begin and end; nothing
+ * is copied or allocated for a cell until it is requested as a
+ * {@link String}, and {@link Row#cell(int)} exposes a cell as a view of the
+ * buffer without copying it at all.
+ *
+ * A reader may instead read UTF-8 directly from a {@link ByteBuffer}, such as
+ * a region of a memory-mapped file. Each row is then located among the bytes
+ * and only that row is decoded, into the same reusable buffer, so the file is
+ * never decoded as a whole.
+ *
+ * Rows end at {@code \n}, {@code \r\n} or {@code \r}. Empty lines are skipped,
+ * as is a leading byte-order mark. The {@link Row} returned by {@link #row()}
+ * is reused, and it and any views taken from it are valid only until the next
+ * call to {@link #next()}.
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+public final class TsvReader implements Closeable {
+
+	private static final int BUFFER = 1 << 16;
+	private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+	private final Reader reader;
+	private final ByteBuffer bytes;
+	private final CharsetDecoder decoder;
+	private final Row row;
+
+	private char[] buffer;
+	private CharBuffer chars;
+	private int position;
+	private int limit;
+	private boolean eof;
+	private boolean started;
+
+	// the current row
+	private int start;
+	private int length;
+	private int[] tabs;
+	private int tabCount;
+	private long index;
+
+	public TsvReader(@NotNull CharSequence payload) {
+		this(new StringReader(payload.toString()));
+	}
+
+	public TsvReader(@NotNull Reader reader) {
+		this.reader = reader;
+		bytes = null;
+		decoder = null;
+		buffer = new char[BUFFER];
+		tabs = new int[16];
+		row = new Row();
+		index = -1;
+	}
+
+	/**
+	 * Reads UTF-8 rows from the remaining bytes of a buffer; malformed input
+	 * is replaced rather than rejected, as with an {@link
+	 * java.io.InputStreamReader}
+	 */
+	public TsvReader(@NotNull ByteBuffer bytes) {
+		reader = null;
+		this.bytes = bytes;
+		decoder = StandardCharsets.UTF_8.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		buffer = new char[BUFFER];
+		chars = CharBuffer.wrap(buffer);
+		tabs = new int[16];
+		row = new Row();
+		index = -1;
+	}
+
+	/**
+	 * Advances to the next non-empty row
+	 *
+	 * @return false iff there are no more rows
+	 * @throws IOException if the underlying reader fails
+	 */
+	public boolean next() throws IOException {
+		if (bytes != null) {
+			return nextDecoded();
+		}
+		if (!started) {
+			started = true;
+			if (limit == 0) {
+				fill();
+			}
+			if (limit > 0 && buffer[0] == BYTE_ORDER_MARK) {
+				position = 1;
+			}
+		}
+		while (true) {
+			int rowStart = position;
+			int i = rowStart;
+			tabCount = 0;
+			while (true) {
+				if (i == limit) {
+					if (eof) {
+						break;
+					}
+					// keep the partial row and read more behind it
+					System.arraycopy(buffer, rowStart, buffer, 0,
+							limit - rowStart);
+					limit -= rowStart;
+					i -= rowStart;
+					rowStart = 0;
+					fill();
+					continue;
+				}
+				char c = buffer[i];
+				if (c == '\n' || c == '\r') {
+					break;
+				}
+				if (c == '\t') {
+					addTab(i - rowStart);
+				}
+				i++;
+			}
+			position = i == limit ? i : i + 1;
+			if (i > rowStart) {
+				start = rowStart;
+				length = i - rowStart;
+				index++;
+				return true;
+			}
+			if (i == limit) {
+				return false;
+			}
+		}
+	}
+
+	/**
+	 * @return the current row, which is reused by each call to {@link #next()}
+	 */
+	@NotNull
+	public Row row() {
+		if (index < 0) {
+			throw new IllegalStateException("next() has not been called");
+		}
+		return row;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (reader != null) {
+			reader.close();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "TsvReader{rows=" + (index + 1) + '}';
+	}
+
+	/**
+	 * Finds the next row among the bytes and decodes only that row. Line
+	 * terminators never occur inside a multi-byte UTF-8 sequence, so rows can
+	 * be found without decoding.
+	 */
+	private boolean nextDecoded() {
+		if (!started) {
+			started = true;
+			int p = bytes.position();
+			if (bytes.remaining() >= 3 && bytes.get(p) == (byte) 0xEF
+					&& bytes.get(p + 1) == (byte) 0xBB
+					&& bytes.get(p + 2) == (byte) 0xBF) {
+				bytes.position(p + 3);
+			}
+		}
+		int limit = bytes.limit();
+		while (bytes.hasRemaining()) {
+			int from = bytes.position();
+			int i = from;
+			while (i < limit) {
+				byte b = bytes.get(i);
+				if (b == '\n' || b == '\r') {
+					break;
+				}
+				i++;
+			}
+			if (i == from) {
+				bytes.position(i + 1);
+				continue;
+			}
+			decode(i);
+			bytes.limit(limit).position(i == limit ? i : i + 1);
+
+			tabCount = 0;
+			for (int c = 0; c < length; c++) {
+				if (buffer[c] == '\t') {
+					addTab(c);
+				}
+			}
+			start = 0;
+			index++;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Decodes the bytes from the current position to {@code end} into the
+	 * start of the buffer
+	 */
+	private void decode(int end) {
+		int size = end - bytes.position();
+		int capacity = (int) Math.ceil(size * (double) decoder.maxCharsPerByte());
+		if (capacity > buffer.length) {
+			buffer = new char[Math.max(capacity, buffer.length * 2)];
+			chars = CharBuffer.wrap(buffer);
+		}
+		bytes.limit(end);
+		chars.clear();
+		decoder.reset();
+		CoderResult result = decoder.decode(bytes, chars, true);
+		if (result.isUnderflow()) {
+			decoder.flush(chars);
+		}
+		length = chars.position();
+	}
+
+	private void fill() throws IOException {
+		if (limit == buffer.length) {
+			buffer = Arrays.copyOf(buffer, buffer.length * 2);
+		}
+		int read = reader.read(buffer, limit, buffer.length - limit);
+		if (read < 0) {
+			eof = true;
+		} else {
+			limit += read;
+		}
+	}
+
+	private void addTab(int offset) {
+		if (tabCount == tabs.length) {
+			tabs = Arrays.copyOf(tabs, tabs.length * 2);
+		}
+		tabs[tabCount++] = offset;
+	}
+
+	/**
+	 * A view of the reader's current row
+	 */
+	public final class Row {
+
+		private Row() {
+		}
+
+		/**
+		 * @return the number of non-empty rows read before this one
+		 */
+		public long getIndex() {
+			return index;
+		}
+
+		/**
+		 * @return the number of cells in the row
+		 */
+		public int size() {
+			return tabCount + 1;
+		}
+
+		/**
+		 * @return the number of characters in a cell
+		 */
+		public int length(int cell) {
+			return end(cell) - begin(cell);
+		}
+
+		/**
+		 * @return true iff a cell is empty or contains only whitespace
+		 */
+		public boolean isBlank(int cell) {
+			int end = start + end(cell);
+			for (int i = start + begin(cell); i < end; i++) {
+				if (!Character.isWhitespace(buffer[i])) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * @return a view of a cell, which shares the reader's buffer
+		 */
+		@NotNull
+		public CharSequence cell(int cell) {
+			return CharBuffer.wrap(buffer, start + begin(cell), length(cell));
+		}
+
+		/**
+		 * @return a copy of a cell
+		 */
+		@NotNull
+		public String getString(int cell) {
+			return new String(buffer, start + begin(cell), length(cell));
+		}
+
+		@NotNull
+		public String[] toArray() {
+			String[] cells = new String[size()];
+			for (int i = 0; i < cells.length; i++) {
+				cells[i] = getString(i);
+			}
+			return cells;
+		}
+
+		@NotNull
+		public List<String> toList() {
+			return new ArrayList<>(Arrays.asList(toArray()));
+		}
+
+		@Override
+		public String toString() {
+			return new String(buffer, start, length);
+		}
+
+		private int begin(int cell) {
+			checkIndex(cell);
+			return cell == 0 ? 0 : tabs[cell - 1] + 1;
+		}
+
+		private int end(int cell) {
+			checkIndex(cell);
+			return cell == tabCount ? length : tabs[cell];
+		}
+
+		private void checkIndex(int cell) {
+			if (cell < 0 || cell > tabCount) {
+				throw new IndexOutOfBoundsException("Cell " + cell
+						+ " of a row with " + size() + " cells");
+			}
+		}
+	}
+}
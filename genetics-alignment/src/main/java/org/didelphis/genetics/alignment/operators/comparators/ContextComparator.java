@@ -0,0 +1,222 @@
+package org.didelphis.genetics.alignment.operators.comparators;
+
+import org.didelphis.genetics.alignment.common.SegmentClassifier;
+import org.didelphis.genetics.alignment.operators.Comparator;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Class {@code ContextComparator}
+ *
+ * Wraps another {@link Comparator} and scales its costs according to the
+ * environment each segment occurs in. Segments are sorted into named classes
+ * by a {@link SegmentClassifier}, and positions outside a sequence belong to
+ * {@link #BOUNDARY}.
+ *
+ * Rules are given in priority order: the factor of an environment is that of
+ * the first rule which matches it, so a specific rule such as {@code obstruent
+ * / vowel _ vowel} must precede a general one such as {@code obstruent / * _
+ * *}, and environments no rule matches keep a factor of 1.
+ *
+ * The {@link ContextRule}s are compiled once into a table indexed by
+ * {@code (segment class, left neighbour class, right neighbour class)}, and the
+ * factor for each position of a sequence is computed once per sequence. The
+ * cost of a cell is then the wrapped cost multiplied by the mean of the two
+ * positions' factors, so the environment check adds only array lookups and a
+ * check that the sequences have not changed since.
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+public final class ContextComparator<T> implements Comparator<T> {
+
+	public static final String OTHER = SegmentClassifier.OTHER;
+	public static final String BOUNDARY = "*boundary*";
+
+	private static final int CACHE_SLOTS = 4;
+
+	private final Comparator<T> comparator;
+	private final SegmentClassifier<T> classifier;
+	private final List<String> classNames;
+	private final int classCount;
+	private final int boundaryClass;
+	private final double[] factors;
+	private final ThreadLocal<FactorCache<T>> cache;
+
+	/**
+	 * @param comparator the comparator providing the context-free costs
+	 * @param classifier assigns segments to the classes named by the rules
+	 * @param rules rules to compile, in priority order; where several rules
+	 * 		match the same environment the first one applies
+	 */
+	public ContextComparator(
+			@NotNull Comparator<T> comparator,
+			@NotNull SegmentClassifier<T> classifier,
+			@NotNull List<ContextRule> rules
+	) {
+		this.comparator = comparator;
+		this.classifier = classifier;
+
+		classNames = new ArrayList<>(classifier.getClassNames());
+		classNames.add(BOUNDARY);
+		classCount = classNames.size();
+		boundaryClass = classCount - 1;
+
+		factors = new double[classCount * classCount * classCount];
+		Arrays.fill(factors, 1.0);
+		boolean[] matched = new boolean[factors.length];
+		for (ContextRule rule : rules) {
+			compile(rule, matched);
+		}
+		cache = ThreadLocal.withInitial(FactorCache::new);
+	}
+
+	@Override
+	public double apply(@NotNull Sequence<T> left, @NotNull Sequence<T> right,
+			int i, int j) {
+		FactorCache<T> local = cache.get();
+		double lFactor = local.get(this, left, i);
+		double rFactor = local.get(this, right, j);
+		double cost = comparator.apply(left, right, i, j);
+		return cost * (lFactor + rFactor) * 0.5;
+	}
+
+	/**
+	 * Computes the context factor of every position in a sequence
+	 *
+	 * @param sequence the sequence to evaluate
+	 * @return an array of the same length as the sequence
+	 */
+	@NotNull
+	public double[] factors(@NotNull Sequence<T> sequence) {
+		int size = sequence.size();
+		int[] sequenceClasses = classifier.classify(sequence);
+		double[] array = new double[size];
+		for (int i = 0; i < size; i++) {
+			int lC = i == 0 ? boundaryClass : sequenceClasses[i - 1];
+			int rC = i == size - 1 ? boundaryClass : sequenceClasses[i + 1];
+			array[i] = factors[index(sequenceClasses[i], lC, rC)];
+		}
+		return array;
+	}
+
+	@NotNull
+	public List<String> getClassNames() {
+		return classNames;
+	}
+
+	@NotNull
+	public Comparator<T> getComparator() {
+		return comparator;
+	}
+
+	@Override
+	public String toString() {
+		return "ContextComparator{classes=" + classNames + ", comparator=" +
+				comparator + '}';
+	}
+
+	private void compile(ContextRule rule, boolean[] matched) {
+		int s = requireClass(rule.getSegmentClass());
+		int lMin = 0;
+		int lMax = classCount;
+		int rMin = 0;
+		int rMax = classCount;
+		if (rule.getLeftClass() != null) {
+			lMin = requireClass(rule.getLeftClass());
+			lMax = lMin + 1;
+		}
+		if (rule.getRightClass() != null) {
+			rMin = requireClass(rule.getRightClass());
+			rMax = rMin + 1;
+		}
+		for (int l = lMin; l < lMax; l++) {
+			for (int r = rMin; r < rMax; r++) {
+				int index = index(s, l, r);
+				if (!matched[index]) {
+					matched[index] = true;
+					factors[index] = rule.getFactor();
+				}
+			}
+		}
+	}
+
+	private int requireClass(String name) {
+		int index = classNames.indexOf(name);
+		if (index < 0) {
+			throw new IllegalArgumentException("Rule refers to unknown segment"
+					+ " class " + name + "; known classes are " + classNames);
+		}
+		return index;
+	}
+
+	private int index(int segmentClass, int leftClass, int rightClass) {
+		return (segmentClass * classCount + leftClass) * classCount + rightClass;
+	}
+
+	/**
+	 * Small per-thread cache of position factors; an alignment only ever
+	 * touches its two inputs and the gap, so a few slots suffice.
+	 *
+	 * The factor of a position depends only on its segment, its neighbours
+	 * and the length of the sequence, so a cached factor is used only while
+	 * the sequence has the same length and the same segments around that
+	 * position as when it was computed; a sequence edited in place is
+	 * evaluated again. Sequences are held weakly, and the cache holds no
+	 * reference to its comparator, so that a pooled thread keeps neither
+	 * alive.
+	 */
+	private static final class FactorCache<T> {
+
+		private final List<WeakReference<Sequence<T>>> sequences =
+				new ArrayList<>(Collections.nCopies(CACHE_SLOTS, null));
+		private final Object[][] snapshots = new Object[CACHE_SLOTS][];
+		private final double[][] values = new double[CACHE_SLOTS][];
+		private int next;
+
+		private double get(ContextComparator<T> owner, Sequence<T> sequence,
+				int index) {
+			int slot = find(sequence);
+			if (slot < 0) {
+				slot = next;
+				next = (next + 1) % CACHE_SLOTS;
+				sequences.set(slot, new WeakReference<>(sequence));
+			} else if (isCurrent(snapshots[slot], sequence, index)) {
+				return values[slot][index];
+			}
+			snapshots[slot] = sequence.toArray();
+			values[slot] = owner.factors(sequence);
+			return values[slot][index];
+		}
+
+		private int find(Sequence<T> sequence) {
+			for (int k = 0; k < CACHE_SLOTS; k++) {
+				WeakReference<Sequence<T>> reference = sequences.get(k);
+				if (reference != null && reference.get() == sequence) {
+					return k;
+				}
+			}
+			return -1;
+		}
+
+		private static boolean isCurrent(Object[] snapshot,
+				Sequence<?> sequence, int index) {
+			int size = sequence.size();
+			if (snapshot.length != size) {
+				return false;
+			}
+			int last = Math.min(size - 1, index + 1);
+			for (int k = Math.max(0, index - 1); k <= last; k++) {
+				if (snapshot[k] != sequence.get(k)) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+}
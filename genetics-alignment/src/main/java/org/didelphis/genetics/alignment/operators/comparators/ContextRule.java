@@ -0,0 +1,78 @@
+package org.didelphis.genetics.alignment.operators.comparators;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+
+/**
+ * Class {@code ContextRule}
+ *
+ * Scales the cost of comparing a segment of a given class when its neighbours
+ * belong to given classes, e.g. {@code obstruent / vowel _ vowel × 0.5}. A
+ * {@code null} neighbour class matches any neighbour.
+ *
+ * @see ContextComparator
+ * @since 0.2.0 Date: 2026-10-19
+ */
+public final class ContextRule {
+
+	private final String segmentClass;
+	private final String leftClass;
+	private final String rightClass;
+	private final double factor;
+
+	public ContextRule(
+			@NotNull String segmentClass,
+			@Nullable String leftClass,
+			@Nullable String rightClass,
+			double factor
+	) {
+		this.segmentClass = segmentClass;
+		this.leftClass = leftClass;
+		this.rightClass = rightClass;
+		this.factor = factor;
+	}
+
+	@NotNull
+	public String getSegmentClass() {
+		return segmentClass;
+	}
+
+	@Nullable
+	public String getLeftClass() {
+		return leftClass;
+	}
+
+	@Nullable
+	public String getRightClass() {
+		return rightClass;
+	}
+
+	public double getFactor() {
+		return factor;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(segmentClass, leftClass, rightClass, factor);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) { return true; }
+		if (!(obj instanceof ContextRule)) { return false; }
+		ContextRule other = (ContextRule) obj;
+		return Objects.equals(segmentClass, other.segmentClass) &&
+				Objects.equals(leftClass, other.leftClass) &&
+				Objects.equals(rightClass, other.rightClass) &&
+				Double.compare(factor, other.factor) == 0;
+	}
+
+	@Override
+	public String toString() {
+		return segmentClass + " / " + (leftClass == null ? "*" : leftClass) +
+				" _ " + (rightClass == null ? "*" : rightClass) + " × " +
+				factor;
+	}
+}
@@ -0,0 +1,94 @@
+package org.didelphis.genetics.alignment.operators.comparators;
+
+import org.didelphis.genetics.alignment.common.SegmentInventory;
+import org.didelphis.genetics.alignment.operators.Comparator;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Class {@code CostMatrixComparator}
+ *
+ * Looks substitution costs up in a precomputed {@code size × size} matrix
+ * indexed by the ids of a {@link SegmentInventory}. Segments outside the
+ * matrix are delegated to a fallback comparator.
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+public final class CostMatrixComparator<T> implements Comparator<T> {
+
+	private final SegmentInventory<T> inventory;
+	private final double[] costs;
+	private final int size;
+	private final Comparator<T> fallback;
+
+	/**
+	 * @param inventory the inventory whose ids index the matrix
+	 * @param costs a row-major square cost matrix
+	 * @param fallback used when either segment has no row in the matrix
+	 */
+	public CostMatrixComparator(
+			@NotNull SegmentInventory<T> inventory,
+			@NotNull double[] costs,
+			@NotNull Comparator<T> fallback
+	) {
+		size = (int) Math.sqrt(costs.length);
+		if (size * size != costs.length) {
+			throw new IllegalArgumentException(
+					"Cost matrix is not square: " + costs.length);
+		}
+		this.inventory = inventory;
+		this.costs = costs;
+		this.fallback = fallback;
+	}
+
+	@Override
+	public double apply(@NotNull Sequence<T> left, @NotNull Sequence<T> right,
+			int i, int j) {
+		int a = inventory.indexOf(left.get(i));
+		int b = inventory.indexOf(right.get(j));
+		if (a < 0 || b < 0 || a >= size || b >= size) {
+			return fallback.apply(left, right, i, j);
+		}
+		return costs[a * size + b];
+	}
+
+	/**
+	 * @return the cost of substituting segment id {@code a} with {@code b};
+	 * 		both ids must be less than {@link #size()}
+	 */
+	public double cost(int a, int b) {
+		return costs[a * size + b];
+	}
+
+	/**
+	 * @return the backing row-major cost matrix; this is not a copy
+	 */
+	@NotNull
+	public double[] getCosts() {
+		return costs;
+	}
+
+	public boolean covers(int id) {
+		return id >= 0 && id < size;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	@NotNull
+	public SegmentInventory<T> getInventory() {
+		return inventory;
+	}
+
+	@NotNull
+	public Comparator<T> getFallback() {
+		return fallback;
+	}
+
+	@Override
+	public String toString() {
+		return "CostMatrixComparator{size=" + size + ", fallback=" + fallback
+				+ '}';
+	}
+}
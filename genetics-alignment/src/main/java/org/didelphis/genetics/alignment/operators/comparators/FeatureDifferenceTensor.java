@@ -0,0 +1,118 @@
+package org.didelphis.genetics.alignment.operators.comparators;
+
+import org.didelphis.genetics.alignment.common.SegmentInventory;
+import org.didelphis.language.phonetic.features.FeatureArray;
+import org.didelphis.language.phonetic.features.FeatureType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Class {@code FeatureDifferenceTensor}
+ *
+ * Precomputes the per-feature differences between every ordered pair of
+ * segments in a {@link SegmentInventory}, stored as a flat
+ * {@code [pairs × features]} array. Because the differences do not depend on
+ * the feature weights, the full substitution cost matrix for any weight vector
+ * is a single matrix–vector product, which makes re-scoring a corpus under
+ * many candidate weightings cheap.
+ *
+ * The tensor covers the segments present in the inventory when it was built;
+ * segments interned afterwards are handled by the fallback comparator of the
+ * {@link CostMatrixComparator}s it produces.
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+public final class FeatureDifferenceTensor<T> {
+
+	private final FeatureType<T> type;
+	private final SegmentInventory<T> inventory;
+	private final int size;
+	private final int features;
+	private final double[] differences;
+
+	public FeatureDifferenceTensor(
+			@NotNull FeatureType<T> type,
+			@NotNull SegmentInventory<T> inventory
+	) {
+		this.type = type;
+		this.inventory = inventory;
+
+		size = inventory.size();
+		features = size == 0 ? 0 : inventory.get(0).getFeatures().size();
+		differences = new double[size * size * features];
+
+		for (int a = 0; a < size; a++) {
+			FeatureArray<T> lFeatures = inventory.get(a).getFeatures();
+			for (int b = 0; b < size; b++) {
+				FeatureArray<T> rFeatures = inventory.get(b).getFeatures();
+				int offset = (a * size + b) * features;
+				for (int k = 0; k < features; k++) {
+					differences[offset + k] = type.difference(
+							lFeatures.get(k), rFeatures.get(k));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Computes the weighted substitution cost of every segment pair
+	 *
+	 * @param weights one weight per feature; may be shorter than the number of
+	 * 		features, in which case the remaining features are ignored, as in
+	 *        {@link LinearWeightComparator}
+	 * @return a row-major {@code size × size} cost matrix
+	 */
+	@NotNull
+	public double[] weigh(@NotNull double[] weights) {
+		if (weights.length > features) {
+			throw new IllegalArgumentException("Received " + weights.length
+					+ " weights but the tensor only has " + features
+					+ " features");
+		}
+		int pairs = size * size;
+		double[] costs = new double[pairs];
+		for (int p = 0; p < pairs; p++) {
+			int offset = p * features;
+			double score = 0.0;
+			for (int k = 0; k < weights.length; k++) {
+				score += weights[k] * differences[offset + k];
+			}
+			costs[p] = score;
+		}
+		return costs;
+	}
+
+	/**
+	 * Builds a comparator equivalent to a {@link LinearWeightComparator} with
+	 * the same weights, but which looks costs up rather than computing them
+	 */
+	@NotNull
+	public CostMatrixComparator<T> toComparator(@NotNull List<Double> weights) {
+		double[] array = new double[weights.size()];
+		for (int i = 0; i < array.length; i++) {
+			array[i] = weights.get(i);
+		}
+		return new CostMatrixComparator<>(inventory, weigh(array),
+				new LinearWeightComparator<>(type, weights));
+	}
+
+	@NotNull
+	public SegmentInventory<T> getInventory() {
+		return inventory;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public int features() {
+		return features;
+	}
+
+	@Override
+	public String toString() {
+		return "FeatureDifferenceTensor{size=" + size + ", features=" + features
+				+ '}';
+	}
+}
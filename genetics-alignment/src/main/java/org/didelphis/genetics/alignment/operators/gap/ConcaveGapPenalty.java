@@ -0,0 +1,92 @@
+package org.didelphis.genetics.alignment.operators.gap;
+
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Class {@code ConcaveGapPenalty}
+ *
+ * A gap penalty of the form {@code open + extension * f(length - 1)} where
+ * {@code f} is a concave function such as the logarithm or square root, so
+ * that each additional segment costs less than the last. This models
+ * processes which delete or insert whole morphemes or syllables better than
+ * linear or affine penalties do.
+ *
+ * Because the penalty cannot be decomposed into independent per-position
+ * terms, alignment algorithms handle it with a dedicated engine; see
+ * {@link GapPenalty#isConcave()}.
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+public class ConcaveGapPenalty<T> extends AbstractGapPenalty<T> {
+
+	public enum Shape {
+		LOGARITHMIC {
+			@Override
+			double apply(int x) {
+				return Math.log1p(x);
+			}
+		},
+		SQUARE_ROOT {
+			@Override
+			double apply(int x) {
+				return Math.sqrt(x);
+			}
+		};
+
+		abstract double apply(int x);
+	}
+
+	private final double openPenalty;
+	private final double extensionPenalty;
+	private final Shape shape;
+
+	/**
+	 * @param gap the gap sequence
+	 * @param openPenalty the penalty of a gap of length one
+	 * @param extensionPenalty scales the penalty of each additional segment;
+	 * 		must have the same sign as {@code openPenalty}
+	 * @param shape the concave function of the gap's length
+	 */
+	public ConcaveGapPenalty(
+			@NotNull Sequence<T> gap,
+			double openPenalty,
+			double extensionPenalty,
+			@NotNull Shape shape
+	) {
+		super(gap);
+		if (openPenalty * extensionPenalty < 0) {
+			throw new IllegalArgumentException("Open and extension penalties "
+					+ "must have the same sign: " + openPenalty + ", "
+					+ extensionPenalty);
+		}
+		this.openPenalty = openPenalty;
+		this.extensionPenalty = extensionPenalty;
+		this.shape = shape;
+	}
+
+	/**
+	 * @return the increase in penalty from extending a gap of length
+	 * 		{@code value} by one segment
+	 */
+	@Override
+	public double applyAsDouble(int value) {
+		return value == 0 ? openPenalty : weight(value + 1) - weight(value);
+	}
+
+	@Override
+	public double weight(int length) {
+		return openPenalty + extensionPenalty * shape.apply(length - 1);
+	}
+
+	@Override
+	public boolean isConcave() {
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return "ConcaveGapPenalty{open=" + openPenalty + ", extension=" +
+				extensionPenalty + ", shape=" + shape + '}';
+	}
+}
@@ -0,0 +1,130 @@
+package org.didelphis.genetics.alignment.operators.gap;
+
+import org.didelphis.genetics.alignment.common.SegmentClassifier;
+import org.didelphis.language.phonetic.segments.Segment;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Class {@code ContextualGapPenalty}
+ *
+ * A gap penalty conditioned on the class of the segment being gapped and on
+ * its position in the word, e.g. to make word-final vowels cheaper to drop
+ * than word-initial consonants. Positions are determined relative to the
+ * sequence edges and to the boundary segment ({@code #}), so words with a
+ * leading boundary are handled as expected.
+ *
+ * Penalties are resolved into a per-sequence array by {@link #prepare}, so
+ * algorithms pay nothing per DP cell beyond what a
+ * {@link ConstantGapPenalty} costs.
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+public class ContextualGapPenalty<T> extends AbstractGapPenalty<T> {
+
+	public enum Position {
+		INITIAL,
+		MEDIAL,
+		FINAL
+	}
+
+	private static final int POSITIONS = Position.values().length;
+
+	private final double penalty;
+	private final SegmentClassifier<T> classifier;
+	private final Segment<T> boundary;
+	private final double[] penalties;
+
+	/**
+	 * @param gap the gap sequence
+	 * @param penalty the penalty used for any class and position that is not
+	 * 		configured with {@link #set}
+	 * @param classifier assigns gapped segments to classes
+	 * @param boundary the word-boundary segment; may be null if sequences do
+	 * 		not contain boundaries
+	 */
+	public ContextualGapPenalty(
+			@NotNull Sequence<T> gap,
+			double penalty,
+			@NotNull SegmentClassifier<T> classifier,
+			@Nullable Segment<T> boundary
+	) {
+		super(gap);
+		this.penalty = penalty;
+		this.classifier = classifier;
+		this.boundary = boundary;
+		penalties = new double[classifier.size() * POSITIONS];
+		Arrays.fill(penalties, penalty);
+	}
+
+	/**
+	 * Sets the penalty for gapping a segment of the given class
+	 *
+	 * @param segmentClass the name of a class known to the classifier
+	 * @param position the position to set, or null for all positions
+	 * @param value the new penalty
+	 * @return this penalty, for chaining
+	 */
+	@NotNull
+	public ContextualGapPenalty<T> set(
+			@NotNull String segmentClass,
+			@Nullable Position position,
+			double value
+	) {
+		int index = classifier.indexOf(segmentClass);
+		if (index < 0) {
+			throw new IllegalArgumentException("Unknown segment class "
+					+ segmentClass + "; known classes are "
+					+ classifier.getClassNames());
+		}
+		if (position == null) {
+			for (int p = 0; p < POSITIONS; p++) {
+				penalties[index * POSITIONS + p] = value;
+			}
+		} else {
+			penalties[index * POSITIONS + position.ordinal()] = value;
+		}
+		return this;
+	}
+
+	/**
+	 * @return the default penalty; the length of the gap is not considered
+	 */
+	@Override
+	public double applyAsDouble(int value) {
+		return penalty;
+	}
+
+	@Override
+	public void prepare(@NotNull Sequence<T> sequence,
+			@NotNull double[] array) {
+		int size = sequence.size();
+		int[] classes = classifier.classify(sequence);
+		for (int i = 0; i < size; i++) {
+			array[i] = penalties[classes[i] * POSITIONS + position(sequence, i)];
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "ContextualGapPenalty{penalty=" + penalty + ", classifier=" +
+				classifier + '}';
+	}
+
+	private int position(Sequence<T> sequence, int i) {
+		if (i == 0 || isBoundary(sequence.get(i - 1))) {
+			return Position.INITIAL.ordinal();
+		}
+		if (i == sequence.size() - 1 || isBoundary(sequence.get(i + 1))) {
+			return Position.FINAL.ordinal();
+		}
+		return Position.MEDIAL.ordinal();
+	}
+
+	private boolean isBoundary(Segment<T> segment) {
+		return boundary != null && boundary.equals(segment);
+	}
+}
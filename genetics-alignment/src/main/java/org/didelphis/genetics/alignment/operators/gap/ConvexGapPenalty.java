@@ -22,4 +22,10 @@ public class ConvexGapPenalty<T> extends AbstractGapPenalty<T> {
 	public double applyAsDouble(int value) {
 		return value == 0 ? openPenalty : extensionPenalty;
 	}
+
+	@Override
+	public String toString() {
+		return "ConvexGapPenalty{open=" + openPenalty + ", extension=" +
+				extensionPenalty + '}';
+	}
 }
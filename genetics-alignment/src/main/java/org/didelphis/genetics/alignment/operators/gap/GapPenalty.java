@@ -2,7 +2,9 @@ package org.didelphis.genetics.alignment.operators.gap;
 
 import org.didelphis.language.phonetic.ModelBearer;
 import org.didelphis.language.phonetic.sequences.Sequence;
+import org.jetbrains.annotations.NotNull;
 
+import java.util.Arrays;
 import java.util.function.IntToDoubleFunction;
 
 /**
@@ -13,4 +15,48 @@ public interface GapPenalty<T> extends ModelBearer<T>, IntToDoubleFunction {
 
 	Sequence<T> getGap();
 
+	/**
+	 * Computes the penalty for aligning each position of a sequence against a
+	 * gap. Algorithms call this once per sequence when preparing it, so
+	 * implementations may do arbitrarily expensive work here without affecting
+	 * the DP loop. By default every position receives
+	 * {@code applyAsDouble(0)}.
+	 *
+	 * @param sequence the sequence being prepared
+	 * @param penalties an array at least as long as the sequence to fill
+	 */
+	default void prepare(@NotNull Sequence<T> sequence,
+			@NotNull double[] penalties) {
+		Arrays.fill(penalties, 0, sequence.size(), applyAsDouble(0));
+	}
+
+	/**
+	 * Computes the total penalty of a single gap of the given length. By
+	 * default this is the sum of {@code applyAsDouble(k)} for each
+	 * {@code k < length}, i.e. {@link #applyAsDouble} gives the penalty of
+	 * extending a gap which already has {@code k} segments.
+	 *
+	 * @param length the number of segments in the gap; must be positive
+	 * @return the total penalty of the gap
+	 */
+	default double weight(int length) {
+		double weight = 0.0;
+		for (int k = 0; k < length; k++) {
+			weight += applyAsDouble(k);
+		}
+		return weight;
+	}
+
+	/**
+	 * Indicates that the magnitude of {@link #weight} is a concave function
+	 * of the gap length, so that longer gaps are relatively cheaper. Algorithms
+	 * use this to select an engine which charges the penalty per gap rather
+	 * than per position. Such penalties are applied as a whole by
+	 * {@link #weight}, and {@link #prepare} is not used.
+	 *
+	 * @return false unless overridden
+	 */
+	default boolean isConcave() {
+		return false;
+	}
 }
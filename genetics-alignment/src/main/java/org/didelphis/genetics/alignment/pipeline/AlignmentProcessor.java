@@ -0,0 +1,335 @@
+package org.didelphis.genetics.alignment.pipeline;
+
+import org.didelphis.genetics.alignment.AlignmentResult;
+import org.didelphis.genetics.alignment.algorithm.AlignmentAlgorithm;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.didelphis.structures.tuples.Tuple;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow.Processor;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Class {@code AlignmentProcessor}
+ *
+ * A {@link java.util.concurrent.Flow} stage which aligns each pair of
+ * sequences published upstream and publishes the results downstream, so that
+ * a service can align an unbounded stream without holding it in memory.
+ *
+ * At most {@code window} pairs are outstanding at any time, counting pairs
+ * requested from upstream but not yet received, pairs being aligned, and
+ * results waiting for downstream demand; further pairs are requested from
+ * upstream only as results are delivered. Up to {@code parallelism} pairs are
+ * aligned at once on the given executor, or one at a time if the algorithm is
+ * not {@linkplain AlignmentAlgorithm#isThreadSafe() thread-safe}.
+ *
+ * In ordered mode results are published in the order in which their pairs
+ * arrived; otherwise they are published as soon as they are ready, which
+ * avoids waiting behind a slow alignment.
+ *
+ * All signals to the downstream subscriber are issued from a single drain
+ * loop, which may run on the upstream thread, a worker, or the subscriber's
+ * own thread, but never on two at once. A failure of the algorithm cancels
+ * upstream and is passed downstream with {@code onError}. The processor
+ * accepts a single subscriber.
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+public final class AlignmentProcessor<T> implements
+		Processor<Tuple<Sequence<T>, Sequence<T>>, AlignmentResult<T>> {
+
+	private final AlignmentAlgorithm<T> algorithm;
+	private final int parallelism;
+	private final int window;
+	private final boolean ordered;
+	private final Executor executor;
+
+	private final Queue<Item<T>> pending;
+	private final Queue<AlignmentResult<T>> unordered;
+	private final Map<Long, AlignmentResult<T>> completed;
+	private final AtomicReference<Subscription> upstream;
+	private final AtomicReference<Subscriber<? super AlignmentResult<T>>>
+			downstream;
+	private final AtomicReference<Throwable> error;
+	private final AtomicLong requested;
+	private final AtomicLong received;
+	private final AtomicInteger running;
+	private final AtomicInteger wip;
+
+	private volatile boolean done;
+	private volatile boolean cancelled;
+
+	// accessed only within drain()
+	private long requestedUpstream;
+	private long emitted;
+	private boolean terminated;
+
+	/**
+	 * Creates an ordered processor which uses every core of the common pool
+	 */
+	public AlignmentProcessor(@NotNull AlignmentAlgorithm<T> algorithm) {
+		this(algorithm, ForkJoinPool.getCommonPoolParallelism(), true);
+	}
+
+	public AlignmentProcessor(
+			@NotNull AlignmentAlgorithm<T> algorithm,
+			int parallelism,
+			boolean ordered
+	) {
+		this(algorithm, parallelism, parallelism * 4, ordered,
+				ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * @param algorithm the algorithm used to align each pair
+	 * @param parallelism the maximum number of pairs aligned at once; one if
+	 * 		the algorithm is not thread-safe
+	 * @param window the maximum number of pairs outstanding at once; must be
+	 * 		at least {@code parallelism}
+	 * @param ordered whether results are published in the order of their
+	 * 		pairs
+	 * @param executor runs the alignments
+	 */
+	public AlignmentProcessor(
+			@NotNull AlignmentAlgorithm<T> algorithm,
+			int parallelism,
+			int window,
+			boolean ordered,
+			@NotNull Executor executor
+	) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException(
+					"Parallelism must be at least one: " + parallelism);
+		}
+		if (window < parallelism) {
+			throw new IllegalArgumentException("Window " + window
+					+ " is smaller than the parallelism " + parallelism);
+		}
+		this.algorithm = algorithm;
+		this.parallelism = algorithm.isThreadSafe() ? parallelism : 1;
+		this.window = window;
+		this.ordered = ordered;
+		this.executor = executor;
+
+		pending = new ConcurrentLinkedQueue<>();
+		unordered = new ConcurrentLinkedQueue<>();
+		completed = new ConcurrentHashMap<>();
+		upstream = new AtomicReference<>();
+		downstream = new AtomicReference<>();
+		error = new AtomicReference<>();
+		requested = new AtomicLong();
+		received = new AtomicLong();
+		running = new AtomicInteger();
+		wip = new AtomicInteger();
+	}
+
+	@Override
+	public void subscribe(
+			@NotNull Subscriber<? super AlignmentResult<T>> subscriber
+	) {
+		if (!downstream.compareAndSet(null, subscriber)) {
+			subscriber.onSubscribe(new Subscription() {
+				@Override
+				public void request(long n) {
+				}
+
+				@Override
+				public void cancel() {
+				}
+			});
+			subscriber.onError(new IllegalStateException(
+					"AlignmentProcessor supports only one subscriber"));
+			return;
+		}
+		subscriber.onSubscribe(new Downstream());
+		drain();
+	}
+
+	@Override
+	public void onSubscribe(@NotNull Subscription subscription) {
+		if (!upstream.compareAndSet(null, subscription)) {
+			subscription.cancel();
+			return;
+		}
+		drain();
+	}
+
+	@Override
+	public void onNext(@NotNull Tuple<Sequence<T>, Sequence<T>> item) {
+		pending.offer(new Item<>(received.getAndIncrement(), item));
+		drain();
+	}
+
+	@Override
+	public void onError(@NotNull Throwable throwable) {
+		error.compareAndSet(null, throwable);
+		done = true;
+		drain();
+	}
+
+	@Override
+	public void onComplete() {
+		done = true;
+		drain();
+	}
+
+	@Override
+	public String toString() {
+		return "AlignmentProcessor{algorithm=" + algorithm + ", parallelism=" +
+				parallelism + ", window=" + window + ", ordered=" + ordered + '}';
+	}
+
+	private void align(Item<T> item) {
+		try {
+			AlignmentResult<T> result = algorithm.apply(Arrays.asList(
+					item.pair.getLeft(), item.pair.getRight()));
+			if (ordered) {
+				completed.put(item.index, result);
+			} else {
+				unordered.offer(result);
+			}
+		} catch (RuntimeException | Error e) {
+			error.compareAndSet(null, e);
+		} finally {
+			running.decrementAndGet();
+			drain();
+		}
+	}
+
+	/**
+	 * Starts alignments, delivers results and requests more input, for as
+	 * long as any other thread has signalled that there may be work to do
+	 */
+	private void drain() {
+		if (wip.getAndIncrement() != 0) {
+			return;
+		}
+		int missed = 1;
+		do {
+			Subscriber<? super AlignmentResult<T>> subscriber = downstream.get();
+			Subscription subscription = upstream.get();
+			if (!terminated && subscriber != null && subscription != null) {
+				drainOnce(subscriber, subscription);
+			}
+			missed = wip.addAndGet(-missed);
+		} while (missed != 0);
+	}
+
+	private void drainOnce(Subscriber<? super AlignmentResult<T>> subscriber,
+			Subscription subscription) {
+		if (cancelled) {
+			terminate(subscription);
+			return;
+		}
+		Throwable throwable = error.get();
+		if (throwable != null) {
+			terminate(subscription);
+			subscriber.onError(throwable);
+			return;
+		}
+
+		while (running.get() < parallelism) {
+			Item<T> item = pending.poll();
+			if (item == null) {
+				break;
+			}
+			running.incrementAndGet();
+			try {
+				executor.execute(() -> align(item));
+			} catch (RuntimeException e) {
+				// the executor rejected the task
+				running.decrementAndGet();
+				terminate(subscription);
+				subscriber.onError(e);
+				return;
+			}
+		}
+
+		long demand = requested.get();
+		long delivered = 0;
+		while (delivered < demand && !cancelled) {
+			AlignmentResult<T> result = ordered
+					? completed.remove(emitted)
+					: unordered.poll();
+			if (result == null) {
+				break;
+			}
+			subscriber.onNext(result);
+			emitted++;
+			delivered++;
+		}
+		if (delivered > 0 && demand != Long.MAX_VALUE) {
+			requested.addAndGet(-delivered);
+		}
+
+		if (done && emitted == received.get()) {
+			terminate(subscription);
+			subscriber.onComplete();
+			return;
+		}
+
+		long outstanding = requestedUpstream - emitted;
+		if (!done && outstanding < window) {
+			long n = window - outstanding;
+			requestedUpstream += n;
+			subscription.request(n);
+		}
+	}
+
+	private void terminate(Subscription subscription) {
+		terminated = true;
+		if (!done) {
+			subscription.cancel();
+		}
+		pending.clear();
+		unordered.clear();
+		completed.clear();
+	}
+
+	private static final class Item<T> {
+
+		private final long index;
+		private final Tuple<Sequence<T>, Sequence<T>> pair;
+
+		private Item(long index, Tuple<Sequence<T>, Sequence<T>> pair) {
+			this.index = index;
+			this.pair = pair;
+		}
+	}
+
+	private final class Downstream implements Subscription {
+
+		@Override
+		public void request(long n) {
+			if (n <= 0) {
+				error.compareAndSet(null, new IllegalArgumentException(
+						"Demand must be positive: " + n));
+			} else {
+				long current;
+				long next;
+				do {
+					current = requested.get();
+					next = current + n < 0 ? Long.MAX_VALUE : current + n;
+				} while (!requested.compareAndSet(current, next));
+			}
+			drain();
+		}
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+			drain();
+		}
+	}
+}
@@ -0,0 +1,173 @@
+package org.didelphis.genetics.alignment.pipeline;
+
+import lombok.experimental.UtilityClass;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
+/**
+ * Class {@code AtomicFiles}
+ *
+ * Writes output files so that they are either absent or complete: content is
+ * written to a temporary sibling, synced, and renamed over the target.
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+@UtilityClass
+final class AtomicFiles {
+
+	private final String TEMPORARY = ".tmp";
+	private final int BUFFER = 1 << 16;
+
+	/**
+	 * @return the hex-encoded SHA-256 checksum of the written file
+	 */
+	@NotNull
+	String write(@NotNull Path target, @NotNull Body body) throws IOException {
+		return write(target, body, out -> {});
+	}
+
+	/**
+	 * Writes text to one file and raw bytes to another in a single pass; each
+	 * file is written as by {@link #write(Path, Body)}
+	 *
+	 * @return the checksums of the text file and the byte file, in that order
+	 */
+	@NotNull
+	String[] write(@NotNull Path text, @NotNull Path bytes, @NotNull Pair body)
+			throws IOException {
+		String[] checksums = new String[2];
+		checksums[0] = write(text, writer -> checksums[1] = write(bytes,
+				unused -> {}, out -> body.write(writer, out)));
+		return checksums;
+	}
+
+	/**
+	 * Writes a file from a prefix followed by the concatenated contents of
+	 * other files
+	 *
+	 * @return the hex-encoded SHA-256 checksum of the written file
+	 */
+	@NotNull
+	String concatenate(@NotNull Path target, @NotNull Body prefix,
+			@NotNull List<Path> sources) throws IOException {
+		return write(target, prefix, out -> {
+			for (Path path : sources) {
+				try (InputStream in = Files.newInputStream(path)) {
+					copy(in, out);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Writes text and then raw bytes to a temporary file, syncs it, and
+	 * renames it over the target
+	 *
+	 * @return the hex-encoded SHA-256 checksum of the file
+	 */
+	@NotNull
+	String write(@NotNull Path target, @NotNull Body body, @NotNull Bytes bytes)
+			throws IOException {
+		Path temporary = target.resolveSibling(target.getFileName() + TEMPORARY);
+		MessageDigest digest = sha256();
+		try (FileOutputStream file = new FileOutputStream(temporary.toFile());
+		     OutputStream out = new DigestOutputStream(file, digest)) {
+			Writer writer = new BufferedWriter(
+					new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER);
+			body.write(writer);
+			writer.flush();
+			bytes.write(out);
+			out.flush();
+			file.getFD().sync();
+		}
+		try {
+			Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+		return hex(digest.digest());
+	}
+
+	/**
+	 * @return the hex-encoded SHA-256 checksum of an existing file
+	 */
+	@NotNull
+	String checksum(@NotNull Path path) throws IOException {
+		MessageDigest digest = sha256();
+		try (InputStream in = Files.newInputStream(path)) {
+			byte[] buffer = new byte[BUFFER];
+			int read;
+			while ((read = in.read(buffer)) >= 0) {
+				digest.update(buffer, 0, read);
+			}
+		}
+		return hex(digest.digest());
+	}
+
+	/**
+	 * @return the hex-encoded SHA-256 checksum of the UTF-8 encoding of a
+	 * 		string
+	 */
+	@NotNull
+	String checksum(@NotNull String text) {
+		return hex(sha256().digest(text.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private void copy(InputStream in, OutputStream out) throws IOException {
+		byte[] buffer = new byte[BUFFER];
+		int read;
+		while ((read = in.read(buffer)) >= 0) {
+			out.write(buffer, 0, read);
+		}
+	}
+
+	private MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			// every Java platform is required to support SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private String hex(byte[] bytes) {
+		StringBuilder sb = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes) {
+			sb.append(Character.forDigit((b >> 4) & 0xF, 16));
+			sb.append(Character.forDigit(b & 0xF, 16));
+		}
+		return sb.toString();
+	}
+
+	@FunctionalInterface
+	interface Body {
+		void write(Writer writer) throws IOException;
+	}
+
+	@FunctionalInterface
+	interface Bytes {
+		void write(OutputStream out) throws IOException;
+	}
+
+	@FunctionalInterface
+	interface Pair {
+		void write(Writer writer, OutputStream out) throws IOException;
+	}
+}
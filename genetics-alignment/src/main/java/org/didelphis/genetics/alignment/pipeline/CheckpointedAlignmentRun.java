@@ -0,0 +1,306 @@
+package org.didelphis.genetics.alignment.pipeline;
+
+import org.didelphis.genetics.alignment.AlignmentResult;
+import org.didelphis.genetics.alignment.algorithm.AlignmentAlgorithm;
+import org.didelphis.genetics.alignment.algorithm.ColumnPairScheduler;
+import org.didelphis.genetics.alignment.io.AlignmentFormat;
+import org.didelphis.genetics.alignment.io.AlignmentWriter;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.didelphis.structures.tables.ColumnTable;
+import org.didelphis.structures.tables.DataTable;
+import org.didelphis.utilities.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Class {@code CheckpointedAlignmentRun}
+ *
+ * Aligns every pair of columns of a table in chunks of rows, so that a long
+ * run which is interrupted can be resumed without losing completed work.
+ *
+ * Each chunk is aligned with a {@link ColumnPairScheduler} and its records
+ * for every pair are written to {@code chunks/<pair>.<chunk>.csv} and
+ * {@code .json} under the output root. Files are written to a temporary name,
+ * synced, and atomically renamed into place, after which a line listing the
+ * chunk's files and their SHA-256 checksums is appended to
+ * {@code chunks/manifest.tsv}. On restart, chunks listed in the manifest whose
+ * files still match their checksums are skipped; any other chunk is aligned
+ * again. Once every chunk is complete, the chunks of each pair are merged, in
+ * the same way, into the {@code alignments_<pair>} files produced by
+ * {@code Main}.
+ *
+ * The manifest records the chunk size, row count and columns, the length and
+ * modification time of the input file, and a checksum of a description of the
+ * algorithm and its settings. A run whose input or configuration differs from
+ * the manifest's refuses to resume from it.
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+public final class CheckpointedAlignmentRun<T> {
+
+	private static final Logger LOGGER =
+			Logger.create(CheckpointedAlignmentRun.class);
+
+	private static final String MANIFEST = "manifest.tsv";
+	private static final String CHUNKS = "chunks";
+
+	private final ColumnPairScheduler<T> scheduler;
+	private final int chunkRows;
+	private final boolean includeTables;
+	private final String configuration;
+
+	public CheckpointedAlignmentRun(
+			@NotNull AlignmentAlgorithm<T> algorithm,
+			int chunkRows,
+			@NotNull String configuration
+	) {
+		this(new ColumnPairScheduler<>(algorithm), chunkRows, true,
+				configuration);
+	}
+
+	/**
+	 * @param scheduler aligns the pairs of each chunk
+	 * @param chunkRows the number of rows in each chunk
+	 * @param includeTables whether to write DP tables into the JSON output
+	 * @param configuration describes the algorithm and every setting which
+	 * 		affects its output, such as the model, weights and gap penalty; a
+	 * 		run with a different description does not resume this one's chunks
+	 */
+	public CheckpointedAlignmentRun(
+			@NotNull ColumnPairScheduler<T> scheduler,
+			int chunkRows,
+			boolean includeTables,
+			@NotNull String configuration
+	) {
+		if (chunkRows < 1) {
+			throw new IllegalArgumentException(
+					"Chunks must contain at least one row: " + chunkRows);
+		}
+		this.scheduler = scheduler;
+		this.chunkRows = chunkRows;
+		this.includeTables = includeTables;
+		this.configuration = configuration;
+	}
+
+	/**
+	 * Aligns every pair of the given columns, resuming from any chunks
+	 * already completed under the same root
+	 *
+	 * @param keys the columns to align
+	 * @param data the table containing the columns
+	 * @param input the file from which the table was loaded
+	 * @param rootPath the prefix of every output file
+	 * @return the key of each pair, as used in the output file names
+	 * @throws IOException if output cannot be written, or if the manifest
+	 * 		belongs to a run with a different input or configuration
+	 */
+	@NotNull
+	public List<String> run(
+			@NotNull List<String> keys,
+			@NotNull ColumnTable<Sequence<T>> data,
+			@NotNull Path input,
+			@NotNull String rootPath
+	) throws IOException {
+		Path directory = Paths.get(rootPath + CHUNKS);
+		Files.createDirectories(directory);
+
+		int rows = data.rows();
+		int chunks = (rows + chunkRows - 1) / chunkRows;
+		String header = "#chunkRows=" + chunkRows + "\trows=" + rows
+				+ "\tkeys=" + String.join(",", keys)
+				+ "\tinput=" + Files.size(input) + ','
+				+ Files.getLastModifiedTime(input).toMillis()
+				+ "\tconfiguration=" + AtomicFiles.checksum(configuration);
+		Manifest manifest = new Manifest(directory.resolve(MANIFEST), header);
+
+		List<String> pairKeys = pairKeys(keys);
+		int skipped = 0;
+		for (int chunk = 0; chunk < chunks; chunk++) {
+			if (manifest.verify(chunk, directory)) {
+				skipped++;
+				continue;
+			}
+			int start = chunk * chunkRows;
+			int end = Math.min(rows, start + chunkRows);
+			List<List<Sequence<T>>> slice = new ArrayList<>(end - start);
+			for (int row = start; row < end; row++) {
+				slice.add(data.getRow(row));
+			}
+			ColumnTable<Sequence<T>> table =
+					new DataTable<>(data.getKeys(), slice);
+			Map<String, List<AlignmentResult<T>>> results =
+					scheduler.alignAll(keys, table);
+
+			Map<String, String> checksums = new LinkedHashMap<>();
+			for (Entry<String, List<AlignmentResult<T>>> entry
+					: results.entrySet()) {
+				String csv = chunkName(entry.getKey(), chunk, ".csv");
+				String json = chunkName(entry.getKey(), chunk, ".json");
+				List<AlignmentResult<T>> list = entry.getValue();
+				String[] written = AtomicFiles.write(directory.resolve(csv),
+						directory.resolve(json), (writer, out) -> {
+							try (AlignmentWriter alignments = new AlignmentWriter(
+									writer, out, includeTables)) {
+								for (AlignmentResult<T> result : list) {
+									alignments.write(result);
+								}
+							}
+						});
+				checksums.put(csv, written[0]);
+				checksums.put(json, written[1]);
+			}
+			manifest.commit(chunk, checksums);
+			LOGGER.info("Completed chunk {} of {}", chunk + 1, chunks);
+		}
+		if (skipped > 0) {
+			LOGGER.info("Resumed run: {} of {} chunks were already complete",
+					skipped, chunks);
+		}
+
+		for (String key : pairKeys) {
+			merge(directory, key, chunks, rootPath);
+		}
+		return pairKeys;
+	}
+
+	@Override
+	public String toString() {
+		return "CheckpointedAlignmentRun{chunkRows=" + chunkRows +
+				", scheduler=" + scheduler + '}';
+	}
+
+	private void merge(Path directory, String key, int chunks, String rootPath)
+			throws IOException {
+		Path csv = Paths.get(rootPath + "alignments_" + key + ".csv");
+		Path json = Paths.get(rootPath + "alignments_" + key + ".json");
+		AtomicFiles.concatenate(csv,
+				writer -> writer.write(AlignmentFormat.csvHeader(key)),
+				chunkPaths(directory, key, chunks, ".csv"));
+		AtomicFiles.concatenate(json, writer -> {},
+				chunkPaths(directory, key, chunks, ".json"));
+	}
+
+	private static List<Path> chunkPaths(Path directory, String key,
+			int chunks, String extension) {
+		List<Path> paths = new ArrayList<>(chunks);
+		for (int chunk = 0; chunk < chunks; chunk++) {
+			paths.add(directory.resolve(chunkName(key, chunk, extension)));
+		}
+		return paths;
+	}
+
+	private static String chunkName(String key, int chunk, String extension) {
+		return String.format("%s.%06d%s", key, chunk, extension);
+	}
+
+	private static List<String> pairKeys(List<String> keys) {
+		List<String> pairKeys = new ArrayList<>();
+		for (int i = 0; i < keys.size(); i++) {
+			for (int j = i + 1; j < keys.size(); j++) {
+				pairKeys.add(ColumnPairScheduler.pairKey(keys.get(i),
+						keys.get(j)));
+			}
+		}
+		return pairKeys;
+	}
+
+	/**
+	 * The record of completed chunks. Each line is appended and synced in a
+	 * single write; a final line without a newline is the remains of an
+	 * interrupted write and is ignored.
+	 */
+	private static final class Manifest {
+
+		private final Path path;
+		private final Map<Integer, Map<String, String>> chunks;
+
+		private Manifest(Path path, String header) throws IOException {
+			this.path = path;
+			chunks = new HashMap<>();
+			if (!Files.exists(path)) {
+				append(header);
+				return;
+			}
+			String content = new String(Files.readAllBytes(path),
+					StandardCharsets.UTF_8);
+			String[] lines = content.split("\n", -1);
+			if (!lines[0].equals(header)) {
+				throw new IOException("Manifest " + path + " was written by a "
+						+ "run with a different input or configuration (" + lines[0]
+						+ "); remove its directory to start again");
+			}
+			// the last element follows the final newline and is incomplete
+			for (int i = 1; i < lines.length - 1; i++) {
+				String[] fields = lines[i].split("\t");
+				Map<String, String> files = new LinkedHashMap<>();
+				for (int f = 1; f < fields.length; f++) {
+					int split = fields[f].lastIndexOf('=');
+					files.put(fields[f].substring(0, split),
+							fields[f].substring(split + 1));
+				}
+				chunks.put(Integer.parseInt(fields[0]), files);
+			}
+		}
+
+		/**
+		 * @return true iff the chunk was committed and all of its files are
+		 * 		present and match their checksums
+		 */
+		private boolean verify(int chunk, Path directory) throws IOException {
+			Map<String, String> files = chunks.get(chunk);
+			if (files == null) {
+				return false;
+			}
+			for (Entry<String, String> entry : files.entrySet()) {
+				Path file = directory.resolve(entry.getKey());
+				if (!Files.exists(file)
+						|| !AtomicFiles.checksum(file)
+								.equals(entry.getValue())) {
+					LOGGER.warn("Chunk {} failed verification at {}; it will "
+							+ "be aligned again", chunk, file);
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private void commit(int chunk, Map<String, String> files)
+				throws IOException {
+			StringBuilder sb = new StringBuilder();
+			sb.append(chunk);
+			for (Entry<String, String> entry : files.entrySet()) {
+				sb.append('\t').append(entry.getKey())
+						.append('=').append(entry.getValue());
+			}
+			append(sb.toString());
+			chunks.put(chunk, files);
+		}
+
+		private void append(String line) throws IOException {
+			byte[] bytes = (line + '\n').getBytes(StandardCharsets.UTF_8);
+			try (FileChannel channel = FileChannel.open(path,
+					StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+					StandardOpenOption.APPEND)) {
+				ByteBuffer buffer = ByteBuffer.wrap(bytes);
+				while (buffer.hasRemaining()) {
+					channel.write(buffer);
+				}
+				channel.force(false);
+			}
+		}
+	}
+}
@@ -0,0 +1,148 @@
+package org.didelphis.genetics.alignment.pipeline;
+
+import org.didelphis.utilities.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class {@code DatasetScheduler}
+ *
+ * Runs one task per dataset so that the I/O-bound stages of different
+ * datasets (loading, writing) overlap with each other and with alignment.
+ * CPU-heavy stages are wrapped in {@link #compute(Callable)}, which holds one
+ * of a fixed number of permits; alignment itself is already parallel, so
+ * admitting only a few datasets at a time keeps the pool saturated without
+ * oversubscribing it or holding every dataset's tables in memory at once.
+ *
+ * Tasks run on virtual threads when the runtime provides them (Java 21+), so
+ * tasks blocked on disk or on a permit do not occupy carrier threads. On
+ * older runtimes a cached pool of platform threads is used instead.
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+public final class DatasetScheduler implements AutoCloseable {
+
+	private static final Logger LOGGER = Logger.create(DatasetScheduler.class);
+
+	private final ExecutorService executor;
+	private final Semaphore permits;
+
+	/**
+	 * @param computePermits the number of tasks which may be inside
+	 *        {@link #compute(Callable)} at once
+	 */
+	public DatasetScheduler(int computePermits) {
+		if (computePermits < 1) {
+			throw new IllegalArgumentException(
+					"At least one permit is required: " + computePermits);
+		}
+		executor = newExecutor();
+		permits = new Semaphore(computePermits, true);
+	}
+
+	/**
+	 * Runs every task and waits for all of them to complete
+	 *
+	 * @return the result of each task, in the order given
+	 * @throws IOException if any task failed with an {@link IOException}; other
+	 * 		failures are rethrown unchecked
+	 */
+	@NotNull
+	public <T> List<T> invokeAll(@NotNull Collection<? extends Callable<T>> tasks)
+			throws IOException {
+		List<Future<T>> futures = new ArrayList<>(tasks.size());
+		for (Callable<T> task : tasks) {
+			futures.add(executor.submit(task));
+		}
+		List<T> results = new ArrayList<>(futures.size());
+		for (Future<T> future : futures) {
+			results.add(await(future));
+		}
+		return results;
+	}
+
+	/**
+	 * Runs a CPU-heavy stage while holding a permit, blocking until one is
+	 * available
+	 */
+	public <T> T compute(@NotNull Callable<T> stage) throws IOException {
+		try {
+			permits.acquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted awaiting a permit");
+		}
+		try {
+			return stage.call();
+		} catch (IOException | RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		} finally {
+			permits.release();
+		}
+	}
+
+	@Override
+	public void close() {
+		executor.shutdown();
+		try {
+			while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+				LOGGER.info("Waiting for dataset tasks to finish");
+			}
+		} catch (InterruptedException e) {
+			executor.shutdownNow();
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static <T> T await(Future<T> future) throws IOException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted awaiting datasets");
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if (cause instanceof UncheckedIOException) {
+				throw ((UncheckedIOException) cause).getCause();
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException(cause);
+		}
+	}
+
+	private static ExecutorService newExecutor() {
+		try {
+			Method method = Executors.class
+					.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) method.invoke(null);
+		} catch (ReflectiveOperationException e) {
+			LOGGER.info("Virtual threads are unavailable; using a cached "
+					+ "thread pool for dataset tasks");
+			return Executors.newCachedThreadPool();
+		}
+	}
+}
@@ -0,0 +1,560 @@
+package org.didelphis.genetics.alignment.pipeline;
+
+import org.didelphis.genetics.alignment.AlignmentResult;
+import org.didelphis.genetics.alignment.algorithm.ColumnPairScheduler;
+import org.didelphis.genetics.alignment.common.Utilities;
+import org.didelphis.genetics.alignment.io.AlignmentFormat;
+import org.didelphis.genetics.alignment.io.AlignmentWriter;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.didelphis.structures.tables.ColumnTable;
+import org.didelphis.utilities.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Class {@code ShardedAlignmentRun}
+ *
+ * Aligns every pair of columns of a table using several worker JVMs on the
+ * local machine, so that no single heap has to hold the whole job. The
+ * coordinator divides the work into shards, either by contiguous ranges of
+ * rows or by assigning whole column pairs, and starts one process per shard
+ * with {@link ProcessBuilder}. Each worker reads the table itself, aligns its
+ * share, and writes its results under {@code shards/<index>/}; when shards
+ * divide the rows, a worker maps and parses only its own range of the file.
+ * Workers and coordinator communicate only through their arguments, exit
+ * codes and files.
+ *
+ * When every worker has succeeded, the coordinator merges the shard outputs
+ * into the usual {@code alignments_<pair>.csv} and {@code .json} files and a
+ * {@code distances.tsv} matrix holding the mean alignment score of each pair
+ * of columns. Shards are always combined in index order, so the merged files
+ * do not depend on the order in which workers finished, and only the pairs
+ * assigned to a shard are taken from its directory, so files left there by
+ * an earlier run with a different division of work are ignored.
+ *
+ * Each worker writes a completion marker after its outputs; shards whose
+ * marker matches their specification are not run again, so a failed run can
+ * be restarted and will only repeat the incomplete shards. The specification
+ * includes a checksum of a description of the algorithm and its settings, as
+ * with {@link CheckpointedAlignmentRun}, so shards completed under another
+ * model, weights, gap penalty or table retention are run again, and a worker
+ * whose own settings do not match the checksum refuses to run.
+ *
+ * Worker processes run the given main class with the arguments of a
+ * {@link Shard}, beginning with {@link #WORKER}; that class is expected to
+ * recognize them, build its algorithm as usual, and call
+ * {@link #runShard}.
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+public final class ShardedAlignmentRun {
+
+	private static final Logger LOGGER =
+			Logger.create(ShardedAlignmentRun.class);
+
+	/** The first argument of every worker process */
+	public static final String WORKER = "--shard";
+
+	private static final String SHARDS = "shards";
+	private static final String DONE = "done";
+	private static final String DISTANCES = "distances.tsv";
+	private static final String LOG = "worker.log";
+
+	/**
+	 * How work is divided between shards
+	 */
+	public enum Mode {
+		/**
+		 * Each shard aligns every pair for a contiguous range of rows, of
+		 * roughly equal size in bytes
+		 */
+		ROWS,
+		/** Each shard aligns every row for a subset of the pairs */
+		PAIRS
+	}
+
+	private final String mainClass;
+	private final int shards;
+	private final Mode mode;
+	private final boolean includeTables;
+	private final List<String> jvmOptions;
+	private final String configuration;
+
+	public ShardedAlignmentRun(@NotNull String mainClass, int shards,
+			@NotNull Mode mode, @NotNull String configuration) {
+		this(mainClass, shards, mode, true, Collections.emptyList(),
+				configuration);
+	}
+
+	/**
+	 * @param mainClass the class run by each worker; it must be on the
+	 * 		current class path
+	 * @param shards the number of worker processes
+	 * @param mode how work is divided between workers
+	 * @param includeTables whether to write DP tables into the JSON output
+	 * @param jvmOptions options passed to each worker JVM, such as its
+	 * 		maximum heap size
+	 * @param configuration describes the algorithm and every setting which
+	 * 		affects its output, such as the model, weights and gap penalty; it
+	 * 		must be the same description that each worker passes to
+	 * 		{@link #runShard}
+	 */
+	public ShardedAlignmentRun(
+			@NotNull String mainClass,
+			int shards,
+			@NotNull Mode mode,
+			boolean includeTables,
+			@NotNull List<String> jvmOptions,
+			@NotNull String configuration
+	) {
+		if (shards < 1) {
+			throw new IllegalArgumentException(
+					"At least one shard is required: " + shards);
+		}
+		this.mainClass = mainClass;
+		this.shards = shards;
+		this.mode = mode;
+		this.includeTables = includeTables;
+		this.jvmOptions = new ArrayList<>(jvmOptions);
+		this.configuration = configuration;
+	}
+
+	/**
+	 * Runs any incomplete shards and merges the results of all of them
+	 *
+	 * @param table the table file, which each worker loads
+	 * @param keys the columns to align
+	 * @param rootPath the prefix of every output file
+	 * @return the key of each pair, as used in the output file names
+	 * @throws IOException if a worker fails or output cannot be written
+	 */
+	@NotNull
+	public List<String> run(
+			@NotNull File table,
+			@NotNull List<String> keys,
+			@NotNull String rootPath
+	) throws IOException {
+		List<Shard> all = plan(table, keys, rootPath);
+		List<Shard> pending = new ArrayList<>();
+		for (Shard shard : all) {
+			if (!shard.isComplete()) {
+				pending.add(shard);
+			}
+		}
+		if (pending.size() < shards) {
+			LOGGER.info("Resumed run: {} of {} shards were already complete",
+					shards - pending.size(), shards);
+		}
+		launch(pending);
+		return merge(all, keys, rootPath);
+	}
+
+	/**
+	 * Divides a run into its shards
+	 */
+	@NotNull
+	List<Shard> plan(
+			@NotNull File table,
+			@NotNull List<String> keys,
+			@NotNull String rootPath
+	) throws IOException {
+		List<Shard> all = new ArrayList<>(shards);
+		String checksum = AtomicFiles.checksum(configuration);
+		for (int index = 0; index < shards; index++) {
+			all.add(new Shard(table.getCanonicalPath(), mode, index, shards,
+					keys, shardDirectory(rootPath, index), includeTables,
+					checksum));
+		}
+		return all;
+	}
+
+	/**
+	 * Runs a single shard inside a worker process, reading only the shard's
+	 * rows from {@link Shard#getTable()}
+	 *
+	 * @param shard the shard, as parsed from the worker's arguments
+	 * @param configuration describes the worker's algorithm and settings, as
+	 * 		given to the coordinator's constructor
+	 * @param transformer applied to every cell as the table is read
+	 * @param converter converts the shard's rows into sequences
+	 * @param scheduler aligns the shard's pairs
+	 * @throws IOException if reading or writing fails, or if the worker's
+	 * 		configuration differs from the one the shard was planned with
+	 */
+	public static <T> void runShard(
+			@NotNull Shard shard,
+			@NotNull String configuration,
+			@NotNull Function<String, String> transformer,
+			@NotNull Function<ColumnTable<String>,
+					ColumnTable<Sequence<T>>> converter,
+			@NotNull ColumnPairScheduler<T> scheduler
+	) throws IOException {
+		if (!shard.configuration.equals(AtomicFiles.checksum(configuration))) {
+			throw new IOException("Shard " + shard.index + " was planned with "
+					+ "a different configuration than this worker's: "
+					+ configuration);
+		}
+		Path directory = Paths.get(shard.directory);
+		Files.createDirectories(directory);
+
+		ColumnTable<String> table = Utilities.loadTable(shard.table,
+				transformer, shard.share(), shard.shares());
+		ColumnTable<Sequence<T>> data = converter.apply(table);
+		LOGGER.info("Shard {} of {}: aligning {} rows", shard.index,
+				shard.count, table.rows());
+
+		StringBuilder distances = new StringBuilder();
+		List<String> keys = shard.keys;
+		Map<String, List<AlignmentResult<T>>> results = new LinkedHashMap<>();
+		if (shard.mode == Mode.ROWS) {
+			results.putAll(scheduler.alignAll(keys, data));
+		} else {
+			for (int[] pair : shard.pairs()) {
+				results.putAll(scheduler.alignAll(Arrays.asList(
+						keys.get(pair[0]), keys.get(pair[1])), data));
+			}
+		}
+		for (Entry<String, List<AlignmentResult<T>>> entry : results.entrySet()) {
+			String key = entry.getKey();
+			List<AlignmentResult<T>> list = entry.getValue();
+			AtomicFiles.write(directory.resolve(key + ".csv"),
+					directory.resolve(key + ".json"), (writer, out) -> {
+						try (AlignmentWriter alignments = new AlignmentWriter(
+								writer, out, shard.includeTables)) {
+							for (AlignmentResult<T> result : list) {
+								alignments.write(result);
+							}
+						}
+					});
+			double sum = 0.0;
+			for (AlignmentResult<T> result : list) {
+				sum += result.getScore();
+			}
+			// Double.toString round-trips, and shards are summed in index
+			// order, so the merged means are the same however workers finish
+			distances.append(key).append('\t').append(sum).append('\t')
+					.append(list.size()).append('\n');
+		}
+		AtomicFiles.write(directory.resolve(DISTANCES),
+				writer -> writer.write(distances.toString()));
+		AtomicFiles.write(directory.resolve(DONE),
+				writer -> writer.write(shard.marker()));
+	}
+
+	@Override
+	public String toString() {
+		return "ShardedAlignmentRun{mainClass=" + mainClass + ", shards=" +
+				shards + ", mode=" + mode + '}';
+	}
+
+	private void launch(List<Shard> pending) throws IOException {
+		String java = Paths.get(System.getProperty("java.home"), "bin", "java")
+				.toString();
+		String classPath = System.getProperty("java.class.path");
+		List<Process> processes = new ArrayList<>(pending.size());
+		try {
+			for (Shard shard : pending) {
+				Path directory = Paths.get(shard.directory);
+				Files.createDirectories(directory);
+				List<String> command = new ArrayList<>();
+				command.add(java);
+				command.addAll(jvmOptions);
+				command.add("-cp");
+				command.add(classPath);
+				command.add(mainClass);
+				command.addAll(shard.toArguments());
+				processes.add(new ProcessBuilder(command)
+						.redirectErrorStream(true)
+						.redirectOutput(directory.resolve(LOG).toFile())
+						.start());
+			}
+			List<String> failures = new ArrayList<>();
+			for (int i = 0; i < processes.size(); i++) {
+				int exit = processes.get(i).waitFor();
+				Shard shard = pending.get(i);
+				if (exit != 0 || !shard.isComplete()) {
+					failures.add("shard " + shard.index + " (exit " + exit
+							+ ", see " + Paths.get(shard.directory, LOG) + ')');
+				}
+			}
+			if (!failures.isEmpty()) {
+				throw new IOException("Workers failed: " + failures);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException(
+					"Interrupted while waiting for workers");
+		} finally {
+			for (Process process : processes) {
+				if (process.isAlive()) {
+					process.destroy();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Merges the outputs of every shard, taking from each only the pairs
+	 * assigned to it
+	 *
+	 * @throws IOException if an assigned output is missing or cannot be read
+	 */
+	@NotNull
+	static List<String> merge(
+			@NotNull List<Shard> all,
+			@NotNull List<String> keys,
+			@NotNull String rootPath
+	) throws IOException {
+		List<String> pairKeys = new ArrayList<>();
+		for (int[] pair : pairs(keys.size())) {
+			pairKeys.add(ColumnPairScheduler.pairKey(keys.get(pair[0]),
+					keys.get(pair[1])));
+		}
+
+		Map<String, double[]> totals = new LinkedHashMap<>();
+		for (String key : pairKeys) {
+			totals.put(key, new double[2]);
+		}
+		List<Set<String>> assigned = new ArrayList<>(all.size());
+		for (Shard shard : all) {
+			Set<String> shardKeys = shard.pairKeys();
+			assigned.add(shardKeys);
+			Path path = Paths.get(shard.directory, DISTANCES);
+			for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+				String[] fields = line.split("\t", -1);
+				if (!shardKeys.contains(fields[0])) {
+					continue;
+				}
+				double[] total = totals.get(fields[0]);
+				total[0] += Double.parseDouble(fields[1]);
+				total[1] += Long.parseLong(fields[2]);
+			}
+		}
+
+		for (String key : pairKeys) {
+			List<Path> csv = new ArrayList<>();
+			List<Path> json = new ArrayList<>();
+			for (int s = 0; s < all.size(); s++) {
+				if (!assigned.get(s).contains(key)) {
+					continue;
+				}
+				Path directory = Paths.get(all.get(s).directory);
+				Path path = directory.resolve(key + ".csv");
+				if (!Files.exists(path)) {
+					throw new IOException("Shard " + s + " has no output for "
+							+ key + " in " + directory);
+				}
+				csv.add(path);
+				json.add(directory.resolve(key + ".json"));
+			}
+			AtomicFiles.concatenate(
+					Paths.get(rootPath + "alignments_" + key + ".csv"),
+					writer -> writer.write(AlignmentFormat.csvHeader(key)),
+					csv);
+			AtomicFiles.concatenate(
+					Paths.get(rootPath + "alignments_" + key + ".json"),
+					writer -> {}, json);
+		}
+
+		int k = keys.size();
+		double[][] matrix = new double[k][k];
+		int p = 0;
+		for (int[] pair : pairs(k)) {
+			double[] total = totals.get(pairKeys.get(p++));
+			double mean = total[1] == 0 ? 0.0 : total[0] / total[1];
+			matrix[pair[0]][pair[1]] = mean;
+			matrix[pair[1]][pair[0]] = mean;
+		}
+		AtomicFiles.write(Paths.get(rootPath + DISTANCES), writer -> {
+			for (String key : keys) {
+				writer.write('\t');
+				writer.write(key);
+			}
+			writer.write('\n');
+			for (int i = 0; i < k; i++) {
+				writer.write(keys.get(i));
+				for (int j = 0; j < k; j++) {
+					writer.write('\t');
+					writer.write(Double.toString(matrix[i][j]));
+				}
+				writer.write('\n');
+			}
+		});
+		return pairKeys;
+	}
+
+	private static String shardDirectory(String rootPath, int index) {
+		return rootPath + SHARDS + File.separator + String.format("%03d", index);
+	}
+
+	private static List<int[]> pairs(int k) {
+		List<int[]> pairs = new ArrayList<>();
+		for (int i = 0; i < k; i++) {
+			for (int j = i + 1; j < k; j++) {
+				pairs.add(new int[]{i, j});
+			}
+		}
+		return pairs;
+	}
+
+	/**
+	 * The share of a run assigned to one worker, which is passed to the
+	 * worker as command-line arguments
+	 */
+	public static final class Shard {
+
+		private static final int ARGUMENTS = 9;
+
+		private final String table;
+		private final Mode mode;
+		private final int index;
+		private final int count;
+		private final List<String> keys;
+		private final String directory;
+		private final boolean includeTables;
+		private final String configuration;
+
+		private Shard(String table, Mode mode, int index, int count,
+				List<String> keys, String directory, boolean includeTables,
+				String configuration) {
+			this.table = table;
+			this.mode = mode;
+			this.index = index;
+			this.count = count;
+			this.keys = keys;
+			this.directory = directory;
+			this.includeTables = includeTables;
+			this.configuration = configuration;
+		}
+
+		/**
+		 * @param args the arguments of a worker process, beginning with
+		 *        {@link #WORKER}
+		 * @throws IllegalArgumentException if the arguments are not those of
+		 * 		a worker
+		 */
+		@NotNull
+		public static Shard parse(@NotNull String[] args) {
+			if (args.length != ARGUMENTS || !WORKER.equals(args[0])) {
+				throw new IllegalArgumentException("Expected worker arguments "
+						+ WORKER + " <table> <mode> <index> <count> <keys> "
+						+ "<directory> <tables> <configuration> but found "
+						+ Arrays.toString(args));
+			}
+			return new Shard(args[1], Mode.valueOf(args[2]),
+					Integer.parseInt(args[3]), Integer.parseInt(args[4]),
+					Arrays.asList(args[5].split(",", -1)), args[6],
+					Boolean.parseBoolean(args[7]), args[8]);
+		}
+
+		/**
+		 * @return true iff the arguments are those of a worker process
+		 */
+		public static boolean isWorker(@NotNull String[] args) {
+			return args.length > 0 && WORKER.equals(args[0]);
+		}
+
+		@NotNull
+		public List<String> toArguments() {
+			return Arrays.asList(WORKER, table, mode.name(),
+					String.valueOf(index), String.valueOf(count),
+					String.join(",", keys), directory,
+					String.valueOf(includeTables), configuration);
+		}
+
+		@NotNull
+		public String getTable() {
+			return table;
+		}
+
+		@NotNull
+		public List<String> getKeys() {
+			return keys;
+		}
+
+		@Override
+		public String toString() {
+			return "Shard{" + specification() + '}';
+		}
+
+		private String specification() {
+			return String.join("\t", toArguments());
+		}
+
+		/**
+		 * @return the content of the completion marker: the specification,
+		 * 		which includes the configuration checksum, and the version of
+		 * 		the table, so that a changed table or configuration is realigned
+		 */
+		private String marker() {
+			File file = new File(table);
+			return specification() + '\t' + file.length() + '\t'
+					+ file.lastModified();
+		}
+
+		boolean isComplete() throws IOException {
+			Path done = Paths.get(directory, DONE);
+			return Files.exists(done) && new String(Files.readAllBytes(done),
+					StandardCharsets.UTF_8).equals(marker());
+		}
+
+		/**
+		 * @return the share of the table's rows read by this shard
+		 */
+		private int share() {
+			return mode == Mode.ROWS ? index : 0;
+		}
+
+		/**
+		 * @return the number of shares into which this shard's table is
+		 * 		divided
+		 */
+		private int shares() {
+			return mode == Mode.ROWS ? count : 1;
+		}
+
+		/**
+		 * @return the keys of the pairs aligned by this shard
+		 */
+		Set<String> pairKeys() {
+			Set<String> pairKeys = new LinkedHashSet<>();
+			for (int[] pair : pairs()) {
+				pairKeys.add(ColumnPairScheduler.pairKey(keys.get(pair[0]),
+						keys.get(pair[1])));
+			}
+			return pairKeys;
+		}
+
+		/**
+		 * @return the pairs of column indices aligned by this shard
+		 */
+		private List<int[]> pairs() {
+			List<int[]> all = ShardedAlignmentRun.pairs(keys.size());
+			if (mode == Mode.ROWS) {
+				return all;
+			}
+			List<int[]> pairs = new ArrayList<>();
+			for (int p = index; p < all.size(); p += count) {
+				pairs.add(all.get(p));
+			}
+			return pairs;
+		}
+	}
+}
@@ -0,0 +1,117 @@
+package org.didelphis.genetics.alignment.pipeline;
+
+import lombok.experimental.UtilityClass;
+import org.didelphis.genetics.alignment.Alignment;
+import org.didelphis.genetics.alignment.common.StringTransformer;
+import org.didelphis.genetics.alignment.common.Utilities;
+import org.didelphis.genetics.alignment.io.TsvReader;
+import org.didelphis.language.parsing.ParseException;
+import org.didelphis.language.phonetic.SequenceFactory;
+import org.didelphis.language.phonetic.model.FeatureModel;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.didelphis.utilities.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Class {@code StandardAlignments}
+ *
+ * Writes the gold-standard alignment of every row of a TSV file, one row at a
+ * time, as {@link StreamingAlignmentPipeline} does for the files it streams.
+ * Each row is aligned across all of its columns as written in the file, with
+ * its leading boundary column removed.
+ *
+ * The output is kept with a stamp recording the rules from which it was
+ * written, and is rewritten only when it is missing, older than the file, or
+ * was written with other rules.
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+@UtilityClass
+public final class StandardAlignments {
+
+	private final Logger LOGGER = Logger.create(StandardAlignments.class);
+
+	private final String STAMP = ".rules";
+
+	/**
+	 * @param input the TSV file, whose first row names its columns
+	 * @param target the file to which the alignments are written
+	 * @param cellTransformer applied to every cell as it is read
+	 * @param standardTransformer applied to every cell before it is tokenized
+	 * @param rules describes the transformers and the feature model, so that
+	 * 		output written under other settings is not reused
+	 * @return true if the file was written, false if it was current
+	 * @throws IOException if reading or writing fails, or a row has fewer
+	 * 		cells than the header
+	 */
+	public <T> boolean writeIfStale(
+			@NotNull Path input,
+			@NotNull Path target,
+			@NotNull StringTransformer cellTransformer,
+			@NotNull Function<String, String> standardTransformer,
+			@NotNull String rules,
+			@NotNull SequenceFactory<T> factory
+	) throws IOException {
+		Path stamp = target.resolveSibling(target.getFileName() + STAMP);
+		String checksum = AtomicFiles.checksum(rules);
+		if (isCurrent(input, target, stamp, checksum)) {
+			LOGGER.info("Gold-standard alignments {} are current", target);
+			return false;
+		}
+		// a stamp must never outlive the output it describes
+		Files.deleteIfExists(stamp);
+		FeatureModel<T> model = factory.getFeatureMapping().getFeatureModel();
+		try (TsvReader reader = new TsvReader(new InputStreamReader(
+				Files.newInputStream(input), StandardCharsets.UTF_8))) {
+			if (!reader.next()) {
+				throw new ParseException("Unable to read table, file was empty",
+						input.toString());
+			}
+			int columns = reader.row().size();
+			AtomicFiles.write(target, writer -> {
+				while (reader.next()) {
+					String[] cells = reader.row().toArray();
+					if (cells.length < columns) {
+						throw new ParseException("Row " + reader.row().getIndex()
+								+ " has " + cells.length + " cells but the header"
+								+ " has " + columns, String.join("\t", cells));
+					}
+					List<Sequence<T>> all = new ArrayList<>(columns);
+					for (int i = 0; i < columns; i++) {
+						all.add(Utilities.toPhoneticSequence(
+								cellTransformer.apply(cells[i]), factory,
+								standardTransformer));
+					}
+					Alignment<T> alignment = new Alignment<>(all, model);
+					alignment.removeColumn(0);
+					writer.write(alignment.toString());
+					writer.write('\n');
+				}
+			});
+		}
+		AtomicFiles.write(stamp, writer -> writer.write(checksum));
+		return true;
+	}
+
+	private boolean isCurrent(Path input, Path target, Path stamp,
+			String checksum) throws IOException {
+		if (!Files.exists(target) || !Files.exists(stamp)) {
+			return false;
+		}
+		if (Files.getLastModifiedTime(target).toInstant()
+				.isBefore(Files.getLastModifiedTime(input).toInstant())) {
+			return false;
+		}
+		return checksum.equals(new String(Files.readAllBytes(stamp),
+				StandardCharsets.UTF_8));
+	}
+}
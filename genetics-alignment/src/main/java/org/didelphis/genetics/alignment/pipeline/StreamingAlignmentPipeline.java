@@ -0,0 +1,578 @@
+package org.didelphis.genetics.alignment.pipeline;
+
+import org.didelphis.genetics.alignment.Alignment;
+import org.didelphis.genetics.alignment.AlignmentResult;
+import org.didelphis.genetics.alignment.algorithm.AlignmentAlgorithm;
+import org.didelphis.genetics.alignment.algorithm.ColumnPairScheduler;
+import org.didelphis.genetics.alignment.algorithm.NeedlemanWunschAlgorithm;
+import org.didelphis.genetics.alignment.algorithm.PreparedSequence;
+import org.didelphis.genetics.alignment.common.PhoneticTokenizer;
+import org.didelphis.genetics.alignment.common.Utilities;
+import org.didelphis.genetics.alignment.io.AlignmentFormat;
+import org.didelphis.genetics.alignment.io.AlignmentWriter;
+import org.didelphis.genetics.alignment.io.ParallelGzipOutputStream;
+import org.didelphis.genetics.alignment.io.TsvReader;
+import org.didelphis.language.parsing.ParseException;
+import org.didelphis.language.phonetic.SequenceFactory;
+import org.didelphis.language.phonetic.model.FeatureModel;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.didelphis.utilities.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Class {@code StreamingAlignmentPipeline}
+ *
+ * Aligns a TSV file one row at a time, in constant memory. The file is read
+ * line by line on the calling thread, rows are tokenized, aligned and formatted
+ * by a pool of workers, and a single writer appends the formatted bytes of each
+ * row to the output files in input order. Stages are connected by bounded queues, and at
+ * most {@code capacity} rows are in flight between reading and writing, so
+ * memory use depends on the capacity and not on the size of the input.
+ *
+ * For each pair of selected columns {@code A}, {@code B} (in the order given)
+ * the pipeline writes {@code alignments_A-B.csv}, with the same layout as
+ * {@code Main}, and {@code alignments_A-B.json}, containing one JSON record per
+ * line. DP tables are only included in the JSON if requested, since they
+ * dominate its size. If a standard transformer is provided, every row is also
+ * written to {@code correct} as a gold-standard alignment of all columns.
+ * The alignment outputs may be gzip-compressed, in which case compression
+ * runs on the shared pool of {@link ParallelGzipOutputStream} rather than on
+ * the writer thread.
+ *
+ * When the algorithm is a {@link NeedlemanWunschAlgorithm}, each cell of a
+ * row is prepared once and shared by all of the pairs it takes part in. An
+ * algorithm which is not {@linkplain AlignmentAlgorithm#isThreadSafe()
+ * thread-safe} is applied by one worker at a time; the workers still tokenize
+ * and format in parallel.
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+public final class StreamingAlignmentPipeline<T> {
+
+	private static final Logger LOGGER =
+			Logger.create(StreamingAlignmentPipeline.class);
+
+	private static final long POLL_MILLIS = 100;
+
+	private final AlignmentAlgorithm<T> algorithm;
+	private final NeedlemanWunschAlgorithm<T> preparing;
+	private final SequenceFactory<T> factory;
+	private final PhoneticTokenizer<T> tokenizer;
+	private final Function<String, String> cellTransformer;
+	private final Function<String, String> standardTransformer;
+	private final int workers;
+	private final int capacity;
+	private final boolean includeTables;
+	private final boolean compress;
+
+	/**
+	 * Creates a pipeline with one worker per processor, a capacity of 1024
+	 * rows, and no DP tables in the output
+	 */
+	public StreamingAlignmentPipeline(
+			@NotNull AlignmentAlgorithm<T> algorithm,
+			@NotNull Function<String, String> cellTransformer,
+			@NotNull Function<String, String> tokenTransformer,
+			@Nullable Function<String, String> standardTransformer
+	) {
+		this(algorithm, cellTransformer, tokenTransformer, standardTransformer,
+				Runtime.getRuntime().availableProcessors(), 1024, false, false);
+	}
+
+	/**
+	 * @param algorithm the algorithm used to align each pair
+	 * @param cellTransformer applied to every cell as it is read, as with
+	 *        {@link Utilities#loadTable(String, Function)}
+	 * @param tokenTransformer applied to each selected cell before it is
+	 * 		split into segments
+	 * @param standardTransformer if not null, applied to every cell of a row
+	 * 		to produce its gold-standard alignment
+	 * @param workers the number of tokenizing and aligning threads
+	 * @param capacity the maximum number of rows in flight
+	 * @param includeTables whether to write DP tables into the JSON output
+	 * @param compress whether to gzip the CSV and JSON outputs, which are then
+	 * 		named {@code .csv.gz} and {@code .json.gz}
+	 */
+	public StreamingAlignmentPipeline(
+			@NotNull AlignmentAlgorithm<T> algorithm,
+			@NotNull Function<String, String> cellTransformer,
+			@NotNull Function<String, String> tokenTransformer,
+			@Nullable Function<String, String> standardTransformer,
+			int workers,
+			int capacity,
+			boolean includeTables,
+			boolean compress
+	) {
+		if (workers < 1 || capacity < 1) {
+			throw new IllegalArgumentException("Workers and capacity must be "
+					+ "positive: " + workers + ", " + capacity);
+		}
+		this.algorithm = algorithm;
+		this.cellTransformer = cellTransformer;
+		this.standardTransformer = standardTransformer;
+		this.workers = workers;
+		this.capacity = capacity;
+		this.includeTables = includeTables;
+		this.compress = compress;
+		factory = algorithm.getFactory();
+		tokenizer = new PhoneticTokenizer<>(factory, tokenTransformer);
+		preparing = algorithm instanceof NeedlemanWunschAlgorithm
+				? (NeedlemanWunschAlgorithm<T>) algorithm
+				: null;
+	}
+
+	/**
+	 * Aligns every row of a file
+	 *
+	 * @param input a TSV file whose first line names the columns
+	 * @param keys the columns to align, pairwise
+	 * @param rootPath the prefix of every output file
+	 * @return the number of rows processed
+	 * @throws IOException if reading or writing fails
+	 */
+	public long run(
+			@NotNull Path input,
+			@NotNull List<String> keys,
+			@NotNull String rootPath
+	) throws IOException {
+		try (TsvReader reader = new TsvReader(new InputStreamReader(
+				Files.newInputStream(input), StandardCharsets.UTF_8))) {
+			if (!reader.next()) {
+				throw new ParseException("Unable to read table, file was empty",
+						input.toString());
+			}
+			List<String> columns = reader.row().toList();
+			Layout layout = new Layout(columns, keys);
+			try (Output output = new Output(rootPath, layout)) {
+				return run(reader, layout, output);
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "StreamingAlignmentPipeline{workers=" + workers + ", capacity=" +
+				capacity + ", includeTables=" + includeTables + '}';
+	}
+
+	private long run(TsvReader reader, Layout layout, Output output)
+			throws IOException {
+		BlockingQueue<Row> rows = new ArrayBlockingQueue<>(capacity + workers);
+		BlockingQueue<Record> records = new ArrayBlockingQueue<>(capacity + 1);
+		Semaphore window = new Semaphore(capacity);
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+
+		ExecutorService executor = Executors.newFixedThreadPool(workers + 1);
+		try {
+			List<Future<?>> tasks = new ArrayList<>();
+			for (int i = 0; i < workers; i++) {
+				tasks.add(executor.submit(() -> work(layout, rows, records,
+						failure)));
+			}
+			Future<?> writer = executor.submit(() -> write(output, records,
+					window, failure));
+
+			long count = 0;
+			while (failure.get() == null && reader.next()) {
+				acquire(window, failure);
+				put(rows, new Row(count++, reader.row().toArray()));
+			}
+			for (int i = 0; i < workers; i++) {
+				put(rows, Row.END);
+			}
+			for (Future<?> task : tasks) {
+				await(task);
+			}
+			put(records, Record.END);
+			await(writer);
+			rethrow(failure.get());
+			LOGGER.info("Aligned {} rows; cell cache hit ratio {}, segment "
+							+ "cache hit ratio {}", count,
+					PhoneticTokenizer.formatRatio(tokenizer.getCellHitRatio()),
+					PhoneticTokenizer.formatRatio(
+							tokenizer.getSegmentHitRatio()));
+			return count;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private void work(Layout layout, BlockingQueue<Row> rows,
+			BlockingQueue<Record> records, AtomicReference<Throwable> failure) {
+		try {
+			Encoder encoder = new Encoder();
+			Row row;
+			while ((row = rows.take()) != Row.END) {
+				if (failure.get() == null) {
+					records.put(process(layout, row, encoder));
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (IOException e) {
+			failure.compareAndSet(null, e);
+		} catch (RuntimeException | Error e) {
+			failure.compareAndSet(null, e);
+		}
+	}
+
+	private Record process(Layout layout, Row row, Encoder encoder)
+			throws IOException {
+		String[] cells = row.cells;
+		if (cells.length < layout.columns.size()) {
+			throw new ParseException("Row " + (row.index + 1) + " has "
+					+ cells.length + " cells but the header has "
+					+ layout.columns.size(), String.join("\t", cells));
+		}
+		for (int i = 0; i < cells.length; i++) {
+			cells[i] = cellTransformer.apply(cells[i]);
+		}
+
+		int[] selected = layout.selected;
+		List<Sequence<T>> sequences = new ArrayList<>(selected.length);
+		for (int index : selected) {
+			sequences.add(tokenizer.toSequence(cells[index]));
+		}
+		List<PreparedSequence<T>> prepared = null;
+		if (preparing != null) {
+			prepared = new ArrayList<>(selected.length);
+			for (Sequence<T> sequence : sequences) {
+				prepared.add(preparing.prepare(sequence));
+			}
+		}
+
+		int pairs = layout.pairKeys.size();
+		byte[][] csv = new byte[pairs][];
+		byte[][] json = new byte[pairs][];
+		int p = 0;
+		for (int i = 0; i < selected.length; i++) {
+			for (int j = i + 1; j < selected.length; j++) {
+				AlignmentResult<T> result = prepared == null
+						? align(sequences.get(i), sequences.get(j))
+						: preparing.apply(prepared.get(i), prepared.get(j));
+				encoder.encode(result);
+				csv[p] = encoder.csv();
+				json[p] = encoder.json();
+				p++;
+			}
+		}
+
+		byte[] standard = null;
+		if (standardTransformer != null) {
+			FeatureModel<T> model = factory.getFeatureMapping().getFeatureModel();
+			List<Sequence<T>> all = new ArrayList<>(layout.columns.size());
+			for (int i = 0; i < layout.columns.size(); i++) {
+				all.add(Utilities.toPhoneticSequence(cells[i], factory,
+						standardTransformer));
+			}
+			Alignment<T> alignment = new Alignment<>(all, model);
+			alignment.removeColumn(0);
+			standard = (alignment.toString() + '\n')
+					.getBytes(StandardCharsets.UTF_8);
+		}
+		return new Record(row.index, csv, json, standard);
+	}
+
+	private AlignmentResult<T> align(Sequence<T> left, Sequence<T> right) {
+		List<Sequence<T>> pair = Arrays.asList(left, right);
+		if (algorithm.isThreadSafe()) {
+			return algorithm.apply(pair);
+		}
+		synchronized (algorithm) {
+			return algorithm.apply(pair);
+		}
+	}
+
+	private void write(Output output, BlockingQueue<Record> records,
+			Semaphore window, AtomicReference<Throwable> failure) {
+		Map<Long, Record> pending = new HashMap<>();
+		long next = 0;
+		try {
+			Record record;
+			while ((record = records.take()) != Record.END) {
+				pending.put(record.index, record);
+				while ((record = pending.remove(next)) != null) {
+					output.write(record);
+					window.release();
+					next++;
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (IOException e) {
+			failure.compareAndSet(null, e);
+		} catch (RuntimeException | Error e) {
+			failure.compareAndSet(null, e);
+		}
+		if (failure.get() != null) {
+			// unblock the reader, which stops at its next row
+			window.release(capacity);
+		}
+	}
+
+	private static void acquire(Semaphore window,
+			AtomicReference<Throwable> failure) throws IOException {
+		try {
+			while (!window.tryAcquire(POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+				if (failure.get() != null) {
+					return;
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted reading rows");
+		}
+	}
+
+	private static <E> void put(BlockingQueue<E> queue, E element)
+			throws IOException {
+		try {
+			queue.put(element);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted queueing rows");
+		}
+	}
+
+	private static void await(Future<?> future) throws IOException {
+		try {
+			future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted awaiting workers");
+		} catch (ExecutionException e) {
+			rethrow(e.getCause());
+		}
+	}
+
+	private static void rethrow(@Nullable Throwable throwable)
+			throws IOException {
+		if (throwable == null) {
+			return;
+		}
+		if (throwable instanceof IOException) {
+			throw (IOException) throwable;
+		}
+		if (throwable instanceof UncheckedIOException) {
+			throw ((UncheckedIOException) throwable).getCause();
+		}
+		if (throwable instanceof RuntimeException) {
+			throw (RuntimeException) throwable;
+		}
+		if (throwable instanceof Error) {
+			throw (Error) throwable;
+		}
+		throw new IllegalStateException(throwable);
+	}
+
+	/**
+	 * The selected columns of a file and the pairs formed from them
+	 */
+	private static final class Layout {
+
+		private final List<String> columns;
+		private final int[] selected;
+		private final List<String> pairKeys;
+
+		private Layout(List<String> columns, List<String> keys) {
+			this.columns = columns;
+			selected = new int[keys.size()];
+			for (int i = 0; i < keys.size(); i++) {
+				selected[i] = columns.indexOf(keys.get(i));
+				if (selected[i] < 0) {
+					throw new IllegalArgumentException("No column named "
+							+ keys.get(i) + " in " + columns);
+				}
+			}
+			pairKeys = new ArrayList<>();
+			for (int i = 0; i < keys.size(); i++) {
+				for (int j = i + 1; j < keys.size(); j++) {
+					pairKeys.add(ColumnPairScheduler.pairKey(keys.get(i),
+							keys.get(j)));
+				}
+			}
+		}
+	}
+
+	private final class Output implements AutoCloseable {
+
+		private final List<OutputStream> files = new ArrayList<>();
+		private final List<OutputStream> csv = new ArrayList<>();
+		private final List<OutputStream> json = new ArrayList<>();
+		private final OutputStream standards;
+
+		private Output(String rootPath, Layout layout) throws IOException {
+			Path root = Paths.get(rootPath + "alignments");
+			if (root.getParent() != null) {
+				Files.createDirectories(root.getParent());
+			}
+			try {
+				for (String key : layout.pairKeys) {
+					String name = rootPath + "alignments_" + key;
+					OutputStream out = openStream(name + ".csv");
+					files.add(out);
+					csv.add(out);
+					out.write(AlignmentFormat.csvHeader(key)
+							.getBytes(StandardCharsets.UTF_8));
+					out = openStream(name + ".json");
+					files.add(out);
+					json.add(out);
+				}
+				if (standardTransformer == null) {
+					standards = null;
+				} else {
+					standards = new BufferedOutputStream(Channels
+							.newOutputStream(open(Paths.get(rootPath
+									+ "correct"))), 1 << 16);
+					files.add(standards);
+				}
+			} catch (IOException e) {
+				close();
+				throw e;
+			}
+		}
+
+		private void write(Record record) throws IOException {
+			for (int p = 0; p < record.csv.length; p++) {
+				csv.get(p).write(record.csv[p]);
+				json.get(p).write(record.json[p]);
+			}
+			if (record.standard != null) {
+				standards.write(record.standard);
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			IOException exception = null;
+			for (OutputStream file : files) {
+				try {
+					file.close();
+				} catch (IOException e) {
+					LOGGER.error("Failed to close output", e);
+					exception = exception == null ? e : exception;
+				}
+			}
+			if (exception != null) {
+				throw exception;
+			}
+		}
+
+		/**
+		 * Opens an output file, through a parallel gzip stream if the
+		 * output is compressed
+		 */
+		private OutputStream openStream(String path) throws IOException {
+			if (compress) {
+				return new ParallelGzipOutputStream(Channels.newOutputStream(
+						open(Paths.get(path + ".gz"))));
+			}
+			return new BufferedOutputStream(
+					Channels.newOutputStream(open(Paths.get(path))), 1 << 16);
+		}
+
+		private FileChannel open(Path path) throws IOException {
+			return FileChannel.open(path, StandardOpenOption.CREATE,
+					StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		}
+	}
+
+	private static final class Row {
+
+		private static final Row END = new Row(-1, new String[0]);
+
+		private final long index;
+		private final String[] cells;
+
+		private Row(long index, String[] cells) {
+			this.index = index;
+			this.cells = cells;
+		}
+	}
+
+	/**
+	 * Formats results on a worker with an {@link AlignmentWriter} over
+	 * in-memory targets, which are reused for every result
+	 */
+	private final class Encoder {
+
+		private final StringWriter csv = new StringWriter();
+		private final ByteArrayOutputStream json = new ByteArrayOutputStream();
+		private final AlignmentWriter writer;
+
+		private Encoder() throws IOException {
+			writer = new AlignmentWriter(csv, json, includeTables);
+		}
+
+		private void encode(AlignmentResult<T> result) throws IOException {
+			writer.write(result);
+			writer.flush();
+		}
+
+		private byte[] csv() {
+			byte[] bytes = csv.toString().getBytes(StandardCharsets.UTF_8);
+			csv.getBuffer().setLength(0);
+			return bytes;
+		}
+
+		private byte[] json() {
+			byte[] bytes = json.toByteArray();
+			json.reset();
+			return bytes;
+		}
+	}
+
+	/**
+	 * The formatted output of a row: a CSV line and a JSON record for each
+	 * pair, and the gold-standard alignment if there is one
+	 */
+	private static final class Record {
+
+		private static final Record END = new Record(-1, null, null, null);
+
+		private final long index;
+		private final byte[][] csv;
+		private final byte[][] json;
+		private final byte[] standard;
+
+		private Record(long index, byte[][] csv, byte[][] json,
+				byte[] standard) {
+			this.index = index;
+			this.csv = csv;
+			this.json = json;
+			this.standard = standard;
+		}
+	}
+}
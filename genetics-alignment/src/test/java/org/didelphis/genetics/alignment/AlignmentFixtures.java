@@ -0,0 +1,65 @@
+package org.didelphis.genetics.alignment;
+
+import org.didelphis.genetics.alignment.algorithm.BaseOptimization;
+import org.didelphis.genetics.alignment.algorithm.NeedlemanWunschAlgorithm;
+import org.didelphis.genetics.alignment.operators.Comparator;
+import org.didelphis.genetics.alignment.operators.gap.ConstantGapPenalty;
+import org.didelphis.genetics.alignment.operators.gap.GapPenalty;
+import org.didelphis.io.ClassPathFileHandler;
+import org.didelphis.language.parsing.FormatterMode;
+import org.didelphis.language.phonetic.SequenceFactory;
+import org.didelphis.language.phonetic.features.IntegerFeature;
+import org.didelphis.language.phonetic.model.FeatureModelLoader;
+
+/**
+ * Class {@code AlignmentFixtures}
+ *
+ * The model, factory and aligner shared by tests which need a working
+ * algorithm but not a particular cost model: segments cost nothing if their
+ * symbols are equal and one otherwise, and each gap segment costs 1.5.
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+public final class AlignmentFixtures {
+
+	public static final String MODEL = "AT_hybrid_reduced.model";
+
+	public static final String GAP = "░";
+
+	public static final Comparator<Integer> IDENTITY = (l, r, i, j) ->
+			l.get(i).getSymbol().equals(r.get(j).getSymbol()) ? 0.0 : 1.0;
+
+	private AlignmentFixtures() {
+	}
+
+	/**
+	 * @return a loader for {@link #MODEL}, read from the classpath
+	 */
+	public static FeatureModelLoader<Integer> loader() {
+		return new FeatureModelLoader<>(IntegerFeature.INSTANCE,
+				ClassPathFileHandler.INSTANCE, MODEL);
+	}
+
+	/**
+	 * @return a new factory over {@link #MODEL}
+	 */
+	public static SequenceFactory<Integer> factory() {
+		return new SequenceFactory<>(loader().getFeatureMapping(),
+				FormatterMode.INTELLIGENT);
+	}
+
+	public static GapPenalty<Integer> gapPenalty(
+			SequenceFactory<Integer> factory) {
+		return new ConstantGapPenalty<>(factory.toSequence(GAP), 1.5);
+	}
+
+	/**
+	 * @return a minimizing Needleman-Wunsch algorithm with {@link #IDENTITY}
+	 * 		and {@link #gapPenalty}
+	 */
+	public static NeedlemanWunschAlgorithm<Integer> algorithm(
+			SequenceFactory<Integer> factory) {
+		return new NeedlemanWunschAlgorithm<>(IDENTITY, BaseOptimization.MIN,
+				gapPenalty(factory), factory);
+	}
+}
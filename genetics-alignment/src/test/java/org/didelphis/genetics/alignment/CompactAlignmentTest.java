@@ -0,0 +1,105 @@
+package org.didelphis.genetics.alignment;
+
+import org.didelphis.genetics.alignment.common.SegmentInventory;
+import org.didelphis.language.phonetic.SequenceFactory;
+import org.didelphis.language.phonetic.segments.Segment;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class {@code CompactAlignmentTest}
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+class CompactAlignmentTest {
+
+	private static SequenceFactory<Integer> factory;
+	private static Segment<Integer> gap;
+
+	@BeforeAll
+	static void init() {
+		factory = AlignmentFixtures.factory();
+		gap = factory.toSegment("░");
+	}
+
+	@Test
+	void testPrettyOutputMatchesAlignment() {
+		List<Alignment<Integer>> alignments = new ArrayList<>();
+		alignments.add(alignment("#tapa", "#tap░"));
+		// a combining mark does not count towards the width of a column
+		alignments.add(alignment("#p̪ap̪a", "#kombe"));
+		alignments.add(alignment("#kp░a", "#g░ba"));
+		alignments.add(new Alignment<>(
+				factory.getFeatureMapping().getFeatureModel()));
+		SegmentInventory<Integer> inventory = new SegmentInventory<>();
+		for (Alignment<Integer> alignment : alignments) {
+			CompactAlignment<Integer> compact =
+					CompactAlignment.encode(alignment, inventory, gap);
+			List<String> expected = new ArrayList<>();
+			for (CharSequence row : alignment.buildPrettyAlignments()) {
+				expected.add(row.toString());
+			}
+			assertEquals(expected, compact.buildPrettyAlignments());
+			assertEquals(alignment.getPrettyTable(), compact.getPrettyTable());
+			assertEquals(alignment.toString(), compact.toString());
+			assertEquals(alignment.toString(),
+					compact.toAlignment().toString());
+		}
+	}
+
+	@Test
+	void testEqualsAndHashCode() {
+		SegmentInventory<Integer> inventory = new SegmentInventory<>();
+		Alignment<Integer> alignment = alignment("#tapa", "#tap░");
+		CompactAlignment<Integer> a =
+				CompactAlignment.encode(alignment, inventory, gap);
+		CompactAlignment<Integer> b =
+				CompactAlignment.encode(alignment, inventory, gap);
+		// equal whether or not either hash has been computed
+		assertEquals(a, b);
+		assertEquals(a.hashCode(), b.hashCode());
+		assertEquals(b, CompactAlignment.encode(alignment, inventory, gap));
+		assertEquals(a, CompactAlignment.of(inventory, a.getFeatureModel(),
+				a.getGap(), a.rows(), a.columns(), a.getIds()));
+
+		assertNotEquals(a, CompactAlignment.encode(
+				alignment("#tapa", "#tapa"), inventory, gap));
+		assertNotEquals(a, CompactAlignment.encode(alignment, inventory, null));
+		assertNotEquals(a, CompactAlignment.encode(alignment,
+				new SegmentInventory<>(), gap));
+		// the same ids in another shape
+		assertNotEquals(a, CompactAlignment.of(inventory, a.getFeatureModel(),
+				a.getGap(), a.columns(), a.rows(), a.getIds()));
+		assertNotEquals(a, null);
+		assertNotEquals(a, alignment);
+	}
+
+	@Test
+	void testMatches() {
+		SegmentInventory<Integer> inventory = new SegmentInventory<>();
+		CompactAlignment<Integer> compact = CompactAlignment.encode(
+				alignment("#tapa", "#tap░"), inventory, null);
+		int size = inventory.size();
+		assertTrue(compact.matches(alignment("#tapa", "#tap░")));
+		assertFalse(compact.matches(alignment("#tapa", "#░tap")));
+		assertFalse(compact.matches(alignment("#tap", "#tap")));
+		// segments which were never interned are not added
+		assertFalse(compact.matches(alignment("#kovo", "#kov░")));
+		assertEquals(size, inventory.size());
+		assertFalse(compact.matches(new Alignment<>(
+				factory.getFeatureMapping().getFeatureModel())));
+	}
+
+	private static Alignment<Integer> alignment(String left, String right) {
+		return new Alignment<>(factory.toSequence(left),
+				factory.toSequence(right));
+	}
+}
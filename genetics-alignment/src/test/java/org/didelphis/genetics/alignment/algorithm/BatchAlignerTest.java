@@ -0,0 +1,281 @@
+package org.didelphis.genetics.alignment.algorithm;
+
+import org.didelphis.genetics.alignment.AlignmentFixtures;
+import org.didelphis.genetics.alignment.AlignmentResult;
+import org.didelphis.genetics.alignment.common.SegmentClassifier;
+import org.didelphis.genetics.alignment.common.SegmentInventory;
+import org.didelphis.genetics.alignment.operators.Comparator;
+import org.didelphis.genetics.alignment.operators.comparators.ContextComparator;
+import org.didelphis.genetics.alignment.operators.comparators.ContextRule;
+import org.didelphis.genetics.alignment.operators.comparators.FeatureDifferenceTensor;
+import org.didelphis.genetics.alignment.operators.comparators.LinearWeightComparator;
+import org.didelphis.genetics.alignment.operators.gap.ConstantGapPenalty;
+import org.didelphis.genetics.alignment.operators.gap.GapPenalty;
+import org.didelphis.language.phonetic.SequenceFactory;
+import org.didelphis.language.phonetic.features.FeatureType;
+import org.didelphis.language.phonetic.features.IntegerFeature;
+import org.didelphis.language.phonetic.segments.Segment;
+import org.didelphis.language.phonetic.sequences.BasicSequence;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class {@code BatchAlignerTest}
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+class BatchAlignerTest {
+
+	private static final FeatureType<Integer> TYPE = IntegerFeature.INSTANCE;
+	private static final int PAIRS = 400;
+
+	private static SequenceFactory<Integer> factory;
+	private static SegmentInventory<Integer> inventory;
+	private static GapPenalty<Integer> penalty;
+	private static List<String> symbols;
+	private static List<Double> weights;
+	private static List<List<Sequence<Integer>>> inputs;
+
+	@BeforeAll
+	static void init() {
+		factory = AlignmentFixtures.factory();
+		inventory = SegmentInventory.of(factory);
+		Sequence<Integer> gap = factory.toSequence("░");
+		inventory.intern(gap.get(0));
+		penalty = new ConstantGapPenalty<>(gap, 2.0);
+		symbols = new ArrayList<>(
+				factory.getFeatureMapping().getFeatureMap().keySet());
+		symbols.removeAll(Arrays.asList("░", "#"));
+
+		Random random = new Random(7);
+		weights = new ArrayList<>();
+		int features = factory.getFeatureMapping().getSpecification().size();
+		for (int k = 0; k < features; k++) {
+			weights.add(random.nextDouble() * 5.0);
+		}
+		inputs = new ArrayList<>();
+		for (int p = 0; p < PAIRS; p++) {
+			if (p > 0 && random.nextInt(4) == 0) {
+				// repeat an earlier input, for the deduplicating path
+				inputs.add(inputs.get(random.nextInt(p)));
+			} else {
+				inputs.add(Arrays.asList(word(random), word(random)));
+			}
+		}
+	}
+
+	@Test
+	void testCompiledKernel() {
+		FeatureDifferenceTensor<Integer> tensor =
+				new FeatureDifferenceTensor<>(TYPE, inventory);
+		testMatchesSequential(new NeedlemanWunschAlgorithm<>(
+				tensor.toComparator(weights), BaseOptimization.MIN, penalty,
+				factory));
+	}
+
+	@Test
+	void testInterfaceComparator() {
+		testMatchesSequential(new NeedlemanWunschAlgorithm<>(
+				new LinearWeightComparator<>(TYPE, weights),
+				BaseOptimization.MIN, penalty, factory));
+	}
+
+	@Test
+	void testContextComparator() {
+		Map<String, Predicate<Segment<Integer>>> classes =
+				new LinkedHashMap<>();
+		List<String> vowels = Arrays.asList("a", "e", "i", "o", "u");
+		classes.put("vowel", segment -> vowels.contains(segment.getSymbol()));
+		SegmentClassifier<Integer> classifier =
+				new SegmentClassifier<>(new SegmentInventory<>(), classes);
+		Comparator<Integer> comparator = new ContextComparator<>(
+				new LinearWeightComparator<>(TYPE, weights), classifier,
+				Collections.singletonList(new ContextRule(
+						SegmentClassifier.OTHER, "vowel", "vowel", 0.5)));
+		testMatchesSequential(new NeedlemanWunschAlgorithm<>(comparator,
+				BaseOptimization.MIN, penalty, factory));
+	}
+
+	@Test
+	void testUnsafeAlgorithmRunsOnCallingThread() {
+		NeedlemanWunschAlgorithm<Integer> safe = new NeedlemanWunschAlgorithm<>(
+				new LinearWeightComparator<>(TYPE, weights),
+				BaseOptimization.MIN, penalty, factory);
+		Set<Thread> threads = ConcurrentHashMap.newKeySet();
+		AlignmentAlgorithm<Integer> unsafe = new AbstractAlignmentAlgorithm<
+				Integer>(safe.getComparator(), BaseOptimization.MIN, penalty,
+				factory) {
+			@NotNull
+			@Override
+			public AlignmentResult<Integer> apply(
+					@NotNull List<? extends Sequence<Integer>> sequences) {
+				threads.add(Thread.currentThread());
+				return safe.apply(sequences);
+			}
+		};
+		assertFalse(unsafe.isThreadSafe());
+		assertTrue(safe.isThreadSafe());
+
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			List<AlignmentResult<Integer>> results =
+					unsafe.applyAll(inputs, pool);
+			assertEquals(Collections.singleton(Thread.currentThread()),
+					threads);
+			for (int i = 0; i < inputs.size(); i++) {
+				assertEquals(safe.apply(inputs.get(i)).getScore(),
+						results.get(i).getScore());
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	void testSharedInputsAreNotModified() {
+		SingleAlignmentAlgorithm<Integer> single =
+				new SingleAlignmentAlgorithm<>(
+						new LinearWeightComparator<>(TYPE, weights), penalty,
+						2, factory);
+		Sequence<Integer> shared = factory.toSequence("#pata");
+		List<List<Sequence<Integer>>> batch = Arrays.asList(
+				Arrays.asList(shared, factory.toSequence("#tapa")),
+				Arrays.asList(shared, factory.toSequence("#kapa")),
+				Arrays.asList(factory.toSequence("#kapa"), shared));
+		single.applyAll(batch);
+		assertEquals(factory.toSequence("#pata"), shared);
+	}
+
+	@Test
+	void testDeduplicationIsOptIn() {
+		AlignmentAlgorithm<Integer> algorithm = new NeedlemanWunschAlgorithm<>(
+				new LinearWeightComparator<>(TYPE, weights),
+				BaseOptimization.MIN, penalty, factory);
+		List<List<Sequence<Integer>>> repeated = repeated();
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			List<AlignmentResult<Integer>> results =
+					new BatchAligner<>(algorithm, pool).applyAll(repeated);
+			assertNotSame(results.get(0), results.get(2));
+			assertEquals(results.get(0).getScore(), results.get(2).getScore());
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	void testDeduplicatedRowsShareResult() {
+		AlignmentAlgorithm<Integer> algorithm = new NeedlemanWunschAlgorithm<>(
+				new LinearWeightComparator<>(TYPE, weights),
+				BaseOptimization.MIN, penalty, factory);
+		PairDeduplicator<Integer> deduplicator =
+				new PairDeduplicator<>(new SegmentInventory<>());
+		List<List<Sequence<Integer>>> repeated = repeated();
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			BatchAligner<Integer> aligner =
+					new BatchAligner<>(algorithm, pool, deduplicator);
+			List<AlignmentResult<Integer>> results = aligner.applyAll(repeated);
+			assertSame(results.get(0), results.get(2));
+			assertNotSame(results.get(0), results.get(1));
+
+			// the inventory is reused, not rebuilt, by a later batch
+			int size = deduplicator.getInventory().size();
+			aligner.applyAll(repeated);
+			assertEquals(size, deduplicator.getInventory().size());
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	void testDeduplicate() {
+		PairDeduplicator<Integer> deduplicator =
+				new PairDeduplicator<>(new SegmentInventory<>());
+		List<List<Sequence<Integer>>> batch = new ArrayList<>(repeated());
+		batch.add(Arrays.asList(
+				factory.toSequence("#tapa"), factory.toSequence("#pata")));
+		PairDeduplicator.Deduplication deduplication =
+				deduplicator.deduplicate(batch);
+		assertEquals(4, deduplication.getTotal());
+		assertEquals(3, deduplication.getUnique());
+		assertEquals(0.25, deduplication.getRatio(), 0.0);
+		assertEquals(0, deduplication.representative(2));
+		assertTrue(deduplication.isFirst(0));
+		assertFalse(deduplication.isFirst(2));
+		assertEquals(3, deduplication.first(2));
+		assertEquals(Arrays.asList("a", "b", "a", "c"), deduplication.expand(
+				Arrays.asList("a", "b", "c")));
+	}
+
+	private static List<List<Sequence<Integer>>> repeated() {
+		List<Sequence<Integer>> first = Arrays.asList(
+				factory.toSequence("#pata"), factory.toSequence("#tapa"));
+		List<Sequence<Integer>> second = Arrays.asList(
+				factory.toSequence("#pata"), factory.toSequence("#kapa"));
+		List<Sequence<Integer>> again = Arrays.asList(
+				factory.toSequence("#pata"), factory.toSequence("#tapa"));
+		return Arrays.asList(first, second, again);
+	}
+
+	private static void testMatchesSequential(
+			AlignmentAlgorithm<Integer> algorithm) {
+		List<AlignmentResult<Integer>> expected = new ArrayList<>();
+		for (List<Sequence<Integer>> input : inputs) {
+			expected.add(algorithm.apply(input));
+		}
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			List<BatchAligner<Integer>> aligners = Arrays.asList(
+					new BatchAligner<>(algorithm, pool, null),
+					new BatchAligner<>(algorithm, pool,
+							new PairDeduplicator<>(new SegmentInventory<>())));
+			for (BatchAligner<Integer> aligner : aligners) {
+				List<AlignmentResult<Integer>> actual = aligner.applyAll(inputs);
+				assertEquals(expected.size(), actual.size());
+				for (int i = 0; i < expected.size(); i++) {
+					AlignmentResult<Integer> e = expected.get(i);
+					AlignmentResult<Integer> a = actual.get(i);
+					String message = aligner + " row " + i;
+					assertEquals(e.getScore(), a.getScore(), message);
+					assertEquals(e.getAlignments().toString(),
+							a.getAlignments().toString(), message);
+				}
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	private static Sequence<Integer> word(Random random) {
+		Sequence<Integer> sequence = new BasicSequence<>(
+				factory.getFeatureMapping().getFeatureModel());
+		sequence.add(factory.toSegment("#"));
+		int length = 2 + random.nextInt(10);
+		for (int i = 0; i < length; i++) {
+			String symbol = symbols.get(random.nextInt(symbols.size()));
+			sequence.add(factory.toSegment(symbol));
+		}
+		return sequence;
+	}
+}
@@ -0,0 +1,196 @@
+package org.didelphis.genetics.alignment.algorithm;
+
+import org.didelphis.genetics.alignment.AlignmentFixtures;
+import org.didelphis.genetics.alignment.AlignmentResult;
+import org.didelphis.genetics.alignment.common.SegmentInventory;
+import org.didelphis.language.phonetic.SequenceFactory;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.didelphis.structures.tables.ColumnTable;
+import org.didelphis.structures.tables.DataTable;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class {@code ColumnPairSchedulerTest}
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+class ColumnPairSchedulerTest {
+
+	private static final List<String> KEYS = Arrays.asList("A", "B", "C");
+
+	private static SequenceFactory<Integer> factory;
+	private static NeedlemanWunschAlgorithm<Integer> algorithm;
+	private static ColumnTable<Sequence<Integer>> data;
+
+	@BeforeAll
+	static void init() {
+		factory = AlignmentFixtures.factory();
+		algorithm = AlignmentFixtures.algorithm(factory);
+
+		String[][] words = {
+				{"#tapa", "#tap", "#apa"},
+				{"#kombera", "#amapar", "#ombe"},
+				{"#tapa", "#tap", "#apa"},
+				{"#sima", "#sim", "#ima"},
+		};
+		List<List<Sequence<Integer>>> rows = new ArrayList<>();
+		for (String[] row : words) {
+			List<Sequence<Integer>> sequences = new ArrayList<>();
+			for (String word : row) {
+				sequences.add(factory.toSequence(word));
+			}
+			rows.add(sequences);
+		}
+		data = new DataTable<>(KEYS, rows);
+	}
+
+	@Test
+	void testPairKey() {
+		assertEquals("A-B", ColumnPairScheduler.pairKey("A", "B"));
+		assertThrows(IllegalArgumentException.class,
+				() -> ColumnPairScheduler.pairKey("A-B", "C"));
+		assertThrows(IllegalArgumentException.class,
+				() -> ColumnPairScheduler.pairKey("A", "B-C"));
+	}
+
+	@Test
+	void testAmbiguousKeysRejected() {
+		List<String> keys = Arrays.asList("A", "B-C");
+		ColumnTable<Sequence<Integer>> table = new DataTable<>(keys,
+				Arrays.asList(Arrays.asList(factory.toSequence("#a"),
+						factory.toSequence("#b"))));
+		ColumnPairScheduler<Integer> scheduler =
+				new ColumnPairScheduler<>(algorithm);
+		assertThrows(IllegalArgumentException.class,
+				() -> scheduler.alignAll(keys, table));
+	}
+
+	@Test
+	void testPreparedAlgorithm() {
+		testMatchesApply(algorithm);
+	}
+
+	@Test
+	void testOtherAlgorithm() {
+		testMatchesApply(new Delegate(algorithm, true));
+	}
+
+	@Test
+	void testUnsafeAlgorithm() {
+		testMatchesApply(new Delegate(algorithm, false));
+	}
+
+	@Test
+	void testUnsafeAlgorithmRunsAlone() {
+		// enough distinct rows to fill several blocks
+		Random random = new Random(3);
+		List<List<Sequence<Integer>>> rows = new ArrayList<>();
+		for (int row = 0; row < 1000; row++) {
+			List<Sequence<Integer>> sequences = new ArrayList<>();
+			for (int column = 0; column < KEYS.size(); column++) {
+				StringBuilder word = new StringBuilder("#");
+				for (int i = 0; i < 4 + random.nextInt(6); i++) {
+					word.append("ptkmaiu".charAt(random.nextInt(7)));
+				}
+				sequences.add(factory.toSequence(word.toString()));
+			}
+			rows.add(sequences);
+		}
+		ColumnTable<Sequence<Integer>> table = new DataTable<>(KEYS, rows);
+
+		Delegate unsafe = new Delegate(algorithm, false);
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			new ColumnPairScheduler<>(unsafe, new SegmentInventory<>(), pool)
+					.alignAll(KEYS, table);
+		} finally {
+			pool.shutdown();
+		}
+		assertTrue(unsafe.calls.get() > 0);
+		assertEquals(1, unsafe.maximum.get());
+	}
+
+	private static void testMatchesApply(AlignmentAlgorithm<Integer> aligner) {
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			ColumnPairScheduler<Integer> scheduler = new ColumnPairScheduler<>(
+					aligner, new SegmentInventory<>(), pool);
+			Map<String, List<AlignmentResult<Integer>>> results =
+					scheduler.alignAll(KEYS, data);
+			assertEquals(Arrays.asList("A-B", "A-C", "B-C"),
+					new ArrayList<>(results.keySet()));
+			// the third row repeats the first in every pair
+			assertEquals(0.25, scheduler.getDeduplicationRatio(), 1.0E-9);
+			for (int i = 0; i < KEYS.size(); i++) {
+				for (int j = i + 1; j < KEYS.size(); j++) {
+					List<AlignmentResult<Integer>> pair = results.get(
+							ColumnPairScheduler.pairKey(KEYS.get(i), KEYS.get(j)));
+					for (int row = 0; row < data.rows(); row++) {
+						AlignmentResult<Integer> expected = algorithm.apply(
+								Arrays.asList(data.get(row, i), data.get(row, j)));
+						AlignmentResult<Integer> actual = pair.get(row);
+						assertEquals(expected.getScore(), actual.getScore());
+						assertEquals(expected.getAlignments().toString(),
+								actual.getAlignments().toString());
+					}
+				}
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Hides the type of the algorithm from the scheduler, and counts the
+	 * calls made to it at once
+	 */
+	private static final class Delegate
+			extends AbstractAlignmentAlgorithm<Integer> {
+
+		private final AlignmentAlgorithm<Integer> algorithm;
+		private final boolean threadSafe;
+		private final AtomicInteger calls = new AtomicInteger();
+		private final AtomicInteger running = new AtomicInteger();
+		private final AtomicInteger maximum = new AtomicInteger();
+
+		private Delegate(NeedlemanWunschAlgorithm<Integer> algorithm,
+				boolean threadSafe) {
+			super(algorithm.getComparator(), BaseOptimization.MIN,
+					algorithm.getGapPenalty(), algorithm.getFactory());
+			this.algorithm = algorithm;
+			this.threadSafe = threadSafe;
+		}
+
+		@NotNull
+		@Override
+		public AlignmentResult<Integer> apply(
+				@NotNull List<? extends Sequence<Integer>> sequences) {
+			calls.incrementAndGet();
+			maximum.accumulateAndGet(running.incrementAndGet(), Math::max);
+			try {
+				return algorithm.apply(sequences);
+			} finally {
+				running.decrementAndGet();
+			}
+		}
+
+		@Override
+		public boolean isThreadSafe() {
+			return threadSafe;
+		}
+	}
+}
@@ -0,0 +1,296 @@
+package org.didelphis.genetics.alignment.algorithm;
+
+import org.didelphis.genetics.alignment.Alignment;
+import org.didelphis.genetics.alignment.AlignmentFixtures;
+import org.didelphis.genetics.alignment.AlignmentResult;
+import org.didelphis.genetics.alignment.common.SegmentInventory;
+import org.didelphis.genetics.alignment.operators.Comparator;
+import org.didelphis.genetics.alignment.operators.comparators.CostMatrixComparator;
+import org.didelphis.genetics.alignment.operators.gap.ConcaveGapPenalty;
+import org.didelphis.genetics.alignment.operators.gap.ConcaveGapPenalty.Shape;
+import org.didelphis.genetics.alignment.operators.gap.GapPenalty;
+import org.didelphis.language.phonetic.SequenceFactory;
+import org.didelphis.language.phonetic.segments.Segment;
+import org.didelphis.language.phonetic.sequences.BasicSequence;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.didelphis.structures.tables.Table;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Class {@code ConcaveGapEngineTest}
+ *
+ * Compares the engine with a direct {@code O(mn(m + n))} dynamic program,
+ * which tries every start for the gap ending at each cell, on random pairs
+ * and random costs. Words never repeat a segment and the costs are drawn from
+ * a continuous range, so each pair has a single best alignment and the
+ * tracebacks must agree exactly.
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+class ConcaveGapEngineTest {
+
+	private static final int TRIALS = 150;
+	private static final int MAX_LENGTH = 12;
+	private static final double DELTA = 1.0E-9;
+
+	private static SequenceFactory<Integer> factory;
+	private static Sequence<Integer> gap;
+	private static SegmentInventory<Integer> inventory;
+	private static Segment<Integer> boundary;
+
+	@BeforeAll
+	static void init() {
+		factory = AlignmentFixtures.factory();
+		gap = factory.toSequence(AlignmentFixtures.GAP);
+		boundary = factory.toSegment("#");
+		inventory = SegmentInventory.of(factory);
+		inventory.intern(gap.get(0));
+		inventory.intern(boundary);
+	}
+
+	@Test
+	void testLogarithmicMin() {
+		testMatchesReference(Shape.LOGARITHMIC, BaseOptimization.MIN, 11);
+	}
+
+	@Test
+	void testLogarithmicMax() {
+		testMatchesReference(Shape.LOGARITHMIC, BaseOptimization.MAX, 13);
+	}
+
+	@Test
+	void testSquareRootMin() {
+		testMatchesReference(Shape.SQUARE_ROOT, BaseOptimization.MIN, 17);
+	}
+
+	@Test
+	void testSquareRootMax() {
+		testMatchesReference(Shape.SQUARE_ROOT, BaseOptimization.MAX, 19);
+	}
+
+	private static void testMatchesReference(Shape shape,
+			Optimization<Double> optimization, long seed) {
+		Random random = new Random(seed);
+		// scores under MAX are costs under MIN with their signs reversed
+		double sign = optimization == BaseOptimization.MIN ? 1.0 : -1.0;
+		for (int trial = 0; trial < TRIALS; trial++) {
+			double[] costs = new double[inventory.size() * inventory.size()];
+			for (int k = 0; k < costs.length; k++) {
+				costs[k] = sign * random.nextDouble() * 4.0;
+			}
+			CostMatrixComparator<Integer> matrix = new CostMatrixComparator<>(
+					inventory, costs, (l, r, i, j) -> Double.NaN);
+			GapPenalty<Integer> penalty = new ConcaveGapPenalty<>(gap,
+					sign * (0.5 + random.nextDouble() * 2.5),
+					sign * (0.1 + random.nextDouble() * 2.0), shape);
+
+			NeedlemanWunschAlgorithm<Integer> kernel =
+					new NeedlemanWunschAlgorithm<>(matrix, optimization,
+							penalty, factory);
+			NeedlemanWunschAlgorithm<Integer> comparator =
+					new NeedlemanWunschAlgorithm<>(matrix::apply, optimization,
+							penalty, factory);
+
+			Sequence<Integer> left = word(random);
+			Sequence<Integer> right = word(random);
+			assertNotNull(kernel.prepare(left).getIds());
+			assertNull(comparator.prepare(left).getIds());
+
+			Reference reference = new Reference(matrix, penalty, optimization,
+					left, right);
+			String message = shape + " " + (sign > 0 ? "MIN" : "MAX")
+					+ " trial " + trial + ": " + left + " / " + right;
+			assertMatches(reference, kernel, message + " (kernel)");
+			assertMatches(reference, comparator, message + " (comparator)");
+		}
+	}
+
+	private static void assertMatches(Reference reference,
+			NeedlemanWunschAlgorithm<Integer> algorithm, String message) {
+		Sequence<Integer> left = reference.left;
+		Sequence<Integer> right = reference.right;
+		AlignmentResult<Integer> result =
+				algorithm.apply(Arrays.asList(left, right));
+		assertEquals(reference.score(), result.getScore(), DELTA, message);
+
+		Table<Double> table = algorithm.align(left, right);
+		assertEquals(left.size(), table.rows(), message);
+		assertEquals(right.size(), table.columns(), message);
+		for (int i = 0; i < table.rows(); i++) {
+			for (int j = 0; j < table.columns(); j++) {
+				assertEquals(reference.table[i][j], table.get(i, j), DELTA,
+						message + " at " + i + ", " + j);
+				assertEquals(reference.table[i][j],
+						result.getScores().get(i, j), DELTA,
+						message + " at " + i + ", " + j);
+			}
+		}
+
+		Alignment<Integer> alignment = result.getAlignments().get(0);
+		assertEquals(reference.trace(), symbols(alignment), message);
+	}
+
+	private static List<List<String>> symbols(Alignment<Integer> alignment) {
+		List<List<String>> rows = new ArrayList<>();
+		for (int r = 0; r < alignment.rows(); r++) {
+			List<String> row = new ArrayList<>();
+			for (int c = 0; c < alignment.columns(); c++) {
+				row.add(alignment.get(r, c).getSymbol());
+			}
+			rows.add(row);
+		}
+		return rows;
+	}
+
+	/**
+	 * @return the boundary followed by up to {@link #MAX_LENGTH} segments,
+	 * 		none of which is repeated, the gap or the boundary
+	 */
+	private static Sequence<Integer> word(Random random) {
+		List<Segment<Integer>> segments = new ArrayList<>();
+		for (Segment<Integer> segment : inventory) {
+			if (!segment.equals(boundary) && !segment.equals(gap.get(0))) {
+				segments.add(segment);
+			}
+		}
+		Collections.shuffle(segments, random);
+		Sequence<Integer> sequence = new BasicSequence<>(
+				factory.getFeatureMapping().getFeatureModel());
+		sequence.add(boundary);
+		sequence.addAll(segments.subList(0, random.nextInt(MAX_LENGTH + 1)));
+		return sequence;
+	}
+
+	/**
+	 * The textbook dynamic program for a gap penalty charged per gap: each
+	 * cell takes the best of its diagonal and of a gap of every length ending
+	 * there. Ties go to the diagonal, then to vertical gaps, then to longer
+	 * gaps, as they do in the engine.
+	 */
+	private static final class Reference {
+
+		private final Comparator<Integer> comparator;
+		private final GapPenalty<Integer> penalty;
+		private final Optimization<Double> optimization;
+		private final Sequence<Integer> left;
+		private final Sequence<Integer> right;
+		private final double[][] table;
+		/** Positive for a vertical gap, negative for a horizontal one */
+		private final int[][] gaps;
+
+		private Reference(Comparator<Integer> comparator,
+				GapPenalty<Integer> penalty, Optimization<Double> optimization,
+				Sequence<Integer> left, Sequence<Integer> right) {
+			this.comparator = comparator;
+			this.penalty = penalty;
+			this.optimization = optimization;
+			this.left = left;
+			this.right = right;
+			table = new double[left.size()][right.size()];
+			gaps = new int[left.size()][right.size()];
+			fill();
+		}
+
+		private void fill() {
+			Sequence<Integer> gap = penalty.getGap();
+			for (int i = 0; i < left.size(); i++) {
+				for (int j = 0; j < right.size(); j++) {
+					if (i == 0 && j == 0) {
+						continue;
+					}
+					Double best = null;
+					if (i > 0 && j > 0) {
+						best = table[i - 1][j - 1]
+								+ comparator.apply(left, right, i, j);
+					}
+					if (i > 0) {
+						int length = 0;
+						Double vertical = null;
+						double deleted = 0.0;
+						for (int k = i - 1; k >= 0; k--) {
+							deleted += comparator.apply(left, gap, k + 1, 0);
+							double score = table[k][j]
+									+ penalty.weight(i - k) + deleted;
+							if (vertical == null
+									|| !optimization.test(vertical, score)) {
+								vertical = score;
+								length = i - k;
+							}
+						}
+						if (best == null || optimization.test(vertical, best)) {
+							best = vertical;
+							gaps[i][j] = length;
+						}
+					}
+					if (j > 0) {
+						int length = 0;
+						Double horizontal = null;
+						double inserted = 0.0;
+						for (int k = j - 1; k >= 0; k--) {
+							inserted += comparator.apply(gap, right, 0, k + 1);
+							double score = table[i][k]
+									+ penalty.weight(j - k) + inserted;
+							if (horizontal == null
+									|| !optimization.test(horizontal, score)) {
+								horizontal = score;
+								length = j - k;
+							}
+						}
+						if (best == null
+								|| optimization.test(horizontal, best)) {
+							best = horizontal;
+							gaps[i][j] = -length;
+						}
+					}
+					table[i][j] = best;
+				}
+			}
+		}
+
+		private double score() {
+			return table[left.size() - 1][right.size() - 1];
+		}
+
+		/**
+		 * @return the symbols of the two rows of the best alignment
+		 */
+		private List<List<String>> trace() {
+			String gap = penalty.getGap().get(0).getSymbol();
+			List<String> w = new ArrayList<>();
+			List<String> z = new ArrayList<>();
+			int i = left.size() - 1;
+			int j = right.size() - 1;
+			while (i > 0 || j > 0) {
+				int length = gaps[i][j];
+				if (length == 0) {
+					w.add(left.get(i--).getSymbol());
+					z.add(right.get(j--).getSymbol());
+				}
+				for (; length > 0; length--) {
+					w.add(left.get(i--).getSymbol());
+					z.add(gap);
+				}
+				for (; length < 0; length++) {
+					w.add(gap);
+					z.add(right.get(j--).getSymbol());
+				}
+			}
+			w.add(left.get(0).getSymbol());
+			z.add(right.get(0).getSymbol());
+			Collections.reverse(w);
+			Collections.reverse(z);
+			return Arrays.asList(w, z);
+		}
+	}
+}
@@ -2,7 +2,12 @@ package org.didelphis.genetics.alignment.algorithm;
 
 import org.didelphis.genetics.alignment.Alignment;
 import org.didelphis.genetics.alignment.AlignmentResult;
+import org.didelphis.genetics.alignment.ScoreTable;
+import org.didelphis.genetics.alignment.common.SegmentInventory;
 import org.didelphis.genetics.alignment.operators.Comparator;
+import org.didelphis.genetics.alignment.operators.comparators.CostMatrixComparator;
+import org.didelphis.genetics.alignment.operators.comparators.FeatureDifferenceTensor;
+import org.didelphis.genetics.alignment.operators.gap.ConcaveGapPenalty;
 import org.didelphis.genetics.alignment.operators.gap.GapPenalty;
 import org.didelphis.genetics.alignment.operators.gap.NullGapPenalty;
 import org.didelphis.io.ClassPathFileHandler;
@@ -14,10 +19,13 @@ import org.didelphis.language.phonetic.features.FeatureType;
 import org.didelphis.language.phonetic.features.IntegerFeature;
 import org.didelphis.language.phonetic.model.FeatureModelLoader;
 import org.didelphis.language.phonetic.sequences.Sequence;
+import org.didelphis.structures.tables.Table;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.IntToDoubleFunction;
@@ -120,4 +128,168 @@ class NeedlemanWunschAlgorithmTest {
 		String expected = "# _ b a b a \t" + "# a b a b b \t";
 		assertEquals(expected, result.getAlignments().get(0).toString());
 	}
+
+	@Test
+	void getAlignment_concaveGap() {
+		FeatureModelLoader<Boolean> loader = BinaryFeature.emptyLoader();
+		SequenceFactory<Boolean> factory = new SequenceFactory<>(
+				loader.getFeatureMapping(), FormatterMode.NONE);
+		Comparator<Boolean> comparator = (left, right, i, j) ->
+				Objects.equals(left.get(i),right.get(j)) ? 0 : 1;
+
+		AlignmentAlgorithm<Boolean> algorithm = new NeedlemanWunschAlgorithm<>(
+				comparator,
+				BaseOptimization.MIN,
+				new ConcaveGapPenalty<>(factory.toSequence("_"), 1.0, 1.0,
+						ConcaveGapPenalty.Shape.LOGARITHMIC),
+				factory
+		);
+
+		AlignmentResult<Boolean> result = algorithm.apply(
+				Arrays.asList(
+						factory.toSequence("#abcdef"),
+						factory.toSequence("#af")));
+
+		assertEquals(4.0 + 1.0 + Math.log(4.0), result.getScore(), 1.0E-9);
+		String expected = "# a b c d e f \t" + "# a _ _ _ _ f \t";
+		assertEquals(expected, result.getAlignments().get(0).toString());
+	}
+
+	@Test
+	void getAlignment_tableRetention() {
+		FeatureModelLoader<Boolean> loader = BinaryFeature.emptyLoader();
+		SequenceFactory<Boolean> factory = new SequenceFactory<>(
+				loader.getFeatureMapping(), FormatterMode.NONE);
+		Comparator<Boolean> comparator = (left, right, i, j) ->
+				Objects.equals(left.get(i),right.get(j)) ? 0 : 1;
+
+		NeedlemanWunschAlgorithm<Boolean> algorithm =
+				new NeedlemanWunschAlgorithm<>(
+						comparator,
+						BaseOptimization.MIN,
+						new NullGapPenalty<>(factory.toSequence("_")),
+						factory
+				);
+
+		assertEquals(TableRetention.FULL, algorithm.getRetention());
+		assertRetention(algorithm, factory.toSequence("#baba"),
+				factory.toSequence("#ababb"));
+		assertRetention(algorithm, factory.toSequence("#abcdef"),
+				factory.toSequence("#af"));
+	}
+
+	@Test
+	void getAlignment_concaveGapTableRetention() {
+		FeatureModelLoader<Boolean> loader = BinaryFeature.emptyLoader();
+		SequenceFactory<Boolean> factory = new SequenceFactory<>(
+				loader.getFeatureMapping(), FormatterMode.NONE);
+		Comparator<Boolean> comparator = (left, right, i, j) ->
+				Objects.equals(left.get(i),right.get(j)) ? 0 : 1;
+
+		NeedlemanWunschAlgorithm<Boolean> algorithm =
+				new NeedlemanWunschAlgorithm<>(
+						comparator,
+						BaseOptimization.MIN,
+						new ConcaveGapPenalty<>(factory.toSequence("_"), 1.0, 1.0,
+								ConcaveGapPenalty.Shape.LOGARITHMIC),
+						factory
+				);
+
+		assertEquals(TableRetention.FULL, algorithm.getRetention());
+		assertRetention(algorithm, factory.toSequence("#abcdef"),
+				factory.toSequence("#af"));
+		assertRetention(algorithm, factory.toSequence("#af"),
+				factory.toSequence("#abcdef"));
+	}
+
+	@Test
+	void getAlignment_compiledKernel() {
+		FeatureType<Integer> type = IntegerFeature.INSTANCE;
+		SegmentInventory<Integer> inventory = SegmentInventory.of(factory);
+		inventory.intern(penalty.getGap().get(0));
+		FeatureDifferenceTensor<Integer> tensor =
+				new FeatureDifferenceTensor<>(type, inventory);
+		List<Double> weights = new ArrayList<>(
+				Collections.nCopies(tensor.features(), 1.0));
+		CostMatrixComparator<Integer> matrix = tensor.toComparator(weights);
+
+		AlignmentAlgorithm<Integer> compiled = new NeedlemanWunschAlgorithm<>(
+				matrix, BaseOptimization.MIN, penalty, factory);
+		AlignmentAlgorithm<Integer> interpreted = new NeedlemanWunschAlgorithm<>(
+				matrix::apply, BaseOptimization.MIN, penalty, factory);
+
+		List<List<Sequence<Integer>>> pairs = Arrays.asList(
+				Arrays.asList(factory.toSequence("#amapar"),
+						factory.toSequence("#omber")),
+				Arrays.asList(factory.toSequence("#ammapar"),
+						factory.toSequence("#kamabra")),
+				Arrays.asList(factory.toSequence("#tʃaka"),
+						factory.toSequence("#ʃak"))
+		);
+		for (List<Sequence<Integer>> pair : pairs) {
+			AlignmentResult<Integer> expected = interpreted.apply(pair);
+			AlignmentResult<Integer> actual = compiled.apply(pair);
+			assertEquals(expected.getScore(), actual.getScore(), 1.0E-9);
+			assertEquals(expected.getAlignments().get(0).getPrettyTable(),
+					actual.getAlignments().get(0).getPrettyTable());
+		}
+	}
+
+	/**
+	 * Checks that every policy gives the same score and alignments, and that
+	 * each retains exactly the cells of {@link NeedlemanWunschAlgorithm#align}
+	 * it promises
+	 */
+	private static <T> void assertRetention(
+			NeedlemanWunschAlgorithm<T> algorithm,
+			Sequence<T> left,
+			Sequence<T> right
+	) {
+		List<Sequence<T>> pair = Arrays.asList(left, right);
+		Table<Double> table = algorithm.align(left, right);
+		int rows = table.rows();
+		int columns = table.columns();
+		AlignmentResult<T> expected = algorithm.apply(pair);
+
+		for (TableRetention retention : TableRetention.values()) {
+			AlignmentResult<T> result =
+					algorithm.withRetention(retention).apply(pair);
+			String message = retention.toString();
+			assertEquals(expected.getScore(), result.getScore(), message);
+			assertEquals(expected.getAlignments().toString(),
+					result.getAlignments().toString(), message);
+			assertEquals(table.get(rows - 1, columns - 1), result.getScore(),
+					1.0E-9, message);
+
+			ScoreTable scores = result.getScores();
+			Table<Double> boxed = result.getTable();
+			if (retention == TableRetention.NONE) {
+				assertNull(scores, message);
+				assertNull(boxed, message);
+				continue;
+			}
+			assertNotNull(scores, message);
+			assertNotNull(boxed, message);
+			assertEquals(retention, scores.getRetention(), message);
+			assertEquals(rows, scores.rows(), message);
+			assertEquals(columns, scores.columns(), message);
+			for (int i = 0; i < rows; i++) {
+				for (int j = 0; j < columns; j++) {
+					String cell = message + " at " + i + ", " + j;
+					double value = table.get(i, j);
+					boolean edge = i == rows - 1 || j == columns - 1;
+					if (retention == TableRetention.FULL_FLOAT) {
+						assertEquals((float) value, scores.get(i, j), cell);
+					} else if (retention == TableRetention.FULL || edge) {
+						assertEquals(value, scores.get(i, j), cell);
+						assertEquals(Double.valueOf(value), boxed.get(i, j), cell);
+					} else {
+						assertFalse(scores.isRetained(i, j), cell);
+						assertTrue(Double.isNaN(scores.get(i, j)), cell);
+						assertNull(boxed.get(i, j), cell);
+					}
+				}
+			}
+		}
+	}
 }
@@ -0,0 +1,112 @@
+package org.didelphis.genetics.alignment.algorithm;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Class {@code ScoreKernelFactoryTest}
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+class ScoreKernelFactoryTest {
+
+	private static final int SIZE = 12;
+	private static final int GAP = 0;
+
+	@Test
+	void testCompiledMatchesGenericMin() {
+		testCompiledMatchesGeneric(BaseOptimization.MIN);
+	}
+
+	@Test
+	void testCompiledMatchesGenericMax() {
+		testCompiledMatchesGeneric(BaseOptimization.MAX);
+	}
+
+	@Test
+	void testKernelsAreIndependent() {
+		double[] ones = new double[SIZE * SIZE];
+		double[] twos = new double[SIZE * SIZE];
+		Arrays.fill(ones, 1.0);
+		Arrays.fill(twos, 2.0);
+		ScoreKernel a = ScoreKernelFactory.compile(ones, GAP,
+				BaseOptimization.MIN);
+		ScoreKernel b = ScoreKernelFactory.compile(twos, GAP,
+				BaseOptimization.MIN);
+		assertEquals(1.0, a.substitute(3, 4));
+		assertEquals(2.0, b.substitute(3, 4));
+	}
+
+	@Test
+	void testInvalidConfiguration() {
+		assertThrows(IllegalArgumentException.class, () ->
+				ScoreKernelFactory.compile(new double[5], GAP,
+						BaseOptimization.MIN));
+		assertThrows(IllegalArgumentException.class, () ->
+				ScoreKernelFactory.compile(new double[4], 2,
+						BaseOptimization.MIN));
+	}
+
+	private static void testCompiledMatchesGeneric(
+			Optimization<Double> optimization) {
+		Random random = new Random(31);
+		double[] costs = new double[SIZE * SIZE];
+		for (int k = 0; k < costs.length; k++) {
+			costs[k] = random.nextDouble() * 5.0;
+		}
+		ScoreKernel compiled =
+				ScoreKernelFactory.compile(costs, GAP, optimization);
+		ScoreKernel generic =
+				ScoreKernelFactory.generic(costs, GAP, optimization);
+
+		for (int id = -1; id <= SIZE; id++) {
+			assertEquals(generic.covers(id), compiled.covers(id));
+		}
+		for (int trial = 0; trial < 200; trial++) {
+			int[] left = word(random);
+			int[] right = word(random);
+			double[] deletions = penalties(random, left.length);
+			double[] insertions = penalties(random, right.length);
+
+			double[] expectedDel = deletions.clone();
+			double[] actualDel = deletions.clone();
+			generic.deletions(left, expectedDel);
+			compiled.deletions(left, actualDel);
+			assertArrayEquals(expectedDel, actualDel);
+
+			double[] expectedIns = insertions.clone();
+			double[] actualIns = insertions.clone();
+			generic.insertions(right, expectedIns);
+			compiled.insertions(right, actualIns);
+			assertArrayEquals(expectedIns, actualIns);
+
+			double[] expected = new double[left.length * right.length];
+			double[] actual = new double[left.length * right.length];
+			generic.fill(left, right, expectedDel, expectedIns, expected);
+			compiled.fill(left, right, actualDel, actualIns, actual);
+			assertArrayEquals(expected, actual);
+		}
+	}
+
+	private static int[] word(Random random) {
+		int[] word = new int[1 + random.nextInt(10)];
+		for (int i = 0; i < word.length; i++) {
+			word[i] = 1 + random.nextInt(SIZE - 1);
+		}
+		return word;
+	}
+
+	private static double[] penalties(Random random, int length) {
+		double[] penalties = new double[length];
+		for (int i = 0; i < length; i++) {
+			penalties[i] = random.nextDouble();
+		}
+		return penalties;
+	}
+}
@@ -0,0 +1,135 @@
+package org.didelphis.genetics.alignment.common;
+
+import org.didelphis.genetics.alignment.AlignmentFixtures;
+import org.didelphis.language.phonetic.SequenceFactory;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class {@code PhoneticTokenizerTest}
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+class PhoneticTokenizerTest {
+
+	private static final String[] CELLS = {
+			"# t a p a", "# k o m b e r a", "# s i m a", "# p e d e",
+			"# o k o", "# m a n u", "# r o t a", "# t a p a",
+	};
+	private static final Function<String, String> TRANSFORMER =
+			new StringTransformer("0 >> ░");
+
+	private static SequenceFactory<Integer> factory;
+
+	@BeforeAll
+	static void init() {
+		factory = AlignmentFixtures.factory();
+	}
+
+	@Test
+	void testMatchesUtilities() {
+		PhoneticTokenizer<Integer> tokenizer =
+				new PhoneticTokenizer<>(factory, TRANSFORMER);
+		for (int pass = 0; pass < 2; pass++) {
+			for (String cell : CELLS) {
+				assertEquals(Utilities.toPhoneticSequence(cell, factory,
+						TRANSFORMER), tokenizer.toSequence(cell));
+			}
+		}
+		assertEquals(Utilities.toPhoneticSequence("# t a 0", factory,
+				TRANSFORMER), tokenizer.toSequence("# t a 0"));
+	}
+
+	@Test
+	void testSequencesAreNewAndSegmentsShared() {
+		PhoneticTokenizer<Integer> tokenizer =
+				new PhoneticTokenizer<>(factory, TRANSFORMER);
+		Sequence<Integer> first = tokenizer.toSequence(CELLS[0]);
+		Sequence<Integer> second = tokenizer.toSequence(CELLS[0]);
+		assertNotSame(first, second);
+		assertSame(first.get(2), second.get(2));
+		second.remove(0);
+		assertEquals(5, tokenizer.toSequence(CELLS[0]).size());
+	}
+
+	@Test
+	void testHitRatios() {
+		PhoneticTokenizer<Integer> tokenizer =
+				new PhoneticTokenizer<>(factory, TRANSFORMER);
+		assertTrue(Double.isNaN(tokenizer.getCellHitRatio()));
+		assertTrue(Double.isNaN(tokenizer.getSegmentHitRatio()));
+		tokenizer.toSequence("# t a");
+		tokenizer.toSequence("# t a");
+		tokenizer.toSequence("# a t");
+		tokenizer.toSequence("# a t");
+		assertEquals(0.5, tokenizer.getCellHitRatio());
+		// the second cell's tokens were all seen in the first
+		assertEquals(0.5, tokenizer.getSegmentHitRatio());
+	}
+
+	@Test
+	void testCachesAreBounded() {
+		PhoneticTokenizer<Integer> tokenizer =
+				new PhoneticTokenizer<>(factory, TRANSFORMER, 4);
+		List<String> cells = new ArrayList<>();
+		for (String a : new String[]{"t", "k", "s", "p", "m"}) {
+			for (String b : new String[]{"a", "o", "e", "i", "u"}) {
+				cells.add("# " + a + ' ' + b);
+			}
+		}
+		for (String cell : cells) {
+			tokenizer.toSequence(cell);
+		}
+		assertEquals(0.0, tokenizer.getCellHitRatio());
+		// the most recent cell is still held, the first has been dropped
+		tokenizer.toSequence(cells.get(cells.size() - 1));
+		assertEquals(1.0 / 26, tokenizer.getCellHitRatio(), 1.0e-12);
+		tokenizer.toSequence(cells.get(0));
+		assertEquals(1.0 / 27, tokenizer.getCellHitRatio(), 1.0e-12);
+		assertThrows(IllegalArgumentException.class,
+				() -> new PhoneticTokenizer<>(factory, TRANSFORMER, 1));
+	}
+
+	@Test
+	void testConcurrentUse() {
+		PhoneticTokenizer<Integer> tokenizer =
+				new PhoneticTokenizer<>(factory, TRANSFORMER, 4);
+		List<Sequence<Integer>> actual = IntStream.range(0, 2000)
+				.parallel()
+				.mapToObj(i -> tokenizer.toSequence(CELLS[i % CELLS.length]))
+				.collect(Collectors.toList());
+		for (int i = 0; i < actual.size(); i++) {
+			assertEquals(Utilities.toPhoneticSequence(CELLS[i % CELLS.length],
+					factory, TRANSFORMER), actual.get(i));
+		}
+	}
+
+	@Test
+	void testFormatRatio() {
+		assertEquals("n/a", PhoneticTokenizer.formatRatio(Double.NaN));
+		assertEquals("n/a", PhoneticTokenizer.formatRatio(0.0 / 0.0));
+		assertEquals("0.000", PhoneticTokenizer.formatRatio(0.0));
+		assertEquals("0.667", PhoneticTokenizer.formatRatio(2.0 / 3.0));
+		assertEquals("1.000", PhoneticTokenizer.formatRatio(1.0));
+		List<String> formatted = IntStream.range(0, 1000)
+				.parallel()
+				.mapToObj(i -> PhoneticTokenizer.formatRatio(i / 1000.0))
+				.collect(Collectors.toList());
+		for (int i = 0; i < formatted.size(); i++) {
+			assertEquals(String.format("0.%03d", i), formatted.get(i));
+		}
+	}
+}
@@ -0,0 +1,184 @@
+package org.didelphis.genetics.alignment.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Class {@code StringTransformerTest}
+ *
+ * Compares each transformer with applying its rules one at a time with
+ * {@link String#replaceAll}.
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+class StringTransformerTest {
+
+	private static final Pattern OPERATOR = Pattern.compile("\\s>>\\s");
+
+	@Test
+	void testEmpty() {
+		assertEquals("abc", new StringTransformer().apply("abc"));
+		assertEquals(Arrays.asList("a >> b", "c >> d"),
+				new StringTransformer("a >> b\nc >> d").getRules());
+	}
+
+	@Test
+	void testIndependentLiterals() {
+		assertSequential("a >> x\nb >> y\nc >> zz",
+				"abcabc", "cab", "", "xyz", "aabbcc");
+		// applied in a single pass
+		assertEquals("StringTransformer{expressions=[a >> x; b >> y; c >> zz]}",
+				new StringTransformer("a >> x\nb >> y\nc >> zz").toString());
+	}
+
+	@Test
+	void testOverlappingPatterns() {
+		assertSequential("ab >> x\nbc >> y", "abc", "abcbc", "bcab", "aabbcc");
+		assertSequential("aa >> b", "a", "aa", "aaa", "aaaa", "aaaaa");
+		assertSequential("aba >> c", "ababa", "abababa", "abaaba");
+		assertSequential("ab >> 1\nba >> 2", "abab", "baba", "aba", "bab");
+	}
+
+	@Test
+	void testContainedPatterns() {
+		assertSequential("abc >> x\nb >> y", "abc", "abcb", "bab");
+		assertSequential("b >> y\nabc >> x", "abc", "abcb", "bab");
+		assertSequential("ts >> c\ntsh >> č", "tsh", "tsts", "htsh");
+		assertEquals("ch", new StringTransformer("ts >> c\ntsh >> č")
+				.apply("tsh"));
+		assertSequential("a >> b\na >> c", "aaa", "bab");
+	}
+
+	@Test
+	void testEmptyEarlierReplacement() {
+		assertSequential("x >> \nab >> c", "axb", "axxb", "ab", "xabx");
+		assertSequential("- >> \n. >> ", "a-b", "a--b");
+		assertSequential("ː >> \naa >> A", "aːa", "aaːa");
+	}
+
+	@Test
+	void testReplacementInLaterPattern() {
+		assertSequential("a >> b\nbc >> d", "ac", "abc", "bac");
+		assertSequential("x >> yz\nzz >> w", "xz", "xx", "zxz");
+		assertSequential("a >> bc\nc >> a", "a", "ca", "aca");
+		assertSequential("a >> b\nb >> a", "ab", "ba", "aabb");
+	}
+
+	@Test
+	void testSurrogates() {
+		String pair = "𝐀";
+		String other = "𝐁";
+		assertSequential(pair + " >> a\nb >> " + other,
+				pair + "b", other + pair, "b" + pair + other);
+		assertSequential(other + " >> " + pair + "\n" + pair + " >> c",
+				other, pair + other);
+		// an unpaired surrogate never matches half of a pair
+		assertSequential("\uD835 >> x", pair, "\uD835a", "a\uD835");
+		assertSequential("\uDC00 >> x", pair, "\uDC00a");
+	}
+
+	@Test
+	void testReplacementEscapes() {
+		assertSequential("a >> \\$", "a", "bab");
+		assertSequential("a >> \\\\", "a", "aa");
+		assertSequential("(a)(b) >> $2$1", "ab", "abab");
+		assertSequential("(?<first>a)b >> ${first}${first}", "ab", "cab");
+		assertSequential("a >> x\\$y\nb >> \\\\", "ab", "ba");
+	}
+
+	@Test
+	void testLookaround() {
+		assertSequential("(?<=a)b >> c", "ab", "bb", "abab");
+		assertSequential("a(?!b) >> c", "ab", "ac", "aab");
+		assertSequential("(?<!x)y >> z", "xy", "yy", "xyy");
+		assertSequential("a(?=bc) >> d\nb >> e", "abc", "abd", "aabcc");
+		assertSequential("(?=ab)a >> x", "ab", "ba", "aab");
+	}
+
+	@Test
+	void testAlternationAndFlags() {
+		assertSequential("a|b >> c", "ab", "xyz", "ba");
+		assertSequential("x(a|b)y >> z", "xay", "xby", "xcy");
+		assertSequential("(?i)ab >> c", "AB", "ab", "aB", "xx");
+		assertSequential("(?i:a)b >> c", "Ab", "AB", "ab");
+		assertSequential("a(?i)b >> c", "aB", "AB", "ab");
+		assertSequential("(?x)a b >> c", "ab", "a b");
+		assertSequential("^a >> b\na$ >> c", "a", "aa", "aba");
+	}
+
+	@Test
+	void testQuantifiersAndClasses() {
+		assertSequential("ab?c >> x", "ac", "abc", "abbc");
+		assertSequential("ab*c >> x", "ac", "abbbc");
+		assertSequential("ab+c >> x", "ac", "abbc");
+		assertSequential("ab{2}c >> x", "abc", "abbc");
+		assertSequential("a[bc]d >> x", "abd", "acd", "ad");
+		assertSequential("a[^]]d >> x", "abd", "a]d");
+		assertSequential("\\.a >> x", ".a", "ba");
+		assertSequential("\\Qa.b\\E >> x", "a.b", "acb");
+		assertSequential("(a)\\1 >> x", "aa", "ab");
+		assertSequential("\\x61b >> x", "ab", "xb");
+	}
+
+	@Test
+	void testRandomRules() {
+		Random random = new Random(13);
+		String[] literals = {"a", "b", "ab", "ba", "aa", "bc", "c", "ca", "x",
+				"abc", "cc"};
+		String[] regexes = {"a+", "b?c", "(?<=a)b", "[ab]c", "^a", "c$",
+				"(a|c)b", "a(?!b)"};
+		for (int t = 0; t < 500; t++) {
+			List<String> rules = new ArrayList<>();
+			int count = 1 + random.nextInt(6);
+			for (int r = 0; r < count; r++) {
+				String pattern = random.nextInt(5) == 0
+						? regexes[random.nextInt(regexes.length)]
+						: literals[random.nextInt(literals.length)];
+				String replacement = random.nextInt(4) == 0 ? ""
+						: literals[random.nextInt(literals.length)];
+				rules.add(pattern + " >> " + replacement);
+			}
+			String payload = String.join("\n", rules);
+			StringTransformer transformer = new StringTransformer(payload);
+			for (int i = 0; i < 20; i++) {
+				StringBuilder input = new StringBuilder();
+				int length = random.nextInt(12);
+				for (int k = 0; k < length; k++) {
+					input.append("abcx".charAt(random.nextInt(4)));
+				}
+				String s = input.toString();
+				assertEquals(sequential(payload, s), transformer.apply(s),
+						payload + " on " + s);
+			}
+		}
+	}
+
+	private static void assertSequential(String payload, String... inputs) {
+		StringTransformer transformer = new StringTransformer(payload);
+		for (String input : inputs) {
+			assertEquals(sequential(payload, input), transformer.apply(input),
+					payload + " on " + input);
+		}
+	}
+
+	/**
+	 * Applies each rule in turn, as the transformer did before its rules
+	 * were compiled
+	 */
+	private static String sequential(String payload, String input) {
+		String transformed = input;
+		for (String rule : payload.split("\r\n?|\n")) {
+			String[] split = OPERATOR.split(rule, -1);
+			transformed = Pattern.compile(split[0].trim()).matcher(transformed)
+					.replaceAll(split[1].trim());
+		}
+		return transformed;
+	}
+}
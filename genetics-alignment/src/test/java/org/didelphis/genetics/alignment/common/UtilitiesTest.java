@@ -0,0 +1,128 @@
+package org.didelphis.genetics.alignment.common;
+
+import org.didelphis.genetics.alignment.io.MappedTsvFile;
+import org.didelphis.language.parsing.ParseException;
+import org.didelphis.structures.tables.ColumnTable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class {@code UtilitiesTest}
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+class UtilitiesTest {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void testStreamedAndMappedTablesAgree() throws IOException {
+		String content = "﻿A\tB\r\n"
+				+ "# t a\t# d a\r\n"
+				+ "\r\n"
+				+ "# ŋ ə\t# t͡ʃ 𝔞\textra\r\n"
+				+ "\n"
+				+ "# o\t\r\n";
+		Path path = write("table.tsv", content);
+		Function<String, String> transformer = String::toUpperCase;
+
+		ColumnTable<String> streamed = Utilities.streamTable(path, transformer);
+		ColumnTable<String> mapped =
+				Utilities.mapTable(path, transformer, 0, 1);
+		ColumnTable<String> loaded =
+				Utilities.loadTable(path.toString(), transformer);
+
+		assertEquals(Arrays.asList("A", "B"), streamed.getKeys());
+		List<List<String>> expected = Arrays.asList(
+				Arrays.asList("# T A", "# D A"),
+				Arrays.asList("# Ŋ Ə", "# T͡ʃ 𝔞".toUpperCase()),
+				Arrays.asList("# O", ""));
+		for (ColumnTable<String> table : Arrays.asList(streamed, mapped,
+				loaded)) {
+			assertEquals(streamed.getKeys(), table.getKeys());
+			assertEquals(expected, rows(table));
+		}
+	}
+
+	@Test
+	void testShortRowIsNumbered() throws IOException {
+		Path path = write("short.tsv", "A\tB\tC\na\tb\tc\n\nd\te\nf\tg\th\n");
+		ParseException streamed = assertThrows(ParseException.class,
+				() -> Utilities.streamTable(path, Function.identity()));
+		ParseException mapped = assertThrows(ParseException.class,
+				() -> Utilities.mapTable(path, Function.identity(), 0, 1));
+		// the header is row one and empty lines are not counted
+		for (ParseException e : Arrays.asList(streamed, mapped)) {
+			assertTrue(e.getMessage().contains("Row 3 has 2 cells but the "
+					+ "header has 3"), e.getMessage());
+		}
+	}
+
+	@Test
+	void testEmptyFile() throws IOException {
+		Path path = write("empty.tsv", "\n\n");
+		assertThrows(ParseException.class,
+				() -> Utilities.streamTable(path, Function.identity()));
+		assertThrows(ParseException.class,
+				() -> Utilities.mapTable(path, Function.identity(), 0, 1));
+	}
+
+	@Test
+	void testRowExceptionPositionAcrossRanges() throws IOException {
+		StringBuilder sb = new StringBuilder("N\n");
+		for (int i = 0; i < 1000; i++) {
+			sb.append(i).append('\n');
+		}
+		Path path = write("numbers.tsv", sb.toString());
+		RuntimeException failure = new IllegalStateException("failed");
+		try (MappedTsvFile file = new MappedTsvFile(path)) {
+			assertTrue(file.split(8).size() > 1);
+			List<Integer> values = file.parse(
+					row -> Integer.parseInt(row.getString(0)), 8);
+			assertEquals(1000, values.size());
+			for (int i = 0; i < values.size(); i++) {
+				assertEquals(i, values.get(i).intValue());
+			}
+
+			MappedTsvFile.RowException e = assertThrows(
+					MappedTsvFile.RowException.class, () -> file.parse(row -> {
+						int value = Integer.parseInt(row.getString(0));
+						if (value == 777 || value == 901) {
+							throw failure;
+						}
+						return value;
+					}, 8));
+			assertEquals(777, e.getIndex());
+			assertSame(failure, e.getCause());
+		}
+	}
+
+	private Path write(String name, String content) throws IOException {
+		Path path = directory.resolve(name);
+		Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+		return path;
+	}
+
+	private static List<List<String>> rows(ColumnTable<String> table) {
+		List<List<String>> rows = new ArrayList<>();
+		for (int i = 0; i < table.rows(); i++) {
+			rows.add(table.getRow(i));
+		}
+		return rows;
+	}
+}
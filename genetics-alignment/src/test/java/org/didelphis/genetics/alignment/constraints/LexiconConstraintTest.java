@@ -0,0 +1,215 @@
+package org.didelphis.genetics.alignment.constraints;
+
+import org.didelphis.genetics.alignment.Alignment;
+import org.didelphis.genetics.alignment.AlignmentFixtures;
+import org.didelphis.genetics.alignment.AlignmentResult;
+import org.didelphis.genetics.alignment.AlignmentSet;
+import org.didelphis.genetics.alignment.algorithm.AbstractAlignmentAlgorithm;
+import org.didelphis.genetics.alignment.algorithm.BaseOptimization;
+import org.didelphis.genetics.alignment.algorithm.SingleAlignmentAlgorithm;
+import org.didelphis.genetics.alignment.operators.gap.GapPenalty;
+import org.didelphis.language.phonetic.SequenceFactory;
+import org.didelphis.language.phonetic.segments.Segment;
+import org.didelphis.language.phonetic.sequences.BasicSequence;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+import static org.didelphis.genetics.alignment.AlignmentFixtures.IDENTITY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class {@code LexiconConstraintTest}
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+class LexiconConstraintTest {
+
+	private static final String LEXICON = "A\tB\n"
+			+ "t a p a\tt a p\n"
+			+ "s i m a\ti m a\n"
+			+ "p e d e\tb e d\n"
+			+ "t a p a\tt a p\n"
+			+ "m a n a\tm a n\n"
+			+ "# o k o\t# o k\n";
+
+	private static final String STANDARD = "A\tB\n"
+			+ "t a p a\tt a p ░\n"
+			// not the alignment the algorithm finds
+			+ "s i m a\t░ i m a\n"
+			+ "p e d e\tb e d ░\n"
+			// nor is this
+			+ "t a p a\t░ t a p\n"
+			// no gold alignment
+			+ "\t\n"
+			// a boundary in the file is not doubled
+			+ "# o k o\t# o k ░\n";
+
+	private static SequenceFactory<Integer> factory;
+	private static GapPenalty<Integer> gapPenalty;
+
+	@TempDir
+	Path directory;
+
+	@BeforeAll
+	static void init() {
+		factory = AlignmentFixtures.factory();
+		gapPenalty = AlignmentFixtures.gapPenalty(factory);
+	}
+
+	@Test
+	void testScoresKnownAlgorithm() throws IOException {
+		Constraint<Integer> constraint = load(STANDARD);
+		// the repeated words are checked once, against their first answer
+		assertEquals(4.0, constraint.getStrength());
+		PaddingAlgorithm algorithm = new PaddingAlgorithm();
+		assertEquals(3.0, constraint.evaluate(algorithm));
+		// evaluating again gives the same score
+		assertEquals(3.0, constraint.evaluate(algorithm));
+	}
+
+	@Test
+	void testNoAlignmentScoresNothing() throws IOException {
+		Constraint<Integer> constraint = load(STANDARD);
+		// gives a single null alignment for every input
+		SingleAlignmentAlgorithm<Integer> algorithm =
+				new SingleAlignmentAlgorithm<>(IDENTITY, gapPenalty, 2,
+						factory);
+		assertEquals(0.0, constraint.evaluate(algorithm));
+	}
+
+	@Test
+	void testNeedsLexicon() throws IOException {
+		AlignmentSet<Integer> set = AlignmentSet.load(
+				write("test.std", STANDARD), null, factory);
+		assertNull(set.getStandard("t a p a", "t a p"));
+		assertTrue(set.getWords().isEmpty());
+		assertThrows(IllegalArgumentException.class,
+				() -> new LexiconConstraint<>("test", factory, set));
+	}
+
+	@Test
+	void testGetStandardHit() throws IOException {
+		AlignmentSet<Integer> set = loadSet();
+		assertSame(set.get(2), set.getStandard("p e d e", "b e d"));
+		assertSame(set.get(5), set.getStandard("# o k o", "# o k"));
+		// the words are the index, not their row
+		assertSame(set.get(2), set.getStandard(set.getWords().get(2)));
+	}
+
+	@Test
+	void testGetStandardMiss() throws IOException {
+		AlignmentSet<Integer> set = loadSet();
+		// no gold alignment for these words
+		assertNull(set.getStandard("m a n a", "m a n"));
+		// words which are not in the lexicon
+		assertNull(set.getStandard("k o m b e r a", "a m a p a r"));
+		// words in the wrong order
+		assertNull(set.getStandard("b e d", "p e d e"));
+		assertNull(set.getStandard("p e d e"));
+	}
+
+	@Test
+	void testGetStandardDuplicateWords() throws IOException {
+		AlignmentSet<Integer> set = loadSet();
+		assertEquals(set.getWords().get(0), set.getWords().get(3));
+		Alignment<Integer> alignment = set.getStandard("t a p a", "t a p");
+		assertSame(set.get(0), alignment);
+		assertNotEquals(set.get(3).toString(), alignment.toString());
+	}
+
+	@Test
+	void testBoundaries() throws IOException {
+		AlignmentSet<Integer> set = loadSet();
+		for (int i = 0; i < set.getLexicon().rows(); i++) {
+			for (Sequence<Integer> word : set.getLexicon().getRow(i)) {
+				assertEquals("#", word.get(0).getSymbol());
+				assertEquals(1, count(word));
+			}
+			if (set.get(i).columns() > 0) {
+				assertEquals(1, count(set.get(i).getRow(0)));
+				assertEquals(1, count(set.get(i).getRow(1)));
+			}
+		}
+		assertEquals(set.getLexicon().getRow(5).get(0).size(),
+				set.get(5).columns());
+	}
+
+	@Test
+	void testRowNumbers() throws IOException {
+		Path path = write("uneven.std", "A\tB\nt a p a\tt a p ░\nt a\tt\n");
+		IOException e = assertThrows(IOException.class,
+				() -> AlignmentSet.load(path, null, factory));
+		assertTrue(e.getMessage().startsWith("Row 3 of"), e.getMessage());
+	}
+
+	private AlignmentSet<Integer> loadSet() throws IOException {
+		return AlignmentSet.load(write("test.std", STANDARD),
+				write("test.lex", LEXICON), factory);
+	}
+
+	private Constraint<Integer> load(String standard) throws IOException {
+		return LexiconConstraint.loadFromPaths(
+				write("test.std", standard).toString(),
+				write("test.lex", LEXICON).toString(), factory);
+	}
+
+	private Path write(String name, String text) throws IOException {
+		Path path = directory.resolve(name);
+		Files.write(path, text.getBytes(StandardCharsets.UTF_8));
+		return path;
+	}
+
+	private static int count(Iterable<Segment<Integer>> word) {
+		int count = 0;
+		for (Segment<Integer> segment : word) {
+			if (segment.getSymbol().equals("#")) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Aligns two words by adding gaps to the end of the shorter
+	 */
+	private static final class PaddingAlgorithm
+			extends AbstractAlignmentAlgorithm<Integer> {
+
+		private PaddingAlgorithm() {
+			super(IDENTITY, BaseOptimization.MIN, gapPenalty, factory);
+		}
+
+		@NotNull
+		@Override
+		public AlignmentResult<Integer> apply(
+				@NotNull List<? extends Sequence<Integer>> sequences) {
+			Sequence<Integer> left = new BasicSequence<>(sequences.get(0));
+			Sequence<Integer> right = new BasicSequence<>(sequences.get(1));
+			Sequence<Integer> gap = getGapPenalty().getGap();
+			while (left.size() < right.size()) {
+				left.add(gap.get(0));
+			}
+			while (right.size() < left.size()) {
+				right.add(gap.get(0));
+			}
+			return new AlignmentResult<>(sequences.get(0), sequences.get(1),
+					0.0, null, Collections.singletonList(
+							new Alignment<>(left, right)));
+		}
+	}
+}
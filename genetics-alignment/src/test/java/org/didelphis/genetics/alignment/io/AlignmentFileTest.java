@@ -0,0 +1,178 @@
+package org.didelphis.genetics.alignment.io;
+
+import org.didelphis.genetics.alignment.Alignment;
+import org.didelphis.genetics.alignment.AlignmentFixtures;
+import org.didelphis.genetics.alignment.AlignmentResult;
+import org.didelphis.genetics.alignment.algorithm.NeedlemanWunschAlgorithm;
+import org.didelphis.language.phonetic.SequenceFactory;
+import org.didelphis.language.phonetic.segments.Segment;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class {@code AlignmentFileTest}
+ *
+ * Writes alignments with {@link AlignmentFileWriter} and reads them back with
+ * {@link MappedAlignmentFile}.
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+class AlignmentFileTest {
+
+	private static final String[][] WORDS = {
+			{"#tapa", "#tap"},
+			{"#kombera", "#amapar"},
+			{"#sima", "#ima"},
+			{"#pede", "#bed"},
+	};
+
+	private static SequenceFactory<Integer> factory;
+	private static NeedlemanWunschAlgorithm<Integer> algorithm;
+	private static Segment<Integer> gap;
+
+	@TempDir
+	Path directory;
+
+	@BeforeAll
+	static void init() {
+		factory = AlignmentFixtures.factory();
+		algorithm = AlignmentFixtures.algorithm(factory);
+		gap = algorithm.getGapPenalty().getGap().get(0);
+	}
+
+	@Test
+	void testRoundTrip() throws IOException {
+		List<AlignmentResult<Integer>> results = align();
+		Path path = directory.resolve("alignments.bin");
+		try (AlignmentFileWriter<Integer> writer =
+				new AlignmentFileWriter<>(path, gap)) {
+			for (AlignmentResult<Integer> result : results) {
+				writer.write(result);
+			}
+			assertEquals(results.size(), writer.size());
+		}
+		assertFalse(Files.exists(temporary(path)));
+
+		try (MappedAlignmentFile<Integer> file =
+				MappedAlignmentFile.open(path, factory)) {
+			assertEquals(results.size(), file.size());
+			int k = 0;
+			for (MappedAlignmentFile<Integer>.Record record : file) {
+				assertEquals(k, record.getIndex());
+				AlignmentResult<Integer> result = results.get(k);
+				Alignment<Integer> expected = result.getAlignments().get(0);
+				assertEquals(result.getScore(), record.getScore());
+				assertEquals(expected.rows(), record.rows());
+				assertEquals(expected.columns(), record.columns());
+				boolean gapped = false;
+				for (int i = 0; i < record.rows(); i++) {
+					for (int j = 0; j < record.columns(); j++) {
+						Segment<Integer> segment = expected.get(i, j);
+						assertEquals(segment, record.getSegment(i, j));
+						if (segment.equals(gap)) {
+							gapped = true;
+							assertEquals(AlignmentFileWriter.GAP,
+									record.getId(i, j));
+						}
+					}
+				}
+				assertTrue(gapped, "record " + k);
+				assertEquals(expected.toString(),
+						record.toAlignment().toString());
+				assertArrayEquals(file.getIds(k), ids(record));
+				k++;
+			}
+			assertEquals(results.size(), k);
+			// segments are shared between records
+			assertSame(file.getRecord(0).getSegment(0, 0),
+					file.getRecord(2).getSegment(0, 0));
+			assertThrows(IndexOutOfBoundsException.class,
+					() -> file.getRecord(results.size()));
+		}
+	}
+
+	@Test
+	void testEmptyResult() throws IOException {
+		AlignmentResult<Integer> result = align().get(0);
+		AlignmentResult<Integer> empty = new AlignmentResult<>(
+				result.getLeft(), result.getRight(), 2.5, null,
+				Collections.emptyList());
+		Path path = directory.resolve("empty.bin");
+		try (AlignmentFileWriter<Integer> writer =
+				new AlignmentFileWriter<>(path, null)) {
+			writer.write(empty);
+			writer.write(result);
+		}
+		try (MappedAlignmentFile<Integer> file =
+				MappedAlignmentFile.open(path, factory)) {
+			assertEquals(2, file.size());
+			assertEquals(2.5, file.getScore(0));
+			assertEquals(0, file.rows(0));
+			assertEquals(0, file.getIds(0).length);
+			// without a gap segment, the gap is an ordinary symbol
+			assertEquals(result.getAlignments().get(0).toString(),
+					file.get(1).toString());
+		}
+	}
+
+	@Test
+	void testFailedCloseRemovesTemporaryFile() throws IOException {
+		// a directory which is not empty cannot be replaced by the file
+		Path path = directory.resolve("occupied");
+		Files.createDirectories(path.resolve("child"));
+		AlignmentFileWriter<Integer> writer =
+				new AlignmentFileWriter<>(path, gap);
+		writer.write(align().get(0));
+		assertTrue(Files.exists(temporary(path)));
+		assertThrows(IOException.class, writer::close);
+		assertFalse(Files.exists(temporary(path)));
+		assertTrue(Files.isDirectory(path));
+	}
+
+	@Test
+	void testNotAnAlignmentFile() throws IOException {
+		Path path = directory.resolve("other.bin");
+		Files.write(path, new byte[64]);
+		assertThrows(IOException.class,
+				() -> MappedAlignmentFile.open(path, factory));
+	}
+
+	private static List<AlignmentResult<Integer>> align() {
+		List<AlignmentResult<Integer>> results = new ArrayList<>();
+		for (String[] pair : WORDS) {
+			results.add(algorithm.apply(Arrays.asList(
+					factory.toSequence(pair[0]), factory.toSequence(pair[1]))));
+		}
+		return results;
+	}
+
+	private static int[] ids(MappedAlignmentFile<Integer>.Record record) {
+		int[] ids = new int[record.rows() * record.columns()];
+		for (int i = 0; i < record.rows(); i++) {
+			for (int j = 0; j < record.columns(); j++) {
+				ids[i * record.columns() + j] = record.getId(i, j);
+			}
+		}
+		return ids;
+	}
+
+	private static Path temporary(Path path) {
+		return path.resolveSibling(path.getFileName() + ".tmp");
+	}
+}
@@ -0,0 +1,141 @@
+package org.didelphis.genetics.alignment.io;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.didelphis.genetics.alignment.AlignmentFixtures;
+import org.didelphis.genetics.alignment.AlignmentResult;
+import org.didelphis.genetics.alignment.ScoreTable;
+import org.didelphis.genetics.alignment.algorithm.NeedlemanWunschAlgorithm;
+import org.didelphis.genetics.alignment.algorithm.TableRetention;
+import org.didelphis.language.phonetic.SequenceFactory;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.didelphis.structures.tables.RectangularTable;
+import org.didelphis.structures.tables.Table;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class {@code AlignmentWriterTest}
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+class AlignmentWriterTest {
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	private static SequenceFactory<Integer> factory;
+	private static NeedlemanWunschAlgorithm<Integer> algorithm;
+
+	@BeforeAll
+	static void init() {
+		factory = AlignmentFixtures.factory();
+		algorithm = AlignmentFixtures.algorithm(factory);
+	}
+
+	@Test
+	void testFullTable() throws IOException {
+		AlignmentResult<Integer> result = align(TableRetention.FULL);
+		JsonNode table = write(result, true).get("table");
+		ScoreTable scores = result.getScores();
+		assertEquals(scores.rows(), table.size());
+		for (int i = 0; i < scores.rows(); i++) {
+			assertEquals(scores.columns(), table.get(i).size());
+			for (int j = 0; j < scores.columns(); j++) {
+				assertTrue(table.get(i).get(j).isNumber());
+				assertEquals((float) scores.get(i, j),
+						table.get(i).get(j).floatValue());
+			}
+		}
+	}
+
+	@Test
+	void testUnretainedCellsAreNull() throws IOException {
+		AlignmentResult<Integer> result = align(TableRetention.LAST_ROW_COLUMN);
+		JsonNode table = write(result, true).get("table");
+		ScoreTable scores = result.getScores();
+		for (int i = 0; i < scores.rows(); i++) {
+			for (int j = 0; j < scores.columns(); j++) {
+				JsonNode cell = table.get(i).get(j);
+				if (scores.isRetained(i, j)) {
+					assertEquals((float) scores.get(i, j), cell.floatValue());
+				} else {
+					assertTrue(cell.isNull(), cell.toString());
+				}
+			}
+		}
+	}
+
+	@Test
+	void testEmptyBoxedCellsAreNull() throws IOException {
+		AlignmentResult<Integer> aligned = align(TableRetention.NONE);
+		Table<Double> boxed = new RectangularTable<>((Double) null, 2, 2);
+		boxed.set(0, 1, 1.5);
+		boxed.set(1, 1, Double.NaN);
+		AlignmentResult<Integer> result = new AlignmentResult<>(
+				aligned.getLeft(), aligned.getRight(), boxed,
+				aligned.getAlignments());
+		JsonNode table = write(result, true).get("table");
+		assertEquals("[[null,1.5],[null,null]]", table.toString());
+	}
+
+	@Test
+	void testNoRetainedTable() throws IOException {
+		JsonNode record = write(align(TableRetention.NONE), true);
+		assertTrue(record.get("table").isNull());
+		assertFalse(write(align(TableRetention.FULL), false).has("table"));
+	}
+
+	@Test
+	void testCsvAndJsonAgree() throws IOException {
+		AlignmentResult<Integer> result = align(TableRetention.NONE);
+		StringWriter csv = new StringWriter();
+		ByteArrayOutputStream json = new ByteArrayOutputStream();
+		try (AlignmentWriter writer = new AlignmentWriter(csv, json, false)) {
+			writer.write(result);
+			writer.write(result);
+			assertEquals(2, writer.getCount());
+		}
+		String line = AlignmentFormat.csvLine(result);
+		assertEquals(line + line, csv.toString());
+
+		String[] records = json.toString(StandardCharsets.UTF_8.name())
+				.split("\n");
+		assertEquals(2, records.length);
+		JsonNode record = MAPPER.readTree(records[0]);
+		assertEquals(result.getLeft().toString(),
+				record.get("left").textValue());
+		assertEquals(result.getRight().toString(),
+				record.get("right").textValue());
+		assertEquals(1, record.get("alignments").size());
+	}
+
+	private static AlignmentResult<Integer> align(TableRetention retention) {
+		Sequence<Integer> left = factory.toSequence("#tapa");
+		Sequence<Integer> right = factory.toSequence("#tap");
+		return algorithm.withRetention(retention)
+				.apply(Arrays.asList(left, right));
+	}
+
+	private static JsonNode write(AlignmentResult<Integer> result,
+			boolean includeTable) throws IOException {
+		ByteArrayOutputStream json = new ByteArrayOutputStream();
+		try (AlignmentWriter writer = new AlignmentWriter(null, json,
+				includeTable)) {
+			writer.write(result);
+		}
+		String text = json.toString(StandardCharsets.UTF_8.name());
+		assertFalse(text.contains("NaN"), text);
+		assertTrue(text.endsWith("\n"));
+		return MAPPER.readTree(text);
+	}
+}
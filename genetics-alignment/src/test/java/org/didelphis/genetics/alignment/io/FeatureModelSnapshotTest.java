@@ -0,0 +1,144 @@
+package org.didelphis.genetics.alignment.io;
+
+import org.didelphis.genetics.alignment.AlignmentFixtures;
+import org.didelphis.io.ClassPathFileHandler;
+import org.didelphis.io.DiskFileHandler;
+import org.didelphis.io.FileHandler;
+import org.didelphis.language.phonetic.features.IntegerFeature;
+import org.didelphis.language.phonetic.model.FeatureMapping;
+import org.didelphis.language.phonetic.model.FeatureModelLoader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class {@code FeatureModelSnapshotTest}
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+class FeatureModelSnapshotTest {
+
+	private static final String MODEL = AlignmentFixtures.MODEL;
+
+	@TempDir
+	Path directory;
+
+	private Path cache;
+
+	@BeforeEach
+	void setUp() {
+		cache = directory.resolve("cache");
+		System.setProperty(FeatureModelSnapshot.DIRECTORY_PROPERTY,
+				cache.toString());
+	}
+
+	@AfterEach
+	void tearDown() {
+		System.clearProperty(FeatureModelSnapshot.DIRECTORY_PROPERTY);
+	}
+
+	@Test
+	void testSnapshotEqualsLoader() throws IOException {
+		FeatureMapping<Integer> expected = loader(
+				ClassPathFileHandler.INSTANCE, MODEL);
+		FeatureMapping<Integer> parsed = FeatureModelSnapshot.load(
+				IntegerFeature.INSTANCE, ClassPathFileHandler.INSTANCE, MODEL);
+		assertEquals(1, snapshots().size());
+		FeatureMapping<Integer> restored = FeatureModelSnapshot.load(
+				IntegerFeature.INSTANCE, ClassPathFileHandler.INSTANCE, MODEL);
+		assertEquals(1, snapshots().size());
+		assertMappingEquals(expected, parsed);
+		assertMappingEquals(expected, restored);
+	}
+
+	@Test
+	void testDisabledByDefault() throws IOException {
+		System.clearProperty(FeatureModelSnapshot.DIRECTORY_PROPERTY);
+		assertMappingEquals(loader(ClassPathFileHandler.INSTANCE, MODEL),
+				FeatureModelSnapshot.load(IntegerFeature.INSTANCE,
+						ClassPathFileHandler.INSTANCE, MODEL));
+		assertTrue(Files.notExists(cache));
+	}
+
+	@Test
+	void testChangedImportRebuilds() throws IOException {
+		String text = ClassPathFileHandler.INSTANCE.read(MODEL).toString();
+		int split = text.indexOf("SYMBOLS");
+		Path symbols = directory.resolve("symbols.model");
+		Path model = directory.resolve("main.model");
+		Files.write(symbols, text.substring(split)
+				.getBytes(StandardCharsets.UTF_8));
+		Files.write(model, (text.substring(0, split) + "IMPORT \""
+				+ symbols + "\"\n").getBytes(StandardCharsets.UTF_8));
+		FileHandler handler = new DiskFileHandler("UTF-8");
+		String path = model.toString();
+
+		FeatureMapping<Integer> first = FeatureModelSnapshot.load(
+				IntegerFeature.INSTANCE, handler, path);
+		assertMappingEquals(loader(handler, path), first);
+
+		// only the imported model changes
+		String changed = text.substring(split).replaceFirst(
+				"(?m)^p\t4", "p\t3");
+		assertNotEquals(text.substring(split), changed);
+		Files.write(symbols, changed.getBytes(StandardCharsets.UTF_8));
+		FeatureMapping<Integer> second = FeatureModelSnapshot.load(
+				IntegerFeature.INSTANCE, handler, path);
+		assertEquals(2, snapshots().size());
+		assertMappingEquals(loader(handler, path), second);
+		assertEquals(3, second.getFeatureMap().get("p").get(0).intValue());
+		assertEquals(4, first.getFeatureMap().get("p").get(0).intValue());
+	}
+
+	@Test
+	void testCorruptSnapshotRebuilt() throws IOException {
+		FeatureModelSnapshot.load(IntegerFeature.INSTANCE,
+				ClassPathFileHandler.INSTANCE, MODEL);
+		Path snapshot = snapshots().get(0);
+		byte[] bytes = Files.readAllBytes(snapshot);
+		Files.write(snapshot, Arrays.copyOf(bytes, bytes.length / 2));
+		FeatureMapping<Integer> mapping = FeatureModelSnapshot.load(
+				IntegerFeature.INSTANCE, ClassPathFileHandler.INSTANCE, MODEL);
+		assertMappingEquals(loader(ClassPathFileHandler.INSTANCE, MODEL),
+				mapping);
+		assertEquals(bytes.length, Files.size(snapshot));
+	}
+
+	private static FeatureMapping<Integer> loader(FileHandler handler,
+			String path) {
+		return new FeatureModelLoader<>(IntegerFeature.INSTANCE, handler, path)
+				.getFeatureMapping();
+	}
+
+	private static void assertMappingEquals(FeatureMapping<Integer> expected,
+			FeatureMapping<Integer> actual) {
+		assertEquals(expected.getFeatureModel(), actual.getFeatureModel());
+		assertEquals(expected.getSpecification().getFeatureNames(),
+				actual.getSpecification().getFeatureNames());
+		assertEquals(expected.getFeatureMap(), actual.getFeatureMap());
+		assertEquals(expected.getModifiers(), actual.getModifiers());
+		assertEquals(expected.getFeatureMap().keySet().toString(),
+				actual.getFeatureMap().keySet().toString());
+	}
+
+	private List<Path> snapshots() throws IOException {
+		try (Stream<Path> paths = Files.list(cache)) {
+			return paths.filter(path -> path.toString().endsWith(".snapshot"))
+					.collect(Collectors.toList());
+		}
+	}
+}
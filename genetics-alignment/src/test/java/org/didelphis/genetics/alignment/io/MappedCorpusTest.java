@@ -0,0 +1,160 @@
+package org.didelphis.genetics.alignment.io;
+
+import org.didelphis.genetics.alignment.AlignmentFixtures;
+import org.didelphis.genetics.alignment.common.StringTransformer;
+import org.didelphis.genetics.alignment.common.Utilities;
+import org.didelphis.language.phonetic.SequenceFactory;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.didelphis.structures.tables.ColumnTable;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Class {@code MappedCorpusTest}
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+class MappedCorpusTest {
+
+	private static final List<String> KEYS = Arrays.asList("A", "C");
+	private static final StringTransformer CELLS =
+			new StringTransformer("^[^#] >> #$0");
+	private static final StringTransformer TOKENS =
+			new StringTransformer("0 >> ░");
+
+	private static SequenceFactory<Integer> factory;
+
+	@TempDir
+	Path directory;
+
+	private Path tsv;
+	private Path corpus;
+
+	@BeforeAll
+	static void init() {
+		factory = AlignmentFixtures.factory();
+	}
+
+	@BeforeEach
+	void setUp() throws IOException {
+		tsv = directory.resolve("table.tsv");
+		corpus = directory.resolve("table.tsv.corpus");
+		Files.write(tsv, ("A\tB\tC\n"
+				+ "t a p a\tx\t# t a 0\n"
+				+ "# k o m b e\ty\tk o m\n"
+				+ "\n"
+				+ "# s i m a\tz\t0 i m a\n").getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void testCorpusMatchesPhoneticTable() throws IOException {
+		ColumnTable<Sequence<Integer>> expected = Utilities.toPhoneticTable(
+				Utilities.loadTable(tsv.toString(), CELLS), factory, TOKENS,
+				KEYS);
+		try (MappedCorpus<Integer> mapped = MappedCorpus.openOrConvert(tsv,
+				corpus, KEYS, CELLS, TOKENS, factory)) {
+			assertEquals(3, mapped.rows());
+			assertEquals(KEYS, mapped.getKeys());
+			ColumnTable<Sequence<Integer>> actual = mapped.toTable(KEYS);
+			assertEquals(expected.rows(), actual.rows());
+			for (int row = 0; row < actual.rows(); row++) {
+				assertEquals(expected.getRow(row), actual.getRow(row));
+			}
+			assertEquals(4, mapped.getColumn("C").length(0));
+		}
+	}
+
+	@Test
+	void testConvertingLoadedTableMatchesFile() throws IOException {
+		CorpusFormat.convert(tsv, corpus, KEYS, CELLS, TOKENS,
+				factory.getFeatureMapping());
+		byte[] expected = Files.readAllBytes(corpus);
+
+		Path other = directory.resolve("other.corpus");
+		CorpusFormat.convert(Utilities.loadTable(tsv.toString(), CELLS),
+				other, KEYS, CELLS, TOKENS, factory.getFeatureMapping());
+		assertArrayEquals(expected, Files.readAllBytes(other));
+	}
+
+	@Test
+	void testCurrentCorpusIsReused() throws IOException {
+		MappedCorpus.openOrConvert(tsv, corpus, KEYS, CELLS, TOKENS, factory)
+				.close();
+		FileTime built = mark();
+
+		ColumnTable<String> table = Utilities.loadTable(tsv.toString(), CELLS);
+		MappedCorpus.openOrConvert(tsv, corpus, table, KEYS, CELLS, TOKENS,
+				factory).close();
+		assertEquals(built, Files.getLastModifiedTime(corpus));
+	}
+
+	@Test
+	void testChangedRulesAreRebuilt() throws IOException {
+		MappedCorpus.openOrConvert(tsv, corpus, KEYS, CELLS, TOKENS, factory)
+				.close();
+		FileTime built = mark();
+
+		StringTransformer tokens = new StringTransformer("0 >> ░\nm >> n");
+		try (MappedCorpus<Integer> mapped = MappedCorpus.openOrConvert(tsv,
+				corpus, KEYS, CELLS, tokens, factory)) {
+			assertNotEquals(built, Files.getLastModifiedTime(corpus));
+			assertEquals("#kon",
+					mapped.getColumn("C").getSequence(1).toString());
+		}
+		assertNotEquals(
+				Arrays.toString(CorpusFormat.fingerprint(CELLS, TOKENS)),
+				Arrays.toString(CorpusFormat.fingerprint(CELLS, tokens)));
+		// the same rules split differently between the two transformers
+		assertNotEquals(
+				Arrays.toString(CorpusFormat.fingerprint(CELLS, TOKENS)),
+				Arrays.toString(CorpusFormat.fingerprint(
+						new StringTransformer("^[^#] >> #$0\n0 >> ░"),
+						new StringTransformer())));
+	}
+
+	@Test
+	void testChangedColumnsAreRebuilt() throws IOException {
+		MappedCorpus.openOrConvert(tsv, corpus, KEYS, CELLS, TOKENS, factory)
+				.close();
+		List<String> keys = Arrays.asList("B", "C");
+		try (MappedCorpus<Integer> mapped = MappedCorpus.openOrConvert(tsv,
+				corpus, keys, CELLS, TOKENS, factory)) {
+			assertEquals(keys, mapped.getKeys());
+			assertThrows(IllegalArgumentException.class,
+					() -> mapped.getColumn("A"));
+		}
+	}
+
+	@Test
+	void testNotACorpus() throws IOException {
+		Files.write(corpus, new byte[64]);
+		assertThrows(IOException.class, () -> MappedCorpus.open(corpus,
+				factory));
+	}
+
+	/**
+	 * Sets the corpus's modification time to a value which a rebuild could not
+	 * reproduce, but which is still later than the table's
+	 */
+	private FileTime mark() throws IOException {
+		FileTime time = FileTime.fromMillis(
+				Files.getLastModifiedTime(tsv).toMillis() + 12_345);
+		Files.setLastModifiedTime(corpus, time);
+		return time;
+	}
+}
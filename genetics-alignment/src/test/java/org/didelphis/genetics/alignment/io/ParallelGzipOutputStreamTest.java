@@ -0,0 +1,170 @@
+package org.didelphis.genetics.alignment.io;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Class {@code ParallelGzipOutputStreamTest}
+ *
+ * Compresses with a small block size, so that each case spans many blocks,
+ * and reads the output back with {@link GZIPInputStream}.
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+class ParallelGzipOutputStreamTest {
+
+	private static final int BLOCK_SIZE = 1000;
+
+	private static ParallelGzipOutputStream.Pool pool;
+
+	@BeforeAll
+	static void init() {
+		pool = new ParallelGzipOutputStream.Pool(3, 4, BLOCK_SIZE);
+	}
+
+	@AfterAll
+	static void cleanUp() {
+		pool.close();
+	}
+
+	@Test
+	void testRoundTrip() throws IOException {
+		int[] sizes = {0, 1, BLOCK_SIZE - 1, BLOCK_SIZE, BLOCK_SIZE + 1,
+				7 * BLOCK_SIZE / 2, 50 * BLOCK_SIZE};
+		for (int size : sizes) {
+			byte[] data = data(size, size);
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			try (ParallelGzipOutputStream gzip = new ParallelGzipOutputStream(
+					out, Deflater.DEFAULT_COMPRESSION, pool)) {
+				gzip.write(data);
+			}
+			assertArrayEquals(data, decompress(out.toByteArray()), "" + size);
+		}
+	}
+
+	@Test
+	void testMixedWritesAndFlushes() throws IOException {
+		byte[] data = data(12_345, 1);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (ParallelGzipOutputStream gzip = new ParallelGzipOutputStream(
+				out, Deflater.BEST_SPEED, 1, pool)) {
+			int i = 0;
+			int step = 1;
+			while (i < data.length) {
+				if (step % 3 == 0) {
+					gzip.write(data[i++]);
+				} else {
+					int n = Math.min(step * 37, data.length - i);
+					gzip.write(data, i, n);
+					i += n;
+				}
+				if (step % 5 == 0) {
+					gzip.flush();
+					// everything written so far can be read
+					byte[] prefix = decompress(out.toByteArray());
+					assertArrayEquals(copy(data, i), prefix);
+				}
+				step++;
+			}
+		}
+		assertArrayEquals(data, decompress(out.toByteArray()));
+	}
+
+	@Test
+	void testStreamsShareSmallPool() throws IOException {
+		// one thread writes many streams through a pool of a single block
+		try (ParallelGzipOutputStream.Pool small =
+				new ParallelGzipOutputStream.Pool(1, 1, 64)) {
+			List<ByteArrayOutputStream> outs = new ArrayList<>();
+			List<ParallelGzipOutputStream> streams = new ArrayList<>();
+			for (int s = 0; s < 6; s++) {
+				ByteArrayOutputStream out = new ByteArrayOutputStream();
+				outs.add(out);
+				streams.add(new ParallelGzipOutputStream(out,
+						Deflater.DEFAULT_COMPRESSION, small));
+			}
+			byte[] data = data(5_000, 2);
+			for (int i = 0; i < data.length; i += 50) {
+				for (ParallelGzipOutputStream stream : streams) {
+					stream.write(data, i, Math.min(50, data.length - i));
+				}
+			}
+			for (ParallelGzipOutputStream stream : streams) {
+				stream.close();
+			}
+			for (ByteArrayOutputStream out : outs) {
+				assertArrayEquals(data, decompress(out.toByteArray()));
+			}
+		}
+	}
+
+	@Test
+	void testWriteAfterClose() throws IOException {
+		ParallelGzipOutputStream gzip = new ParallelGzipOutputStream(
+				new ByteArrayOutputStream(), Deflater.DEFAULT_COMPRESSION, pool);
+		gzip.close();
+		gzip.close();
+		assertThrows(IOException.class, () -> gzip.write(1));
+		assertThrows(IOException.class, gzip::flush);
+	}
+
+	@Test
+	void testClosedPool() {
+		ParallelGzipOutputStream.Pool closed =
+				new ParallelGzipOutputStream.Pool(1, 1, 16);
+		closed.close();
+		ParallelGzipOutputStream gzip = new ParallelGzipOutputStream(
+				new ByteArrayOutputStream(), Deflater.DEFAULT_COMPRESSION,
+				closed);
+		assertThrows(IOException.class, () -> gzip.write(new byte[40]));
+	}
+
+	/**
+	 * @return compressible bytes: random runs of a few distinct values
+	 */
+	private static byte[] data(int size, long seed) {
+		Random random = new Random(seed);
+		byte[] data = new byte[size];
+		int i = 0;
+		while (i < size) {
+			byte value = (byte) ('a' + random.nextInt(8));
+			int run = 1 + random.nextInt(12);
+			for (int k = 0; k < run && i < size; k++) {
+				data[i++] = value;
+			}
+		}
+		return data;
+	}
+
+	private static byte[] copy(byte[] data, int length) {
+		byte[] copy = new byte[length];
+		System.arraycopy(data, 0, copy, 0, length);
+		return copy;
+	}
+
+	private static byte[] decompress(byte[] bytes) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (InputStream in = new GZIPInputStream(
+				new ByteArrayInputStream(bytes))) {
+			byte[] buffer = new byte[4096];
+			for (int n = in.read(buffer); n >= 0; n = in.read(buffer)) {
+				out.write(buffer, 0, n);
+			}
+		}
+		return out.toByteArray();
+	}
+}
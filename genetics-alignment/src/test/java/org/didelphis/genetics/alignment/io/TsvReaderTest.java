@@ -0,0 +1,202 @@
+package org.didelphis.genetics.alignment.io;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class {@code TsvReaderTest}
+ *
+ * Every case is read from a {@link String}, from a {@link Reader} which
+ * returns only a few characters at a time, and from UTF-8 bytes.
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+class TsvReaderTest {
+
+	@Test
+	void testLineTerminators() throws IOException {
+		List<List<String>> expected = Arrays.asList(
+				Arrays.asList("a", "b"),
+				Arrays.asList("c", "d"),
+				Arrays.asList("e", "f"),
+				Arrays.asList("g", "h"));
+		assertRows(expected, "a\tb\nc\td\r\ne\tf\rg\th");
+		assertRows(expected, "a\tb\r\nc\td\r\ne\tf\r\ng\th\r\n");
+	}
+
+	@Test
+	void testByteOrderMark() throws IOException {
+		assertRows(Collections.singletonList(Arrays.asList("a", "b")),
+				"\uFEFFa\tb\n");
+		// only a leading mark is removed
+		assertRows(Collections.singletonList(Arrays.asList("a", "\uFEFFb")),
+				"a\t\uFEFFb\n");
+	}
+
+	@Test
+	void testEmptyLines() throws IOException {
+		List<List<String>> expected = Arrays.asList(
+				Collections.singletonList("a"),
+				Collections.singletonList("b"));
+		assertRows(expected, "\n\na\n\n\r\n\rb\n\n\n");
+		assertRows(expected, "a\r\n\r\nb\r\n\r\n");
+		assertRows(Collections.emptyList(), "");
+		assertRows(Collections.emptyList(), "\n\r\n\r");
+	}
+
+	@Test
+	void testIndexCountsRowsNotLines() throws IOException {
+		for (TsvReader reader : readers("\na\n\nb\r\n\r\nc")) {
+			List<Long> indices = new ArrayList<>();
+			while (reader.next()) {
+				indices.add(reader.row().getIndex());
+			}
+			assertEquals(Arrays.asList(0L, 1L, 2L), indices);
+		}
+	}
+
+	@Test
+	void testShortAndLongRows() throws IOException {
+		assertRows(Arrays.asList(
+				Arrays.asList("a", "b", "c"),
+				Collections.singletonList("d"),
+				Arrays.asList("e", "f", "g", "h", "i"),
+				Arrays.asList("", "", ""),
+				Arrays.asList("j", ""),
+				Arrays.asList("", "k")),
+				"a\tb\tc\nd\ne\tf\tg\th\ti\n\t\t\nj\t\n\tk\n");
+	}
+
+	@Test
+	void testManyCells() throws IOException {
+		List<String> cells = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			cells.add("c" + i);
+		}
+		String line = String.join("\t", cells);
+		assertRows(Arrays.asList(cells, Collections.singletonList("x"), cells),
+				line + "\nx\n" + line + '\n');
+	}
+
+	@Test
+	void testBufferGrowth() throws IOException {
+		// rows longer than the initial buffer, in ASCII and multi-byte UTF-8
+		StringBuilder ascii = new StringBuilder();
+		StringBuilder wide = new StringBuilder();
+		for (int i = 0; i < 50_000; i++) {
+			ascii.append((char) ('a' + i % 26));
+			wide.append(i % 2 == 0 ? 'ə' : 'ʃ');
+		}
+		String long1 = ascii + "\t" + ascii;
+		String long2 = wide + "\t" + wide + "\t" + wide;
+		assertRows(Arrays.asList(
+				Collections.singletonList("a"),
+				Arrays.asList(ascii.toString(), ascii.toString()),
+				Arrays.asList(wide.toString(), wide.toString(),
+						wide.toString()),
+				Collections.singletonList("b")),
+				"a\n" + long1 + "\r\n" + long2 + "\nb\n");
+	}
+
+	@Test
+	void testMultiByteCharacters() throws IOException {
+		assertRows(Arrays.asList(
+				Arrays.asList("# t͡ʃ a", "𝔞"),
+				Arrays.asList("ŋ", "é")),
+				"# t͡ʃ a\t𝔞\nŋ\té\n");
+	}
+
+	@Test
+	void testMalformedBytesAreReplaced() throws IOException {
+		byte[] bytes = {'a', '\t', (byte) 0xC3, '\n', 'b', '\n'};
+		TsvReader reader = new TsvReader(ByteBuffer.wrap(bytes));
+		assertTrue(reader.next());
+		assertEquals(Arrays.asList("a", "\uFFFD"), reader.row().toList());
+		assertTrue(reader.next());
+		assertEquals(Collections.singletonList("b"), reader.row().toList());
+		assertFalse(reader.next());
+	}
+
+	@Test
+	void testCells() throws IOException {
+		for (TsvReader reader : readers("ab\t  \tc d\n")) {
+			assertTrue(reader.next());
+			TsvReader.Row row = reader.row();
+			assertEquals(3, row.size());
+			assertEquals(2, row.length(0));
+			assertEquals("c d", row.cell(2).toString());
+			assertFalse(row.isBlank(0));
+			assertTrue(row.isBlank(1));
+			assertEquals("ab\t  \tc d", row.toString());
+			assertThrows(IndexOutOfBoundsException.class, () -> row.cell(3));
+			assertThrows(IndexOutOfBoundsException.class, () -> row.cell(-1));
+			assertFalse(reader.next());
+		}
+	}
+
+	@Test
+	void testRowBeforeNext() {
+		assertThrows(IllegalStateException.class,
+				() -> new TsvReader("a").row());
+	}
+
+	private static void assertRows(List<List<String>> expected, String content)
+			throws IOException {
+		for (TsvReader reader : readers(content)) {
+			List<List<String>> rows = new ArrayList<>();
+			while (reader.next()) {
+				rows.add(reader.row().toList());
+			}
+			assertEquals(expected, rows, reader.toString());
+			assertFalse(reader.next());
+		}
+	}
+
+	private static List<TsvReader> readers(String content) {
+		return Arrays.asList(
+				new TsvReader(content),
+				new TsvReader(new ChunkedReader(content, 7)),
+				new TsvReader(ByteBuffer.wrap(
+						content.getBytes(StandardCharsets.UTF_8))));
+	}
+
+	/**
+	 * Returns at most a fixed number of characters from each read, so that
+	 * rows span several reads
+	 */
+	private static final class ChunkedReader extends Reader {
+
+		private final Reader reader;
+		private final int chunk;
+
+		private ChunkedReader(String content, int chunk) {
+			reader = new StringReader(content);
+			this.chunk = chunk;
+		}
+
+		@Override
+		public int read(char[] buffer, int offset, int length)
+				throws IOException {
+			return reader.read(buffer, offset, Math.min(chunk, length));
+		}
+
+		@Override
+		public void close() throws IOException {
+			reader.close();
+		}
+	}
+}
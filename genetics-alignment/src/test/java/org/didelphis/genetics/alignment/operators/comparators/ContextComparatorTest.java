@@ -0,0 +1,120 @@
+package org.didelphis.genetics.alignment.operators.comparators;
+
+import org.didelphis.genetics.alignment.AlignmentFixtures;
+import org.didelphis.genetics.alignment.common.SegmentClassifier;
+import org.didelphis.genetics.alignment.common.SegmentInventory;
+import org.didelphis.genetics.alignment.operators.Comparator;
+import org.didelphis.language.phonetic.SequenceFactory;
+import org.didelphis.language.phonetic.segments.Segment;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Class {@code ContextComparatorTest}
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+class ContextComparatorTest {
+
+	private static final Comparator<Integer> UNIT = (l, r, i, j) -> 1.0;
+
+	private static final ContextRule INTERVOCALIC =
+			new ContextRule("obstruent", "vowel", "vowel", 0.5);
+	private static final ContextRule ANYWHERE =
+			new ContextRule("obstruent", null, null, 2.0);
+
+	private static SequenceFactory<Integer> factory;
+	private static SegmentClassifier<Integer> classifier;
+
+	@BeforeAll
+	static void init() {
+		factory = AlignmentFixtures.factory();
+
+		Map<String, Predicate<Segment<Integer>>> classes =
+				new LinkedHashMap<>();
+		classes.put("vowel", symbols("a", "e", "i", "o", "u"));
+		classes.put("obstruent", symbols("p", "t", "k", "b", "d", "g"));
+		classifier = new SegmentClassifier<>(new SegmentInventory<>(), classes);
+	}
+
+	@Test
+	void testFirstRuleTakesPrecedence() {
+		ContextComparator<Integer> comparator = new ContextComparator<>(UNIT,
+				classifier, Arrays.asList(INTERVOCALIC, ANYWHERE));
+		Sequence<Integer> sequence = factory.toSequence("atap");
+		assertArrayEquals(new double[]{1.0, 0.5, 1.0, 2.0},
+				comparator.factors(sequence), 0.0);
+	}
+
+	@Test
+	void testGeneralRuleFirstShadowsSpecificRule() {
+		ContextComparator<Integer> comparator = new ContextComparator<>(UNIT,
+				classifier, Arrays.asList(ANYWHERE, INTERVOCALIC));
+		Sequence<Integer> sequence = factory.toSequence("atap");
+		assertArrayEquals(new double[]{1.0, 2.0, 1.0, 2.0},
+				comparator.factors(sequence), 0.0);
+	}
+
+	@Test
+	void testBoundaryIsNotAVowel() {
+		ContextComparator<Integer> comparator = new ContextComparator<>(UNIT,
+				classifier, Collections.singletonList(INTERVOCALIC));
+		Sequence<Integer> sequence = factory.toSequence("tat");
+		assertArrayEquals(new double[]{1.0, 1.0, 1.0},
+				comparator.factors(sequence), 0.0);
+	}
+
+	@Test
+	void testApplyUsesMeanOfFactors() {
+		ContextComparator<Integer> comparator = new ContextComparator<>(UNIT,
+				classifier, Arrays.asList(INTERVOCALIC, ANYWHERE));
+		Sequence<Integer> left = factory.toSequence("ata");
+		Sequence<Integer> right = factory.toSequence("pa");
+		assertEquals(1.25, comparator.apply(left, right, 1, 0), 0.0);
+		assertEquals(1.0, comparator.apply(left, right, 0, 1), 0.0);
+	}
+
+	@Test
+	void testSequenceEditedInPlace() {
+		ContextComparator<Integer> comparator = new ContextComparator<>(UNIT,
+				classifier, Arrays.asList(INTERVOCALIC, ANYWHERE));
+		Sequence<Integer> left = factory.toSequence("atap");
+		Sequence<Integer> right = factory.toSequence("pa");
+		assertEquals(1.25, comparator.apply(left, right, 1, 0), 0.0);
+		assertEquals(2.0, comparator.apply(left, right, 3, 0), 0.0);
+
+		// the same length, but t is no longer intervocalic
+		left.set(0, factory.toSegment("p"));
+		assertEquals(2.0, comparator.apply(left, right, 1, 0), 0.0);
+		// nor is the final p, once it is no longer final
+		left.add(factory.toSegment("a"));
+		assertEquals(1.25, comparator.apply(left, right, 3, 0), 0.0);
+		assertArrayEquals(new double[]{2.0, 2.0, 1.0, 0.5, 1.0},
+				comparator.factors(left), 0.0);
+	}
+
+	@Test
+	void testUnknownClass() {
+		List<ContextRule> rules = Collections.singletonList(
+				new ContextRule("nasal", null, null, 0.5));
+		assertThrows(IllegalArgumentException.class,
+				() -> new ContextComparator<>(UNIT, classifier, rules));
+	}
+
+	private static Predicate<Segment<Integer>> symbols(String... symbols) {
+		List<String> list = Arrays.asList(symbols);
+		return segment -> list.contains(segment.getSymbol());
+	}
+}
@@ -0,0 +1,65 @@
+package org.didelphis.genetics.alignment.operators.comparators;
+
+import org.didelphis.genetics.alignment.AlignmentFixtures;
+import org.didelphis.genetics.alignment.common.SegmentInventory;
+import org.didelphis.genetics.alignment.operators.Comparator;
+import org.didelphis.language.phonetic.SequenceFactory;
+import org.didelphis.language.phonetic.features.FeatureType;
+import org.didelphis.language.phonetic.features.IntegerFeature;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Class {@code FeatureDifferenceTensorTest}
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+class FeatureDifferenceTensorTest {
+
+	private static final FeatureType<Integer> TYPE = IntegerFeature.INSTANCE;
+
+	private static SequenceFactory<Integer> factory;
+	private static FeatureDifferenceTensor<Integer> tensor;
+
+	@BeforeAll
+	static void init() {
+		factory = AlignmentFixtures.factory();
+		SegmentInventory<Integer> inventory = SegmentInventory.of(factory);
+		tensor = new FeatureDifferenceTensor<>(TYPE, inventory);
+	}
+
+	@Test
+	void testMatchesLinearWeightComparator() {
+		Random random = new Random(17);
+		List<Double> weights = new ArrayList<>();
+		for (int k = 0; k < tensor.features(); k++) {
+			weights.add(random.nextDouble() * 10.0);
+		}
+		Comparator<Integer> expected = new LinearWeightComparator<>(TYPE, weights);
+		Comparator<Integer> actual = tensor.toComparator(weights);
+
+		Sequence<Integer> left = factory.toSequence("#amapartsʰ");
+		Sequence<Integer> right = factory.toSequence("#kombɛra░");
+		for (int i = 0; i < left.size(); i++) {
+			for (int j = 0; j < right.size(); j++) {
+				assertEquals(expected.apply(left, right, i, j),
+						actual.apply(left, right, i, j), 1.0E-9);
+			}
+		}
+	}
+
+	@Test
+	void testTooManyWeights() {
+		double[] weights = new double[tensor.features() + 1];
+		assertThrows(IllegalArgumentException.class,
+				() -> tensor.weigh(weights));
+	}
+}
@@ -0,0 +1,130 @@
+package org.didelphis.genetics.alignment.operators.gap;
+
+import org.didelphis.genetics.alignment.AlignmentFixtures;
+import org.didelphis.genetics.alignment.AlignmentResult;
+import org.didelphis.genetics.alignment.algorithm.BaseOptimization;
+import org.didelphis.genetics.alignment.algorithm.NeedlemanWunschAlgorithm;
+import org.didelphis.genetics.alignment.common.SegmentClassifier;
+import org.didelphis.genetics.alignment.common.SegmentInventory;
+import org.didelphis.genetics.alignment.operators.gap.ContextualGapPenalty.Position;
+import org.didelphis.language.phonetic.SequenceFactory;
+import org.didelphis.language.phonetic.segments.Segment;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static org.didelphis.genetics.alignment.AlignmentFixtures.IDENTITY;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Class {@code ContextualGapPenaltyTest}
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+class ContextualGapPenaltyTest {
+
+	private static SequenceFactory<Integer> factory;
+	private static SegmentClassifier<Integer> classifier;
+	private static Sequence<Integer> gap;
+	private static Segment<Integer> boundary;
+
+	@BeforeAll
+	static void init() {
+		factory = AlignmentFixtures.factory();
+		gap = factory.toSequence(AlignmentFixtures.GAP);
+		boundary = factory.toSegment("#");
+
+		Map<String, Predicate<Segment<Integer>>> classes =
+				new LinkedHashMap<>();
+		classes.put("vowel", symbols("a", "e", "i", "o", "u"));
+		classes.put("consonant", symbols("p", "t", "k", "m", "n", "r"));
+		classifier = new SegmentClassifier<>(new SegmentInventory<>(), classes);
+	}
+
+	@Test
+	void testPrepareByClassAndPosition() {
+		GapPenalty<Integer> penalty = penalty(boundary);
+		double[] penalties = new double[5];
+		penalty.prepare(factory.toSequence("#tapa"), penalties);
+		assertArrayEquals(new double[]{3.0, 5.0, 3.0, 3.0, 0.5}, penalties,
+				0.0);
+	}
+
+	@Test
+	void testPrepareWithoutBoundary() {
+		GapPenalty<Integer> penalty = penalty(null);
+		double[] penalties = new double[5];
+		penalty.prepare(factory.toSequence("#tapa"), penalties);
+		assertArrayEquals(new double[]{3.0, 3.0, 3.0, 3.0, 0.5}, penalties,
+				0.0);
+	}
+
+	@Test
+	void testAllPositions() {
+		GapPenalty<Integer> penalty =
+				new ContextualGapPenalty<>(gap, 3.0, classifier, boundary)
+						.set("vowel", null, 1.0);
+		double[] penalties = new double[3];
+		penalty.prepare(factory.toSequence("aia"), penalties);
+		assertArrayEquals(new double[]{1.0, 1.0, 1.0}, penalties, 0.0);
+	}
+
+	@Test
+	void testUnknownClass() {
+		ContextualGapPenalty<Integer> penalty =
+				new ContextualGapPenalty<>(gap, 3.0, classifier, boundary);
+		assertThrows(IllegalArgumentException.class,
+				() -> penalty.set("nasal", Position.FINAL, 1.0));
+	}
+
+	@Test
+	void testAlgorithmPreparesPenalties() {
+		NeedlemanWunschAlgorithm<Integer> algorithm =
+				new NeedlemanWunschAlgorithm<>(IDENTITY, BaseOptimization.MIN,
+						penalty(boundary), factory);
+		// each gap also costs one, as no segment has the gap's symbol
+		double[] expected = {4.0, 6.0, 4.0, 4.0, 1.5};
+		Sequence<Integer> sequence = factory.toSequence("#tapa");
+		assertArrayEquals(expected,
+				algorithm.prepare(sequence).getDeletions(), 0.0);
+		assertArrayEquals(expected,
+				algorithm.prepare(sequence).getInsertions(), 0.0);
+	}
+
+	@Test
+	void testFinalVowelIsCheapToDrop() {
+		List<Sequence<Integer>> pair = Arrays.asList(
+				factory.toSequence("#tapa"), factory.toSequence("#tap"));
+
+		AlignmentResult<Integer> contextual = new NeedlemanWunschAlgorithm<>(
+				IDENTITY, BaseOptimization.MIN, penalty(boundary), factory)
+				.apply(pair);
+		AlignmentResult<Integer> constant = new NeedlemanWunschAlgorithm<>(
+				IDENTITY, BaseOptimization.MIN,
+				new ConstantGapPenalty<>(gap, 3.0), factory)
+				.apply(pair);
+
+		assertEquals(1.5, contextual.getScore(), 0.0);
+		assertEquals(4.0, constant.getScore(), 0.0);
+	}
+
+	private static ContextualGapPenalty<Integer> penalty(
+			Segment<Integer> boundary) {
+		return new ContextualGapPenalty<>(gap, 3.0, classifier, boundary)
+				.set("vowel", Position.FINAL, 0.5)
+				.set("consonant", Position.INITIAL, 5.0);
+	}
+
+	private static Predicate<Segment<Integer>> symbols(String... symbols) {
+		List<String> list = Arrays.asList(symbols);
+		return segment -> list.contains(segment.getSymbol());
+	}
+}
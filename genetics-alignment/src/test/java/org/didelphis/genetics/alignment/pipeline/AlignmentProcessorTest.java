@@ -0,0 +1,404 @@
+package org.didelphis.genetics.alignment.pipeline;
+
+import org.didelphis.genetics.alignment.AlignmentFixtures;
+import org.didelphis.genetics.alignment.AlignmentResult;
+import org.didelphis.genetics.alignment.algorithm.AbstractAlignmentAlgorithm;
+import org.didelphis.genetics.alignment.algorithm.AlignmentAlgorithm;
+import org.didelphis.genetics.alignment.algorithm.BaseOptimization;
+import org.didelphis.genetics.alignment.algorithm.NeedlemanWunschAlgorithm;
+import org.didelphis.language.phonetic.SequenceFactory;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.didelphis.structures.tuples.Tuple;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class {@code AlignmentProcessorTest}
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+class AlignmentProcessorTest {
+
+	private static final int PAIRS = 100;
+	private static final Executor DIRECT = Runnable::run;
+
+	private static NeedlemanWunschAlgorithm<Integer> algorithm;
+	private static List<Tuple<Sequence<Integer>, Sequence<Integer>>> pairs;
+
+	@BeforeAll
+	static void init() {
+		SequenceFactory<Integer> factory = AlignmentFixtures.factory();
+		algorithm = AlignmentFixtures.algorithm(factory);
+
+		List<String> words = Arrays.asList("#tapa", "#kombera", "#sima",
+				"#pede", "#oko", "#manu", "#rota");
+		pairs = new ArrayList<>();
+		for (int p = 0; p < PAIRS; p++) {
+			// each pair holds its own sequences, so results can be matched
+			// to their pairs by identity
+			pairs.add(new Tuple<>(
+					factory.toSequence(words.get(p % words.size())),
+					factory.toSequence(words.get((p * 3 + 1) % words.size()))));
+		}
+	}
+
+	@Test
+	void testOrdered() throws InterruptedException {
+		// every fourth pair is slow, so later pairs finish first
+		AlignmentAlgorithm<Integer> slow = new Scripted(left -> {
+			if (index(left) % 4 == 0) {
+				sleep(5);
+			}
+		});
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			Collector collector = run(new AlignmentProcessor<>(slow, 4, 8,
+					true, executor), Long.MAX_VALUE);
+			assertTrue(collector.complete);
+			assertEquals(PAIRS, collector.results.size());
+			for (int p = 0; p < PAIRS; p++) {
+				assertSame(pairs.get(p).getLeft(),
+						collector.results.get(p).getLeft());
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	void testUnordered() throws InterruptedException {
+		AlignmentAlgorithm<Integer> slow = new Scripted(left -> {
+			if (index(left) % 4 == 0) {
+				sleep(5);
+			}
+		});
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			Collector collector = run(new AlignmentProcessor<>(slow, 4, 8,
+					false, executor), Long.MAX_VALUE);
+			assertTrue(collector.complete);
+			assertEquals(PAIRS, collector.results.size());
+			Set<Integer> seen = new HashSet<>();
+			for (AlignmentResult<Integer> result : collector.results) {
+				assertTrue(seen.add(index(result.getLeft())));
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	void testUnsafeAlgorithmRunsAlone() throws InterruptedException {
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maximum = new AtomicInteger();
+		AlignmentAlgorithm<Integer> unsafe = new Scripted(left -> {
+			maximum.accumulateAndGet(running.incrementAndGet(), Math::max);
+			sleep(1);
+			running.decrementAndGet();
+		}, false);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			Collector collector = run(new AlignmentProcessor<>(unsafe, 4, 8,
+					true, executor), Long.MAX_VALUE);
+			assertTrue(collector.complete);
+			assertEquals(PAIRS, collector.results.size());
+			assertEquals(1, maximum.get());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	void testResultsMatchAlgorithm() throws InterruptedException {
+		Collector collector = run(new AlignmentProcessor<>(algorithm, 2, 4,
+				true, DIRECT), Long.MAX_VALUE);
+		for (int p = 0; p < PAIRS; p++) {
+			AlignmentResult<Integer> expected = algorithm.apply(Arrays.asList(
+					pairs.get(p).getLeft(), pairs.get(p).getRight()));
+			AlignmentResult<Integer> actual = collector.results.get(p);
+			assertEquals(expected.getScore(), actual.getScore());
+			assertEquals(expected.getAlignments().toString(),
+					actual.getAlignments().toString());
+		}
+	}
+
+	@Test
+	void testBackpressure() {
+		int window = 8;
+		AlignmentProcessor<Integer> processor = new AlignmentProcessor<>(
+				algorithm, 2, window, true, DIRECT);
+		Source source = new Source(processor);
+		Collector collector = new Collector(0);
+		processor.subscribe(collector);
+		processor.onSubscribe(source);
+
+		// without downstream demand, only the window is requested upstream
+		assertEquals(window, source.requested);
+		assertEquals(0, collector.results.size());
+
+		collector.subscription.request(3);
+		assertEquals(3, collector.results.size());
+		assertEquals(window + 3, source.requested);
+
+		for (int k = 0; k < 20; k++) {
+			collector.subscription.request(1);
+			assertTrue(source.requested - collector.results.size() <= window);
+		}
+		assertEquals(23, collector.results.size());
+
+		collector.subscription.request(Long.MAX_VALUE);
+		assertEquals(PAIRS, collector.results.size());
+		assertTrue(collector.complete);
+		assertFalse(source.cancelled);
+	}
+
+	@Test
+	void testDownstreamCancellation() {
+		AlignmentProcessor<Integer> processor = new AlignmentProcessor<>(
+				algorithm, 2, 8, true, DIRECT);
+		Source source = new Source(processor);
+		Collector collector = new Collector(Long.MAX_VALUE);
+		collector.cancelAfter = 5;
+		processor.subscribe(collector);
+		processor.onSubscribe(source);
+
+		assertTrue(source.cancelled);
+		assertEquals(5, collector.results.size());
+		assertFalse(collector.complete);
+		assertNull(collector.error);
+	}
+
+	@Test
+	void testAlgorithmFailure() throws InterruptedException {
+		RuntimeException failure = new IllegalStateException("failed");
+		AlignmentAlgorithm<Integer> failing = new Scripted(left -> {
+			if (index(left) == 10) {
+				throw failure;
+			}
+		});
+		AlignmentProcessor<Integer> processor = new AlignmentProcessor<>(
+				failing, 2, 8, true, DIRECT);
+		Source source = new Source(processor);
+		Collector collector = new Collector(Long.MAX_VALUE);
+		processor.subscribe(collector);
+		processor.onSubscribe(source);
+
+		assertTrue(collector.terminated.await(10, TimeUnit.SECONDS));
+		assertSame(failure, collector.error);
+		assertTrue(source.cancelled);
+		assertTrue(collector.results.size() <= 10);
+		assertFalse(collector.complete);
+	}
+
+	@Test
+	void testUpstreamFailure() {
+		AlignmentProcessor<Integer> processor = new AlignmentProcessor<>(
+				algorithm, 2, 8, true, DIRECT);
+		Collector collector = new Collector(Long.MAX_VALUE);
+		processor.subscribe(collector);
+		processor.onSubscribe(new Source(processor, 3));
+		assertEquals(3, collector.results.size());
+		RuntimeException failure = new IllegalStateException("failed");
+		processor.onError(failure);
+		assertSame(failure, collector.error);
+		assertFalse(collector.complete);
+	}
+
+	@Test
+	void testSecondSubscriberRejected() {
+		AlignmentProcessor<Integer> processor =
+				new AlignmentProcessor<>(algorithm, 1, false);
+		processor.subscribe(new Collector(0));
+		Collector second = new Collector(0);
+		processor.subscribe(second);
+		assertNotNull(second.error);
+		assertTrue(second.error instanceof IllegalStateException);
+	}
+
+	private static Collector run(AlignmentProcessor<Integer> processor,
+			long demand) throws InterruptedException {
+		Collector collector = new Collector(demand);
+		processor.subscribe(collector);
+		processor.onSubscribe(new Source(processor));
+		assertTrue(collector.terminated.await(30, TimeUnit.SECONDS));
+		return collector;
+	}
+
+	private static int index(Sequence<Integer> left) {
+		for (int p = 0; p < PAIRS; p++) {
+			if (pairs.get(p).getLeft() == left) {
+				return p;
+			}
+		}
+		throw new IllegalArgumentException("Unknown sequence " + left);
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Publishes the pairs as they are requested, on the requesting thread
+	 */
+	private static final class Source implements Subscription {
+
+		private final AlignmentProcessor<Integer> processor;
+		private final int limit;
+
+		private long requested;
+		private int next;
+		private boolean emitting;
+		private volatile boolean cancelled;
+
+		private Source(AlignmentProcessor<Integer> processor) {
+			this(processor, PAIRS);
+		}
+
+		/**
+		 * @param limit the number of pairs published; the source completes
+		 * 		only if it publishes every pair
+		 */
+		private Source(AlignmentProcessor<Integer> processor, int limit) {
+			this.processor = processor;
+			this.limit = limit;
+		}
+
+		@Override
+		public synchronized void request(long n) {
+			requested = requested + n < 0 ? Long.MAX_VALUE : requested + n;
+			if (emitting) {
+				return;
+			}
+			emitting = true;
+			try {
+				while (!cancelled && next < requested && next < limit) {
+					processor.onNext(pairs.get(next++));
+				}
+				if (!cancelled && next == PAIRS) {
+					next++;
+					processor.onComplete();
+				}
+			} finally {
+				emitting = false;
+			}
+		}
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+		}
+	}
+
+	/**
+	 * Records what the processor delivers
+	 */
+	private static final class Collector
+			implements Subscriber<AlignmentResult<Integer>> {
+
+		private final long demand;
+		private final List<AlignmentResult<Integer>> results;
+		private final CountDownLatch terminated;
+
+		private Subscription subscription;
+		private int cancelAfter = -1;
+		private volatile boolean complete;
+		private volatile Throwable error;
+
+		private Collector(long demand) {
+			this.demand = demand;
+			results = Collections.synchronizedList(new ArrayList<>());
+			terminated = new CountDownLatch(1);
+		}
+
+		@Override
+		public void onSubscribe(Subscription subscription) {
+			this.subscription = subscription;
+			if (demand > 0) {
+				subscription.request(demand);
+			}
+		}
+
+		@Override
+		public void onNext(AlignmentResult<Integer> item) {
+			results.add(item);
+			if (results.size() == cancelAfter) {
+				subscription.cancel();
+			}
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			error = throwable;
+			terminated.countDown();
+		}
+
+		@Override
+		public void onComplete() {
+			complete = true;
+			terminated.countDown();
+		}
+	}
+
+	/**
+	 * Runs a hook on the left sequence of each pair before aligning it
+	 */
+	private static final class Scripted
+			extends AbstractAlignmentAlgorithm<Integer> {
+
+		private final Consumer<Sequence<Integer>> hook;
+		private final boolean threadSafe;
+
+		private Scripted(Consumer<Sequence<Integer>> hook) {
+			this(hook, true);
+		}
+
+		private Scripted(Consumer<Sequence<Integer>> hook,
+				boolean threadSafe) {
+			super(algorithm.getComparator(), BaseOptimization.MIN,
+					algorithm.getGapPenalty(), algorithm.getFactory());
+			this.hook = hook;
+			this.threadSafe = threadSafe;
+		}
+
+		@Override
+		public boolean isThreadSafe() {
+			return threadSafe;
+		}
+
+		@NotNull
+		@Override
+		public AlignmentResult<Integer> apply(
+				@NotNull List<? extends Sequence<Integer>> sequences) {
+			hook.accept(sequences.get(0));
+			return algorithm.apply(sequences);
+		}
+	}
+}
@@ -0,0 +1,165 @@
+package org.didelphis.genetics.alignment.pipeline;
+
+import org.didelphis.genetics.alignment.AlignmentFixtures;
+import org.didelphis.genetics.alignment.algorithm.ColumnPairScheduler;
+import org.didelphis.genetics.alignment.algorithm.NeedlemanWunschAlgorithm;
+import org.didelphis.language.phonetic.SequenceFactory;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.didelphis.structures.tables.ColumnTable;
+import org.didelphis.structures.tables.DataTable;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Class {@code CheckpointedAlignmentRunTest}
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+class CheckpointedAlignmentRunTest {
+
+	private static final List<String> KEYS = Arrays.asList("A", "B", "C");
+	private static final String CONFIGURATION = "test";
+	private static final int CHUNK_ROWS = 2;
+
+	private static NeedlemanWunschAlgorithm<Integer> algorithm;
+	private static ColumnTable<Sequence<Integer>> data;
+
+	@TempDir
+	Path directory;
+
+	private Path input;
+	private String root;
+
+	@BeforeAll
+	static void init() {
+		SequenceFactory<Integer> factory = AlignmentFixtures.factory();
+		algorithm = AlignmentFixtures.algorithm(factory);
+
+		String[][] words = {
+				{"#tapa", "#tap", "#apa"},
+				{"#kombera", "#amapar", "#ombe"},
+				{"#sima", "#sim", "#ima"},
+				{"#pede", "#bed", "#ete"},
+				{"#oko", "#ok", "#kok"},
+		};
+		List<List<Sequence<Integer>>> rows = new ArrayList<>();
+		for (String[] row : words) {
+			List<Sequence<Integer>> sequences = new ArrayList<>();
+			for (String word : row) {
+				sequences.add(factory.toSequence(word));
+			}
+			rows.add(sequences);
+		}
+		data = new DataTable<>(KEYS, rows);
+	}
+
+	@BeforeEach
+	void setUp() throws IOException {
+		input = directory.resolve("input.tsv");
+		Files.write(input, "A\tB\tC\n".getBytes(StandardCharsets.UTF_8));
+		root = directory.toString() + '/';
+	}
+
+	@Test
+	void testCompletedChunksAreSkipped() throws IOException {
+		CheckpointedAlignmentRun<Integer> run = run(CONFIGURATION);
+		List<String> pairKeys = run.run(KEYS, data, input, root);
+		assertEquals(Arrays.asList("A-B", "A-C", "B-C"), pairKeys);
+		byte[][] expected = outputs(pairKeys);
+		// a header and one line for each of the three chunks
+		assertEquals(4, manifest().size());
+
+		run(CONFIGURATION).run(KEYS, data, input, root);
+		assertEquals(4, manifest().size());
+		assertOutputs(expected, pairKeys);
+	}
+
+	@Test
+	void testTruncatedChunkIsRealigned() throws IOException {
+		List<String> pairKeys = run(CONFIGURATION).run(KEYS, data, input, root);
+		byte[][] expected = outputs(pairKeys);
+
+		Path chunk = directory.resolve("chunks").resolve("A-C.000001.csv");
+		byte[] bytes = Files.readAllBytes(chunk);
+		Files.write(chunk, Arrays.copyOf(bytes, bytes.length / 2));
+
+		run(CONFIGURATION).run(KEYS, data, input, root);
+		List<String> manifest = manifest();
+		assertEquals(5, manifest.size());
+		assertEquals("1", manifest.get(4).split("\t")[0]);
+		assertOutputs(expected, pairKeys);
+	}
+
+	@Test
+	void testChangedInputIsRefused() throws IOException {
+		run(CONFIGURATION).run(KEYS, data, input, root);
+		Files.write(input, "x\n".getBytes(StandardCharsets.UTF_8),
+				StandardOpenOption.APPEND);
+		assertThrows(IOException.class,
+				() -> run(CONFIGURATION).run(KEYS, data, input, root));
+	}
+
+	@Test
+	void testTouchedInputIsRefused() throws IOException {
+		run(CONFIGURATION).run(KEYS, data, input, root);
+		FileTime modified = Files.getLastModifiedTime(input);
+		Files.setLastModifiedTime(input,
+				FileTime.fromMillis(modified.toMillis() + 60_000));
+		assertThrows(IOException.class,
+				() -> run(CONFIGURATION).run(KEYS, data, input, root));
+	}
+
+	@Test
+	void testChangedConfigurationIsRefused() throws IOException {
+		run(CONFIGURATION).run(KEYS, data, input, root);
+		assertThrows(IOException.class,
+				() -> run("other").run(KEYS, data, input, root));
+	}
+
+	private static CheckpointedAlignmentRun<Integer> run(String configuration) {
+		return new CheckpointedAlignmentRun<>(
+				new ColumnPairScheduler<>(algorithm), CHUNK_ROWS, true,
+				configuration);
+	}
+
+	private List<String> manifest() throws IOException {
+		return Files.readAllLines(directory.resolve("chunks")
+				.resolve("manifest.tsv"), StandardCharsets.UTF_8);
+	}
+
+	private byte[][] outputs(List<String> pairKeys) throws IOException {
+		byte[][] outputs = new byte[pairKeys.size() * 2][];
+		for (int p = 0; p < pairKeys.size(); p++) {
+			String name = "alignments_" + pairKeys.get(p);
+			outputs[2 * p] = Files.readAllBytes(
+					directory.resolve(name + ".csv"));
+			outputs[2 * p + 1] = Files.readAllBytes(
+					directory.resolve(name + ".json"));
+		}
+		return outputs;
+	}
+
+	private void assertOutputs(byte[][] expected, List<String> pairKeys)
+			throws IOException {
+		byte[][] actual = outputs(pairKeys);
+		for (int k = 0; k < expected.length; k++) {
+			assertArrayEquals(expected[k], actual[k]);
+		}
+	}
+}
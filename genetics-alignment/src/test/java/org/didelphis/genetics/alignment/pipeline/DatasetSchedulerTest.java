@@ -0,0 +1,179 @@
+package org.didelphis.genetics.alignment.pipeline;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class {@code DatasetSchedulerTest}
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+class DatasetSchedulerTest {
+
+	private static final int TASKS = 8;
+	private static final int PERMITS = 2;
+
+	@Test
+	void testInvokeAllKeepsOrder() throws IOException {
+		List<Callable<Integer>> tasks = new ArrayList<>();
+		for (int i = 0; i < TASKS; i++) {
+			int index = i;
+			// earlier tasks finish last
+			tasks.add(() -> {
+				Thread.sleep(5L * (TASKS - index));
+				return index;
+			});
+		}
+		try (DatasetScheduler scheduler = new DatasetScheduler(PERMITS)) {
+			assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7),
+					scheduler.invokeAll(tasks));
+		}
+	}
+
+	@Test
+	void testComputeIsLimitedByPermits() throws IOException {
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maximum = new AtomicInteger();
+		List<Callable<Integer>> tasks = new ArrayList<>();
+		try (DatasetScheduler scheduler = new DatasetScheduler(PERMITS)) {
+			for (int i = 0; i < TASKS; i++) {
+				int index = i;
+				tasks.add(() -> scheduler.compute(() -> {
+					maximum.accumulateAndGet(running.incrementAndGet(),
+							Math::max);
+					Thread.sleep(20);
+					running.decrementAndGet();
+					return index;
+				}));
+			}
+			assertEquals(TASKS, scheduler.invokeAll(tasks).size());
+		}
+		assertTrue(maximum.get() >= 1);
+		assertTrue(maximum.get() <= PERMITS, "maximum " + maximum.get());
+	}
+
+	@Test
+	void testFailedComputeReleasesPermit() throws IOException {
+		try (DatasetScheduler scheduler = new DatasetScheduler(1)) {
+			assertThrows(IOException.class, () -> scheduler.compute(() -> {
+				throw new IOException("failed");
+			}));
+			assertThrows(IllegalArgumentException.class,
+					() -> scheduler.compute(() -> {
+						throw new IllegalArgumentException("failed");
+					}));
+			// with the only permit released, this does not block
+			assertEquals(Integer.valueOf(1), scheduler.compute(() -> 1));
+		}
+	}
+
+	@Test
+	void testComputeWrapsCheckedFailures() {
+		Exception failure = new Exception("failed");
+		try (DatasetScheduler scheduler = new DatasetScheduler(1)) {
+			IllegalStateException e = assertThrows(IllegalStateException.class,
+					() -> scheduler.compute(() -> {
+						throw failure;
+					}));
+			assertSame(failure, e.getCause());
+		}
+	}
+
+	@Test
+	void testIOExceptionPropagates() {
+		IOException failure = new IOException("failed");
+		try (DatasetScheduler scheduler = new DatasetScheduler(PERMITS)) {
+			IOException e = assertThrows(IOException.class,
+					() -> scheduler.invokeAll(tasks(() -> {
+						throw failure;
+					})));
+			assertSame(failure, e);
+
+			// as does one wrapped by a stage which cannot throw it
+			IOException unchecked = assertThrows(IOException.class,
+					() -> scheduler.invokeAll(tasks(() -> {
+						throw new UncheckedIOException(failure);
+					})));
+			assertSame(failure, unchecked);
+		}
+	}
+
+	@Test
+	void testOtherFailures() {
+		RuntimeException runtime = new IllegalArgumentException("failed");
+		Exception checked = new Exception("failed");
+		try (DatasetScheduler scheduler = new DatasetScheduler(PERMITS)) {
+			assertSame(runtime, assertThrows(IllegalArgumentException.class,
+					() -> scheduler.invokeAll(tasks(() -> {
+						throw runtime;
+					}))));
+			IllegalStateException e = assertThrows(IllegalStateException.class,
+					() -> scheduler.invokeAll(tasks(() -> {
+						throw checked;
+					})));
+			assertSame(checked, e.getCause());
+		}
+	}
+
+	@Test
+	void testCloseWaitsForTasks() throws InterruptedException {
+		DatasetScheduler scheduler = new DatasetScheduler(PERMITS);
+		CountDownLatch started = new CountDownLatch(1);
+		AtomicBoolean finished = new AtomicBoolean();
+		Thread caller = new Thread(() -> {
+			try {
+				scheduler.invokeAll(Collections.singletonList(() -> {
+					started.countDown();
+					Thread.sleep(100);
+					finished.set(true);
+					return null;
+				}));
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+		caller.start();
+		assertTrue(started.await(10, TimeUnit.SECONDS));
+		scheduler.close();
+		assertTrue(finished.get());
+		caller.join();
+	}
+
+	@Test
+	void testCloseShutsDownExecutor() {
+		DatasetScheduler scheduler = new DatasetScheduler(PERMITS);
+		scheduler.close();
+		assertThrows(RejectedExecutionException.class,
+				() -> scheduler.invokeAll(tasks(() -> 1)));
+	}
+
+	@Test
+	void testInvalidPermits() {
+		assertThrows(IllegalArgumentException.class,
+				() -> new DatasetScheduler(0));
+	}
+
+	/**
+	 * @return a succeeding task on either side of the given one
+	 */
+	private static List<Callable<Object>> tasks(Callable<Object> task) {
+		return Arrays.asList(() -> 0, task, () -> 2);
+	}
+}
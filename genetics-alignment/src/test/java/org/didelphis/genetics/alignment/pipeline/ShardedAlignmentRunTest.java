@@ -0,0 +1,304 @@
+package org.didelphis.genetics.alignment.pipeline;
+
+import org.didelphis.genetics.alignment.AlignmentFixtures;
+import org.didelphis.genetics.alignment.algorithm.ColumnPairScheduler;
+import org.didelphis.genetics.alignment.common.Utilities;
+import org.didelphis.genetics.alignment.pipeline.ShardedAlignmentRun.Mode;
+import org.didelphis.genetics.alignment.pipeline.ShardedAlignmentRun.Shard;
+import org.didelphis.language.phonetic.SequenceFactory;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.didelphis.structures.tables.ColumnTable;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class {@code ShardedAlignmentRunTest}
+ *
+ * Runs each shard in this process, as a worker would, and merges them.
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+class ShardedAlignmentRunTest {
+
+	private static final List<String> KEYS = Arrays.asList("A", "B", "C");
+	private static final String CONFIGURATION = "test";
+	private static final String[][] WORDS = {
+			{"# t a p a", "# t a p", "# a p a"},
+			{"# k o m b e r a", "# a m a p a r", "# o m b e"},
+			{"# s i m a", "# s i m", "# i m a"},
+			{"# p e d e", "# b e d", "# e t e"},
+			{"# o k o", "# o k", "# k o k"},
+			{"# m a n u", "# m a n", "# a n u"},
+			{"# r o t a", "# l o t a", "# r o d a"},
+	};
+
+	private static SequenceFactory<Integer> factory;
+	private static ColumnPairScheduler<Integer> scheduler;
+
+	@TempDir
+	Path directory;
+
+	private File table;
+
+	@BeforeAll
+	static void init() {
+		factory = AlignmentFixtures.factory();
+		scheduler = new ColumnPairScheduler<>(
+				AlignmentFixtures.algorithm(factory));
+	}
+
+	@BeforeEach
+	void setUp() throws IOException {
+		StringBuilder sb = new StringBuilder(String.join("\t", KEYS));
+		sb.append('\n');
+		for (String[] row : WORDS) {
+			sb.append(String.join("\t", row)).append('\n');
+		}
+		table = directory.resolve("table.tsv").toFile();
+		Files.write(table.toPath(), sb.toString()
+				.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void testRowSharesPartitionTable() {
+		ColumnTable<String> whole =
+				Utilities.loadTable(table.getPath(), Function.identity());
+		assertEquals(WORDS.length, whole.rows());
+		for (int shares = 1; shares <= WORDS.length + 2; shares++) {
+			List<List<String>> rows = new ArrayList<>();
+			for (int share = 0; share < shares; share++) {
+				ColumnTable<String> part = Utilities.loadTable(table.getPath(),
+						Function.identity(), share, shares);
+				assertEquals(KEYS, part.getKeys());
+				for (int row = 0; row < part.rows(); row++) {
+					rows.add(part.getRow(row));
+				}
+			}
+			assertEquals(WORDS.length, rows.size(), "shares " + shares);
+			for (int row = 0; row < rows.size(); row++) {
+				assertEquals(whole.getRow(row), rows.get(row));
+			}
+		}
+	}
+
+	@Test
+	void testPairShardsPartitionPairs() throws IOException {
+		List<String> keys = Arrays.asList("A", "B", "C", "D");
+		List<Shard> shards = new ShardedAlignmentRun("unused", 4, Mode.PAIRS,
+				CONFIGURATION)
+				.plan(table, keys, root("pairs"));
+		Set<String> seen = new HashSet<>();
+		for (Shard shard : shards) {
+			for (String key : shard.pairKeys()) {
+				assertTrue(seen.add(key), key);
+			}
+		}
+		assertEquals(new HashSet<>(Arrays.asList(
+				"A-B", "A-C", "A-D", "B-C", "B-D", "C-D")), seen);
+		assertEquals(2, shards.get(0).pairKeys().size());
+		assertEquals(1, shards.get(3).pairKeys().size());
+	}
+
+	@Test
+	void testArguments() throws IOException {
+		for (Shard shard : new ShardedAlignmentRun("unused", 3, Mode.ROWS,
+				CONFIGURATION).plan(table, KEYS, root("rows"))) {
+			List<String> arguments = shard.toArguments();
+			String[] args = arguments.toArray(new String[0]);
+			assertTrue(Shard.isWorker(args));
+			assertEquals(arguments, Shard.parse(args).toArguments());
+		}
+		assertFalse(Shard.isWorker(new String[0]));
+		assertThrows(IllegalArgumentException.class,
+				() -> Shard.parse(new String[]{ShardedAlignmentRun.WORKER}));
+	}
+
+	@Test
+	void testRowShardsMatchSingleShard() throws IOException {
+		testMatchesSingleShard(Mode.ROWS);
+	}
+
+	@Test
+	void testPairShardsMatchSingleShard() throws IOException {
+		testMatchesSingleShard(Mode.PAIRS);
+	}
+
+	@Test
+	void testRestart() throws IOException {
+		ShardedAlignmentRun run = new ShardedAlignmentRun("unused", 2,
+				Mode.ROWS, CONFIGURATION);
+		List<Shard> shards = run.plan(table, KEYS, root("rows"));
+		assertFalse(shards.get(0).isComplete());
+		runShard(shards.get(0), CONFIGURATION);
+		assertTrue(shards.get(0).isComplete());
+		assertFalse(shards.get(1).isComplete());
+
+		// a worker started with the same arguments sees the same marker
+		Shard parsed = Shard.parse(
+				shards.get(0).toArguments().toArray(new String[0]));
+		assertTrue(parsed.isComplete());
+
+		Files.write(table.toPath(), "# a\t# b\t# c\n"
+				.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+		assertFalse(shards.get(0).isComplete());
+	}
+
+	@Test
+	void testChangedConfigurationReruns() throws IOException {
+		String root = root("rows");
+		List<Shard> shards = new ShardedAlignmentRun("unused", 2, Mode.ROWS,
+				CONFIGURATION).plan(table, KEYS, root);
+		for (Shard shard : shards) {
+			runShard(shard, CONFIGURATION);
+			assertTrue(shard.isComplete());
+		}
+
+		// the same table and shards, with other weights
+		List<Shard> changed = new ShardedAlignmentRun("unused", 2, Mode.ROWS,
+				"weights=2").plan(table, KEYS, root);
+		for (Shard shard : changed) {
+			assertFalse(shard.isComplete());
+			// a worker with the old settings may not complete the new shard
+			assertThrows(IOException.class,
+					() -> runShard(shard, CONFIGURATION));
+			assertFalse(shard.isComplete());
+			runShard(shard, "weights=2");
+			assertTrue(shard.isComplete());
+		}
+		// which in turn leaves the shards of the first run incomplete
+		for (Shard shard : shards) {
+			assertFalse(shard.isComplete());
+		}
+		assertNotEquals(shards.get(0).toArguments(),
+				changed.get(0).toArguments());
+	}
+
+	@Test
+	void testStaleOutputsAreIgnored() throws IOException {
+		String root = root("pairs");
+		List<Shard> shards = runAll(Mode.PAIRS, root);
+		ShardedAlignmentRun.merge(shards, KEYS, root);
+		byte[][] expected = outputs(root);
+		byte[] distances = Files.readAllBytes(Paths.get(root + "distances.tsv"));
+
+		// shard 0 aligns only A-B; an A-C left by another run is not merged
+		Path stale = directory.resolve("pairs").resolve("shards")
+				.resolve("000");
+		Files.write(stale.resolve("A-C.csv"),
+				"stale\n".getBytes(StandardCharsets.UTF_8));
+		Files.write(stale.resolve("A-C.json"),
+				"stale\n".getBytes(StandardCharsets.UTF_8));
+		Files.write(stale.resolve("distances.tsv"), "A-C\t1000.0\t1\n"
+				.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+		ShardedAlignmentRun.merge(shards, KEYS, root);
+		byte[][] actual = outputs(root);
+		for (int k = 0; k < expected.length; k++) {
+			assertArrayEquals(expected[k], actual[k]);
+		}
+		assertArrayEquals(distances,
+				Files.readAllBytes(Paths.get(root + "distances.tsv")));
+	}
+
+	@Test
+	void testMissingOutputIsRejected() throws IOException {
+		String root = root("pairs");
+		List<Shard> shards = runAll(Mode.PAIRS, root);
+		Files.delete(directory.resolve("pairs").resolve("shards")
+				.resolve("001").resolve("A-C.csv"));
+		assertThrows(IOException.class,
+				() -> ShardedAlignmentRun.merge(shards, KEYS, root));
+	}
+
+	private void testMatchesSingleShard(Mode mode) throws IOException {
+		String single = root("single");
+		ShardedAlignmentRun.merge(runAll(mode, 1, single), KEYS, single);
+		String sharded = root("sharded");
+		ShardedAlignmentRun.merge(runAll(mode, 3, sharded), KEYS, sharded);
+
+		byte[][] expected = outputs(single);
+		byte[][] actual = outputs(sharded);
+		for (int k = 0; k < expected.length; k++) {
+			assertArrayEquals(expected[k], actual[k]);
+		}
+		List<String> e = Files.readAllLines(Paths.get(single + "distances.tsv"));
+		List<String> a = Files.readAllLines(Paths.get(sharded + "distances.tsv"));
+		assertEquals(e.get(0), a.get(0));
+		for (int i = 1; i < e.size(); i++) {
+			String[] ef = e.get(i).split("\t");
+			String[] af = a.get(i).split("\t");
+			assertEquals(ef[0], af[0]);
+			for (int j = 1; j < ef.length; j++) {
+				assertEquals(Double.parseDouble(ef[j]),
+						Double.parseDouble(af[j]), 1.0E-12);
+			}
+		}
+	}
+
+	private List<Shard> runAll(Mode mode, String root) throws IOException {
+		return runAll(mode, 3, root);
+	}
+
+	private List<Shard> runAll(Mode mode, int count, String root)
+			throws IOException {
+		List<Shard> shards = new ShardedAlignmentRun("unused", count, mode,
+				true, Collections.emptyList(), CONFIGURATION)
+				.plan(table, KEYS, root);
+		for (Shard shard : shards) {
+			runShard(shard, CONFIGURATION);
+		}
+		return shards;
+	}
+
+	private static void runShard(Shard shard, String configuration)
+			throws IOException {
+		ShardedAlignmentRun.runShard(shard, configuration, Function.identity(),
+				ShardedAlignmentRunTest::convert, scheduler);
+	}
+
+	private String root(String name) throws IOException {
+		Path path = directory.resolve(name);
+		Files.createDirectories(path);
+		return path.toString() + File.separator;
+	}
+
+	private static byte[][] outputs(String root) throws IOException {
+		List<byte[]> outputs = new ArrayList<>();
+		for (String key : Arrays.asList("A-B", "A-C", "B-C")) {
+			for (String extension : Arrays.asList(".csv", ".json")) {
+				outputs.add(Files.readAllBytes(
+						Paths.get(root + "alignments_" + key + extension)));
+			}
+		}
+		return outputs.toArray(new byte[0][]);
+	}
+
+	private static ColumnTable<Sequence<Integer>> convert(
+			ColumnTable<String> slice) {
+		return Utilities.toPhoneticTable(slice, factory, Function.identity(),
+				KEYS);
+	}
+}
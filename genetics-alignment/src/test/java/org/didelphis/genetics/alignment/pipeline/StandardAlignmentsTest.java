@@ -0,0 +1,133 @@
+package org.didelphis.genetics.alignment.pipeline;
+
+import org.didelphis.genetics.alignment.Alignment;
+import org.didelphis.genetics.alignment.AlignmentFixtures;
+import org.didelphis.genetics.alignment.common.StringTransformer;
+import org.didelphis.genetics.alignment.common.Utilities;
+import org.didelphis.language.parsing.ParseException;
+import org.didelphis.language.phonetic.SequenceFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class {@code StandardAlignmentsTest}
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+class StandardAlignmentsTest {
+
+	private static final String TABLE = "A\tB\tC\n"
+			+ "t a p a\tt a p 0\t0 a p a\n"
+			+ "s i m a\ts i m 0\t0 i m a\n"
+			+ "#o k o\t#o k 0\t#0 k o\n";
+
+	private static final StringTransformer CELLS =
+			new StringTransformer("^[^#] >> #$0");
+	private static final Function<String, String> GAPS =
+			s -> s.replace("0", AlignmentFixtures.GAP);
+
+	private static SequenceFactory<Integer> factory;
+
+	@TempDir
+	Path directory;
+
+	private Path input;
+	private Path target;
+
+	@BeforeAll
+	static void init() {
+		factory = AlignmentFixtures.factory();
+	}
+
+	@BeforeEach
+	void setUp() throws IOException {
+		input = write("input.tsv", TABLE);
+		target = directory.resolve("correct");
+	}
+
+	@Test
+	void testMatchesWholeTable() throws IOException {
+		assertTrue(write("rules"));
+
+		List<Alignment<Integer>> alignments = Utilities.toAlignments(
+				Utilities.toPhoneticTable(Utilities.loadTable(input.toString(),
+						CELLS), factory, GAPS), factory);
+		StringBuilder sb = new StringBuilder();
+		for (Alignment<Integer> alignment : alignments) {
+			alignment.removeColumn(0);
+			sb.append(alignment.toString()).append('\n');
+		}
+		assertEquals(sb.toString(), read());
+	}
+
+	@Test
+	void testCurrentOutputIsKept() throws IOException {
+		assertTrue(write("rules"));
+		String expected = read();
+		Files.write(target, "kept".getBytes(StandardCharsets.UTF_8));
+		assertFalse(write("rules"));
+		assertEquals("kept", read());
+
+		assertTrue(write("other rules"));
+		assertEquals(expected, read());
+	}
+
+	@Test
+	void testNewerInputIsRewritten() throws IOException {
+		assertTrue(write("rules"));
+		String expected = read();
+		Files.write(target, "stale".getBytes(StandardCharsets.UTF_8));
+		Files.setLastModifiedTime(input, FileTime.fromMillis(
+				Files.getLastModifiedTime(target).toMillis() + 1000));
+		assertTrue(write("rules"));
+		assertEquals(expected, read());
+	}
+
+	@Test
+	void testMissingStampIsRewritten() throws IOException {
+		assertTrue(write("rules"));
+		Files.delete(target.resolveSibling("correct.rules"));
+		assertTrue(write("rules"));
+		assertFalse(write("rules"));
+	}
+
+	@Test
+	void testShortRow() throws IOException {
+		input = write("short.tsv", "A\tB\nt a p a\n");
+		ParseException e = assertThrows(ParseException.class,
+				() -> write("rules"));
+		assertTrue(e.getMessage().contains("Row 1"), e.getMessage());
+		// nothing is left behind to be taken as current
+		assertFalse(Files.exists(target.resolveSibling("correct.rules")));
+	}
+
+	private boolean write(String rules) throws IOException {
+		return StandardAlignments.writeIfStale(input, target, CELLS, GAPS,
+				rules, factory);
+	}
+
+	private Path write(String name, String text) throws IOException {
+		Path path = directory.resolve(name);
+		Files.write(path, text.getBytes(StandardCharsets.UTF_8));
+		return path;
+	}
+
+	private String read() throws IOException {
+		return new String(Files.readAllBytes(target), StandardCharsets.UTF_8);
+	}
+}
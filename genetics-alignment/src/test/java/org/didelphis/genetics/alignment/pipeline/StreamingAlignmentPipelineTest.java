@@ -0,0 +1,339 @@
+package org.didelphis.genetics.alignment.pipeline;
+
+import org.didelphis.genetics.alignment.AlignmentFixtures;
+import org.didelphis.genetics.alignment.algorithm.BaseOptimization;
+import org.didelphis.genetics.alignment.algorithm.NeedlemanWunschAlgorithm;
+import org.didelphis.genetics.alignment.common.StringTransformer;
+import org.didelphis.genetics.alignment.common.Utilities;
+import org.didelphis.genetics.alignment.io.AlignmentFormat;
+import org.didelphis.genetics.alignment.io.AlignmentWriter;
+import org.didelphis.genetics.alignment.operators.Comparator;
+import org.didelphis.language.parsing.ParseException;
+import org.didelphis.language.phonetic.SequenceFactory;
+import org.didelphis.language.phonetic.sequences.Sequence;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+
+import static org.didelphis.genetics.alignment.AlignmentFixtures.IDENTITY;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class {@code StreamingAlignmentPipelineTest}
+ *
+ * @since 0.2.0 Date: 2026-10-19
+ */
+class StreamingAlignmentPipelineTest {
+
+	private static final List<String> KEYS = Arrays.asList("A", "C", "B");
+	private static final String[][] WORDS = {
+			{"t a p a", "t a p", "a p a"},
+			{"k o m b e r a", "a m a p a r", "o m b e"},
+			{"s i m a", "s i m", "i m a"},
+			{"p e d e", "b e d", "e t e"},
+			{"o k o", "o k", "k o k"},
+			{"m a n u", "m a n", "a n u"},
+			{"r o t a", "l o t a", "r o d a"},
+	};
+	private static final int ROWS = 40;
+	private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+	private static final Function<String, String> CELLS =
+			new StringTransformer("^[^#] >> #$0");
+
+	private static SequenceFactory<Integer> factory;
+	private static NeedlemanWunschAlgorithm<Integer> algorithm;
+
+	@TempDir
+	Path directory;
+
+	private Path input;
+
+	@BeforeAll
+	static void init() {
+		factory = AlignmentFixtures.factory();
+		algorithm = AlignmentFixtures.algorithm(factory);
+	}
+
+	@BeforeEach
+	void setUp() throws IOException {
+		StringBuilder sb = new StringBuilder("A\tB\tC\n");
+		for (int i = 0; i < ROWS; i++) {
+			sb.append(String.join("\t", WORDS[i % WORDS.length])).append('\n');
+		}
+		input = directory.resolve("input.tsv");
+		Files.write(input, sb.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void testOutputMatchesSequentialWriter() throws IOException {
+		String root = root("parallel");
+		assertEquals(ROWS, pipeline(4, 3, false).run(input, KEYS, root));
+		assertMatchesSequentialWriter(root);
+	}
+
+	@Test
+	void testDelayedRowsKeepOrder() throws IOException {
+		// the first row of every seven finishes after the rows behind it
+		Function<String, String> cells = cell -> {
+			if (cell.equals(WORDS[0][0])) {
+				sleep(20);
+			}
+			return CELLS.apply(cell);
+		};
+		String root = root("delayed");
+		assertEquals(ROWS, pipeline(cells, 4, 8).run(input, KEYS, root));
+		assertMatchesSequentialWriter(root);
+	}
+
+	@Test
+	void testCapacityBoundsRowsInFlight() throws Exception {
+		String blocking = "b o b o";
+		List<String> lines = Files.readAllLines(input, StandardCharsets.UTF_8);
+		lines.set(1, lines.get(1).replace(WORDS[0][0], blocking));
+		Files.write(input, lines, StandardCharsets.UTF_8);
+
+		int capacity = 3;
+		AtomicInteger calls = new AtomicInteger();
+		CountDownLatch blocked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Function<String, String> cells = cell -> {
+			calls.incrementAndGet();
+			if (cell.equals(blocking)) {
+				blocked.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			return CELLS.apply(cell);
+		};
+		String root = root("bounded");
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<Long> run = executor.submit(() ->
+					pipeline(cells, 2, capacity).run(input, KEYS, root));
+			assertTrue(blocked.await(10, TimeUnit.SECONDS));
+			// give the reader and the other worker time to run ahead
+			Thread.sleep(200);
+			assertFalse(run.isDone());
+			// until row 0 is written, only rows 0 .. capacity - 1 are read
+			assertTrue(calls.get() <= 3 * capacity, "calls " + calls.get());
+			release.countDown();
+			assertEquals(Long.valueOf(ROWS), run.get(10, TimeUnit.SECONDS));
+		} finally {
+			release.countDown();
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void testTransformerFailurePropagates() {
+		RuntimeException failure = new IllegalStateException("failed");
+		Function<String, String> cells = cell -> {
+			if (cell.equals(WORDS[5][0])) {
+				throw failure;
+			}
+			return CELLS.apply(cell);
+		};
+		assertSame(failure, assertTimeoutPreemptively(TIMEOUT,
+				() -> assertThrows(IllegalStateException.class,
+						() -> pipeline(cells, 4, 2).run(input, KEYS,
+								root("transformer")))));
+	}
+
+	@Test
+	void testUncheckedIOExceptionIsUnwrapped() {
+		IOException failure = new IOException("failed");
+		Function<String, String> cells = cell -> {
+			if (cell.equals(WORDS[5][0])) {
+				throw new UncheckedIOException(failure);
+			}
+			return CELLS.apply(cell);
+		};
+		assertSame(failure, assertTimeoutPreemptively(TIMEOUT,
+				() -> assertThrows(IOException.class,
+						() -> pipeline(cells, 4, 2).run(input, KEYS,
+								root("unchecked")))));
+	}
+
+	@Test
+	void testAlgorithmFailurePropagates() {
+		RuntimeException failure = new IllegalStateException("failed");
+		// "d" only occurs in the fourth and seventh rows
+		Comparator<Integer> comparator = (l, r, i, j) -> {
+			if (l.get(i).getSymbol().equals("d")
+					|| r.get(j).getSymbol().equals("d")) {
+				throw failure;
+			}
+			return IDENTITY.apply(l, r, i, j);
+		};
+		NeedlemanWunschAlgorithm<Integer> failing =
+				new NeedlemanWunschAlgorithm<>(comparator, BaseOptimization.MIN,
+						AlignmentFixtures.gapPenalty(factory), factory);
+		StreamingAlignmentPipeline<Integer> pipeline =
+				new StreamingAlignmentPipeline<>(failing, CELLS,
+						Function.identity(), null, 4, 2, true, false);
+		assertSame(failure, assertTimeoutPreemptively(TIMEOUT,
+				() -> assertThrows(IllegalStateException.class,
+						() -> pipeline.run(input, KEYS, root("algorithm")))));
+	}
+
+	@Test
+	void testWorkersAndCapacityDoNotChangeOutput() throws IOException {
+		String single = root("single");
+		pipeline(1, 1, false).run(input, KEYS, single);
+		String parallel = root("parallel");
+		pipeline(8, 2, false).run(input, KEYS, parallel);
+		for (String[] pair : pairs()) {
+			String key = pair[0] + '-' + pair[1];
+			for (String extension : Arrays.asList(".csv", ".json")) {
+				assertEquals(read(single, key, extension),
+						read(parallel, key, extension));
+			}
+		}
+	}
+
+	@Test
+	void testCompressedOutput() throws IOException {
+		String plain = root("plain");
+		pipeline(3, 4, false).run(input, KEYS, plain);
+		String compressed = root("compressed");
+		pipeline(3, 4, true).run(input, KEYS, compressed);
+		for (String[] pair : pairs()) {
+			String key = pair[0] + '-' + pair[1];
+			for (String extension : Arrays.asList(".csv", ".json")) {
+				Path path = directory.resolve("compressed")
+						.resolve("alignments_" + key + extension + ".gz");
+				try (InputStream in = new GZIPInputStream(
+						Files.newInputStream(path))) {
+					assertArrayEquals(read(plain, key, extension)
+							.getBytes(StandardCharsets.UTF_8), readAll(in));
+				}
+			}
+		}
+	}
+
+	@Test
+	void testShortRowFails() throws IOException {
+		Files.write(input, "A\tB\tC\na\tb\tc\nd\te\n"
+				.getBytes(StandardCharsets.UTF_8));
+		ParseException e = assertThrows(ParseException.class,
+				() -> pipeline(2, 2, false).run(input, KEYS, root("short")));
+		assertTrue(e.getMessage().contains("Row 2"), e.getMessage());
+	}
+
+	private StreamingAlignmentPipeline<Integer> pipeline(int workers,
+			int capacity, boolean compress) {
+		return new StreamingAlignmentPipeline<>(algorithm, CELLS,
+				Function.identity(), null, workers, capacity, true, compress);
+	}
+
+	private StreamingAlignmentPipeline<Integer> pipeline(
+			Function<String, String> cells, int workers, int capacity) {
+		return new StreamingAlignmentPipeline<>(algorithm, cells,
+				Function.identity(), null, workers, capacity, true, false);
+	}
+
+	/**
+	 * Checks the output of a run against the rows aligned one at a time, in
+	 * order, by a single writer
+	 */
+	private static void assertMatchesSequentialWriter(String root)
+			throws IOException {
+		for (String[] pair : pairs()) {
+			String key = pair[0] + '-' + pair[1];
+			int left = index(pair[0]);
+			int right = index(pair[1]);
+			StringWriter csv = new StringWriter();
+			csv.write(AlignmentFormat.csvHeader(key));
+			ByteArrayOutputStream json = new ByteArrayOutputStream();
+			try (AlignmentWriter writer = new AlignmentWriter(csv, json,
+					true)) {
+				for (int i = 0; i < ROWS; i++) {
+					String[] row = WORDS[i % WORDS.length];
+					writer.write(algorithm.apply(Arrays.asList(
+							sequence(row[left]), sequence(row[right]))));
+				}
+			}
+			assertEquals(csv.toString(), read(root, key, ".csv"));
+			assertEquals(json.toString(StandardCharsets.UTF_8.name()),
+					read(root, key, ".json"));
+		}
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static Sequence<Integer> sequence(String word) {
+		return Utilities.toPhoneticSequence(CELLS.apply(word), factory,
+				Function.identity());
+	}
+
+	private static List<String[]> pairs() {
+		return Arrays.asList(
+				new String[]{"A", "C"},
+				new String[]{"A", "B"},
+				new String[]{"C", "B"});
+	}
+
+	private static int index(String key) {
+		return Arrays.asList("A", "B", "C").indexOf(key);
+	}
+
+	private String root(String name) throws IOException {
+		Path path = directory.resolve(name);
+		Files.createDirectories(path);
+		return path.toString() + '/';
+	}
+
+	private static String read(String root, String key, String extension)
+			throws IOException {
+		return new String(Files.readAllBytes(
+				Paths.get(root + "alignments_" + key + extension)),
+				StandardCharsets.UTF_8);
+	}
+
+	private static byte[] readAll(InputStream in) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[8192];
+		for (int n = in.read(buffer); n >= 0; n = in.read(buffer)) {
+			out.write(buffer, 0, n);
+		}
+		return out.toByteArray();
+	}
+}
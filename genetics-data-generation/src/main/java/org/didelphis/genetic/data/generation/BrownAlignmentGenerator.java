@@ -1,7 +1,5 @@
 package org.didelphis.genetic.data.generation;
 
-import org.didelphis.io.DiskFileHandler;
-import org.didelphis.io.FileHandler;
 import org.didelphis.structures.maps.GeneralMultiMap;
 import org.didelphis.structures.maps.GeneralTwoKeyMultiMap;
 import org.didelphis.structures.maps.SymmetricalTwoKeyMap;
@@ -13,10 +11,16 @@ import org.didelphis.structures.tuples.Tuple;
 import org.didelphis.structures.tuples.Twin;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -25,7 +29,6 @@ import java.util.NavigableMap;
 import java.util.Random;
 import java.util.TreeMap;
 import java.util.function.Supplier;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.DoubleStream;
 import java.util.stream.StreamSupport;
@@ -40,8 +43,6 @@ import static java.lang.Math.toIntExact;
  */
 public final class BrownAlignmentGenerator {
 
-	private static final Pattern NEWLINE = Pattern.compile("\n");
-	private static final FileHandler HANDLER = new DiskFileHandler("UTF-8");
 	private static final Random RANDOM = new Random();
 
 	private final double generaBias;
@@ -203,37 +204,44 @@ public final class BrownAlignmentGenerator {
 		MultiMap<String, String> classToValue = new GeneralMultiMap<>();
 		TwoKeyMultiMap<String, String, Correspondence> map
 				= new GeneralTwoKeyMultiMap<>();
-		NEWLINE.splitAsStream(HANDLER.read(path))
-				.skip(1)
-				.filter(predicate -> !predicate.isEmpty())
-				.forEach(item -> {
-					String[] strings = item.split("\t");
-
-					String typeLeft = strings[0];
-					String typeRight = strings[1];
-
-					String left = strings[2];
-					String right = strings[3];
-
-					int count = Integer.valueOf(strings[4]);
-					double percent = Double.valueOf(strings[5]);
-
-					if (check(typeLeft, typeRight)) {
-						classToValue.add(typeLeft, left);
-						classToValue.add(typeRight, right);
-					}
-
-					boolean isGap = left.equals("Ø") || right.equals("Ø");
-					double adjust = (generaBias > 0 ? count * generaBias : 1.0);
-					double score = adjust * (isGap ? gapBias : 1.0) * percent;
-
-					map.add(typeLeft, typeRight,
-							new Correspondence(left, right, score)
-					);
-					map.add(typeRight, typeLeft,
-							new Correspondence(right, left, score)
-					);
-				});
+		// lines are decoded one at a time rather than reading the whole file;
+		// unlike Files.lines, the reader replaces malformed input rather than
+		// failing, as the file handler did
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+				Files.newInputStream(Paths.get(path)), StandardCharsets.UTF_8))) {
+			reader.lines().skip(1)
+					.filter(predicate -> !predicate.isEmpty())
+					.forEach(item -> {
+						String[] strings = item.split("\t");
+
+						String typeLeft = strings[0];
+						String typeRight = strings[1];
+
+						String left = strings[2];
+						String right = strings[3];
+
+						int count = Integer.valueOf(strings[4]);
+						double percent = Double.valueOf(strings[5]);
+
+						if (check(typeLeft, typeRight)) {
+							classToValue.add(typeLeft, left);
+							classToValue.add(typeRight, right);
+						}
+
+						boolean isGap = left.equals("Ø") || right.equals("Ø");
+						double adjust = (generaBias > 0 ? count * generaBias : 1.0);
+						double score = adjust * (isGap ? gapBias : 1.0) * percent;
+
+						map.add(typeLeft, typeRight,
+								new Correspondence(left, right, score)
+						);
+						map.add(typeRight, typeLeft,
+								new Correspondence(right, left, score)
+						);
+					});
+		} catch (IOException e) {
+			throw new UncheckedIOException("Unable to read " + path, e);
+		}
 		return map;
 	}
 
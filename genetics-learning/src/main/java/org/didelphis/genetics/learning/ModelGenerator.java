@@ -378,10 +378,12 @@ public final class ModelGenerator<T> {
 	private static <T> List<Alignment<T>> doAlignment(
 			AlignmentAlgorithm<T> algorithm, Table<Sequence<T>> testWords
 	) {
-		List<Alignment<T>> testsData = new ArrayList<>(testWords.size());
+		List<List<Sequence<T>>> rows = new ArrayList<>(testWords.rows());
 		for (int i = 0; i < testWords.rows(); i++) {
-			List<Sequence<T>> row = testWords.getRow(i);
-			AlignmentResult<T> alignmentResult = algorithm.apply(row);
+			rows.add(testWords.getRow(i));
+		}
+		List<Alignment<T>> testsData = new ArrayList<>(testWords.rows());
+		for (AlignmentResult<T> alignmentResult : algorithm.applyAll(rows)) {
 			List<Alignment<T>> alignment = alignmentResult.getAlignments();
 			testsData.add(alignment.get(0));
 		}
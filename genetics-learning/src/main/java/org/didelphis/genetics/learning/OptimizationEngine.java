@@ -7,6 +7,7 @@ import org.didelphis.genetics.alignment.AlignmentResult;
 import org.didelphis.genetics.alignment.algorithm.AlignmentAlgorithm;
 import org.didelphis.genetics.alignment.algorithm.BaseOptimization;
 import org.didelphis.genetics.alignment.algorithm.NeedlemanWunschAlgorithm;
+import org.didelphis.genetics.alignment.io.FeatureModelSnapshot;
 import org.didelphis.genetics.alignment.operators.Comparator;
 import org.didelphis.genetics.alignment.operators.comparators.BrownEtAlComparator;
 import org.didelphis.genetics.alignment.operators.gap.ConstantGapPenalty;
@@ -18,7 +19,6 @@ import org.didelphis.language.phonetic.SequenceFactory;
 import org.didelphis.language.phonetic.features.FeatureType;
 import org.didelphis.language.phonetic.features.IntegerFeature;
 import org.didelphis.language.phonetic.model.FeatureModel;
-import org.didelphis.language.phonetic.model.FeatureModelLoader;
 import org.didelphis.language.phonetic.segments.Segment;
 import org.didelphis.language.phonetic.sequences.BasicSequence;
 import org.didelphis.language.phonetic.sequences.Sequence;
@@ -87,25 +87,30 @@ public final class OptimizationEngine<T> {
 		while (d <= 10.0) {
 
 			GapPenalty<Integer> penalty = new ConstantGapPenalty<>(gap, d);
-			int count = 0;
+			AlignmentAlgorithm<Integer> algorithm
+					= new NeedlemanWunschAlgorithm<>(comparator,
+					BaseOptimization.MIN,
+					penalty,
+					factory
+			);
+
+			List<Alignment<Integer>> goodAlignments = new ArrayList<>(w);
+			List<List<Sequence<Integer>>> inputs = new ArrayList<>(w);
 			for (int i = 0; i < w; i++) {
 				List<String> list = supplier.get();
-				Alignment<Integer> goodAlignment = toAlignment(list, factory);
-
-				AlignmentAlgorithm<Integer> algorithm
-						= new NeedlemanWunschAlgorithm<>(comparator,
-						BaseOptimization.MIN,
-						penalty,
-						factory
-				);
+				goodAlignments.add(toAlignment(list, factory));
 
 				List<String> input = list.stream()
 						.map(s -> Ø.matcher(s).replaceAll("").trim())
 						.collect(Collectors.toList());
-				List<Sequence<Integer>> sequences = toSequences(input, factory);
+				inputs.add(toSequences(input, factory));
+			}
 
-				AlignmentResult<Integer> result = algorithm.apply(sequences);
-				for (Alignment<Integer> alignment : result.getAlignments()) {
+			int count = 0;
+			List<AlignmentResult<Integer>> results = algorithm.applyAll(inputs);
+			for (int i = 0; i < w; i++) {
+				Alignment<Integer> goodAlignment = goodAlignments.get(i);
+				for (Alignment<Integer> alignment : results.get(i).getAlignments()) {
 					if (alignment.equals(goodAlignment)) {
 						count++;
 						break;
@@ -151,10 +156,7 @@ public final class OptimizationEngine<T> {
 			FeatureType<T> type,
 			FormatterMode mode
 	) {
-		FeatureModelLoader<T> loader = new FeatureModelLoader<>(type,
-				handler,
-				path
-		);
-		return new SequenceFactory<>(loader.getFeatureMapping(), mode);
+		return new SequenceFactory<>(
+				FeatureModelSnapshot.load(type, handler, path), mode);
 	}
 }